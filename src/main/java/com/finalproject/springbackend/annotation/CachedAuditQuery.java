@@ -0,0 +1,18 @@
+package com.finalproject.springbackend.annotation;
+
+import com.finalproject.springbackend.db.entity.AuditTable;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 감사 로그 시간 범위 조회 결과 캐시
+ * 서비스 클래스에 붙이면 (OffsetDateTime start, OffsetDateTime end, ...) 로 시작하는 public 메서드가 모두 대상
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface CachedAuditQuery {
+    AuditTable value();
+}
@@ -0,0 +1,69 @@
+package com.finalproject.springbackend.aspect;
+
+import com.finalproject.springbackend.annotation.CachedAuditQuery;
+import com.finalproject.springbackend.db.service.AuditQueryCache;
+import com.finalproject.springbackend.util.TimeZoneUtil;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+import java.time.OffsetDateTime;
+
+/**
+ * @CachedAuditQuery 서비스의 시간 범위 조회 결과 캐시
+ * 키: (테이블, 메서드, start, end 정규화 값, 나머지 파라미터)
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class AuditQueryCacheAspect {
+
+    private final AuditQueryCache cache;
+
+    @Around("execution(public * *(java.time.OffsetDateTime, java.time.OffsetDateTime, ..)) && @within(cachedAuditQuery)")
+    public Object cacheTimeRangeQuery(ProceedingJoinPoint joinPoint, CachedAuditQuery cachedAuditQuery) throws Throwable {
+        Object[] args = joinPoint.getArgs();
+        if (args[0] == null) {
+            // start 누락은 서비스에서 400 처리
+            return joinPoint.proceed();
+        }
+
+        // 서비스의 시간 보정과 같은 기준(KST 해석)으로 정규화
+        OffsetDateTime start = TimeZoneUtil.interpretAsKST((OffsetDateTime) args[0]);
+        OffsetDateTime end = TimeZoneUtil.interpretAsKST((OffsetDateTime) args[1]);
+
+        StringBuilder key = new StringBuilder()
+                .append(cachedAuditQuery.value().name())
+                .append('|').append(joinPoint.getSignature().getName())
+                .append('|').append(start.toInstant())
+                .append('|').append(cache.normalizeEnd(cachedAuditQuery.value(), end));
+        for (int i = 2; i < args.length; i++) {
+            key.append('|').append(args[i]);
+        }
+
+        try {
+            return cache.get(cachedAuditQuery.value(), key.toString(), end, () -> {
+                try {
+                    return joinPoint.proceed();
+                } catch (RuntimeException e) {
+                    throw e;
+                } catch (Throwable t) {
+                    throw new CheckedProceedException(t);
+                }
+            });
+        } catch (CheckedProceedException e) {
+            throw e.getCause();
+        }
+    }
+
+    // Supplier 안에서 발생한 checked 예외 전달용
+    private static class CheckedProceedException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        CheckedProceedException(Throwable cause) {
+            super(cause);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.finalproject.springbackend.config;
+
+import com.finalproject.springbackend.db.entity.AuditDimension;
+import com.finalproject.springbackend.util.AuditSymbols;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * AuditSymbols 상한 설정 + 컬럼별 메트릭 등록
+ * audit.symbols.size / hits / rejected / saved.bytes (tag: field)
+ */
+@Component
+public class AuditSymbolMetrics implements MeterBinder {
+
+    public AuditSymbolMetrics(
+            @Value("${audit.symbols.max-per-field:10000}") int maxPerField,
+            @Value("${audit.symbols.max-length:256}") int maxLength
+    ) {
+        AuditSymbols.configure(maxPerField, maxLength);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (AuditDimension field : AuditSymbols.fields()) {
+            String tag = field.getFieldName();
+            Gauge.builder("audit.symbols.size", field, AuditSymbols::size)
+                    .tag("field", tag).register(registry);
+            FunctionCounter.builder("audit.symbols.hits", field, AuditSymbols::hits)
+                    .tag("field", tag).register(registry);
+            FunctionCounter.builder("audit.symbols.rejected", field, AuditSymbols::rejected)
+                    .description("상한을 넘어 등록하지 않은 값")
+                    .tag("field", tag).register(registry);
+            FunctionCounter.builder("audit.symbols.saved.bytes", field, AuditSymbols::savedBytes)
+                    .description("정규 인스턴스 재사용으로 아낀 String 바이트 추정치")
+                    .tag("field", tag).register(registry);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.finalproject.springbackend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 읽기 복제본 라우팅 설정 (datasource.replica.enabled=true 일 때만)
+ *
+ * primary 는 기존 spring.datasource.* / spring.datasource.hikari.* 설정을 그대로 사용하고,
+ * datasource.replica.urls 의 각 주소마다 별도 Hikari 풀(replica-1, replica-2 ...)을 만든다.
+ * 풀 메트릭은 hikaricp.connections.*{pool=replica-N}, 지연은 db.replica.lag.seconds{replica=replica-N}
+ *
+ * 로컬 테스트: PostgreSQL 두 개를 스트리밍 복제로 띄운 뒤
+ *   datasource.replica.enabled=true
+ *   datasource.replica.urls=jdbc:postgresql://localhost:5433/{DB명}
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "datasource.replica.enabled", havingValue = "true")
+public class ReadReplicaDataSourceConfig {
+
+    @Value("${datasource.replica.urls}")
+    private List<String> replicaUrls;
+
+    @Value("${datasource.replica.username:${spring.datasource.username}}")
+    private String replicaUsername;
+
+    @Value("${datasource.replica.password:${spring.datasource.password}}")
+    private String replicaPassword;
+
+    @Value("${datasource.replica.maximum-pool-size:10}")
+    private int replicaPoolSize;
+
+    @Value("${datasource.replica.max-lag-seconds:30}")
+    private double maxLagSeconds;
+
+    /** 쓰기 및 트랜잭션 밖 쿼리용 primary 풀 */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean(destroyMethod = "close")
+    public ReplicaRoutingDataSource replicaRoutingDataSource(
+            HikariDataSource primaryDataSource, DataSourceProperties properties, MeterRegistry registry
+    ) {
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (int i = 0; i < replicaUrls.size(); i++) {
+            String url = replicaUrls.get(i).strip();
+            if (url.isEmpty()) {
+                continue;
+            }
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName("replica-" + (i + 1));
+            replica.setJdbcUrl(url);
+            replica.setUsername(replicaUsername);
+            replica.setPassword(replicaPassword);
+            replica.setDriverClassName(properties.determineDriverClassName());
+            replica.setMaximumPoolSize(replicaPoolSize);
+            replica.setMinimumIdle(Math.min(2, replicaPoolSize));
+            replica.setReadOnly(true);
+            replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+            replicas.add(replica);
+            log.info("📚 읽기 복제본 등록: {} -> {}", replica.getPoolName(), url);
+        }
+
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primaryDataSource, replicas, maxLagSeconds, registry);
+        routing.afterPropertiesSet();
+        routing.checkReplicaLag();
+        return routing;
+    }
+
+    /** JPA/JdbcTemplate 이 사용하는 DataSource (readOnly 플래그가 정해진 뒤 커넥션을 얻도록 Lazy 프록시) */
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+}
@@ -0,0 +1,137 @@
+package com.finalproject.springbackend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 읽기 전용 트랜잭션은 복제본으로, 나머지(쓰기, 트랜잭션 밖 쿼리)는 primary 로 보내는 DataSource
+ *
+ * - 복제본 지연(lag)을 주기적으로 확인해 max-lag-seconds 를 넘거나 응답이 없으면 라우팅 대상에서 제외
+ * - 정상 복제본이 없으면 primary 로 대체
+ * - 복제본별 재생 완료 WAL 위치를 함께 기록해, primary 에서 관측한 변경이 복제본에 반영됐는지 확인할 수 있게 한다 (replayedTo)
+ * - JpaTransactionManager 는 readOnly 플래그를 커넥션 획득 뒤에 설정하므로 반드시 LazyConnectionDataSourceProxy 로 감싸서 사용
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    static final String PRIMARY = "primary";
+
+    private final List<Replica> replicas;
+    private final double maxLagSeconds;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(
+            DataSource primary, List<HikariDataSource> replicaPools, double maxLagSeconds, MeterRegistry registry
+    ) {
+        this.maxLagSeconds = maxLagSeconds;
+        this.replicas = replicaPools.stream().map(Replica::new).toList();
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (Replica replica : replicas) {
+            targets.put(replica.name(), replica.pool);
+            Gauge.builder("db.replica.lag.seconds", replica, r -> r.lagSeconds)
+                    .tag("replica", replica.name()).register(registry);
+            Gauge.builder("db.replica.healthy", replica, r -> r.healthy ? 1 : 0)
+                    .tag("replica", replica.name()).register(registry);
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return PRIMARY;
+        }
+        // 정상 복제본 라운드로빈
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), Math.max(size, 1));
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.healthy) {
+                return replica.name();
+            }
+        }
+        return PRIMARY;
+    }
+
+    /**
+     * 라우팅 대상(정상) 복제본이 모두 primary WAL 위치 lsn 까지 재생했는지 (정상 복제본이 없으면 primary 로 가므로 true)
+     * 재생 위치는 마지막 지연 확인 시점 값이라 실제보다 작거나 같다.
+     */
+    public boolean replayedTo(long lsn) {
+        for (Replica replica : replicas) {
+            if (replica.healthy && replica.replayedLsn < lsn) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** 복제본 지연 확인 (WAL 수신/재생 위치가 같으면 지연 0) */
+    @Scheduled(fixedDelayString = "${datasource.replica.lag-check-ms:5000}")
+    public void checkReplicaLag() {
+        for (Replica replica : replicas) {
+            boolean wasHealthy = replica.healthy;
+            try (Connection con = replica.pool.getConnection();
+                 Statement st = con.createStatement()) {
+                st.setQueryTimeout(3);
+                try (ResultSet rs = st.executeQuery("""
+                    SELECT CASE
+                        WHEN NOT pg_is_in_recovery() THEN 0
+                        WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                        ELSE coalesce(extract(epoch FROM now() - pg_last_xact_replay_timestamp()), 0)
+                    END,
+                    pg_wal_lsn_diff(CASE WHEN pg_is_in_recovery() THEN pg_last_wal_replay_lsn()
+                        ELSE pg_current_wal_lsn() END, '0/0')::bigint
+                """)) {
+                    rs.next();
+                    replica.lagSeconds = rs.getDouble(1);
+                    replica.replayedLsn = rs.getLong(2);
+                }
+                replica.healthy = replica.lagSeconds <= maxLagSeconds;
+            } catch (Exception e) {
+                replica.healthy = false;
+                log.warn("⚠️ 복제본 {} 상태 확인 실패: {}", replica.name(), e.getMessage());
+            }
+            if (wasHealthy != replica.healthy) {
+                log.info("🔀 복제본 {} 라우팅 {} (lag {}s)", replica.name(),
+                        replica.healthy ? "복귀" : "제외", replica.lagSeconds);
+            }
+        }
+    }
+
+    public void close() {
+        replicas.forEach(replica -> replica.pool.close());
+    }
+
+    private static class Replica {
+        private final HikariDataSource pool;
+        private volatile boolean healthy = false;
+        private volatile double lagSeconds = 0;
+        private volatile long replayedLsn = -1;
+
+        Replica(HikariDataSource pool) {
+            this.pool = pool;
+        }
+
+        String name() {
+            return pool.getPoolName();
+        }
+    }
+}
@@ -38,6 +38,8 @@ public class SecurityConfig {
             .authorizeHttpRequests(authz -> authz
                 .requestMatchers("/api/auth/**").permitAll()
                 .requestMatchers("/api/kafka/**").authenticated()
+                // 사용자별 Kafka 풀, 감사 조회 메트릭이 포함되므로 로그인 사용자만 (health 는 공개)
+                .requestMatchers("/actuator/metrics", "/actuator/metrics/**").authenticated()
                 .anyRequest().permitAll()
             )
             .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
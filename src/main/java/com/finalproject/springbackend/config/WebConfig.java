@@ -1,19 +1,31 @@
 package com.finalproject.springbackend.config;
 
+import com.finalproject.springbackend.filter.AuditConditionalGetInterceptor;
+import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.MediaType;
 import org.springframework.http.converter.HttpMessageConverter;
 import org.springframework.http.converter.StringHttpMessageConverter;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 @Configuration
+@RequiredArgsConstructor
 public class WebConfig implements WebMvcConfigurer {
 
+    private final AuditConditionalGetInterceptor conditionalGetInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // /api/db 조회 ETag / Last-Modified -> 304
+        registry.addInterceptor(conditionalGetInterceptor).addPathPatterns("/api/db/**");
+    }
+
     @Override
     public void addCorsMappings(CorsRegistry registry){
         registry.addMapping("/api/**")
@@ -21,7 +33,7 @@ public class WebConfig implements WebMvcConfigurer {
                 .allowedMethods("GET", "POST", "DELETE", "PUT", "PATCH", "OPTIONS")
                 .allowedHeaders("*")
                 .allowCredentials(true)
-                .exposedHeaders("Cache-Control", "Content-Language", "Content-Type", "Expires", "Last-Modified", "Pragma", "Connection", "Access-Control-Allow-Origin")
+                .exposedHeaders("Cache-Control", "Content-Language", "Content-Type", "Expires", "Last-Modified", "ETag", "Pragma", "Connection", "Access-Control-Allow-Origin")
                 .maxAge(3600);
     }
 
@@ -2,6 +2,7 @@ package com.finalproject.springbackend.controller;
 
 import com.finalproject.springbackend.annotation.RequirePermission;
 import com.finalproject.springbackend.dto.*;
+import com.finalproject.springbackend.service.ConsumerGroupService;
 import com.finalproject.springbackend.service.KafkaManagementService;
 import com.finalproject.springbackend.service.TopicService;
 import lombok.RequiredArgsConstructor;
@@ -22,6 +23,7 @@ public class KafkaManagementController {
 
     private final TopicService topicService;
     private final KafkaManagementService kafkaManagementService;
+    private final ConsumerGroupService consumerGroupService;
 
     // === 토픽 관리 ===
 
@@ -44,13 +46,15 @@ public class KafkaManagementController {
 
     /**
      * 토픽 목록 조회 (ADMIN 또는 MANAGER 권한 필요)
+     * 메타데이터 캐시에서 응답, fresh=true 면 브로커에서 다시 읽음 (클러스터 정보, 파티션 정보도 동일)
      */
     @GetMapping("/topics")
     @RequirePermission({Permission.ADMIN, Permission.MANAGER})
-    public ResponseEntity<?> listTopics(Authentication authentication) {
+    public ResponseEntity<?> listTopics(@RequestParam(value = "fresh", defaultValue = "false") boolean fresh,
+                                        Authentication authentication) {
         try {
             UserInfo userInfo = (UserInfo) authentication.getPrincipal();
-            List<String> topics = topicService.listTopicsForUser(userInfo.getUsername(), userInfo.getPassword());
+            List<String> topics = topicService.listTopics(userInfo.getUsername(), userInfo.getPassword(), fresh);
             return ResponseEntity.ok(topics);
         } catch (Exception e) {
             log.error("❌ Failed to list topics: {}", e.getMessage());
@@ -84,6 +88,8 @@ public class KafkaManagementController {
             UserInfo userInfo = (UserInfo) authentication.getPrincipal();
             Map<String, TopicDescription> descriptions = topicService.describeTopics(topicNames, userInfo.getUsername(), userInfo.getPassword());
             return ResponseEntity.ok(descriptions);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("❌ " + e.getMessage());
         } catch (Exception e) {
             log.error("❌ Failed to describe topics: {}", e.getMessage());
             return ResponseEntity.internalServerError().body("❌ Failed to describe topics: " + e.getMessage());
@@ -91,6 +97,200 @@ public class KafkaManagementController {
     }
 
 
+    /**
+     * 토픽 일괄 생성 (ADMIN 또는 MANAGER 권한 필요)
+     * 토픽별 성공/실패를 함께 반환 (일부 실패해도 200)
+     */
+    @PostMapping("/topics/bulk")
+    @RequirePermission({Permission.ADMIN, Permission.MANAGER})
+    public ResponseEntity<?> createTopics(@RequestBody List<CreateTopicRequestDTO> requests, Authentication authentication) {
+        try {
+            UserInfo userInfo = (UserInfo) authentication.getPrincipal();
+            List<BulkTopicResultDTO> results = topicService.createTopics(requests, userInfo.getUsername(), userInfo.getPassword());
+            return ResponseEntity.ok(results);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("❌ " + e.getMessage());
+        } catch (Exception e) {
+            log.error("❌ Failed to bulk create topics: {}", e.getMessage());
+            return ResponseEntity.internalServerError().body("❌ Failed to bulk create topics: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 토픽 일괄 삭제 (ADMIN 또는 MANAGER 권한 필요)
+     */
+    @DeleteMapping("/topics/bulk")
+    @RequirePermission({Permission.ADMIN, Permission.MANAGER})
+    public ResponseEntity<?> deleteTopics(@RequestBody List<String> topicNames, Authentication authentication) {
+        try {
+            UserInfo userInfo = (UserInfo) authentication.getPrincipal();
+            List<BulkTopicResultDTO> results = topicService.deleteTopics(topicNames, userInfo.getUsername(), userInfo.getPassword());
+            return ResponseEntity.ok(results);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("❌ " + e.getMessage());
+        } catch (Exception e) {
+            log.error("❌ Failed to bulk delete topics: {}", e.getMessage());
+            return ResponseEntity.internalServerError().body("❌ Failed to bulk delete topics: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 토픽 설정 일괄 변경 (MANAGER 권한 필요)
+     * 요청: {"topic-a": {"retention.ms": "86400000"}, "topic-b": {"cleanup.policy": null}}
+     */
+    @PutMapping("/topics/bulk/configs")
+    @RequirePermission({Permission.MANAGER})
+    public ResponseEntity<?> alterTopicConfigs(@RequestBody Map<String, Map<String, String>> configs, Authentication authentication) {
+        try {
+            UserInfo userInfo = (UserInfo) authentication.getPrincipal();
+            List<BulkTopicResultDTO> results = topicService.alterTopicConfigs(configs, userInfo.getUsername(), userInfo.getPassword());
+            return ResponseEntity.ok(results);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("❌ " + e.getMessage());
+        } catch (Exception e) {
+            log.error("❌ Failed to bulk update topic configs: {}", e.getMessage());
+            return ResponseEntity.internalServerError().body("❌ Failed to bulk update topic configs: " + e.getMessage());
+        }
+    }
+
+
+    // === Consumer Group 관리 ===
+
+    /**
+     * Consumer Group 목록 조회 (MANAGER 권한 필요)
+     * withLag=true 면 그룹별 상태와 lag 합계를 함께 반환
+     */
+    @GetMapping("/consumer-groups")
+    @RequirePermission({Permission.MANAGER})
+    public ResponseEntity<?> listConsumerGroups(@RequestParam(value = "withLag", defaultValue = "false") boolean withLag,
+                                                Authentication authentication) {
+        try {
+            UserInfo userInfo = (UserInfo) authentication.getPrincipal();
+            if (withLag) {
+                return ResponseEntity.ok(consumerGroupService.listGroupsWithLag(userInfo.getUsername(), userInfo.getPassword()));
+            }
+            return ResponseEntity.ok(consumerGroupService.listGroups(userInfo.getUsername(), userInfo.getPassword()));
+        } catch (Exception e) {
+            log.error("❌ Failed to list consumer groups: {}", e.getMessage());
+            return ResponseEntity.internalServerError().body("❌ Failed to list consumer groups: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Consumer Group 상세 정보 조회 (MANAGER 권한 필요)
+     */
+    @GetMapping("/consumer-groups/{groupId}")
+    @RequirePermission({Permission.MANAGER})
+    public ResponseEntity<?> getConsumerGroup(@PathVariable String groupId, Authentication authentication) {
+        try {
+            UserInfo userInfo = (UserInfo) authentication.getPrincipal();
+            ConsumerGroupDTO group = consumerGroupService.getGroup(groupId, userInfo.getUsername(), userInfo.getPassword());
+            return ResponseEntity.ok(group);
+        } catch (Exception e) {
+            log.error("❌ Failed to get consumer group '{}': {}", groupId, e.getMessage());
+            return ResponseEntity.internalServerError().body("❌ Failed to get consumer group: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Consumer Group 삭제 (MANAGER 권한 필요)
+     */
+    @DeleteMapping("/consumer-groups/{groupId}")
+    @RequirePermission({Permission.MANAGER})
+    public ResponseEntity<?> deleteConsumerGroup(@PathVariable String groupId, Authentication authentication) {
+        try {
+            UserInfo userInfo = (UserInfo) authentication.getPrincipal();
+            consumerGroupService.deleteGroup(groupId, userInfo.getUsername(), userInfo.getPassword());
+            return ResponseEntity.ok("🗑️ Deleted consumer group: " + groupId);
+        } catch (Exception e) {
+            log.error("❌ Failed to delete consumer group '{}': {}", groupId, e.getMessage());
+            return ResponseEntity.internalServerError().body("❌ Failed to delete consumer group: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Consumer Group 오프셋 리셋 (MANAGER 권한 필요)
+     */
+    @PostMapping("/consumer-groups/{groupId}/reset-offset")
+    @RequirePermission({Permission.MANAGER})
+    public ResponseEntity<?> resetConsumerGroupOffset(@PathVariable String groupId,
+                                                      @RequestParam String topicName,
+                                                      @RequestParam int partition,
+                                                      @RequestParam long offset,
+                                                      Authentication authentication) {
+        try {
+            UserInfo userInfo = (UserInfo) authentication.getPrincipal();
+            consumerGroupService.resetOffset(groupId, topicName, partition, offset, userInfo.getUsername(), userInfo.getPassword());
+            return ResponseEntity.ok("⏪ Reset offset of " + groupId + " for " + topicName + "-" + partition + " to " + offset);
+        } catch (Exception e) {
+            log.error("❌ Failed to reset offset of consumer group '{}': {}", groupId, e.getMessage());
+            return ResponseEntity.internalServerError().body("❌ Failed to reset offset: " + e.getMessage());
+        }
+    }
+
+
+    // === ACL 관리 ===
+
+    /**
+     * ACL 목록 조회 (MANAGER 권한 필요)
+     * principal, resourceType, resourceName 으로 필터 (모두 선택), fresh=true 면 브로커에서 다시 읽음
+     */
+    @GetMapping("/acls")
+    @RequirePermission({Permission.MANAGER})
+    public ResponseEntity<?> listAcls(@RequestParam(value = "principal", required = false) String principal,
+                                      @RequestParam(value = "resourceType", required = false) String resourceType,
+                                      @RequestParam(value = "resourceName", required = false) String resourceName,
+                                      @RequestParam(value = "fresh", defaultValue = "false") boolean fresh,
+                                      Authentication authentication) {
+        try {
+            UserInfo userInfo = (UserInfo) authentication.getPrincipal();
+            List<AclDTO> acls = kafkaManagementService.listAcls(principal, resourceType, resourceName,
+                    userInfo.getUsername(), userInfo.getPassword(), fresh);
+            return ResponseEntity.ok(acls);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("❌ " + e.getMessage());
+        } catch (Exception e) {
+            log.error("❌ Failed to list ACLs: {}", e.getMessage());
+            return ResponseEntity.internalServerError().body("❌ Failed to list ACLs: " + e.getMessage());
+        }
+    }
+
+    /**
+     * ACL 생성 (MANAGER 권한 필요)
+     */
+    @PostMapping("/acls")
+    @RequirePermission({Permission.MANAGER})
+    public ResponseEntity<?> createAcl(@RequestBody AclDTO request, Authentication authentication) {
+        try {
+            UserInfo userInfo = (UserInfo) authentication.getPrincipal();
+            kafkaManagementService.createAcl(request, userInfo.getUsername(), userInfo.getPassword());
+            return ResponseEntity.ok("✅ Created ACL for " + request.getPrincipal() + " on " + request.getResourceType() + ":" + request.getResourceName());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("❌ " + e.getMessage());
+        } catch (Exception e) {
+            log.error("❌ Failed to create ACL: {}", e.getMessage());
+            return ResponseEntity.internalServerError().body("❌ Failed to create ACL: " + e.getMessage());
+        }
+    }
+
+    /**
+     * ACL 삭제 (MANAGER 권한 필요)
+     */
+    @DeleteMapping("/acls")
+    @RequirePermission({Permission.MANAGER})
+    public ResponseEntity<?> deleteAcl(@RequestBody AclDTO request, Authentication authentication) {
+        try {
+            UserInfo userInfo = (UserInfo) authentication.getPrincipal();
+            int deleted = kafkaManagementService.deleteAcl(request, userInfo.getUsername(), userInfo.getPassword());
+            return ResponseEntity.ok("🗑️ Deleted " + deleted + " ACL(s) for " + request.getPrincipal());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("❌ " + e.getMessage());
+        } catch (Exception e) {
+            log.error("❌ Failed to delete ACL: {}", e.getMessage());
+            return ResponseEntity.internalServerError().body("❌ Failed to delete ACL: " + e.getMessage());
+        }
+    }
+
     // === Config 관리 ===
 
     /**
@@ -127,20 +327,50 @@ public class KafkaManagementController {
 
     /**
      * 설정 업데이트 (MANAGER 권한 필요)
+     * 현재 설정과 비교해 바뀐 키만 적용, dryRun=true 면 적용하지 않고 변경 예정 내역을 반환
      */
     @PutMapping("/configs")
     @RequirePermission({Permission.MANAGER})
-    public ResponseEntity<?> updateConfigs(@RequestBody ConfigInfoDTO.ConfigUpdateRequest request, Authentication authentication) {
+    public ResponseEntity<?> updateConfigs(@RequestBody ConfigInfoDTO.ConfigUpdateRequest request,
+                                           @RequestParam(value = "dryRun", defaultValue = "false") boolean dryRun,
+                                           Authentication authentication) {
         try {
             UserInfo userInfo = (UserInfo) authentication.getPrincipal();
-            kafkaManagementService.updateConfigs(request, userInfo.getUsername(), userInfo.getPassword());
-            return ResponseEntity.ok("✅ Updated configs for " + request.getResourceType() + ": " + request.getResourceName());
+            ConfigInfoDTO.ConfigDiff diff = kafkaManagementService.updateConfigs(request, userInfo.getUsername(), userInfo.getPassword(), dryRun);
+            if (dryRun) {
+                return ResponseEntity.ok(diff);
+            }
+            return ResponseEntity.ok("✅ Updated configs for " + request.getResourceType() + ": " + request.getResourceName()
+                    + " (" + diff.getChanges().size() + " changed)");
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("❌ " + e.getMessage());
         } catch (Exception e) {
             log.error("❌ Failed to update configs: {}", e.getMessage());
             return ResponseEntity.internalServerError().body("❌ Failed to update configs: " + e.getMessage());
         }
     }
 
+    /**
+     * 설정 일괄 업데이트 (MANAGER 권한 필요)
+     * 여러 리소스를 incrementalAlterConfigs 한 번으로 적용하고 리소스별 변경 내역/오류를 반환, dryRun=true 면 미리보기
+     */
+    @PutMapping("/configs/bulk")
+    @RequirePermission({Permission.MANAGER})
+    public ResponseEntity<?> updateConfigsBulk(@RequestBody List<ConfigInfoDTO.ConfigUpdateRequest> requests,
+                                               @RequestParam(value = "dryRun", defaultValue = "false") boolean dryRun,
+                                               Authentication authentication) {
+        try {
+            UserInfo userInfo = (UserInfo) authentication.getPrincipal();
+            List<ConfigInfoDTO.ConfigDiff> diffs = kafkaManagementService.updateConfigs(requests, userInfo.getUsername(), userInfo.getPassword(), dryRun);
+            return ResponseEntity.ok(diffs);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("❌ " + e.getMessage());
+        } catch (Exception e) {
+            log.error("❌ Failed to bulk update configs: {}", e.getMessage());
+            return ResponseEntity.internalServerError().body("❌ Failed to bulk update configs: " + e.getMessage());
+        }
+    }
+
     // === 클러스터 정보 ===
 
     /**
@@ -148,10 +378,11 @@ public class KafkaManagementController {
      */
     @GetMapping("/cluster/info")
     @RequirePermission({Permission.MANAGER})
-    public ResponseEntity<?> getClusterInfo(Authentication authentication) {
+    public ResponseEntity<?> getClusterInfo(@RequestParam(value = "fresh", defaultValue = "false") boolean fresh,
+                                            Authentication authentication) {
         try {
             UserInfo userInfo = (UserInfo) authentication.getPrincipal();
-            ClusterInfoDTO clusterInfo = kafkaManagementService.getClusterInfo(userInfo.getUsername(), userInfo.getPassword());
+            ClusterInfoDTO clusterInfo = kafkaManagementService.getClusterInfo(userInfo.getUsername(), userInfo.getPassword(), fresh);
             return ResponseEntity.ok(clusterInfo);
         } catch (Exception e) {
             log.error("❌ Failed to get cluster info: {}", e.getMessage());
@@ -166,10 +397,12 @@ public class KafkaManagementController {
      */
     @GetMapping("/partitions/{topicName}")
     @RequirePermission({Permission.MANAGER})
-    public ResponseEntity<?> getPartitionInfo(@PathVariable String topicName, Authentication authentication) {
+    public ResponseEntity<?> getPartitionInfo(@PathVariable String topicName,
+                                              @RequestParam(value = "fresh", defaultValue = "false") boolean fresh,
+                                              Authentication authentication) {
         try {
             UserInfo userInfo = (UserInfo) authentication.getPrincipal();
-            List<PartitionInfoDTO> partitions = kafkaManagementService.getPartitionInfo(topicName, userInfo.getUsername(), userInfo.getPassword());
+            List<PartitionInfoDTO> partitions = kafkaManagementService.getPartitionInfo(topicName, userInfo.getUsername(), userInfo.getPassword(), fresh);
             return ResponseEntity.ok(partitions);
         } catch (Exception e) {
             log.error("❌ Failed to get partition info for topic '{}': {}", topicName, e.getMessage());
@@ -177,6 +410,25 @@ public class KafkaManagementController {
         }
     }
 
+    /**
+     * 여러 토픽 파티션 정보 일괄 조회 (MANAGER 권한 필요)
+     * 토픽 수와 관계없이 크기/오프셋 조회는 브로커 왕복이 일정하다.
+     */
+    @PostMapping("/partitions/describe")
+    @RequirePermission({Permission.MANAGER})
+    public ResponseEntity<?> describePartitions(@RequestBody List<String> topicNames,
+                                                @RequestParam(value = "fresh", defaultValue = "false") boolean fresh,
+                                                Authentication authentication) {
+        try {
+            UserInfo userInfo = (UserInfo) authentication.getPrincipal();
+            Map<String, List<PartitionInfoDTO>> partitions = kafkaManagementService.getPartitionInfos(topicNames, userInfo.getUsername(), userInfo.getPassword(), fresh);
+            return ResponseEntity.ok(partitions);
+        } catch (Exception e) {
+            log.error("❌ Failed to describe partitions: {}", e.getMessage());
+            return ResponseEntity.internalServerError().body("❌ Failed to describe partitions: " + e.getMessage());
+        }
+    }
+
     /**
      * 파티션 재할당 (MANAGER 권한 필요)
      */
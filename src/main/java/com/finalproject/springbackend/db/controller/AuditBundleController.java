@@ -0,0 +1,39 @@
+package com.finalproject.springbackend.db.controller;
+
+import com.finalproject.springbackend.db.service.AsyncQueryExecutor;
+import com.finalproject.springbackend.db.service.AuditBundleService;
+import com.finalproject.springbackend.dto.BundleRequestDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+@RestController
+@RequestMapping("/api/db/bundle")
+@RequiredArgsConstructor
+public class AuditBundleController {
+
+    private final AuditBundleService bundleService;
+    private final AsyncQueryExecutor asyncQuery;
+
+    /**
+     * 대시보드용 묶음 조회
+     * 요청 예:
+     * {"queries": [
+     *   {"name": "slfToday", "table": "system-level-false", "type": "count", "start": "2025-09-12T00:00:00Z"},
+     *   {"name": "slfAlice", "table": "system-level-false", "start": "2025-09-12T00:00:00Z", "filters": {"principal": "alice"}},
+     *   {"name": "topIp", "table": "resource-level-false", "type": "top", "groupBy": "clientIp", "limit": 5, "start": "..."},
+     *   {"name": "timeline", "table": "certified-2time", "type": "histogram", "bucket": "1h", "start": "..."}
+     * ]}
+     * 응답: {"results": {"slfToday": 123, ...}, "errors": {"이름": "에러 메시지"}}
+     */
+    @PostMapping
+    public CompletableFuture<ResponseEntity<Map<String, Object>>> bundle(@RequestBody BundleRequestDTO request) {
+        return asyncQuery.submit(() -> ResponseEntity.ok(bundleService.run(request)));
+    }
+}
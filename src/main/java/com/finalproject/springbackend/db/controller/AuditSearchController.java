@@ -0,0 +1,49 @@
+package com.finalproject.springbackend.db.controller;
+
+import com.finalproject.springbackend.db.service.AsyncQueryExecutor;
+import com.finalproject.springbackend.db.service.AuditSearchService;
+import com.finalproject.springbackend.dto.AuditSearchRowDTO;
+import com.finalproject.springbackend.util.TimeZoneUtil;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+@RestController
+@RequestMapping("/api/db/search")
+@RequiredArgsConstructor
+public class AuditSearchController {
+
+    private final AuditSearchService searchService;
+    private final AsyncQueryExecutor asyncQuery;
+
+    /**
+     * 4개 테이블 통합 검색 (시간순 병합, 각 행의 source 로 출처 테이블 구분)
+     * 예: /api/db/search?start=2025-09-12T00:00:00Z&clientIp=10.0.0.5&limit=200
+     * principal, resourceName 은 * 와일드카드 가능 (예: resourceName=*svc-*)
+     * order: desc(기본, 최신순) / asc
+     */
+    @GetMapping(params = {"start"})
+    public CompletableFuture<ResponseEntity<List<AuditSearchRowDTO>>> search(
+            @RequestParam(value = "start") String start,
+            @RequestParam(value = "end", required = false) String end,
+            @RequestParam(value = "clientIp", required = false) String clientIp,
+            @RequestParam(value = "principal", required = false) String principal,
+            @RequestParam(value = "resourceName", required = false) String resourceName,
+            @RequestParam(value = "limit", required = false) Integer limit,
+            @RequestParam(value = "order", required = false) String order
+    ) {
+        return asyncQuery.submit(() -> {
+            OffsetDateTime startTime = TimeZoneUtil.parseFromFrontend(start);
+            OffsetDateTime endTime = end != null ? TimeZoneUtil.parseFromFrontend(end) : null;
+
+            return ResponseEntity.ok(searchService.search(startTime, endTime, clientIp, principal, resourceName, limit, order));
+        });
+    }
+}
@@ -2,7 +2,9 @@ package com.finalproject.springbackend.db.controller;
 
 import com.finalproject.springbackend.db.entity.CertifiedNotMove;
 import com.finalproject.springbackend.db.repository.projection.AlertTypeCount;
+import com.finalproject.springbackend.db.repository.projection.BucketCount;
 import com.finalproject.springbackend.db.repository.projection.IpCount;
+import com.finalproject.springbackend.db.service.AsyncQueryExecutor;
 import com.finalproject.springbackend.db.service.CertifiedNotMoveService;
 import com.finalproject.springbackend.util.TimeZoneUtil;
 import lombok.RequiredArgsConstructor;
@@ -15,6 +17,7 @@ import org.springframework.web.bind.annotation.RestController;
 
 import java.time.OffsetDateTime;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @Slf4j
 @RestController
@@ -23,138 +26,167 @@ import java.util.List;
 public class GetCertifiedNotMoveController {
 
     private final CertifiedNotMoveService cnmService;
+    private final AsyncQueryExecutor asyncQuery;
 
     @GetMapping
-    public ResponseEntity<List<CertifiedNotMove>> getAll(){
-        return ResponseEntity.ok(cnmService.getAll());
+    public CompletableFuture<ResponseEntity<List<CertifiedNotMove>>> getAll(){
+        return asyncQuery.submit(() -> ResponseEntity.ok(cnmService.getAll()));
     }
 
     @GetMapping(value = "/count")
-    public ResponseEntity<Long> getAllCount(){
-        return ResponseEntity.ok(cnmService.getAllCount());
+    public CompletableFuture<ResponseEntity<Long>> getAllCount(){
+        return asyncQuery.submit(() -> ResponseEntity.ok(cnmService.getAllCount()));
     }
 
     @GetMapping(params = {"clientIp"})
-    public ResponseEntity<List<CertifiedNotMove>> getOnlyClientIp(
+    public CompletableFuture<ResponseEntity<List<CertifiedNotMove>>> getOnlyClientIp(
             @RequestParam(value = "clientIp") String clientIp
     ) {
-        List<CertifiedNotMove> c2tList = cnmService.getOnlyClientIp(clientIp);
-        return ResponseEntity.ok(c2tList);
+        return asyncQuery.submit(() -> {
+            List<CertifiedNotMove> c2tList = cnmService.getOnlyClientIp(clientIp);
+            return ResponseEntity.ok(c2tList);
+        });
     }
 
     @GetMapping(value = "/count", params = {"clientIp"})
-    public ResponseEntity<Long> getOnlyClientIpCount(@RequestParam(value = "clientIp") String clientIp){
-        Long count = cnmService.getOnlyClientIpCount(clientIp);
-        return ResponseEntity.ok(count);
+    public CompletableFuture<ResponseEntity<Long>> getOnlyClientIpCount(@RequestParam(value = "clientIp") String clientIp){
+        return asyncQuery.submit(() -> {
+            Long count = cnmService.getOnlyClientIpCount(clientIp);
+            return ResponseEntity.ok(count);
+        });
     }
 
     @GetMapping(params = {"alertType"})
-    public ResponseEntity<List<CertifiedNotMove>> getOnlyAlertType(@RequestParam(value = "alertType") String alertType){
-        List<CertifiedNotMove> c2tList = cnmService.getOnlyAlertType(alertType);
-        return ResponseEntity.ok(c2tList);
+    public CompletableFuture<ResponseEntity<List<CertifiedNotMove>>> getOnlyAlertType(@RequestParam(value = "alertType") String alertType){
+        return asyncQuery.submit(() -> {
+            List<CertifiedNotMove> c2tList = cnmService.getOnlyAlertType(alertType);
+            return ResponseEntity.ok(c2tList);
+        });
     }
 
     @GetMapping(value = "/count", params = {"alertType"})
-    public ResponseEntity<Long> getOnlyAlertTypeCount(@RequestParam(value = "alertType") String alertType){
-        Long cnt = cnmService.getOnlyAlertTypeCount(alertType);
-        return ResponseEntity.ok(cnt);
+    public CompletableFuture<ResponseEntity<Long>> getOnlyAlertTypeCount(@RequestParam(value = "alertType") String alertType){
+        return asyncQuery.submit(() -> {
+            Long cnt = cnmService.getOnlyAlertTypeCount(alertType);
+            return ResponseEntity.ok(cnt);
+        });
     }
 
     @GetMapping(params = {"start"})
-    public ResponseEntity<List<CertifiedNotMove>> getTimeOnly(
+    public CompletableFuture<ResponseEntity<List<CertifiedNotMove>>> getTimeOnly(
             @RequestParam(value = "start") OffsetDateTime start,
             @RequestParam(value = "end", required = false) OffsetDateTime end
     ){
-        List<CertifiedNotMove> c2tList = cnmService.getTimeOnly(start, end);
-        return ResponseEntity.ok(c2tList);
+        return asyncQuery.submit(() -> {
+            List<CertifiedNotMove> c2tList = cnmService.getTimeOnly(start, end);
+            return ResponseEntity.ok(c2tList);
+        });
     }
 
     @GetMapping(value = "/count", params = {"start"})
-    public ResponseEntity<Long> getTimeOnlyCount(
+    public CompletableFuture<ResponseEntity<Long>> getTimeOnlyCount(
             @RequestParam(value = "start") OffsetDateTime start,
             @RequestParam(value = "end", required = false) OffsetDateTime end
     ){
-        Long cnt = cnmService.getTimeOnlyCount(start, end);
-        return ResponseEntity.ok(cnt);
+        return asyncQuery.submit(() -> {
+            Long cnt = cnmService.getTimeOnlyCount(start, end);
+            return ResponseEntity.ok(cnt);
+        });
     }
 
     @GetMapping(params = {"start", "clientIp"})
-    public ResponseEntity<List<CertifiedNotMove>> getC(
+    public CompletableFuture<ResponseEntity<List<CertifiedNotMove>>> getC(
             @RequestParam(value = "start") OffsetDateTime start,
             @RequestParam(value = "end", required = false) OffsetDateTime end,
             @RequestParam(value = "clientIp") String clientIp
     ){
-        List<CertifiedNotMove> c2tList = cnmService.getC(start, end, clientIp);
-        return ResponseEntity.ok(c2tList);
+        return asyncQuery.submit(() -> {
+            List<CertifiedNotMove> c2tList = cnmService.getC(start, end, clientIp);
+            return ResponseEntity.ok(c2tList);
+        });
     }
 
     @GetMapping(value = "/count", params = {"start", "clientIp"})
-    public ResponseEntity<Long> getCCount(
+    public CompletableFuture<ResponseEntity<Long>> getCCount(
             @RequestParam(value = "start") OffsetDateTime start,
             @RequestParam(value = "end", required = false) OffsetDateTime end,
             @RequestParam(value = "clientIp") String clientIp
     ){
-        Long cnt = cnmService.getCCount(start, end,clientIp);
-        return ResponseEntity.ok(cnt);
+        return asyncQuery.submit(() -> {
+            Long cnt = cnmService.getCCount(start, end,clientIp);
+            return ResponseEntity.ok(cnt);
+        });
     }
 
     @GetMapping(params = {"start", "alertType"})
-    public ResponseEntity<List<CertifiedNotMove>> getA(
+    public CompletableFuture<ResponseEntity<List<CertifiedNotMove>>> getA(
             @RequestParam(value = "start") OffsetDateTime start,
             @RequestParam(value = "end", required = false) OffsetDateTime end,
             @RequestParam(value = "alertType") String alertType
     ){
-        List<CertifiedNotMove> c2tList = cnmService.getA(start, end, alertType);
-        return ResponseEntity.ok(c2tList);
+        return asyncQuery.submit(() -> {
+            List<CertifiedNotMove> c2tList = cnmService.getA(start, end, alertType);
+            return ResponseEntity.ok(c2tList);
+        });
     }
 
     @GetMapping(value = "/count", params = {"start", "alertType"})
-    public ResponseEntity<Long> getACount(
+    public CompletableFuture<ResponseEntity<Long>> getACount(
             @RequestParam(value = "start") OffsetDateTime start,
             @RequestParam(value = "end", required = false) OffsetDateTime end,
             @RequestParam(value = "alertType") String alertType
     ){
-        Long cnt = cnmService.getACount(start, end, alertType);
-        return ResponseEntity.ok(cnt);
+        return asyncQuery.submit(() -> {
+            Long cnt = cnmService.getACount(start, end, alertType);
+            return ResponseEntity.ok(cnt);
+        });
     }
 
     @GetMapping(value = "/count/group/clientIp", params = {"start"})
-    public ResponseEntity<List<IpCount>> getIpCount(
+    public CompletableFuture<ResponseEntity<List<IpCount>>> getIpCount(
             @RequestParam(value = "start") OffsetDateTime start,
             @RequestParam(value = "end", required = false) OffsetDateTime end
     ){
-        List<IpCount> c2tIpCountList = cnmService.getIpCount(start, end);
-        return ResponseEntity.ok(c2tIpCountList);
+        return asyncQuery.submit(() -> {
+            List<IpCount> c2tIpCountList = cnmService.getIpCount(start, end);
+            return ResponseEntity.ok(c2tIpCountList);
+        });
     }
 
     @GetMapping(value = "/count/group/clientIp")
-    public ResponseEntity<List<IpCount>> getIpCountAll(){
-        List<IpCount> c2tIpCountList = cnmService.getIpCountAll();
-        return ResponseEntity.ok(c2tIpCountList);
+    public CompletableFuture<ResponseEntity<List<IpCount>>> getIpCountAll(){
+        return asyncQuery.submit(() -> {
+            List<IpCount> c2tIpCountList = cnmService.getIpCountAll();
+            return ResponseEntity.ok(c2tIpCountList);
+        });
     }
 
     // 프론트엔드 호환성을 위한 snake_case 버전
     @GetMapping(value = "/count/group/client_ip", params = {"start"})
-    public ResponseEntity<List<IpCount>> getIpCountSnakeCase(
+    public CompletableFuture<ResponseEntity<List<IpCount>>> getIpCountSnakeCase(
             @RequestParam(value = "start") String start,
             @RequestParam(value = "end", required = false) String end
     ){
-        try {
-            OffsetDateTime startTime = TimeZoneUtil.parseFromFrontend(start);
-            OffsetDateTime endTime = end != null ? TimeZoneUtil.parseFromFrontend(end) : null;
-            
-            List<IpCount> c2tIpCountList = cnmService.getIpCount(startTime, endTime);
-            return ResponseEntity.ok(c2tIpCountList);
-        } catch (IllegalArgumentException e) {
-            log.error("❌ Invalid date format: {}", e.getMessage());
-            return ResponseEntity.badRequest().build();
-        }
+        return asyncQuery.submit(() -> {
+            try {
+                OffsetDateTime startTime = TimeZoneUtil.parseFromFrontend(start);
+                OffsetDateTime endTime = end != null ? TimeZoneUtil.parseFromFrontend(end) : null;
+
+                List<IpCount> c2tIpCountList = cnmService.getIpCount(startTime, endTime);
+                return ResponseEntity.ok(c2tIpCountList);
+            } catch (IllegalArgumentException e) {
+                log.error("❌ Invalid date format: {}", e.getMessage());
+                return ResponseEntity.badRequest().build();
+            }
+        });
     }
 
     @GetMapping(value = "/count/group/client_ip")
-    public ResponseEntity<List<IpCount>> getIpCountAllSnakeCase(){
-        List<IpCount> c2tIpCountList = cnmService.getIpCountAll();
-        return ResponseEntity.ok(c2tIpCountList);
+    public CompletableFuture<ResponseEntity<List<IpCount>>> getIpCountAllSnakeCase(){
+        return asyncQuery.submit(() -> {
+            List<IpCount> c2tIpCountList = cnmService.getIpCountAll();
+            return ResponseEntity.ok(c2tIpCountList);
+        });
     }
 
     @GetMapping(value = "/count/group/alertType", params = {"start"})
@@ -167,9 +199,11 @@ public class GetCertifiedNotMoveController {
     }
 
     @GetMapping(value="/count/group/alertType")
-    public ResponseEntity<List<AlertTypeCount>> getAlterTypeCountAll(){
-        List<AlertTypeCount> c2tAlterTypeCountList = cnmService.getAlertTypeCountAll();
-        return ResponseEntity.ok(c2tAlterTypeCountList);
+    public CompletableFuture<ResponseEntity<List<AlertTypeCount>>> getAlterTypeCountAll(){
+        return asyncQuery.submit(() -> {
+            List<AlertTypeCount> c2tAlterTypeCountList = cnmService.getAlertTypeCountAll();
+            return ResponseEntity.ok(c2tAlterTypeCountList);
+        });
     }
 
     // 프론트엔드 호환성을 위한 snake_case 버전
@@ -191,9 +225,31 @@ public class GetCertifiedNotMoveController {
     }
 
     @GetMapping(value="/count/group/alert_type")
-    public ResponseEntity<List<AlertTypeCount>> getAlterTypeCountAllSnakeCase(){
-        List<AlertTypeCount> c2tAlterTypeCountList = cnmService.getAlertTypeCountAll();
-        return ResponseEntity.ok(c2tAlterTypeCountList);
-    }
+    public CompletableFuture<ResponseEntity<List<AlertTypeCount>>> getAlterTypeCountAllSnakeCase(){
+        return asyncQuery.submit(() -> {
+            List<AlertTypeCount> c2tAlterTypeCountList = cnmService.getAlertTypeCountAll();
+            return ResponseEntity.ok(c2tAlterTypeCountList);
+        });
+    }
+
+    /**
+     * 시간 버킷별 레코드 갯수 (타임라인 차트용)
+     * 예: /histogram?start=2025-09-12T00:00:00Z&end=2025-09-13T00:00:00Z&bucket=1h&alertType=...
+     * 응답: [[bucketStart, count], ...]
+     */
+    @GetMapping(value = "/histogram", params = {"start"})
+    public CompletableFuture<ResponseEntity<List<BucketCount>>> getHistogram(
+            @RequestParam(value = "start") String start,
+            @RequestParam(value = "end", required = false) String end,
+            @RequestParam(value = "bucket", defaultValue = "1h") String bucket,
+            @RequestParam(value = "clientIp", required = false) String clientIp,
+            @RequestParam(value = "alertType", required = false) String alertType
+    ) {
+        return asyncQuery.submit(() -> {
+            OffsetDateTime startTime = TimeZoneUtil.parseFromFrontend(start);
+            OffsetDateTime endTime = end != null ? TimeZoneUtil.parseFromFrontend(end) : null;
 
+            return ResponseEntity.ok(cnmService.getHistogram(startTime, endTime, bucket, clientIp, alertType));
+        });
+    }
 }
@@ -1,7 +1,11 @@
 package com.finalproject.springbackend.db.controller;
 
 import com.finalproject.springbackend.db.entity.ResourceLevelFalse;
+import com.finalproject.springbackend.db.repository.projection.BucketCount;
+import com.finalproject.springbackend.db.repository.projection.GroupCount;
+import com.finalproject.springbackend.db.service.AsyncQueryExecutor;
 import com.finalproject.springbackend.db.service.ResourceLevelFalseService;
+import com.finalproject.springbackend.util.TimeZoneUtil;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -11,6 +15,7 @@ import org.springframework.web.bind.annotation.RestController;
 
 import java.time.OffsetDateTime;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/db/resource_level_false")
@@ -18,6 +23,7 @@ import java.util.List;
 public class GetResourceLevelFalseController {
 
     private final ResourceLevelFalseService rlfService;
+    private final AsyncQueryExecutor asyncQuery;
 
     /**
      * 시간 기준 resource-level-false 테이블의 레코드 반환
@@ -30,68 +36,78 @@ public class GetResourceLevelFalseController {
 
     /** 전체 레코드 전부 반환*/
     @GetMapping
-    public ResponseEntity<List<ResourceLevelFalse>> getAll(){
-        List<ResourceLevelFalse> rlfAll = rlfService.getAll();
-        return ResponseEntity.ok(rlfAll);
+    public CompletableFuture<ResponseEntity<List<ResourceLevelFalse>>> getAll(){
+        return asyncQuery.submit(() -> {
+            List<ResourceLevelFalse> rlfAll = rlfService.getAll();
+            return ResponseEntity.ok(rlfAll);
+        });
     }
     /** 전체 레코드 갯수 */
     @GetMapping("/count")
-    public ResponseEntity<Long> getCount(){
-        return ResponseEntity.ok(rlfService.getCount());
+    public CompletableFuture<ResponseEntity<Long>> getCount(){
+        return asyncQuery.submit(() -> ResponseEntity.ok(rlfService.getCount()));
     }
     /**특정 원소 기준으로 일치하는 모든 레코드 반환 및 해당 갯수 반환 */
     //특정 principal 원소가 일치하는 레코드만 반환
     @GetMapping(params = {"principal"})
-    public ResponseEntity<List<ResourceLevelFalse>> getPrincipalList(
+    public CompletableFuture<ResponseEntity<List<ResourceLevelFalse>>> getPrincipalList(
             @RequestParam String principal){
-        return ResponseEntity.ok(rlfService.getPrincipal(principal));
+        return asyncQuery.submit(() -> ResponseEntity.ok(rlfService.getPrincipal(principal)));
     }
     //특정 principal 원소가 일치하는 레코드 갯수 반환
     @GetMapping(value = "/count", params = {"principal"})
-    public ResponseEntity<Long> getPrincipalListCount(
+    public CompletableFuture<ResponseEntity<Long>> getPrincipalListCount(
             @RequestParam String principal) {
-        Long count = rlfService.getPrincipalCount(principal);
-        return ResponseEntity.ok(count);
+        return asyncQuery.submit(() -> {
+            Long count = rlfService.getPrincipalCount(principal);
+            return ResponseEntity.ok(count);
+        });
     }
 
     //resourceName
     @GetMapping(params={"resourceName"})
-    public ResponseEntity<List<ResourceLevelFalse>> getResourceNameList(
+    public CompletableFuture<ResponseEntity<List<ResourceLevelFalse>>> getResourceNameList(
             @RequestParam("resourceName") String resourceName
     ){
-        return ResponseEntity.ok(rlfService.getResourceName(resourceName));
+        return asyncQuery.submit(() -> ResponseEntity.ok(rlfService.getResourceName(resourceName)));
     }
     @GetMapping(value = "/count", params = {"resourceName"})
-    public ResponseEntity<Long> getResourceNameListCount(
+    public CompletableFuture<ResponseEntity<Long>> getResourceNameListCount(
             @RequestParam("resourceName") String resourceName) {
-        Long count = rlfService.getResourceNameCount(resourceName);
-        return ResponseEntity.ok(count);
+        return asyncQuery.submit(() -> {
+            Long count = rlfService.getResourceNameCount(resourceName);
+            return ResponseEntity.ok(count);
+        });
     }
     //operation
     @GetMapping(params={"operation"})
-    public ResponseEntity<List<ResourceLevelFalse>> getOperationList(
+    public CompletableFuture<ResponseEntity<List<ResourceLevelFalse>>> getOperationList(
             @RequestParam String operation
     ){
-        return ResponseEntity.ok(rlfService.getOperation(operation));
+        return asyncQuery.submit(() -> ResponseEntity.ok(rlfService.getOperation(operation)));
     }
     @GetMapping(value = "/count", params = {"operation"})
-    public ResponseEntity<Long> getOperationListCount(
+    public CompletableFuture<ResponseEntity<Long>> getOperationListCount(
             @RequestParam String operation) {
-        Long count = rlfService.getOperationCount(operation);
-        return ResponseEntity.ok(count);
+        return asyncQuery.submit(() -> {
+            Long count = rlfService.getOperationCount(operation);
+            return ResponseEntity.ok(count);
+        });
     }
     //clientIp
     @GetMapping(params={"clientIp"})
-    public ResponseEntity<List<ResourceLevelFalse>> getClientIpList(
+    public CompletableFuture<ResponseEntity<List<ResourceLevelFalse>>> getClientIpList(
             @RequestParam("clientIp") String clientIp
     ){
-        return ResponseEntity.ok(rlfService.getClientIp(clientIp));
+        return asyncQuery.submit(() -> ResponseEntity.ok(rlfService.getClientIp(clientIp)));
     }
     @GetMapping(value = "/count", params = {"clientIp"})
-    public ResponseEntity<Long> getClientIpListCount(
+    public CompletableFuture<ResponseEntity<Long>> getClientIpListCount(
             @RequestParam("clientIp") String clientIp) {
-        Long count = rlfService.getClientIpCount(clientIp);
-        return ResponseEntity.ok(count);
+        return asyncQuery.submit(() -> {
+            Long count = rlfService.getClientIpCount(clientIp);
+            return ResponseEntity.ok(count);
+        });
     }
 
     /**
@@ -106,21 +122,25 @@ public class GetResourceLevelFalseController {
      *                      400 Bad Request - 파라미터 검증 실패
      */
     @GetMapping(params = {"start"})
-    public ResponseEntity<List<ResourceLevelFalse>> getTimes(
+    public CompletableFuture<ResponseEntity<List<ResourceLevelFalse>>> getTimes(
             @RequestParam OffsetDateTime start,
             @RequestParam(required = false) OffsetDateTime end
     ){
-        List<ResourceLevelFalse> rlf = rlfService.getTimesOnly(start, end);
+        return asyncQuery.submit(() -> {
+            List<ResourceLevelFalse> rlf = rlfService.getTimesOnly(start, end);
 
-        return ResponseEntity.ok(rlf);
+            return ResponseEntity.ok(rlf);
+        });
     }
     @GetMapping(value = "/count", params = {"start"})
-    public ResponseEntity<Long> getTimesOnlyCount(
+    public CompletableFuture<ResponseEntity<Long>> getTimesOnlyCount(
             @RequestParam OffsetDateTime start,
             @RequestParam(required = false) OffsetDateTime end
     ) {
-        Long count = (long) rlfService.getTimesOnlyCount(start, end);
-        return ResponseEntity.ok(count);
+        return asyncQuery.submit(() -> {
+            Long count = (long) rlfService.getTimesOnlyCount(start, end);
+            return ResponseEntity.ok(count);
+        });
     }
 
     /**
@@ -132,23 +152,27 @@ public class GetResourceLevelFalseController {
      *                      400 Bad Request - 파라미터 검증 실패
      */
     @GetMapping(params = {"start", "principal"})
-    public ResponseEntity<List<ResourceLevelFalse>> getTimeAndPrincipal(
+    public CompletableFuture<ResponseEntity<List<ResourceLevelFalse>>> getTimeAndPrincipal(
             @RequestParam OffsetDateTime start, @RequestParam(required = false) OffsetDateTime end,
             @RequestParam String principal
     ){
-        List<ResourceLevelFalse> rlf = rlfService.getTimeAndPrincipal(
-                start, end, principal
-        );
-        return ResponseEntity.ok(rlf);
+        return asyncQuery.submit(() -> {
+            List<ResourceLevelFalse> rlf = rlfService.getTimeAndPrincipal(
+                    start, end, principal
+            );
+            return ResponseEntity.ok(rlf);
+        });
     }
     @GetMapping(value = "/count", params = {"start", "principal"})
-    public ResponseEntity<Long> getTimeAndPrincipalCount(
+    public CompletableFuture<ResponseEntity<Long>> getTimeAndPrincipalCount(
             @RequestParam OffsetDateTime start,
             @RequestParam(required = false) OffsetDateTime end,
             @RequestParam String principal
     ) {
-        Long count = (long) rlfService.getTimeAndPrincipalCount(start, end,principal);
-        return ResponseEntity.ok(count);
+        return asyncQuery.submit(() -> {
+            Long count = (long) rlfService.getTimeAndPrincipalCount(start, end,principal);
+            return ResponseEntity.ok(count);
+        });
     }
 
 
@@ -161,23 +185,27 @@ public class GetResourceLevelFalseController {
      *                      400 Bad Request - 파라미터 검증 실패
      */
     @GetMapping(params = {"start", "resourceName"})
-    public ResponseEntity<List<ResourceLevelFalse>> getTimeAndResourceName(
+    public CompletableFuture<ResponseEntity<List<ResourceLevelFalse>>> getTimeAndResourceName(
             @RequestParam OffsetDateTime start, @RequestParam(required = false) OffsetDateTime end,
             @RequestParam("resourceName") String resourceName
     ){
-        List<ResourceLevelFalse> rlf = rlfService.getTimeAndResourceName(
-                start, end, resourceName
-        );
-        return ResponseEntity.ok(rlf);
+        return asyncQuery.submit(() -> {
+            List<ResourceLevelFalse> rlf = rlfService.getTimeAndResourceName(
+                    start, end, resourceName
+            );
+            return ResponseEntity.ok(rlf);
+        });
     }
     @GetMapping(value = "/count", params = {"start", "resourceName"})
-    public ResponseEntity<Long> getTimeAndResourceNameCount(
+    public CompletableFuture<ResponseEntity<Long>> getTimeAndResourceNameCount(
             @RequestParam OffsetDateTime start,
             @RequestParam(required = false) OffsetDateTime end,
             @RequestParam("resourceName") String resourceName
     ) {
-        Long count = (long) rlfService.getTimeAndResourceNameCount(start, end, resourceName);
-        return ResponseEntity.ok(count);
+        return asyncQuery.submit(() -> {
+            Long count = (long) rlfService.getTimeAndResourceNameCount(start, end, resourceName);
+            return ResponseEntity.ok(count);
+        });
     }
 
     /**
@@ -189,23 +217,27 @@ public class GetResourceLevelFalseController {
      *                      400 Bad Request - 파라미터 검증 실패
      */
     @GetMapping(params = {"start", "operation"})
-    public ResponseEntity<List<ResourceLevelFalse>> getTimeAndOperation(
+    public CompletableFuture<ResponseEntity<List<ResourceLevelFalse>>> getTimeAndOperation(
             @RequestParam OffsetDateTime start, @RequestParam(required = false) OffsetDateTime end,
             @RequestParam String operation
     ){
-        List<ResourceLevelFalse> rlf = rlfService.getTimeAndOperation(
-                start, end, operation
-        );
-        return ResponseEntity.ok(rlf);
+        return asyncQuery.submit(() -> {
+            List<ResourceLevelFalse> rlf = rlfService.getTimeAndOperation(
+                    start, end, operation
+            );
+            return ResponseEntity.ok(rlf);
+        });
     }
     @GetMapping(value = "/count", params = {"start", "operation"})
-    public ResponseEntity<Long> getTimeAndOperationCount(
+    public CompletableFuture<ResponseEntity<Long>> getTimeAndOperationCount(
             @RequestParam OffsetDateTime start,
             @RequestParam(required = false) OffsetDateTime end,
             @RequestParam String operation
     ) {
-        Long count = (long) rlfService.getTimeAndOperationCount(start, end, operation);
-        return ResponseEntity.ok(count);
+        return asyncQuery.submit(() -> {
+            Long count = (long) rlfService.getTimeAndOperationCount(start, end, operation);
+            return ResponseEntity.ok(count);
+        });
     }
     /**
      * @param start         시작 시각
@@ -216,23 +248,27 @@ public class GetResourceLevelFalseController {
      *                      400 Bad Request - 파라미터 검증 실패
      */
     @GetMapping(params = {"start", "clientIp"})
-    public ResponseEntity<List<ResourceLevelFalse>> getTimeAndClientIp(
+    public CompletableFuture<ResponseEntity<List<ResourceLevelFalse>>> getTimeAndClientIp(
             @RequestParam OffsetDateTime start, @RequestParam(required = false) OffsetDateTime end,
             @RequestParam("clientIp") String clientIp
     ){
-        List<ResourceLevelFalse> rlf = rlfService.getTimeAndClientIp(
-                start, end, clientIp
-        );
-        return ResponseEntity.ok(rlf);
+        return asyncQuery.submit(() -> {
+            List<ResourceLevelFalse> rlf = rlfService.getTimeAndClientIp(
+                    start, end, clientIp
+            );
+            return ResponseEntity.ok(rlf);
+        });
     }
     @GetMapping(value = "/count", params = {"start", "clientIp"})
-    public ResponseEntity<Long> getTimeAndClientIpCount(
+    public CompletableFuture<ResponseEntity<Long>> getTimeAndClientIpCount(
             @RequestParam OffsetDateTime start,
             @RequestParam(required = false) OffsetDateTime end,
             @RequestParam("clientIp") String clientIp
     ) {
-        Long count = (long) rlfService.getTimeAndClientIpCount(start, end, clientIp);
-        return ResponseEntity.ok(count);
+        return asyncQuery.submit(() -> {
+            Long count = (long) rlfService.getTimeAndClientIpCount(start, end, clientIp);
+            return ResponseEntity.ok(count);
+        });
     }
 
     /**
@@ -245,24 +281,28 @@ public class GetResourceLevelFalseController {
      *                      400 Bad Request - 파라미터 검증 실패
      */
     @GetMapping(params = {"start", "principal", "resourceName"})
-    public ResponseEntity<List<ResourceLevelFalse>> getTimeAndPR(
+    public CompletableFuture<ResponseEntity<List<ResourceLevelFalse>>> getTimeAndPR(
             @RequestParam OffsetDateTime start, @RequestParam(required = false) OffsetDateTime end,
             @RequestParam String principal, @RequestParam("resourceName") String resourceName
     ){
-        List<ResourceLevelFalse> rlf = rlfService.getTimeAndPR(
-                start, end, principal, resourceName
-        );
-        return ResponseEntity.ok(rlf);
+        return asyncQuery.submit(() -> {
+            List<ResourceLevelFalse> rlf = rlfService.getTimeAndPR(
+                    start, end, principal, resourceName
+            );
+            return ResponseEntity.ok(rlf);
+        });
     }
     @GetMapping(value = "/count", params = {"start", "principal","resourceName"})
-    public ResponseEntity<Long> getTimeAndPRCount(
+    public CompletableFuture<ResponseEntity<Long>> getTimeAndPRCount(
             @RequestParam OffsetDateTime start,
             @RequestParam(required = false) OffsetDateTime end,
             @RequestParam String principal,
             @RequestParam("resourceName") String resourceName
     ) {
-        Long count = (long) rlfService.getTimeAndPRCount(start, end, principal, resourceName);
-        return ResponseEntity.ok(count);
+        return asyncQuery.submit(() -> {
+            Long count = (long) rlfService.getTimeAndPRCount(start, end, principal, resourceName);
+            return ResponseEntity.ok(count);
+        });
     }
 
     /**
@@ -275,22 +315,26 @@ public class GetResourceLevelFalseController {
      *                      400 Bad Request - 파라미터 검증 실패
      */
     @GetMapping(params = {"start", "principal", "operation"})
-    public ResponseEntity<List<ResourceLevelFalse>> getTimeAndPO(
+    public CompletableFuture<ResponseEntity<List<ResourceLevelFalse>>> getTimeAndPO(
             @RequestParam OffsetDateTime start, @RequestParam(required = false) OffsetDateTime end,
             @RequestParam String principal, @RequestParam String operation
     ){
-        List<ResourceLevelFalse> rlf = rlfService.getTimeAndPO(
-                start, end, principal, operation
-        );
-        return ResponseEntity.ok(rlf);
+        return asyncQuery.submit(() -> {
+            List<ResourceLevelFalse> rlf = rlfService.getTimeAndPO(
+                    start, end, principal, operation
+            );
+            return ResponseEntity.ok(rlf);
+        });
     }
     @GetMapping(value = "/count", params = {"start", "principal","operation"})
-    public ResponseEntity<Long> getTimeAndPOCount(
+    public CompletableFuture<ResponseEntity<Long>> getTimeAndPOCount(
             @RequestParam OffsetDateTime start, @RequestParam(required = false) OffsetDateTime end,
             @RequestParam String principal, @RequestParam String operation
     ) {
-        Long count = (long) rlfService.getTimeAndPOCount(start, end, principal, operation);
-        return ResponseEntity.ok(count);
+        return asyncQuery.submit(() -> {
+            Long count = (long) rlfService.getTimeAndPOCount(start, end, principal, operation);
+            return ResponseEntity.ok(count);
+        });
     }
 
 
@@ -304,22 +348,26 @@ public class GetResourceLevelFalseController {
      *                      400 Bad Request - 파라미터 검증 실패
      */
     @GetMapping(params = {"start", "principal", "clientIp"})
-    public ResponseEntity<List<ResourceLevelFalse>> getTimeAndPC(
+    public CompletableFuture<ResponseEntity<List<ResourceLevelFalse>>> getTimeAndPC(
             @RequestParam OffsetDateTime start, @RequestParam(required = false) OffsetDateTime end,
             @RequestParam String principal, @RequestParam("clientIp") String clientIp
     ){
-        List<ResourceLevelFalse> rlf = rlfService.getTimeAndPC(
-                start, end, principal, clientIp
-        );
-        return ResponseEntity.ok(rlf);
+        return asyncQuery.submit(() -> {
+            List<ResourceLevelFalse> rlf = rlfService.getTimeAndPC(
+                    start, end, principal, clientIp
+            );
+            return ResponseEntity.ok(rlf);
+        });
     }
     @GetMapping(value = "/count", params = {"start", "principal","clientIp"})
-    public ResponseEntity<Long> getTimeAndPCCount(
+    public CompletableFuture<ResponseEntity<Long>> getTimeAndPCCount(
             @RequestParam OffsetDateTime start, @RequestParam(required = false) OffsetDateTime end,
             @RequestParam String principal, @RequestParam("clientIp") String clientIp
     ) {
-        Long count = (long) rlfService.getTimeAndPCCount(start, end, principal, clientIp);
-        return ResponseEntity.ok(count);
+        return asyncQuery.submit(() -> {
+            Long count = (long) rlfService.getTimeAndPCCount(start, end, principal, clientIp);
+            return ResponseEntity.ok(count);
+        });
     }
 
     /**
@@ -332,22 +380,26 @@ public class GetResourceLevelFalseController {
      *                      400 Bad Request - 파라미터 검증 실패
      */
     @GetMapping(params = {"start", "resourceName", "operation"})
-    public ResponseEntity<List<ResourceLevelFalse>> getTimeAndRO(
+    public CompletableFuture<ResponseEntity<List<ResourceLevelFalse>>> getTimeAndRO(
             @RequestParam OffsetDateTime start, @RequestParam(required = false) OffsetDateTime end,
             @RequestParam("resourceName") String resourceName, @RequestParam String operation
     ){
-        List<ResourceLevelFalse> rlf = rlfService.getTimeAndRO(
-                start, end, resourceName, operation
-        );
-        return ResponseEntity.ok(rlf);
+        return asyncQuery.submit(() -> {
+            List<ResourceLevelFalse> rlf = rlfService.getTimeAndRO(
+                    start, end, resourceName, operation
+            );
+            return ResponseEntity.ok(rlf);
+        });
     }
     @GetMapping(value = "/count", params = {"start", "resourceName", "operation"})
-    public ResponseEntity<Long> getTimeAndROCount(
+    public CompletableFuture<ResponseEntity<Long>> getTimeAndROCount(
             @RequestParam OffsetDateTime start, @RequestParam(required = false) OffsetDateTime end,
             @RequestParam("resourceName") String resourceName, @RequestParam String operation
     ) {
-        Long count = (long) rlfService.getTimeAndROCount(start, end, resourceName, operation);
-        return ResponseEntity.ok(count);
+        return asyncQuery.submit(() -> {
+            Long count = (long) rlfService.getTimeAndROCount(start, end, resourceName, operation);
+            return ResponseEntity.ok(count);
+        });
     }
 
     /**
@@ -360,22 +412,26 @@ public class GetResourceLevelFalseController {
      *                      400 Bad Request - 파라미터 검증 실패
      */
     @GetMapping(params = {"start", "resourceName", "clientIp"})
-    public ResponseEntity<List<ResourceLevelFalse>> getTimeAndRC(
+    public CompletableFuture<ResponseEntity<List<ResourceLevelFalse>>> getTimeAndRC(
             @RequestParam OffsetDateTime start, @RequestParam(required = false) OffsetDateTime end,
             @RequestParam("resourceName") String resourceName, @RequestParam("clientIp") String clientIp
     ){
-        List<ResourceLevelFalse> rlf = rlfService.getTimeAndRC(
-                start, end, resourceName, clientIp
-        );
-        return ResponseEntity.ok(rlf);
+        return asyncQuery.submit(() -> {
+            List<ResourceLevelFalse> rlf = rlfService.getTimeAndRC(
+                    start, end, resourceName, clientIp
+            );
+            return ResponseEntity.ok(rlf);
+        });
     }
     @GetMapping(value = "/count", params = {"start", "resourceName", "clientIp"})
-    public ResponseEntity<Long> getTimeAndRCCount(
+    public CompletableFuture<ResponseEntity<Long>> getTimeAndRCCount(
             @RequestParam OffsetDateTime start, @RequestParam(required = false) OffsetDateTime end,
             @RequestParam("resourceName") String resourceName, @RequestParam("clientIp") String clientIp
     ) {
-        Long count = (long) rlfService.getTimeAndRCCount(start, end, resourceName, clientIp);
-        return ResponseEntity.ok(count);
+        return asyncQuery.submit(() -> {
+            Long count = (long) rlfService.getTimeAndRCCount(start, end, resourceName, clientIp);
+            return ResponseEntity.ok(count);
+        });
     }
 
     /**
@@ -388,22 +444,26 @@ public class GetResourceLevelFalseController {
      *                      400 Bad Request - 파라미터 검증 실패
      */
     @GetMapping(params = {"start", "operation", "clientIp"})
-    public ResponseEntity<List<ResourceLevelFalse>> getTimeAndOC(
+    public CompletableFuture<ResponseEntity<List<ResourceLevelFalse>>> getTimeAndOC(
             @RequestParam OffsetDateTime start, @RequestParam(required = false) OffsetDateTime end,
             @RequestParam String operation, @RequestParam("clientIp") String clientIp
     ){
-        List<ResourceLevelFalse> rlf = rlfService.getTimeAndOC(
-                start, end, operation, clientIp
-        );
-        return ResponseEntity.ok(rlf);
+        return asyncQuery.submit(() -> {
+            List<ResourceLevelFalse> rlf = rlfService.getTimeAndOC(
+                    start, end, operation, clientIp
+            );
+            return ResponseEntity.ok(rlf);
+        });
     }
     @GetMapping(value = "/count", params = {"start", "operation", "clientIp"})
-    public ResponseEntity<Long> getTimeAndOCCount(
+    public CompletableFuture<ResponseEntity<Long>> getTimeAndOCCount(
             @RequestParam OffsetDateTime start, @RequestParam(required = false) OffsetDateTime end,
             @RequestParam String operation, @RequestParam("clientIp") String clientIp
     ) {
-        Long count = (long) rlfService.getTimeAndOCCount(start, end, operation, clientIp);
-        return ResponseEntity.ok(count);
+        return asyncQuery.submit(() -> {
+            Long count = (long) rlfService.getTimeAndOCCount(start, end, operation, clientIp);
+            return ResponseEntity.ok(count);
+        });
     }
 
 
@@ -418,25 +478,29 @@ public class GetResourceLevelFalseController {
      *                      400 Bad Request - 파라미터 검증 실패
      */
     @GetMapping(params = {"start", "principal", "resourceName", "operation"})
-    public ResponseEntity<List<ResourceLevelFalse>> getTimeAndPRO(
+    public CompletableFuture<ResponseEntity<List<ResourceLevelFalse>>> getTimeAndPRO(
             @RequestParam OffsetDateTime start, @RequestParam(required = false) OffsetDateTime end,
             @RequestParam String principal,
             @RequestParam("resourceName") String resourceName,
             @RequestParam String operation
     ){
-        List<ResourceLevelFalse> rlf = rlfService.getTimeAndPRO(
-                start, end, principal, resourceName, operation);
-        return ResponseEntity.ok(rlf);
+        return asyncQuery.submit(() -> {
+            List<ResourceLevelFalse> rlf = rlfService.getTimeAndPRO(
+                    start, end, principal, resourceName, operation);
+            return ResponseEntity.ok(rlf);
+        });
     }
     @GetMapping(value = "/count", params = {"start", "principal", "resourceName", "operation"})
-    public ResponseEntity<Long> getTimeAndPROCount(
+    public CompletableFuture<ResponseEntity<Long>> getTimeAndPROCount(
             @RequestParam OffsetDateTime start, @RequestParam(required = false) OffsetDateTime end,
             @RequestParam String principal,
             @RequestParam("resourceName") String resourceName,
             @RequestParam String operation
     ) {
-        Long count = (long) rlfService.getTimeAndPROCount(start, end, principal, resourceName, operation);
-        return ResponseEntity.ok(count);
+        return asyncQuery.submit(() -> {
+            Long count = (long) rlfService.getTimeAndPROCount(start, end, principal, resourceName, operation);
+            return ResponseEntity.ok(count);
+        });
     }
 
     /**
@@ -450,25 +514,29 @@ public class GetResourceLevelFalseController {
      *                      400 Bad Request - 파라미터 검증 실패
      */
     @GetMapping(params = {"start", "principal", "resourceName", "clientIp"})
-    public ResponseEntity<List<ResourceLevelFalse>> getTimeAndPRC(
+    public CompletableFuture<ResponseEntity<List<ResourceLevelFalse>>> getTimeAndPRC(
             @RequestParam OffsetDateTime start, @RequestParam(required = false) OffsetDateTime end,
             @RequestParam String principal,
             @RequestParam("resourceName") String resourceName,
             @RequestParam("clientIp") String clientIp
     ){
-        List<ResourceLevelFalse> rlf = rlfService.getTimeAndPRC(
-                start, end, principal, resourceName, clientIp);
-        return ResponseEntity.ok(rlf);
+        return asyncQuery.submit(() -> {
+            List<ResourceLevelFalse> rlf = rlfService.getTimeAndPRC(
+                    start, end, principal, resourceName, clientIp);
+            return ResponseEntity.ok(rlf);
+        });
     }
     @GetMapping(value = "/count", params = {"start", "principal", "resourceName", "clientIp"})
-    public ResponseEntity<Long> getTimeAndPRCCount(
+    public CompletableFuture<ResponseEntity<Long>> getTimeAndPRCCount(
             @RequestParam OffsetDateTime start, @RequestParam(required = false) OffsetDateTime end,
             @RequestParam String principal,
             @RequestParam("resourceName") String resourceName,
             @RequestParam("clientIp") String clientIp
     ) {
-        Long count = (long) rlfService.getTimeAndPRCCount(start, end, principal, resourceName, clientIp);
-        return ResponseEntity.ok(count);
+        return asyncQuery.submit(() -> {
+            Long count = (long) rlfService.getTimeAndPRCCount(start, end, principal, resourceName, clientIp);
+            return ResponseEntity.ok(count);
+        });
     }
 
     /**
@@ -482,25 +550,29 @@ public class GetResourceLevelFalseController {
      *                      400 Bad Request - 파라미터 검증 실패
      */
     @GetMapping(params = {"start", "principal", "operation", "clientIp"})
-    public ResponseEntity<List<ResourceLevelFalse>> getTimeAndPOC(
+    public CompletableFuture<ResponseEntity<List<ResourceLevelFalse>>> getTimeAndPOC(
             @RequestParam OffsetDateTime start, @RequestParam(required = false) OffsetDateTime end,
             @RequestParam String principal,
             @RequestParam String operation,
             @RequestParam("clientIp") String clientIp
     ){
-        List<ResourceLevelFalse> rlf = rlfService.getTimeAndPOC(
-                start, end, principal, operation, clientIp);
-        return ResponseEntity.ok(rlf);
+        return asyncQuery.submit(() -> {
+            List<ResourceLevelFalse> rlf = rlfService.getTimeAndPOC(
+                    start, end, principal, operation, clientIp);
+            return ResponseEntity.ok(rlf);
+        });
     }
     @GetMapping(value = "/count", params = {"start", "principal", "operation", "clientIp"})
-    public ResponseEntity<Long> getTimeAndPOCCount(
+    public CompletableFuture<ResponseEntity<Long>> getTimeAndPOCCount(
             @RequestParam OffsetDateTime start, @RequestParam(required = false) OffsetDateTime end,
             @RequestParam String principal,
             @RequestParam String operation,
             @RequestParam("clientIp") String clientIp
     ) {
-        Long count = (long) rlfService.getTimeAndPOCCount(start, end, principal, operation, clientIp);
-        return ResponseEntity.ok(count);
+        return asyncQuery.submit(() -> {
+            Long count = (long) rlfService.getTimeAndPOCCount(start, end, principal, operation, clientIp);
+            return ResponseEntity.ok(count);
+        });
     }
 
     /**
@@ -514,25 +586,29 @@ public class GetResourceLevelFalseController {
      *                      400 Bad Request - 파라미터 검증 실패
      */
     @GetMapping(params = {"start", "resourceName", "operation", "clientIp"})
-    public ResponseEntity<List<ResourceLevelFalse>> getTimeAndROC(
+    public CompletableFuture<ResponseEntity<List<ResourceLevelFalse>>> getTimeAndROC(
             @RequestParam OffsetDateTime start, @RequestParam(required = false) OffsetDateTime end,
             @RequestParam("resourceName") String resourceName,
             @RequestParam String operation,
             @RequestParam("clientIp") String clientIp
     ){
-        List<ResourceLevelFalse> rlf = rlfService.getTimeAndROC(
-                start, end, resourceName, operation, clientIp);
-        return ResponseEntity.ok(rlf);
+        return asyncQuery.submit(() -> {
+            List<ResourceLevelFalse> rlf = rlfService.getTimeAndROC(
+                    start, end, resourceName, operation, clientIp);
+            return ResponseEntity.ok(rlf);
+        });
     }
     @GetMapping(value = "/count", params = {"start", "resourceName", "operation", "clientIp"})
-    public ResponseEntity<Long> getTimeAndROCCount(
+    public CompletableFuture<ResponseEntity<Long>> getTimeAndROCCount(
             @RequestParam OffsetDateTime start, @RequestParam(required = false) OffsetDateTime end,
             @RequestParam("resourceName") String resourceName,
             @RequestParam String operation,
             @RequestParam("clientIp") String clientIp
     ) {
-        Long count = (long) rlfService.getTimeAndROCCount(start, end, resourceName, operation, clientIp);
-        return ResponseEntity.ok(count);
+        return asyncQuery.submit(() -> {
+            Long count = (long) rlfService.getTimeAndROCCount(start, end, resourceName, operation, clientIp);
+            return ResponseEntity.ok(count);
+        });
     }
     /**
      * @param start         시작 시각
@@ -546,28 +622,79 @@ public class GetResourceLevelFalseController {
      *                      400 Bad Request - 파라미터 검증 실패
      */
     @GetMapping(params = {"start", "principal", "resourceName","operation","clientIp"})
-    public ResponseEntity<List<ResourceLevelFalse>> getTimeAndPROC(
+    public CompletableFuture<ResponseEntity<List<ResourceLevelFalse>>> getTimeAndPROC(
             @RequestParam OffsetDateTime start, @RequestParam(required = false) OffsetDateTime end,
             @RequestParam String principal,
             @RequestParam("resourceName") String resourceName,
             @RequestParam String operation,
             @RequestParam("clientIp") String clientIp
     ){
-        List<ResourceLevelFalse> rlf = rlfService.getTimeAndPROC(
-                start, end, principal, resourceName, operation, clientIp);
-        return ResponseEntity.ok(rlf);
+        return asyncQuery.submit(() -> {
+            List<ResourceLevelFalse> rlf = rlfService.getTimeAndPROC(
+                    start, end, principal, resourceName, operation, clientIp);
+            return ResponseEntity.ok(rlf);
+        });
     }
     @GetMapping(value = "/count", params = {"start", "principal", "resourceName", "operation", "clientIp"})
-    public ResponseEntity<Long> getTimeAndPROCCount(
+    public CompletableFuture<ResponseEntity<Long>> getTimeAndPROCCount(
             @RequestParam OffsetDateTime start, @RequestParam(required = false) OffsetDateTime end,
             @RequestParam String principal,
             @RequestParam("resourceName") String resourceName,
             @RequestParam String operation,
             @RequestParam("clientIp") String clientIp
     ) {
-        Long count = (long) rlfService.getTimeAndPROCCount(start, end, principal, resourceName, operation, clientIp);
-        return ResponseEntity.ok(count);
+        return asyncQuery.submit(() -> {
+            Long count = (long) rlfService.getTimeAndPROCCount(start, end, principal, resourceName, operation, clientIp);
+            return ResponseEntity.ok(count);
+        });
     }
 
+    /**
+     * 시간 버킷별 레코드 갯수 (타임라인 차트용), 필터는 선택
+     * 예: /histogram?start=2025-09-12T00:00:00Z&end=2025-09-13T00:00:00Z&bucket=5m&principal=...
+     * 응답: [[bucketStart, count], ...]
+     */
+    @GetMapping(value = "/histogram", params = {"start"})
+    public CompletableFuture<ResponseEntity<List<BucketCount>>> getHistogram(
+            @RequestParam(value = "start") String start,
+            @RequestParam(value = "end", required = false) String end,
+            @RequestParam(value = "bucket", defaultValue = "1h") String bucket,
+            @RequestParam(value = "principal", required = false) String principal,
+            @RequestParam(value = "resourceName", required = false) String resourceName,
+            @RequestParam(value = "operation", required = false) String operation,
+            @RequestParam(value = "clientIp", required = false) String clientIp
+    ){
+        return asyncQuery.submit(() -> {
+            OffsetDateTime startTime = TimeZoneUtil.parseFromFrontend(start);
+            OffsetDateTime endTime = end != null ? TimeZoneUtil.parseFromFrontend(end) : null;
+
+            return ResponseEntity.ok(rlfService.getHistogram(
+                    startTime, endTime, bucket, principal, resourceName, operation, clientIp));
+        });
+    }
 
+    /**
+     * 시간 범위 내 groupBy 컬럼 기준 Top-N (principal, clientIp, resourceName, operation, methodName)
+     * 예: /top?groupBy=principal&start=2025-09-12T00:00:00Z&limit=10&operation=...
+     * 응답: [{"value": ..., "count": ...}, ...] (갯수 내림차순)
+     */
+    @GetMapping(value = "/top", params = {"start", "groupBy"})
+    public CompletableFuture<ResponseEntity<List<GroupCount>>> getTop(
+            @RequestParam(value = "start") String start,
+            @RequestParam(value = "end", required = false) String end,
+            @RequestParam(value = "groupBy") String groupBy,
+            @RequestParam(value = "limit", required = false) Integer limit,
+            @RequestParam(value = "principal", required = false) String principal,
+            @RequestParam(value = "resourceName", required = false) String resourceName,
+            @RequestParam(value = "operation", required = false) String operation,
+            @RequestParam(value = "clientIp", required = false) String clientIp
+    ){
+        return asyncQuery.submit(() -> {
+            OffsetDateTime startTime = TimeZoneUtil.parseFromFrontend(start);
+            OffsetDateTime endTime = end != null ? TimeZoneUtil.parseFromFrontend(end) : null;
+
+            return ResponseEntity.ok(rlfService.getTop(
+                    startTime, endTime, groupBy, limit, principal, resourceName, operation, clientIp));
+        });
+    }
 }
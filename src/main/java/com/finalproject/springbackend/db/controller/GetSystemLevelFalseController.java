@@ -1,19 +1,29 @@
 package com.finalproject.springbackend.db.controller;
 
 import com.finalproject.springbackend.db.entity.SystemLevelFalse;
+import com.finalproject.springbackend.db.repository.projection.BucketCount;
+import com.finalproject.springbackend.db.repository.projection.GroupCount;
+import com.finalproject.springbackend.db.service.AsyncQueryExecutor;
+import com.finalproject.springbackend.db.service.AuditArrowExportService;
 import com.finalproject.springbackend.db.service.SystemLevelFalseService;
 import com.finalproject.springbackend.dto.SystemLevelFalseResponseDTO;
 import com.finalproject.springbackend.util.ControllerTimeUtil;
+import com.finalproject.springbackend.util.TimeZoneUtil;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.io.IOException;
 import java.time.OffsetDateTime;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
 
 @Slf4j
 @RestController
@@ -21,385 +31,461 @@ import java.util.List;
 @RequiredArgsConstructor
 public class GetSystemLevelFalseController {
     private final SystemLevelFalseService slfService;
+    private final AsyncQueryExecutor asyncQuery;
+    private final AuditArrowExportService arrowExport;
 
     /**전체 레코드 반환*/
     @GetMapping
-    public ResponseEntity<List<SystemLevelFalse>> getAll(){
-        List<SystemLevelFalse> slfList = slfService.getAll();
-        return ResponseEntity.ok(slfList);
+    public CompletableFuture<ResponseEntity<List<SystemLevelFalse>>> getAll(){
+        return asyncQuery.submit(() -> {
+            List<SystemLevelFalse> slfList = slfService.getAll();
+            return ResponseEntity.ok(slfList);
+        });
     }
     /**전체 레코드 갯수 반환*/
     @GetMapping(value = "/count")
-    public ResponseEntity<Long> getAllCount(){
-        return ResponseEntity.ok(slfService.getCount());
+    public CompletableFuture<ResponseEntity<Long>> getAllCount(){
+        return asyncQuery.submit(() -> ResponseEntity.ok(slfService.getCount()));
     }
 
     //start, end(없으면 현재 시간으로 보정) 시간 넣으면 해당 시간 범위에 부합하는 레코드 반환
     @GetMapping(params = {"start"})
-    public ResponseEntity<List<SystemLevelFalseResponseDTO>> getTimeOnly(
+    public CompletableFuture<ResponseEntity<List<SystemLevelFalseResponseDTO>>> getTimeOnly(
             @RequestParam(value = "start") String start,
             @RequestParam(value = "end", required = false) String end
     ){
-        return ControllerTimeUtil.handleTimeRangeQuery(
-                start, end,
-                slfService::getTimeOnly,
-                SystemLevelFalseResponseDTO::from
-        );
+        return asyncQuery.submit(() -> ControllerTimeUtil.handleTimeRangeQuery(
+                    start, end,
+                    slfService::getTimeOnlyRows,
+                    Function.identity()
+            ));
     }
 
     //start, end(없으면 현재 시간으로 보정) 시간 넣으면 해당 시간 범위에 부합하는 레코드의 갯수 반환
     @GetMapping(value = "/count", params = {"start"})
-    public ResponseEntity<Long> getTimeOnlyCount(
+    public CompletableFuture<ResponseEntity<Long>> getTimeOnlyCount(
             @RequestParam(value = "start") String start,
             @RequestParam(value = "end", required = false) String end
     ){
-        return ControllerTimeUtil.handleTimeRangeCountQuery(
-                start, end,
-                slfService::getTimeOnlyCount
-        );
+        return asyncQuery.submit(() -> ControllerTimeUtil.handleTimeRangeCountQuery(
+                    start, end,
+                    slfService::getTimeOnlyCount
+            ));
     }
     
     //하나의 필드로 레코드 반환
     @GetMapping(params = {"principal"})
-    public ResponseEntity<List<SystemLevelFalse>> getPrincipal(@RequestParam(value = "principal") String principal){
-        List<SystemLevelFalse> slfList = slfService.getPrincipal(principal);
-        return ResponseEntity.ok(slfList);
+    public CompletableFuture<ResponseEntity<List<SystemLevelFalse>>> getPrincipal(@RequestParam(value = "principal") String principal){
+        return asyncQuery.submit(() -> {
+            List<SystemLevelFalse> slfList = slfService.getPrincipal(principal);
+            return ResponseEntity.ok(slfList);
+        });
     }
     @GetMapping(params = {"resourceName"})
-    public ResponseEntity<List<SystemLevelFalse>> getResourceName(@RequestParam(value = "resourceName") String resourceName){
-        List<SystemLevelFalse> slfList = slfService.getResourceName(resourceName);
-        return ResponseEntity.ok(slfList);
+    public CompletableFuture<ResponseEntity<List<SystemLevelFalse>>> getResourceName(@RequestParam(value = "resourceName") String resourceName){
+        return asyncQuery.submit(() -> {
+            List<SystemLevelFalse> slfList = slfService.getResourceName(resourceName);
+            return ResponseEntity.ok(slfList);
+        });
     }
     @GetMapping(params = {"operation"})
-    public ResponseEntity<List<SystemLevelFalse>> getOperation(@RequestParam(value = "operation") String operation){
-        List<SystemLevelFalse> slfList = slfService.getOperation(operation);
-        return ResponseEntity.ok(slfList);
+    public CompletableFuture<ResponseEntity<List<SystemLevelFalse>>> getOperation(@RequestParam(value = "operation") String operation){
+        return asyncQuery.submit(() -> {
+            List<SystemLevelFalse> slfList = slfService.getOperation(operation);
+            return ResponseEntity.ok(slfList);
+        });
     }
     @GetMapping(params = {"clientIp"})
-    public ResponseEntity<List<SystemLevelFalse>> getClientIp(@RequestParam(value = "clientIp") String clientIp){
-        List<SystemLevelFalse> slfList = slfService.getClientIp(clientIp);
-        return ResponseEntity.ok(slfList);
+    public CompletableFuture<ResponseEntity<List<SystemLevelFalse>>> getClientIp(@RequestParam(value = "clientIp") String clientIp){
+        return asyncQuery.submit(() -> {
+            List<SystemLevelFalse> slfList = slfService.getClientIp(clientIp);
+            return ResponseEntity.ok(slfList);
+        });
     }
 
     /**하나의 필드에 대한 레코드의 갯수*/
     @GetMapping(value = "/count", params = {"principal"})
-    public ResponseEntity<Long> getPrincipalCount(@RequestParam(value = "principal") String principal){
-        Long count = slfService.getPrincipalCount(principal);
-        return ResponseEntity.ok(count);
+    public CompletableFuture<ResponseEntity<Long>> getPrincipalCount(@RequestParam(value = "principal") String principal){
+        return asyncQuery.submit(() -> {
+            Long count = slfService.getPrincipalCount(principal);
+            return ResponseEntity.ok(count);
+        });
     }
 
     @GetMapping(value = "/count", params = {"resourceName"})
-    public ResponseEntity<Long> getResourceNameCount(@RequestParam(value = "resourceName") String resourceName){
-        Long count = slfService.getResourceNameCount(resourceName);
-        return ResponseEntity.ok(count);
+    public CompletableFuture<ResponseEntity<Long>> getResourceNameCount(@RequestParam(value = "resourceName") String resourceName){
+        return asyncQuery.submit(() -> {
+            Long count = slfService.getResourceNameCount(resourceName);
+            return ResponseEntity.ok(count);
+        });
     }
     @GetMapping(value = "/count", params = {"operation"})
-    public ResponseEntity<Long> getOperationCount(@RequestParam(value = "operation") String operation){
-        Long count = slfService.getOperationCount(operation);
-        return ResponseEntity.ok(count);
+    public CompletableFuture<ResponseEntity<Long>> getOperationCount(@RequestParam(value = "operation") String operation){
+        return asyncQuery.submit(() -> {
+            Long count = slfService.getOperationCount(operation);
+            return ResponseEntity.ok(count);
+        });
     }
     @GetMapping(value = "/count", params = {"clientIp"})
-    public ResponseEntity<Long> getClientIpCount(@RequestParam(value = "clientIp") String clientIp){
-        Long count = slfService.getClientIpCount(clientIp);
-        return ResponseEntity.ok(count);
+    public CompletableFuture<ResponseEntity<Long>> getClientIpCount(@RequestParam(value = "clientIp") String clientIp){
+        return asyncQuery.submit(() -> {
+            Long count = slfService.getClientIpCount(clientIp);
+            return ResponseEntity.ok(count);
+        });
     }
 
     /**시간 + 필드 하나*/
     @GetMapping(params = {"start", "principal"})
-    public ResponseEntity<List<SystemLevelFalse>> getP(
+    public CompletableFuture<ResponseEntity<List<SystemLevelFalse>>> getP(
             @RequestParam(value = "start") OffsetDateTime start,
             @RequestParam(value = "end", required = false) OffsetDateTime end,
             @RequestParam(value = "principal") String principal
     ){
-        List<SystemLevelFalse> slfList = slfService.getP(start, end, principal);
-        return ResponseEntity.ok(slfList);
+        return asyncQuery.submit(() -> {
+            List<SystemLevelFalse> slfList = slfService.getP(start, end, principal);
+            return ResponseEntity.ok(slfList);
+        });
     }
     @GetMapping(params = {"start", "resourceName"})
-    public ResponseEntity<List<SystemLevelFalse>> getR(
+    public CompletableFuture<ResponseEntity<List<SystemLevelFalse>>> getR(
             @RequestParam(value = "start") OffsetDateTime start,
             @RequestParam(value = "end", required = false) OffsetDateTime end,
             @RequestParam(value = "resourceName") String resourceName
     ){
-        List<SystemLevelFalse> slfList = slfService.getR(start, end,resourceName);
-        return ResponseEntity.ok(slfList);
+        return asyncQuery.submit(() -> {
+            List<SystemLevelFalse> slfList = slfService.getR(start, end,resourceName);
+            return ResponseEntity.ok(slfList);
+        });
     }
     @GetMapping(params = {"start", "operation"})
-    public ResponseEntity<List<SystemLevelFalse>> getO(
+    public CompletableFuture<ResponseEntity<List<SystemLevelFalse>>> getO(
             @RequestParam(value = "start") OffsetDateTime start,
             @RequestParam(value = "end", required = false) OffsetDateTime end,
             @RequestParam(value = "operation") String operation
     ){
-        List<SystemLevelFalse> slfList = slfService.getO(start, end, operation);
-        return ResponseEntity.ok(slfList);
+        return asyncQuery.submit(() -> {
+            List<SystemLevelFalse> slfList = slfService.getO(start, end, operation);
+            return ResponseEntity.ok(slfList);
+        });
     }
     @GetMapping(params = {"start", "clientIp"})
-    public ResponseEntity<List<SystemLevelFalse>> getC(
+    public CompletableFuture<ResponseEntity<List<SystemLevelFalse>>> getC(
             @RequestParam(value = "start") OffsetDateTime start,
             @RequestParam(value = "end", required = false) OffsetDateTime end,
             @RequestParam(value = "clientIp") String clientIp
     ){
-        List<SystemLevelFalse> slfList = slfService.getC(start, end, clientIp);
-        return ResponseEntity.ok(slfList);
+        return asyncQuery.submit(() -> {
+            List<SystemLevelFalse> slfList = slfService.getC(start, end, clientIp);
+            return ResponseEntity.ok(slfList);
+        });
     }
 
     @GetMapping(value = "/count", params = {"start", "principal"})
-    public ResponseEntity<Long> getPCount(
+    public CompletableFuture<ResponseEntity<Long>> getPCount(
             @RequestParam(value = "start") OffsetDateTime start,
             @RequestParam(value = "end", required = false) OffsetDateTime end,
             @RequestParam(value = "principal") String principal
     ){
-        Long count = slfService.getPCount(start, end, principal);
-        return ResponseEntity.ok(count);
+        return asyncQuery.submit(() -> {
+            Long count = slfService.getPCount(start, end, principal);
+            return ResponseEntity.ok(count);
+        });
     }
     @GetMapping(value = "/count", params = {"start", "resourceName"})
-    public ResponseEntity<Long> getRCount(
+    public CompletableFuture<ResponseEntity<Long>> getRCount(
             @RequestParam(value = "start") OffsetDateTime start,
             @RequestParam(value = "end", required = false) OffsetDateTime end,
             @RequestParam(value = "resourceName") String resourceName
     ){
-        Long count = slfService.getRCount(start, end, resourceName);
-        return ResponseEntity.ok(count);
+        return asyncQuery.submit(() -> {
+            Long count = slfService.getRCount(start, end, resourceName);
+            return ResponseEntity.ok(count);
+        });
     }
     @GetMapping(value = "/count", params = {"start", "operation"})
-    public ResponseEntity<Long> getOCount(
+    public CompletableFuture<ResponseEntity<Long>> getOCount(
             @RequestParam(value = "start") OffsetDateTime start,
             @RequestParam(value = "end", required = false) OffsetDateTime end,
             @RequestParam(value = "operation") String operation
     ){
-        Long count = slfService.getOCount(start, end, operation);
-        return ResponseEntity.ok(count);
+        return asyncQuery.submit(() -> {
+            Long count = slfService.getOCount(start, end, operation);
+            return ResponseEntity.ok(count);
+        });
     }
     @GetMapping(value = "/count", params = {"start", "clientIp"})
-    public ResponseEntity<Long> getCCount(
+    public CompletableFuture<ResponseEntity<Long>> getCCount(
             @RequestParam(value = "start") OffsetDateTime start,
             @RequestParam(value = "end", required = false) OffsetDateTime end,
             @RequestParam(value = "clientIp") String clientIp
     ){
-        Long count = slfService.getCCount(start, end, clientIp);
-        return ResponseEntity.ok(count);
+        return asyncQuery.submit(() -> {
+            Long count = slfService.getCCount(start, end, clientIp);
+            return ResponseEntity.ok(count);
+        });
     }
 
     /**시간 + 필드 둘*/
     @GetMapping(params = {"start", "principal", "resourceName"})
-    public ResponseEntity<List<SystemLevelFalse>> getPR(
+    public CompletableFuture<ResponseEntity<List<SystemLevelFalse>>> getPR(
             @RequestParam(value = "start") OffsetDateTime start,
             @RequestParam(value = "end", required = false) OffsetDateTime end,
             @RequestParam(value = "principal") String principal,
             @RequestParam(value = "resourceName") String resourceName
     ){
-        List<SystemLevelFalse> slfList = slfService.getPR(start, end, principal, resourceName);
-        return ResponseEntity.ok(slfList);
+        return asyncQuery.submit(() -> {
+            List<SystemLevelFalse> slfList = slfService.getPR(start, end, principal, resourceName);
+            return ResponseEntity.ok(slfList);
+        });
     }
     @GetMapping(value = "/count", params = {"start", "principal", "resourceName"})
-    public ResponseEntity<Long> getPRCount(
+    public CompletableFuture<ResponseEntity<Long>> getPRCount(
             @RequestParam(value = "start") OffsetDateTime start,
             @RequestParam(value = "end", required = false) OffsetDateTime end,
             @RequestParam(value = "principal") String principal,
             @RequestParam(value = "resourceName") String resourceName
     ){
-        Long count = slfService.getPRCount(start, end, principal, resourceName);
-        return ResponseEntity.ok(count);
+        return asyncQuery.submit(() -> {
+            Long count = slfService.getPRCount(start, end, principal, resourceName);
+            return ResponseEntity.ok(count);
+        });
     }
 
     @GetMapping(params = {"start", "principal", "operation"})
-    public ResponseEntity<List<SystemLevelFalse>> getPO(
+    public CompletableFuture<ResponseEntity<List<SystemLevelFalse>>> getPO(
             @RequestParam(value = "start") OffsetDateTime start,
             @RequestParam(value = "end", required = false) OffsetDateTime end,
             @RequestParam(value = "principal") String principal,
             @RequestParam(value = "operation") String operation
     ){
-        List<SystemLevelFalse> slfList = slfService.getPO(start, end, principal, operation);
-        return ResponseEntity.ok(slfList);
+        return asyncQuery.submit(() -> {
+            List<SystemLevelFalse> slfList = slfService.getPO(start, end, principal, operation);
+            return ResponseEntity.ok(slfList);
+        });
     }
     @GetMapping(value = "/count", params = {"start", "principal", "operation"})
-    public ResponseEntity<Long> getPOCount(
+    public CompletableFuture<ResponseEntity<Long>> getPOCount(
             @RequestParam(value = "start") OffsetDateTime start,
             @RequestParam(value = "end", required = false) OffsetDateTime end,
             @RequestParam(value = "principal") String principal,
             @RequestParam(value = "operation") String operation
     ){
-        Long count = slfService.getPOCount(start, end, principal, operation);
-        return ResponseEntity.ok(count);
+        return asyncQuery.submit(() -> {
+            Long count = slfService.getPOCount(start, end, principal, operation);
+            return ResponseEntity.ok(count);
+        });
     }
 
     @GetMapping(params = {"start", "principal", "clientIp"})
-    public ResponseEntity<List<SystemLevelFalse>> getPC(
+    public CompletableFuture<ResponseEntity<List<SystemLevelFalse>>> getPC(
             @RequestParam(value = "start") OffsetDateTime start,
             @RequestParam(value = "end", required = false) OffsetDateTime end,
             @RequestParam(value = "principal") String input1,
             @RequestParam(value = "clientIp") String input2
     ){
-        List<SystemLevelFalse> slfList = slfService.getPC(start, end, input1, input2);
-        return ResponseEntity.ok(slfList);
+        return asyncQuery.submit(() -> {
+            List<SystemLevelFalse> slfList = slfService.getPC(start, end, input1, input2);
+            return ResponseEntity.ok(slfList);
+        });
     }
     @GetMapping(value = "/count", params = {"start", "principal", "clientIp"})
-    public ResponseEntity<Long> getPCCount(
+    public CompletableFuture<ResponseEntity<Long>> getPCCount(
             @RequestParam(value = "start") OffsetDateTime start,
             @RequestParam(value = "end", required = false) OffsetDateTime end,
             @RequestParam(value = "principal") String input1,
             @RequestParam(value = "clientIp") String input2
     ){
-        Long count = slfService.getPCCount(start, end, input1, input2);
-        return ResponseEntity.ok(count);
+        return asyncQuery.submit(() -> {
+            Long count = slfService.getPCCount(start, end, input1, input2);
+            return ResponseEntity.ok(count);
+        });
     }
 
     @GetMapping(params = {"start", "resourceName", "operation"})
-    public ResponseEntity<List<SystemLevelFalse>> getRO(
+    public CompletableFuture<ResponseEntity<List<SystemLevelFalse>>> getRO(
             @RequestParam(value = "start") OffsetDateTime start,
             @RequestParam(value = "end", required = false) OffsetDateTime end,
             @RequestParam(value = "resourceName") String input1,
             @RequestParam(value = "operation") String input2
     ){
-        List<SystemLevelFalse> slfList = slfService.getRO(start, end, input1, input2);
-        return ResponseEntity.ok(slfList);
+        return asyncQuery.submit(() -> {
+            List<SystemLevelFalse> slfList = slfService.getRO(start, end, input1, input2);
+            return ResponseEntity.ok(slfList);
+        });
     }
     @GetMapping(value = "/count", params = {"start", "resourceName", "operation"})
-    public ResponseEntity<Long> getROCount(
+    public CompletableFuture<ResponseEntity<Long>> getROCount(
             @RequestParam(value = "start") OffsetDateTime start,
             @RequestParam(value = "end", required = false) OffsetDateTime end,
             @RequestParam(value = "resourceName") String input1,
             @RequestParam(value = "operation") String input2
     ){
-        Long count = slfService.getROCount(start, end, input1, input2);
-        return ResponseEntity.ok(count);
+        return asyncQuery.submit(() -> {
+            Long count = slfService.getROCount(start, end, input1, input2);
+            return ResponseEntity.ok(count);
+        });
     }
 
     @GetMapping(params = {"start", "resourceName", "clientIp"})
-    public ResponseEntity<List<SystemLevelFalse>> getRC(
+    public CompletableFuture<ResponseEntity<List<SystemLevelFalse>>> getRC(
             @RequestParam(value = "start") OffsetDateTime start,
             @RequestParam(value = "end", required = false) OffsetDateTime end,
             @RequestParam(value = "resourceName") String input1,
             @RequestParam(value = "clientIp") String input2
     ){
-        List<SystemLevelFalse> slfList = slfService.getRC(start, end, input1, input2);
-        return ResponseEntity.ok(slfList);
+        return asyncQuery.submit(() -> {
+            List<SystemLevelFalse> slfList = slfService.getRC(start, end, input1, input2);
+            return ResponseEntity.ok(slfList);
+        });
     }
     @GetMapping(value = "/count", params = {"start", "resourceName", "clientIp"})
-    public ResponseEntity<Long> getRCCount(
+    public CompletableFuture<ResponseEntity<Long>> getRCCount(
             @RequestParam(value = "start") OffsetDateTime start,
             @RequestParam(value = "end", required = false) OffsetDateTime end,
             @RequestParam(value = "resourceName") String input1,
             @RequestParam(value = "clientIp") String input2
     ){
-        Long count = slfService.getRCCount(start, end, input1, input2);
-        return ResponseEntity.ok(count);
+        return asyncQuery.submit(() -> {
+            Long count = slfService.getRCCount(start, end, input1, input2);
+            return ResponseEntity.ok(count);
+        });
     }
 
     @GetMapping(params = {"start", "operation", "clientIp"})
-    public ResponseEntity<List<SystemLevelFalse>> getOC(
+    public CompletableFuture<ResponseEntity<List<SystemLevelFalse>>> getOC(
             @RequestParam(value = "start") OffsetDateTime start,
             @RequestParam(value = "end", required = false) OffsetDateTime end,
             @RequestParam(value = "operation") String input1,
             @RequestParam(value = "clientIp") String input2
     ){
-        List<SystemLevelFalse> slfList = slfService.getOC(start, end, input1, input2);
-        return ResponseEntity.ok(slfList);
+        return asyncQuery.submit(() -> {
+            List<SystemLevelFalse> slfList = slfService.getOC(start, end, input1, input2);
+            return ResponseEntity.ok(slfList);
+        });
     }
     @GetMapping(value = "/count", params = {"start", "operation", "clientIp"})
-    public ResponseEntity<Long> getOCCount(
+    public CompletableFuture<ResponseEntity<Long>> getOCCount(
             @RequestParam(value = "start") OffsetDateTime start,
             @RequestParam(value = "end", required = false) OffsetDateTime end,
             @RequestParam(value = "operation") String input1,
             @RequestParam(value = "clientIp") String input2
     ){
-        Long count = slfService.getOCCount(start, end, input1, input2);
-        return ResponseEntity.ok(count);
+        return asyncQuery.submit(() -> {
+            Long count = slfService.getOCCount(start, end, input1, input2);
+            return ResponseEntity.ok(count);
+        });
     }
 
     @GetMapping(params = {"start", "principal", "resourceName", "operation"})
-    public ResponseEntity<List<SystemLevelFalse>> getPRO(
+    public CompletableFuture<ResponseEntity<List<SystemLevelFalse>>> getPRO(
             @RequestParam(value = "start") OffsetDateTime start,
             @RequestParam(value = "end", required = false) OffsetDateTime end,
             @RequestParam(value = "principal") String input1,
             @RequestParam(value = "resourceName") String input2,
             @RequestParam(value = "operation") String input3
     ){
-        List<SystemLevelFalse> slfList = slfService.getPRO(start, end, input1, input2,input3);
-        return ResponseEntity.ok(slfList);
+        return asyncQuery.submit(() -> {
+            List<SystemLevelFalse> slfList = slfService.getPRO(start, end, input1, input2,input3);
+            return ResponseEntity.ok(slfList);
+        });
     }
     @GetMapping(value = "/count", params = {"start", "principal", "resourceName", "operation"})
-    public ResponseEntity<Long> getPROCount(
+    public CompletableFuture<ResponseEntity<Long>> getPROCount(
             @RequestParam(value = "start") OffsetDateTime start,
             @RequestParam(value = "end", required = false) OffsetDateTime end,
             @RequestParam(value = "principal") String input1,
             @RequestParam(value = "resourceName") String input2,
             @RequestParam(value = "operation") String input3
     ){
-        Long count = slfService.getPROCount(start, end, input1, input2,input3);
-        return ResponseEntity.ok(count);
+        return asyncQuery.submit(() -> {
+            Long count = slfService.getPROCount(start, end, input1, input2,input3);
+            return ResponseEntity.ok(count);
+        });
     }
 
     @GetMapping(params = {"start", "principal", "resourceName", "clientIp"})
-    public ResponseEntity<List<SystemLevelFalse>> getPRC(
+    public CompletableFuture<ResponseEntity<List<SystemLevelFalse>>> getPRC(
             @RequestParam(value = "start") OffsetDateTime start,
             @RequestParam(value = "end", required = false) OffsetDateTime end,
             @RequestParam(value = "principal") String input1,
             @RequestParam(value = "resourceName") String input2,
             @RequestParam(value = "clientIp") String input3
     ){
-        List<SystemLevelFalse> slfList = slfService.getPRC(start, end, input1, input2,input3);
-        return ResponseEntity.ok(slfList);
+        return asyncQuery.submit(() -> {
+            List<SystemLevelFalse> slfList = slfService.getPRC(start, end, input1, input2,input3);
+            return ResponseEntity.ok(slfList);
+        });
     }
     @GetMapping(value = "/count", params = {"start", "principal", "resourceName", "clientIp"})
-    public ResponseEntity<Long> getPRCCount(
+    public CompletableFuture<ResponseEntity<Long>> getPRCCount(
             @RequestParam(value = "start") OffsetDateTime start,
             @RequestParam(value = "end", required = false) OffsetDateTime end,
             @RequestParam(value = "principal") String input1,
             @RequestParam(value = "resourceName") String input2,
             @RequestParam(value = "clientIp") String input3
     ){
-        Long count = slfService.getPRCCount(start, end, input1, input2,input3);
-        return ResponseEntity.ok(count);
+        return asyncQuery.submit(() -> {
+            Long count = slfService.getPRCCount(start, end, input1, input2,input3);
+            return ResponseEntity.ok(count);
+        });
     }
 
     @GetMapping(params = {"start", "principal", "operation", "clientIp"})
-    public ResponseEntity<List<SystemLevelFalse>> getPOC(
+    public CompletableFuture<ResponseEntity<List<SystemLevelFalse>>> getPOC(
             @RequestParam(value = "start") OffsetDateTime start,
             @RequestParam(value = "end", required = false) OffsetDateTime end,
             @RequestParam(value = "principal") String input1,
             @RequestParam(value = "operation") String input2,
             @RequestParam(value = "clientIp") String input3
     ){
-        List<SystemLevelFalse> slfList = slfService.getPOC(start, end, input1, input2,input3);
-        return ResponseEntity.ok(slfList);
+        return asyncQuery.submit(() -> {
+            List<SystemLevelFalse> slfList = slfService.getPOC(start, end, input1, input2,input3);
+            return ResponseEntity.ok(slfList);
+        });
     }
     @GetMapping(value = "/count", params = {"start", "principal", "operation", "clientIp"})
-    public ResponseEntity<Long> getPOCCount(
+    public CompletableFuture<ResponseEntity<Long>> getPOCCount(
             @RequestParam(value = "start") OffsetDateTime start,
             @RequestParam(value = "end", required = false) OffsetDateTime end,
             @RequestParam(value = "principal") String input1,
             @RequestParam(value = "operation") String input2,
             @RequestParam(value = "clientIp") String input3
     ){
-        Long count = slfService.getPOCCount(start, end, input1, input2,input3);
-        return ResponseEntity.ok(count);
+        return asyncQuery.submit(() -> {
+            Long count = slfService.getPOCCount(start, end, input1, input2,input3);
+            return ResponseEntity.ok(count);
+        });
     }
 
     @GetMapping(params = {"start", "resourceName", "operation", "clientIp"})
-    public ResponseEntity<List<SystemLevelFalse>> getROC(
+    public CompletableFuture<ResponseEntity<List<SystemLevelFalse>>> getROC(
             @RequestParam(value = "start") OffsetDateTime start,
             @RequestParam(value = "end", required = false) OffsetDateTime end,
             @RequestParam(value = "resourceName") String input1,
             @RequestParam(value = "operation") String input2,
             @RequestParam(value = "clientIp") String input3
     ){
-        List<SystemLevelFalse> slfList = slfService.getROC(start, end, input1, input2,input3);
-        return ResponseEntity.ok(slfList);
+        return asyncQuery.submit(() -> {
+            List<SystemLevelFalse> slfList = slfService.getROC(start, end, input1, input2,input3);
+            return ResponseEntity.ok(slfList);
+        });
     }
     @GetMapping(value = "/count", params = {"start", "resourceName", "operation", "clientIp"})
-    public ResponseEntity<Long> getROCCount(
+    public CompletableFuture<ResponseEntity<Long>> getROCCount(
             @RequestParam(value = "start") OffsetDateTime start,
             @RequestParam(value = "end", required = false) OffsetDateTime end,
             @RequestParam(value = "resourceName") String input1,
             @RequestParam(value = "operation") String input2,
             @RequestParam(value = "clientIp") String input3
     ){
-        Long count = slfService.getROCCount(start, end, input1, input2,input3);
-        return ResponseEntity.ok(count);
+        return asyncQuery.submit(() -> {
+            Long count = slfService.getROCCount(start, end, input1, input2,input3);
+            return ResponseEntity.ok(count);
+        });
     }
 
     @GetMapping(params = {"start", "principal", "resourceName", "operation", "clientIp"})
-    public ResponseEntity<List<SystemLevelFalse>> getPROC(
+    public CompletableFuture<ResponseEntity<List<SystemLevelFalse>>> getPROC(
             @RequestParam(value = "start") OffsetDateTime start,
             @RequestParam(value = "end", required = false) OffsetDateTime end,
             @RequestParam(value = "principal") String input1,
@@ -407,11 +493,13 @@ public class GetSystemLevelFalseController {
             @RequestParam(value = "operation") String input3,
             @RequestParam(value = "clientIp") String input4
     ){
-        List<SystemLevelFalse> slfList = slfService.getPROC(start, end, input1, input2,input3,input4);
-        return ResponseEntity.ok(slfList);
+        return asyncQuery.submit(() -> {
+            List<SystemLevelFalse> slfList = slfService.getPROC(start, end, input1, input2,input3,input4);
+            return ResponseEntity.ok(slfList);
+        });
     }
     @GetMapping(value = "/count", params = {"start", "principal", "resourceName", "operation", "clientIp"})
-    public ResponseEntity<Long> getPROCCount(
+    public CompletableFuture<ResponseEntity<Long>> getPROCCount(
             @RequestParam(value = "start") OffsetDateTime start,
             @RequestParam(value = "end", required = false) OffsetDateTime end,
             @RequestParam(value = "principal") String input1,
@@ -419,8 +507,81 @@ public class GetSystemLevelFalseController {
             @RequestParam(value = "operation") String input3,
             @RequestParam(value = "clientIp") String input4
     ){
-        Long count = slfService.getPROCCount(start, end, input1, input2,input3,input4);
-        return ResponseEntity.ok(count);
+        return asyncQuery.submit(() -> {
+            Long count = slfService.getPROCCount(start, end, input1, input2,input3,input4);
+            return ResponseEntity.ok(count);
+        });
     }
 
-}
\ No newline at end of file
+    /**
+     * 시간 버킷별 레코드 갯수 (타임라인 차트용), 필터는 선택
+     * 예: /histogram?start=2025-09-12T00:00:00Z&end=2025-09-13T00:00:00Z&bucket=5m&principal=...
+     * 응답: [[bucketStart, count], ...]
+     */
+    @GetMapping(value = "/histogram", params = {"start"})
+    public CompletableFuture<ResponseEntity<List<BucketCount>>> getHistogram(
+            @RequestParam(value = "start") String start,
+            @RequestParam(value = "end", required = false) String end,
+            @RequestParam(value = "bucket", defaultValue = "1h") String bucket,
+            @RequestParam(value = "principal", required = false) String principal,
+            @RequestParam(value = "resourceName", required = false) String resourceName,
+            @RequestParam(value = "operation", required = false) String operation,
+            @RequestParam(value = "clientIp", required = false) String clientIp
+    ){
+        return asyncQuery.submit(() -> {
+            OffsetDateTime startTime = TimeZoneUtil.parseFromFrontend(start);
+            OffsetDateTime endTime = end != null ? TimeZoneUtil.parseFromFrontend(end) : null;
+
+            return ResponseEntity.ok(slfService.getHistogram(
+                    startTime, endTime, bucket, principal, resourceName, operation, clientIp));
+        });
+    }
+
+    /**
+     * 시간 범위 내 groupBy 컬럼 기준 Top-N (principal, clientIp, resourceName, operation, methodName)
+     * 예: /top?groupBy=principal&start=2025-09-12T00:00:00Z&limit=10&operation=...
+     * 응답: [{"value": ..., "count": ...}, ...] (갯수 내림차순)
+     */
+    @GetMapping(value = "/top", params = {"start", "groupBy"})
+    public CompletableFuture<ResponseEntity<List<GroupCount>>> getTop(
+            @RequestParam(value = "start") String start,
+            @RequestParam(value = "end", required = false) String end,
+            @RequestParam(value = "groupBy") String groupBy,
+            @RequestParam(value = "limit", required = false) Integer limit,
+            @RequestParam(value = "principal", required = false) String principal,
+            @RequestParam(value = "resourceName", required = false) String resourceName,
+            @RequestParam(value = "operation", required = false) String operation,
+            @RequestParam(value = "clientIp", required = false) String clientIp
+    ){
+        return asyncQuery.submit(() -> {
+            OffsetDateTime startTime = TimeZoneUtil.parseFromFrontend(start);
+            OffsetDateTime endTime = end != null ? TimeZoneUtil.parseFromFrontend(end) : null;
+
+            return ResponseEntity.ok(slfService.getTop(
+                    startTime, endTime, groupBy, limit, principal, resourceName, operation, clientIp));
+        });
+    }
+
+    /**
+     * 시간 범위 레코드 대용량 내보내기 (오프라인 분석용)
+     * 예: /export?start=2025-09-01T00:00:00Z&end=2025-10-01T00:00:00Z&format=arrow
+     * format: arrow (Apache Arrow IPC stream, pyarrow.ipc.open_stream 으로 읽기)
+     */
+    @GetMapping(value = "/export", params = {"start"})
+    public void export(
+            @RequestParam(value = "start") String start,
+            @RequestParam(value = "end", required = false) String end,
+            @RequestParam(value = "format", defaultValue = "arrow") String format,
+            HttpServletResponse response
+    ) throws IOException {
+        if (!"arrow".equalsIgnoreCase(format.strip())) {
+            throw new IllegalArgumentException("지원하지 않는 format 입니다: " + format);
+        }
+        OffsetDateTime[] times = TimeZoneUtil.correctRange(
+                TimeZoneUtil.parseFromFrontend(start), end != null ? TimeZoneUtil.parseFromFrontend(end) : null);
+
+        response.setContentType(AuditArrowExportService.CONTENT_TYPE);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"system-level-false.arrows\"");
+        arrowExport.exportSystemLevelFalse(times[0], times[1], response.getOutputStream());
+    }
+}
@@ -0,0 +1,150 @@
+package com.finalproject.springbackend.db.entity;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.Arrays;
+import java.util.regex.Pattern;
+
+/**
+ * 감사 로그 테이블의 필터/집계 대상 컬럼
+ * fieldName: API 파라미터 및 엔티티 필드명, column: 실제 DB 컬럼명
+ * principal, resourceName, methodName 필터 값에 * 를 넣으면 접두사/부분 일치(LIKE) 검색
+ * clientIp 필터 값은 CIDR(10.2.0.0/16) 또는 쉼표 목록(10.0.0.1,10.0.0.2,10.3.0.0/24) 가능
+ */
+@Getter
+@RequiredArgsConstructor
+public enum AuditDimension {
+
+    PRINCIPAL("principal", "principal", true, true),
+    CLIENT_IP("clientIp", "client_ip", true, false),
+    OPERATION("operation", "operation", true, false),
+    RESOURCE_NAME("resourceName", "resource_name", true, true),
+    ALERT_TYPE("alertType", "alert_type", true, false),
+    METHOD_NAME("methodName", "method_name", false, true),
+    RESOURCE_TYPE("resourceType", "resource_type", false, false);
+
+    private final String fieldName;
+    private final String column;
+    private final boolean rolledUp;     // 분/시간 롤업 테이블에 포함되는 컬럼인지
+    private final boolean searchable;   // * 와일드카드 부분 일치 검색 허용 (pg_trgm GIN 인덱스 대상)
+
+    /** 부분 일치 검색 와일드카드 (예: /admin/*, *svc-*) */
+    public static final char WILDCARD = '*';
+
+    /** 잘못된 주소 문자열은 NULL 로 바꾸는 text -> inet 변환 함수 (AuditInetIndexService 가 생성, GiST 인덱스 식) */
+    public static final String INET_FUNCTION = "audit_try_inet";
+
+    private static final Pattern IPV4 = Pattern.compile("(\\d{1,3})(\\.\\d{1,3}){3}");
+
+    /** 와일드카드 패턴 검색 값인지 (searchable 컬럼만, 그 외 컬럼의 * 는 일반 문자) */
+    public boolean isPattern(String value) {
+        return searchable && value != null && value.indexOf(WILDCARD) >= 0;
+    }
+
+    /** clientIp 의 CIDR 또는 쉼표 목록 값인지 */
+    public boolean isIpSet(String value) {
+        return this == CLIENT_IP && value != null && (value.indexOf('/') >= 0 || value.indexOf(',') >= 0);
+    }
+
+    /** 단순 동등 비교 값인지 (JPA 파생 쿼리로 대체 가능한지) */
+    public boolean isExact(String value) {
+        return !isPattern(value) && !isIpSet(value);
+    }
+
+    /**
+     * WHERE 조건
+     * - 와일드카드: LIKE
+     * - CIDR 포함: audit_try_inet(client_ip) <<= ?::inet (목록이면 <<= ANY(?::inet[]))
+     * - IP 목록: client_ip = ANY(?)
+     * - 그 외: 동등 비교
+     */
+    public String condition(String value) {
+        if (isPattern(value)) {
+            return column + " LIKE ?";
+        }
+        if (isIpSet(value)) {
+            boolean list = value.indexOf(',') >= 0;
+            if (value.indexOf('/') < 0) {
+                return column + " = ANY(?)";
+            }
+            return INET_FUNCTION + "(" + column + ") <<= " + (list ? "ANY(?::inet[])" : "?::inet");
+        }
+        return column + " = ?";
+    }
+
+    /**
+     * condition() 에 바인딩할 값
+     * 와일드카드는 LIKE 특수문자 \, %, _ 이스케이프 후 * -> %, IP 목록은 String[]
+     */
+    public Object bindValue(String value) {
+        if (isIpSet(value)) {
+            String[] addresses = value.split(",");
+            for (String address : addresses) {
+                validateAddress(address);
+            }
+            return value.indexOf(',') >= 0 ? addresses : value;
+        }
+        if (!isPattern(value)) {
+            return value;
+        }
+        return value.replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_")
+                .replace(WILDCARD, '%');
+    }
+
+    /** 서비스의 값 보정 규칙과 동일하게 공백 제거, principal 은 "User:" 접두사 보정 */
+    public String normalize(String value) {
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException(fieldName + " 값을 넣어주세요");
+        }
+        String normalized = value.replaceAll("\\s+", "");
+        if (this == PRINCIPAL && !normalized.startsWith("User:")) {
+            normalized = "User:" + normalized;
+        }
+        if (isIpSet(normalized)) {
+            bindValue(normalized);  // 형식 검증
+        }
+        return normalized;
+    }
+
+    /** IP 또는 CIDR 형식 확인 (DB 캐스팅 오류 대신 400 으로 응답하기 위함) */
+    private static void validateAddress(String address) {
+        int slash = address.indexOf('/');
+        String ip = slash < 0 ? address : address.substring(0, slash);
+        boolean valid;
+        if (ip.indexOf(':') >= 0) {
+            // ':' 가 있으면 IPv6 리터럴로만 해석되어 DNS 조회가 일어나지 않음
+            try {
+                InetAddress.getByName(ip);
+                valid = true;
+            } catch (UnknownHostException e) {
+                valid = false;
+            }
+        } else {
+            valid = IPV4.matcher(ip).matches()
+                    && Arrays.stream(ip.split("\\.")).allMatch(octet -> Integer.parseInt(octet) <= 255);
+        }
+        if (valid && slash >= 0) {
+            String prefix = address.substring(slash + 1);
+            int max = ip.indexOf(':') >= 0 ? 128 : 32;
+            valid = prefix.matches("\\d{1,3}") && Integer.parseInt(prefix) <= max;
+        }
+        if (!valid) {
+            throw new IllegalArgumentException("clientIp 형식이 올바르지 않습니다: " + address);
+        }
+    }
+
+    /** API 파라미터명으로 enum 조회 */
+    public static AuditDimension fromFieldName(String fieldName) {
+        for (AuditDimension dimension : values()) {
+            if (dimension.fieldName.equalsIgnoreCase(fieldName) || dimension.column.equalsIgnoreCase(fieldName)) {
+                return dimension;
+            }
+        }
+        throw new IllegalArgumentException("지원하지 않는 컬럼입니다: " + fieldName);
+    }
+}
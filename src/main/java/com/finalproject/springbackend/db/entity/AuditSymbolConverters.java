@@ -0,0 +1,58 @@
+package com.finalproject.springbackend.db.entity;
+
+import com.finalproject.springbackend.util.AuditSymbols;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * 엔티티 로딩 시 저카디널리티 문자열 컬럼을 AuditSymbols 정규 인스턴스로 바꾸는 컨버터
+ * DB 값은 그대로 저장/조회하므로 스키마와 쿼리 조건에는 영향이 없다.
+ */
+public final class AuditSymbolConverters {
+
+    private AuditSymbolConverters() {}
+
+    abstract static class Interned implements AttributeConverter<String, String> {
+
+        private final AuditDimension field;
+
+        Interned(AuditDimension field) {
+            this.field = field;
+        }
+
+        @Override
+        public String convertToDatabaseColumn(String attribute) {
+            return attribute;
+        }
+
+        @Override
+        public String convertToEntityAttribute(String dbData) {
+            return AuditSymbols.intern(field, dbData);
+        }
+    }
+
+    @Converter
+    public static class Principal extends Interned {
+        public Principal() { super(AuditDimension.PRINCIPAL); }
+    }
+
+    @Converter
+    public static class Operation extends Interned {
+        public Operation() { super(AuditDimension.OPERATION); }
+    }
+
+    @Converter
+    public static class ResourceType extends Interned {
+        public ResourceType() { super(AuditDimension.RESOURCE_TYPE); }
+    }
+
+    @Converter
+    public static class MethodName extends Interned {
+        public MethodName() { super(AuditDimension.METHOD_NAME); }
+    }
+
+    @Converter
+    public static class AlertType extends Interned {
+        public AlertType() { super(AuditDimension.ALERT_TYPE); }
+    }
+}
@@ -0,0 +1,60 @@
+package com.finalproject.springbackend.db.entity;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+
+import static com.finalproject.springbackend.db.entity.AuditDimension.*;
+
+/**
+ * 감사 로그 테이블 메타데이터
+ * 네이티브 SQL(파티션, 집계 등)에서 테이블명/시간 컬럼을 한 곳에서 참조하기 위한 enum
+ */
+@Getter
+@RequiredArgsConstructor
+public enum AuditTable {
+
+    CERTIFIED_2TIME("certified-2time", "alert_time_kst",
+            List.of(CLIENT_IP, ALERT_TYPE)),
+    CERTIFIED_NOT_MOVE("certified-notMove", "alert_time_kst",
+            List.of(CLIENT_IP, ALERT_TYPE)),
+    SYSTEM_LEVEL_FALSE("system-level-false", "event_time_kst",
+            List.of(PRINCIPAL, CLIENT_IP, OPERATION, RESOURCE_NAME, METHOD_NAME, RESOURCE_TYPE)),
+    RESOURCE_LEVEL_FALSE("resource-level-false", "event_time_kst",
+            List.of(PRINCIPAL, CLIENT_IP, OPERATION, RESOURCE_NAME, METHOD_NAME, RESOURCE_TYPE));
+
+    private final String tableName;     // 실제 테이블명 (특수문자 "-" 포함)
+    private final String timeColumn;    // 시간 범위 조회 기준 컬럼
+    private final List<AuditDimension> dimensions;  // 필터/집계 가능한 컬럼
+
+    /** 해당 테이블에 존재하는 컬럼인지 */
+    public boolean supports(AuditDimension dimension) {
+        return dimensions.contains(dimension);
+    }
+
+    /** 큰따옴표로 감싼 테이블명 (네이티브 SQL용) */
+    public String quotedName() {
+        return quoteIdentifier(tableName);
+    }
+
+    /** 테이블명 접미사를 붙여 큰따옴표로 감싼 이름 (파티션 등) */
+    public String quotedName(String suffix) {
+        return quoteIdentifier(tableName + suffix);
+    }
+
+    /** 테이블명(또는 enum 이름)으로 enum 조회 */
+    public static AuditTable fromTableName(String tableName) {
+        for (AuditTable table : values()) {
+            if (table.tableName.equalsIgnoreCase(tableName) || table.name().equalsIgnoreCase(tableName)) {
+                return table;
+            }
+        }
+        throw new IllegalArgumentException("지원하지 않는 테이블입니다: " + tableName);
+    }
+
+    /** 식별자를 큰따옴표로 감싸기 */
+    public static String quoteIdentifier(String identifier) {
+        return "\"" + identifier.replace("\"", "\"\"") + "\"";
+    }
+}
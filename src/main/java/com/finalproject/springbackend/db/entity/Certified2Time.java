@@ -1,6 +1,7 @@
 package com.finalproject.springbackend.db.entity;
 
 import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
@@ -28,6 +29,7 @@ public class Certified2Time {
     @Column(name="alert_time_kst", columnDefinition="timestamptz", nullable = false)
     private OffsetDateTime alertTimeKST;    //이벤트 감지 시간
 
+    @Convert(converter = AuditSymbolConverters.AlertType.class)
     @Column(name="alert_type", columnDefinition = "text")
     private String alertType;               //어떤 유형의 비인가 접근인지
 
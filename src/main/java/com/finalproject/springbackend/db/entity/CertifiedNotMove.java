@@ -1,6 +1,7 @@
 package com.finalproject.springbackend.db.entity;
 
 import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
@@ -29,6 +30,7 @@ public class CertifiedNotMove {
     @Column(name="alert_time_kst",columnDefinition="timestamptz", nullable = false)
     private OffsetDateTime alertTimeKST;    //비인가 접근 시도한 시간
 
+    @Convert(converter = AuditSymbolConverters.AlertType.class)
     @Column(name="alert_type", columnDefinition = "text")
     private String alertType;               //비인가 접근 유형
 
@@ -1,6 +1,7 @@
 package com.finalproject.springbackend.db.entity;
 
 import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
@@ -24,24 +25,28 @@ public class SystemLevelFalse {
     @Column(name="processing_time_kst",columnDefinition = "timestamptz", nullable = false)
     private OffsetDateTime processTimeKST;
 
+    @Convert(converter = AuditSymbolConverters.Principal.class)
     @Column(name="principal", columnDefinition="text")
     private String principal;
 
     @Column(name="client_ip", columnDefinition="text")
     private String clientIp;
 
+    @Convert(converter = AuditSymbolConverters.MethodName.class)
     @Column(name="method_name", columnDefinition="text")
     private String methodName;
 
     @Column(name="granted", columnDefinition="boolean")
     private boolean granted;
 
+    @Convert(converter = AuditSymbolConverters.ResourceType.class)
     @Column(name="resource_type", columnDefinition="text")
     private String resourceType;
 
     @Column(name="resource_name", columnDefinition="text")
     private String resourceName;
 
+    @Convert(converter = AuditSymbolConverters.Operation.class)
     @Column(name="operation", columnDefinition="text")
     private String operation;
 }
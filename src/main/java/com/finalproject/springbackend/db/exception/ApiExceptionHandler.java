@@ -1,13 +1,31 @@
 package com.finalproject.springbackend.db.exception;
 
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.TransactionTimedOutException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
+
 @RestControllerAdvice
 public class ApiExceptionHandler {
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<String> handleIllegalArgument(IllegalArgumentException e) {
         return ResponseEntity.badRequest().body(e.getMessage());
     }
+
+    /** AsyncQueryExecutor 대기열이 가득 참 */
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<String> handleRejected(RejectedExecutionException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body("조회 요청이 많습니다. 잠시 후 다시 시도해주세요");
+    }
+
+    /** 조회 타임아웃 (X-Query-Timeout-Ms): 응답 대기 초과 또는 트랜잭션 타임아웃으로 취소된 JDBC 문장 */
+    @ExceptionHandler({TimeoutException.class, QueryTimeoutException.class, TransactionTimedOutException.class})
+    public ResponseEntity<String> handleTimeout(Exception e) {
+        return ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT).body("조회 시간이 초과되었습니다");
+    }
 }
@@ -0,0 +1,196 @@
+package com.finalproject.springbackend.db.repository;
+
+import com.finalproject.springbackend.db.entity.AuditDimension;
+import com.finalproject.springbackend.db.entity.AuditTable;
+import com.finalproject.springbackend.db.repository.projection.BucketCount;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 4개 감사 로그 테이블 공통 네이티브 집계 쿼리
+ * 테이블/컬럼명은 AuditTable, AuditDimension enum 값만 사용하므로 SQL 인젝션 위험 없음
+ */
+@Repository
+@RequiredArgsConstructor
+public class AuditNativeRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+
+    /**
+     * 시간 범위 + 필터 조건 레코드 갯수
+     * @param toInclusive true: time <= to, false: time < to
+     */
+    public long count(
+            AuditTable table, OffsetDateTime from, OffsetDateTime to, boolean toInclusive,
+            Map<AuditDimension, String> filters
+    ) {
+        List<Object> args = new ArrayList<>();
+        String sql = "SELECT count(*) FROM " + table.quotedName()
+                + where(table, from, to, toInclusive, filters, args);
+        Long count = jdbcTemplate.queryForObject(sql, Long.class, args.toArray());
+        return count == null ? 0L : count;
+    }
+
+    /**
+     * 같은 테이블/시간 범위의 여러 count 를 count(*) FILTER (WHERE ...) 로 묶어 한 번에 조회
+     * @return filterSets 순서대로 갯수
+     */
+    public long[] countEach(
+            AuditTable table, OffsetDateTime from, OffsetDateTime to, boolean toInclusive,
+            List<Map<AuditDimension, String>> filterSets
+    ) {
+        List<Object> args = new ArrayList<>();
+        StringBuilder select = new StringBuilder("SELECT ");
+        for (int i = 0; i < filterSets.size(); i++) {
+            if (i > 0) {
+                select.append(", ");
+            }
+            StringBuilder condition = new StringBuilder("TRUE");
+            appendFilters(table, filterSets.get(i), condition, args);
+            select.append("count(*) FILTER (WHERE ").append(condition).append(")");
+        }
+        String sql = select + " FROM " + table.quotedName()
+                + where(table, from, to, toInclusive, null, args);
+
+        return jdbcTemplate.queryForObject(sql, (rs, rowNum) -> {
+            long[] counts = new long[filterSets.size()];
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] = rs.getLong(i + 1);
+            }
+            return counts;
+        }, args.toArray());
+    }
+
+    /**
+     * 시간 범위 + 필터 조건으로 특정 컬럼 기준 GROUP BY 갯수 (갯수 내림차순)
+     */
+    public Map<String, Long> groupCount(
+            AuditTable table, AuditDimension groupBy,
+            OffsetDateTime from, OffsetDateTime to, boolean toInclusive,
+            Map<AuditDimension, String> filters
+    ) {
+        return groupCount(table, groupBy, from, to, toInclusive, filters, 0);
+    }
+
+    /**
+     * GROUP BY 갯수 상위 limit 개 (limit <= 0 이면 전체)
+     */
+    public Map<String, Long> groupCount(
+            AuditTable table, AuditDimension groupBy,
+            OffsetDateTime from, OffsetDateTime to, boolean toInclusive,
+            Map<AuditDimension, String> filters, int limit
+    ) {
+        requireSupported(table, groupBy);
+        List<Object> args = new ArrayList<>();
+        String sql = "SELECT " + groupBy.getColumn() + " AS value, count(*) AS count FROM " + table.quotedName()
+                + where(table, from, to, toInclusive, filters, args)
+                + " GROUP BY " + groupBy.getColumn()
+                + " ORDER BY count(*) DESC";
+        if (limit > 0) {
+            sql += " LIMIT ?";
+            args.add(limit);
+        }
+
+        Map<String, Long> result = new LinkedHashMap<>();
+        jdbcTemplate.query(sql, rs -> {
+            result.put(rs.getString("value"), rs.getLong("count"));
+        }, args.toArray());
+        return result;
+    }
+
+    /**
+     * 시간 범위 + 필터 조건으로 date_bin 버킷별 갯수 (버킷 오름차순, 빈 버킷은 결과에 없음)
+     * @param origin 버킷 경계 기준 시각 (KST 자정으로 맞추면 일 버킷이 한국 날짜와 일치)
+     */
+    public List<BucketCount> histogram(
+            AuditTable table, Duration bucket, OffsetDateTime origin,
+            OffsetDateTime from, OffsetDateTime to, boolean toInclusive,
+            Map<AuditDimension, String> filters
+    ) {
+        List<Object> args = new ArrayList<>();
+        args.add(bucket.getSeconds() + " seconds");
+        args.add(origin);
+        String sql = "SELECT date_bin(?::interval, " + table.getTimeColumn() + ", ?) AS bucket, count(*) AS count"
+                + " FROM " + table.quotedName()
+                + where(table, from, to, toInclusive, filters, args)
+                + " GROUP BY 1 ORDER BY 1";
+
+        return jdbcTemplate.query(sql, (rs, rowNum) -> new BucketCount(
+                rs.getObject("bucket", OffsetDateTime.class),
+                rs.getLong("count")
+        ), args.toArray());
+    }
+
+    /**
+     * 필터 조건 레코드를 엔티티로 조회
+     * CIDR/IP 목록처럼 JPA 파생 쿼리의 동등 비교로 표현할 수 없는 필터를 목록 API 에서도 같은 조건으로 처리하기 위함
+     * @param from null 이면 시간 조건 없이 필터만 적용 ([from, to] 양 끝 포함)
+     * @param orderBy ORDER BY 절 (호출부 상수만 사용)
+     */
+    @SuppressWarnings("unchecked")
+    public <T> List<T> findEntities(
+            AuditTable table, Class<T> entityType, OffsetDateTime from, OffsetDateTime to,
+            Map<AuditDimension, String> filters, String orderBy
+    ) {
+        List<Object> args = new ArrayList<>();
+        String sql = "SELECT * FROM " + table.quotedName()
+                + where(table, from, to, true, filters, args)
+                + " ORDER BY " + orderBy;
+        Query query = entityManager.createNativeQuery(sql, entityType);
+        for (int i = 0; i < args.size(); i++) {
+            query.setParameter(i + 1, args.get(i));
+        }
+        return query.getResultList();
+    }
+
+    /** WHERE 절 생성 (시간 범위 + 필터, from 이 null 이면 필터만) */
+    public String where(
+            AuditTable table, OffsetDateTime from, OffsetDateTime to, boolean toInclusive,
+            Map<AuditDimension, String> filters, List<Object> args
+    ) {
+        StringBuilder sql = new StringBuilder(" WHERE ");
+        if (from == null) {
+            sql.append("TRUE");
+            appendFilters(table, filters, sql, args);
+            return sql.toString();
+        }
+        sql.append(table.getTimeColumn()).append(" >= ? AND ")
+                .append(table.getTimeColumn()).append(toInclusive ? " <= ?" : " < ?");
+        args.add(from);
+        args.add(to);
+        appendFilters(table, filters, sql, args);
+        return sql.toString();
+    }
+
+    /** 필터를 AND 조건으로 추가 (동등 비교, 와일드카드 값은 LIKE) */
+    public void appendFilters(
+            AuditTable table, Map<AuditDimension, String> filters, StringBuilder sql, List<Object> args
+    ) {
+        if (filters == null) {
+            return;
+        }
+        for (Map.Entry<AuditDimension, String> filter : filters.entrySet()) {
+            requireSupported(table, filter.getKey());
+            sql.append(" AND ").append(filter.getKey().condition(filter.getValue()));
+            args.add(filter.getKey().bindValue(filter.getValue()));
+        }
+    }
+
+    private void requireSupported(AuditTable table, AuditDimension dimension) {
+        if (!table.supports(dimension)) {
+            throw new IllegalArgumentException(
+                    table.getTableName() + " 테이블에는 " + dimension.getFieldName() + " 컬럼이 없습니다");
+        }
+    }
+}
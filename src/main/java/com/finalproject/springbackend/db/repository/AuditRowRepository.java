@@ -0,0 +1,164 @@
+package com.finalproject.springbackend.db.repository;
+
+import com.finalproject.springbackend.db.entity.AuditDimension;
+import com.finalproject.springbackend.db.entity.AuditTable;
+import com.finalproject.springbackend.dto.AuditSearchRowDTO;
+import com.finalproject.springbackend.dto.Certified2TimeResponseDTO;
+import com.finalproject.springbackend.dto.SystemLevelFalseResponseDTO;
+import com.finalproject.springbackend.util.AuditSymbols;
+import com.finalproject.springbackend.util.TimeZoneUtil;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 응답 DTO 로 바로 읽는 조회 경로
+ * 엔티티 생성/영속성 컨텍스트 추적 없이 ResultSet -> DTO 로 매핑하고, 시간 문자열은 캐시된 포맷터를 사용한다.
+ * 저카디널리티 문자열 컬럼은 AuditSymbols 정규 인스턴스로 바꿔 담는다.
+ * 정렬/조건은 JPA 리포지토리의 같은 이름 쿼리와 동일하게 유지할 것
+ */
+@Repository
+@RequiredArgsConstructor
+public class AuditRowRepository {
+
+    private static final int FETCH_SIZE = 5000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AuditNativeRepository nativeRepo;
+
+    private static final RowMapper<SystemLevelFalseResponseDTO> SLF_ROW = (rs, rowNum) -> new SystemLevelFalseResponseDTO(
+            rs.getString("id"),
+            TimeZoneUtil.formatToKoreanString(rs.getObject("event_time_kst", OffsetDateTime.class)),
+            TimeZoneUtil.formatToKoreanString(rs.getObject("processing_time_kst", OffsetDateTime.class)),
+            AuditSymbols.intern(AuditDimension.PRINCIPAL, rs.getString("principal")),
+            rs.getString("client_ip"),
+            AuditSymbols.intern(AuditDimension.METHOD_NAME, rs.getString("method_name")),
+            rs.getBoolean("granted"),
+            AuditSymbols.intern(AuditDimension.RESOURCE_TYPE, rs.getString("resource_type")),
+            rs.getString("resource_name"),
+            AuditSymbols.intern(AuditDimension.OPERATION, rs.getString("operation"))
+    );
+
+    private static final RowMapper<Certified2TimeResponseDTO> C2T_ROW = (rs, rowNum) -> new Certified2TimeResponseDTO(
+            rs.getString("id"),
+            rs.getString("client_ip"),
+            TimeZoneUtil.formatToKoreanString(rs.getObject("alert_time_kst", OffsetDateTime.class)),
+            AuditSymbols.intern(AuditDimension.ALERT_TYPE, rs.getString("alert_type")),
+            rs.getString("description"),
+            rs.getObject("failure_count", Long.class)
+    );
+
+    /** SystemLevelFalseRepository.findByTimeOnly 와 동일 (시간 오름차순) */
+    public List<SystemLevelFalseResponseDTO> findSystemLevelFalseByTimeOnly(OffsetDateTime start, OffsetDateTime end) {
+        return query("""
+            SELECT id, event_time_kst, processing_time_kst, principal, client_ip, method_name,
+                   granted, resource_type, resource_name, operation
+            FROM %s
+            WHERE event_time_kst >= ? AND event_time_kst <= ?
+            ORDER BY event_time_kst ASC
+        """.formatted(AuditTable.SYSTEM_LEVEL_FALSE.quotedName()), SLF_ROW, start, end);
+    }
+
+    /**
+     * findSystemLevelFalseByTimeOnly 와 같은 행을 리스트로 모으지 않고 한 행씩 전달 (대용량 내보내기용)
+     * 트랜잭션 안에서 호출해야 PostgreSQL 이 FETCH_SIZE 단위 서버 측 커서로 읽는다.
+     */
+    public void streamSystemLevelFalseByTimeOnly(OffsetDateTime start, OffsetDateTime end, RowCallbackHandler handler) {
+        String sql = """
+            SELECT id, event_time_kst, processing_time_kst, principal, client_ip, method_name,
+                   granted, resource_type, resource_name, operation
+            FROM %s
+            WHERE event_time_kst >= ? AND event_time_kst <= ?
+            ORDER BY event_time_kst ASC
+        """.formatted(AuditTable.SYSTEM_LEVEL_FALSE.quotedName());
+        jdbcTemplate.query(con -> {
+            var ps = con.prepareStatement(sql);
+            ps.setFetchSize(FETCH_SIZE);
+            ps.setObject(1, start);
+            ps.setObject(2, end);
+            return ps;
+        }, handler);
+    }
+
+    /**
+     * Certified2TimeRepository.findByTimesOnly / findByC 와 동일 (clientIp 가 null 이면 시간 조건만)
+     * clientIp 는 CIDR/목록 값도 가능 (AuditDimension.CLIENT_IP 조건 규칙)
+     */
+    public List<Certified2TimeResponseDTO> findCertified2TimeByTime(
+            OffsetDateTime start, OffsetDateTime end, String clientIp
+    ) {
+        List<Object> args = new ArrayList<>(List.of(start, end));
+        String clientIpCondition = "";
+        if (clientIp != null) {
+            clientIpCondition = " AND " + AuditDimension.CLIENT_IP.condition(clientIp);
+            args.add(AuditDimension.CLIENT_IP.bindValue(clientIp));
+        }
+        return query("""
+            SELECT id, client_ip, alert_time_kst, alert_type, description, failure_count
+            FROM %s
+            WHERE alert_time_kst >= ? AND alert_time_kst <= ?%s
+            ORDER BY failure_count DESC, alert_type ASC, alert_time_kst ASC
+        """.formatted(AuditTable.CERTIFIED_2TIME.quotedName(), clientIpCondition), C2T_ROW, args.toArray());
+    }
+
+    /**
+     * 통합 검색용 한 테이블 조회 (시간 정렬 + LIMIT)
+     * @param newestFirst true 면 최신순
+     * 검색 스레드 풀에서 호출되므로 자체 읽기 전용 트랜잭션(복제본 라우팅 대상)으로 실행
+     */
+    @Transactional(readOnly = true)
+    public List<AuditSearchRowDTO> searchRows(
+            AuditTable table, OffsetDateTime start, OffsetDateTime end,
+            Map<AuditDimension, String> filters, boolean newestFirst, int limit
+    ) {
+        boolean certified = table == AuditTable.CERTIFIED_2TIME || table == AuditTable.CERTIFIED_NOT_MOVE;
+        String columns = certified
+                ? "id, client_ip, alert_time_kst AS event_time, alert_type, description"
+                : "id, client_ip, event_time_kst AS event_time, principal, operation, resource_name";
+
+        List<Object> args = new ArrayList<>();
+        String sql = "SELECT " + columns + " FROM " + table.quotedName()
+                + nativeRepo.where(table, start, end, true, filters, args)
+                + " ORDER BY " + table.getTimeColumn() + (newestFirst ? " DESC" : " ASC")
+                + " LIMIT ?";
+        args.add(limit);
+
+        RowMapper<AuditSearchRowDTO> rowMapper = (rs, rowNum) -> {
+            OffsetDateTime eventTime = rs.getObject("event_time", OffsetDateTime.class);
+            AuditSearchRowDTO.AuditSearchRowDTOBuilder row = AuditSearchRowDTO.builder()
+                    .source(table.getTableName())
+                    .id(rs.getString("id"))
+                    .eventTime(eventTime)
+                    .eventTimeKST(TimeZoneUtil.formatToKoreanString(eventTime))
+                    .clientIp(rs.getString("client_ip"));
+            if (certified) {
+                row.alertType(AuditSymbols.intern(AuditDimension.ALERT_TYPE, rs.getString("alert_type"))).description(rs.getString("description"));
+            } else {
+                row.principal(AuditSymbols.intern(AuditDimension.PRINCIPAL, rs.getString("principal")))
+                        .operation(AuditSymbols.intern(AuditDimension.OPERATION, rs.getString("operation")))
+                        .resourceName(rs.getString("resource_name"));
+            }
+            return row.build();
+        };
+        return query(sql, rowMapper, args.toArray());
+    }
+
+    private <T> List<T> query(String sql, RowMapper<T> rowMapper, Object... args) {
+        return jdbcTemplate.query(con -> {
+            var ps = con.prepareStatement(sql);
+            ps.setFetchSize(FETCH_SIZE);
+            for (int i = 0; i < args.length; i++) {
+                ps.setObject(i + 1, args[i]);
+            }
+            return ps;
+        }, rowMapper);
+    }
+}
@@ -3,4 +3,14 @@ package com.finalproject.springbackend.db.repository.projection;
 public interface AlertTypeCount {
     String getAlertType();
     long getCount();
+
+    /** JPA 프로젝션이 아닌 경로(롤업 등)에서 생성할 때 사용 */
+    static AlertTypeCount of(String alertType, long count) {
+        return new Row(alertType, count);
+    }
+
+    record Row(String alertType, long count) implements AlertTypeCount {
+        @Override public String getAlertType() { return alertType; }
+        @Override public long getCount() { return count; }
+    }
 }
@@ -0,0 +1,15 @@
+package com.finalproject.springbackend.db.repository.projection;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import java.time.OffsetDateTime;
+
+/**
+ * 시간 버킷별 레코드 갯수 (타임라인 차트용)
+ * 응답 크기를 줄이기 위해 [bucketStart, count] 배열 형태로 직렬화
+ */
+@JsonFormat(shape = JsonFormat.Shape.ARRAY)
+@JsonPropertyOrder({"bucketStart", "count"})
+public record BucketCount(OffsetDateTime bucketStart, long count) {
+}
@@ -0,0 +1,8 @@
+package com.finalproject.springbackend.db.repository.projection;
+
+/**
+ * 임의 컬럼 기준 GROUP BY 갯수 (Top-N 조회용)
+ * value: 그룹 값 (principal, clientIp 등), count: 레코드 갯수
+ */
+public record GroupCount(String value, long count) {
+}
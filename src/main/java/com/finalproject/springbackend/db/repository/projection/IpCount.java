@@ -3,4 +3,14 @@ package com.finalproject.springbackend.db.repository.projection;
 public interface IpCount {
     String getClientIp();
     long getCount();
+
+    /** JPA 프로젝션이 아닌 경로(롤업 등)에서 생성할 때 사용 */
+    static IpCount of(String clientIp, long count) {
+        return new Row(clientIp, count);
+    }
+
+    record Row(String clientIp, long count) implements IpCount {
+        @Override public String getClientIp() { return clientIp; }
+        @Override public long getCount() { return count; }
+    }
 }
@@ -0,0 +1,103 @@
+package com.finalproject.springbackend.db.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * /api/db/* 조회 전용 비동기 실행기
+ *
+ * 컨트롤러는 CompletableFuture 를 바로 반환하고 Tomcat 워커는 풀려난다. 실제 조회는 크기가 고정된 전용 풀에서 실행되며
+ * 대기열(queue-capacity)까지 차면 RejectedExecutionException(503) 으로 즉시 거절해 로그인 등 다른 API 를 굶기지 않는다.
+ *
+ * 요청마다 timeout-ms (X-Query-Timeout-Ms 헤더로 max-timeout-ms 까지 조정 가능) 의 읽기 전용 트랜잭션으로 실행하므로
+ * 안쪽 @Transactional 서비스가 이 트랜잭션에 참여해 JDBC 문장에도 같은 타임아웃이 걸리고, 응답은 그 시점에 504 로 끝난다.
+ */
+@Slf4j
+@Service
+public class AsyncQueryExecutor {
+
+    public static final String TIMEOUT_HEADER = "X-Query-Timeout-Ms";
+
+    private final PlatformTransactionManager transactionManager;
+    private final ThreadPoolExecutor executor;
+
+    @Value("${audit.async.enabled:true}")
+    private boolean enabled;
+
+    @Value("${audit.async.timeout-ms:30000}")
+    private long defaultTimeoutMs;
+
+    @Value("${audit.async.max-timeout-ms:300000}")
+    private long maxTimeoutMs;
+
+    public AsyncQueryExecutor(
+            PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+            @Value("${audit.async.threads:8}") int threads,
+            @Value("${audit.async.queue-capacity:200}") int queueCapacity
+    ) {
+        this.transactionManager = transactionManager;
+        AtomicInteger sequence = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "db-query-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        Gauge.builder("audit.async.active", executor, ThreadPoolExecutor::getActiveCount).register(meterRegistry);
+        Gauge.builder("audit.async.queued", executor, e -> e.getQueue().size()).register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /** 조회를 전용 풀에서 실행 (비활성화 시 현재 스레드에서 실행한 완료된 future) */
+    public <T> CompletableFuture<T> submit(Supplier<T> query) {
+        long timeoutMs = requestTimeoutMs();
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        transaction.setTimeout((int) Math.max(1, TimeUnit.MILLISECONDS.toSeconds(timeoutMs)));
+
+        if (!enabled) {
+            return CompletableFuture.completedFuture(transaction.execute(status -> query.get()));
+        }
+        return CompletableFuture.supplyAsync(() -> transaction.execute(status -> query.get()), executor)
+                .orTimeout(timeoutMs, TimeUnit.MILLISECONDS);
+    }
+
+    /** 요청 헤더의 타임아웃 (없거나 잘못되면 기본값, 최대 max-timeout-ms) */
+    private long requestTimeoutMs() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes servlet) {
+            String header = servlet.getRequest().getHeader(TIMEOUT_HEADER);
+            if (header != null && !header.isBlank()) {
+                try {
+                    long requested = Long.parseLong(header.strip());
+                    if (requested > 0) {
+                        return Math.min(requested, maxTimeoutMs);
+                    }
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException(TIMEOUT_HEADER + " 헤더는 밀리초 숫자로 넣어주세요");
+                }
+            }
+        }
+        return defaultTimeoutMs;
+    }
+}
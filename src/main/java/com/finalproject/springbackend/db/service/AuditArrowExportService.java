@@ -0,0 +1,232 @@
+package com.finalproject.springbackend.db.service;
+
+import com.finalproject.springbackend.db.repository.AuditRowRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.BitVector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.TimeStampMicroTZVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.dictionary.Dictionary;
+import org.apache.arrow.vector.dictionary.DictionaryProvider;
+import org.apache.arrow.vector.ipc.ArrowStreamWriter;
+import org.apache.arrow.vector.types.TimeUnit;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.DictionaryEncoding;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.FieldType;
+import org.apache.arrow.vector.types.pojo.Schema;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * system-level-false 대용량 내보내기 (Apache Arrow IPC stream)
+ *
+ * 서버 측 커서로 읽은 행을 batch-rows 개씩 레코드 배치로 보내므로 메모리는 배치 하나 크기만 사용한다.
+ * principal, operation, resourceType, methodName 은 사전(dictionary) 인코딩하며,
+ * 새 값이 나오면 누적 사전을 다음 배치 앞에 다시 보낸다 (stream 포맷의 dictionary replacement).
+ *
+ * Arrow 메모리 모듈은 JDK 17 에서 --add-opens=java.base/java.nio=ALL-UNNAMED 옵션이 필요하다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AuditArrowExportService {
+
+    public static final String CONTENT_TYPE = "application/vnd.apache.arrow.stream";
+
+    private static final String KST = "Asia/Seoul";
+    private static final ArrowType.Int INDEX_TYPE = new ArrowType.Int(32, true);
+
+    private final AuditRowRepository rowRepo;
+
+    @Value("${audit.export.batch-rows:65536}")
+    private int batchRows;
+
+    @Value("${audit.export.max-days:62}")
+    private long maxDays;
+
+    /**
+     * [start, end] 범위 system-level-false 레코드를 Arrow IPC stream 으로 기록
+     * 컬럼명은 SystemLevelFalseResponseDTO 와 같고, 시간은 문자열 대신 Asia/Seoul 타임존 timestamp(us)
+     * @return 기록한 행 수
+     */
+    @Transactional(readOnly = true)
+    public long exportSystemLevelFalse(OffsetDateTime start, OffsetDateTime end, OutputStream out) throws IOException {
+        if (ChronoUnit.DAYS.between(start, end) > maxDays) {
+            throw new IllegalArgumentException("내보내기 범위는 최대 " + maxDays + "일입니다");
+        }
+
+        try (BufferAllocator allocator = new RootAllocator();
+             DictionaryColumn principal = new DictionaryColumn("principal", 1L, allocator);
+             DictionaryColumn methodName = new DictionaryColumn("methodName", 2L, allocator);
+             DictionaryColumn resourceType = new DictionaryColumn("resourceType", 3L, allocator);
+             DictionaryColumn operation = new DictionaryColumn("operation", 4L, allocator);
+             VectorSchemaRoot root = VectorSchemaRoot.create(new Schema(List.of(
+                     utf8("id"),
+                     timestamp("eventTimeKST"),
+                     timestamp("processingTimeKST"),
+                     principal.field(),
+                     utf8("clientIp"),
+                     methodName.field(),
+                     new Field("granted", FieldType.nullable(ArrowType.Bool.INSTANCE), null),
+                     resourceType.field(),
+                     utf8("resourceName"),
+                     operation.field()
+             )), allocator)) {
+
+            DictionaryProvider.MapDictionaryProvider provider = new DictionaryProvider.MapDictionaryProvider();
+            for (DictionaryColumn column : List.of(principal, methodName, resourceType, operation)) {
+                provider.put(column.dictionary);
+            }
+
+            VarCharVector id = (VarCharVector) root.getVector("id");
+            TimeStampMicroTZVector eventTime = (TimeStampMicroTZVector) root.getVector("eventTimeKST");
+            TimeStampMicroTZVector processingTime = (TimeStampMicroTZVector) root.getVector("processingTimeKST");
+            IntVector principalIndex = (IntVector) root.getVector("principal");
+            VarCharVector clientIp = (VarCharVector) root.getVector("clientIp");
+            IntVector methodNameIndex = (IntVector) root.getVector("methodName");
+            BitVector granted = (BitVector) root.getVector("granted");
+            IntVector resourceTypeIndex = (IntVector) root.getVector("resourceType");
+            VarCharVector resourceName = (VarCharVector) root.getVector("resourceName");
+            IntVector operationIndex = (IntVector) root.getVector("operation");
+
+            // writer 가 보관하는 이전 사전 사본을 allocator 보다 먼저 해제하도록 try 로 닫음
+            try (ArrowStreamWriter writer = new ArrowStreamWriter(root, provider, out)) {
+                writer.start();
+                root.allocateNew();
+
+                long[] total = {0};
+                int[] row = {0};
+                rowRepo.streamSystemLevelFalseByTimeOnly(start, end, rs -> {
+                    int i = row[0];
+                    setString(id, i, rs.getString("id"));
+                    setTime(eventTime, i, rs, "event_time_kst");
+                    setTime(processingTime, i, rs, "processing_time_kst");
+                    principal.set(principalIndex, i, rs.getString("principal"));
+                    setString(clientIp, i, rs.getString("client_ip"));
+                    methodName.set(methodNameIndex, i, rs.getString("method_name"));
+                    boolean grantedValue = rs.getBoolean("granted");
+                    if (rs.wasNull()) {
+                        granted.setNull(i);
+                    } else {
+                        granted.setSafe(i, grantedValue ? 1 : 0);
+                    }
+                    resourceType.set(resourceTypeIndex, i, rs.getString("resource_type"));
+                    setString(resourceName, i, rs.getString("resource_name"));
+                    operation.set(operationIndex, i, rs.getString("operation"));
+
+                    row[0]++;
+                    total[0]++;
+                    if (row[0] == batchRows) {
+                        flush(writer, root, row[0]);
+                        row[0] = 0;
+                    }
+                });
+                if (row[0] > 0) {
+                    flush(writer, root, row[0]);
+                }
+                writer.end();
+                log.info("📤 system-level-false Arrow 내보내기: {} ~ {}, {}행", start, end, total[0]);
+                return total[0];
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /** 현재 배치를 기록하고 벡터를 다음 배치용으로 비움 (사전 벡터는 누적 유지) */
+    private static void flush(ArrowStreamWriter writer, VectorSchemaRoot root, int rows) {
+        try {
+            root.setRowCount(rows);
+            writer.writeBatch();
+            root.allocateNew();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Field utf8(String name) {
+        return new Field(name, FieldType.nullable(ArrowType.Utf8.INSTANCE), null);
+    }
+
+    private static Field timestamp(String name) {
+        return new Field(name, FieldType.nullable(new ArrowType.Timestamp(TimeUnit.MICROSECOND, KST)), null);
+    }
+
+    private static void setString(VarCharVector vector, int index, String value) {
+        if (value == null) {
+            vector.setNull(index);
+        } else {
+            vector.setSafe(index, value.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private static void setTime(TimeStampMicroTZVector vector, int index, ResultSet rs, String column) throws SQLException {
+        OffsetDateTime time = rs.getObject(column, OffsetDateTime.class);
+        if (time == null) {
+            vector.setNull(index);
+        } else {
+            vector.setSafe(index, ChronoUnit.MICROS.between(Instant.EPOCH, time.toInstant()));
+        }
+    }
+
+    /** 사전 인코딩 컬럼: 배치 벡터에는 int32 인덱스, 사전 벡터에는 지금까지 나온 고유 값 */
+    private static final class DictionaryColumn implements AutoCloseable {
+
+        private final DictionaryEncoding encoding;
+        private final String name;
+        private final VarCharVector values;
+        private final Dictionary dictionary;
+        private final Map<String, Integer> indexes = new HashMap<>();
+
+        DictionaryColumn(String name, long id, BufferAllocator allocator) {
+            this.name = name;
+            this.encoding = new DictionaryEncoding(id, false, INDEX_TYPE);
+            this.values = new VarCharVector(name + "_dictionary", allocator);
+            this.values.allocateNew();
+            this.dictionary = new Dictionary(values, encoding);
+        }
+
+        Field field() {
+            return new Field(name, new FieldType(true, INDEX_TYPE, encoding), null);
+        }
+
+        void set(IntVector indexVector, int row, String value) {
+            if (value == null) {
+                indexVector.setNull(row);
+                return;
+            }
+            Integer index = indexes.get(value);
+            if (index == null) {
+                index = indexes.size();
+                indexes.put(value, index);
+                values.setSafe(index, value.getBytes(StandardCharsets.UTF_8));
+                values.setValueCount(index + 1);
+            }
+            indexVector.setSafe(row, index);
+        }
+
+        @Override
+        public void close() {
+            values.close();
+        }
+    }
+}
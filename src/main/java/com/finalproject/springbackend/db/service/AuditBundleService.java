@@ -0,0 +1,202 @@
+package com.finalproject.springbackend.db.service;
+
+import com.finalproject.springbackend.db.entity.AuditDimension;
+import com.finalproject.springbackend.db.entity.AuditTable;
+import com.finalproject.springbackend.db.repository.AuditNativeRepository;
+import com.finalproject.springbackend.dto.BundleRequestDTO;
+import com.finalproject.springbackend.util.TimeZoneUtil;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 대시보드 묶음 조회 (POST /api/db/bundle)
+ *
+ * - count: 같은 (테이블, start, end) 끼리 count(*) FILTER (WHERE ...) 한 문장으로 합쳐 조회
+ * - histogram, top: 각각 AuditHistogramService / AuditTopNService 로 조회
+ * 합쳐진 작업들은 고정 크기 스레드 풀에서 동시에 실행해 Hikari 커넥션을 max-concurrency 개까지만 사용한다.
+ */
+@Slf4j
+@Service
+public class AuditBundleService {
+
+    private final AuditNativeRepository nativeRepo;
+    private final AuditHistogramService histogram;
+    private final AuditTopNService topN;
+    private final ExecutorService executor;
+
+    @Value("${audit.bundle.max-queries:50}")
+    private int maxQueries;
+
+    @Value("${audit.bundle.timeout-ms:30000}")
+    private long timeoutMs;
+
+    public AuditBundleService(
+            AuditNativeRepository nativeRepo, AuditHistogramService histogram, AuditTopNService topN,
+            @Value("${audit.bundle.max-concurrency:4}") int maxConcurrency
+    ) {
+        this.nativeRepo = nativeRepo;
+        this.histogram = histogram;
+        this.topN = topN;
+        this.executor = Executors.newFixedThreadPool(maxConcurrency, runnable -> {
+            Thread thread = new Thread(runnable, "audit-bundle");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 하위 쿼리 실행
+     * @return {"results": {이름: 결과}, "errors": {이름: 에러 메시지}}
+     */
+    public Map<String, Object> run(BundleRequestDTO request) {
+        List<BundleRequestDTO.SubQuery> queries = request == null ? List.of() : request.getQueries();
+        if (queries == null || queries.isEmpty()) {
+            throw new IllegalArgumentException("queries 를 넣어주세요");
+        }
+        if (queries.size() > maxQueries) {
+            throw new IllegalArgumentException("하위 쿼리는 최대 " + maxQueries + "개까지 가능합니다");
+        }
+
+        Map<String, Object> results = new LinkedHashMap<>();
+        Map<String, String> errors = new LinkedHashMap<>();
+
+        // count 는 (테이블, start, end) 단위로 묶음
+        Map<String, List<Resolved>> countGroups = new LinkedHashMap<>();
+        Map<String, Callable<Map<String, Object>>> tasks = new LinkedHashMap<>();
+        Set<String> names = new HashSet<>();
+
+        for (BundleRequestDTO.SubQuery query : queries) {
+            String name = query.getName();
+            if (name == null || name.isBlank() || !names.add(name)) {
+                throw new IllegalArgumentException("하위 쿼리 name 이 비어 있거나 중복되었습니다: " + name);
+            }
+            results.put(name, null);
+            try {
+                Resolved resolved = resolve(query);
+                String type = query.getType() == null ? "count" : query.getType().strip().toLowerCase();
+                switch (type) {
+                    case "count" -> countGroups
+                            .computeIfAbsent(resolved.table() + "|" + resolved.start() + "|" + resolved.end(), k -> new ArrayList<>())
+                            .add(resolved);
+                    case "histogram" -> tasks.put(name, () -> Map.of(name, histogram.histogram(
+                            resolved.table(), resolved.start(), resolved.end(), query.getBucket(), resolved.filters())));
+                    case "top" -> {
+                        if (query.getGroupBy() == null || query.getGroupBy().isBlank()) {
+                            throw new IllegalArgumentException("type=top 은 groupBy 가 필요합니다");
+                        }
+                        tasks.put(name, () -> Map.of(name, topN.top(
+                                resolved.table(), query.getGroupBy(), resolved.start(), resolved.end(),
+                                resolved.filters(), query.getLimit())));
+                    }
+                    default -> throw new IllegalArgumentException("지원하지 않는 type 입니다: " + query.getType());
+                }
+            } catch (IllegalArgumentException e) {
+                errors.put(name, e.getMessage());
+            }
+        }
+
+        countGroups.forEach((key, group) -> tasks.put("count:" + key, () -> foldedCount(group)));
+
+        Map<String, Future<Map<String, Object>>> futures = new LinkedHashMap<>();
+        tasks.forEach((key, task) -> futures.put(key, executor.submit(task)));
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        futures.forEach((key, future) -> {
+            try {
+                results.putAll(future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS));
+            } catch (TimeoutException e) {
+                future.cancel(true);
+                errorsOf(key, countGroups).forEach(name -> errors.put(name, "시간 초과"));
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                log.warn("⚠️ bundle 하위 쿼리 실패 {}: {}", key, cause.getMessage());
+                errorsOf(key, countGroups).forEach(name -> errors.put(name, cause.getMessage()));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                errorsOf(key, countGroups).forEach(name -> errors.put(name, "중단됨"));
+            }
+        });
+
+        log.debug("📦 bundle 실행 - 하위 쿼리 {}개, SQL 작업 {}개 (count 묶음 {}개)",
+                queries.size(), tasks.size(), countGroups.size());
+        errors.keySet().forEach(results::remove);
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("results", results);
+        response.put("errors", errors);
+        return response;
+    }
+
+    /** 같은 테이블/시간 범위 count 들을 한 SQL 로 */
+    private Map<String, Object> foldedCount(List<Resolved> group) {
+        Resolved first = group.get(0);
+        List<Map<AuditDimension, String>> filterSets = group.stream().map(Resolved::filters).toList();
+        long[] counts = nativeRepo.countEach(first.table(), first.start(), first.end(), true, filterSets);
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        for (int i = 0; i < group.size(); i++) {
+            result.put(group.get(i).name(), counts[i]);
+        }
+        return result;
+    }
+
+    /** 실패한 작업에 해당하는 하위 쿼리 이름들 */
+    private List<String> errorsOf(String taskKey, Map<String, List<Resolved>> countGroups) {
+        if (taskKey.startsWith("count:")) {
+            return countGroups.get(taskKey.substring("count:".length())).stream().map(Resolved::name).toList();
+        }
+        return List.of(taskKey);
+    }
+
+    /** 테이블/시간/필터 보정 (각 테이블 서비스와 같은 규칙) */
+    private Resolved resolve(BundleRequestDTO.SubQuery query) {
+        if (query.getTable() == null) {
+            throw new IllegalArgumentException("table 을 넣어주세요");
+        }
+        AuditTable table = AuditTable.fromTableName(query.getTable().strip());
+
+        OffsetDateTime[] times = TimeZoneUtil.correctRange(
+                TimeZoneUtil.parseFromFrontend(query.getStart()), TimeZoneUtil.parseFromFrontend(query.getEnd()));
+
+        Map<AuditDimension, String> filters = new EnumMap<>(AuditDimension.class);
+        if (query.getFilters() != null) {
+            query.getFilters().forEach((field, value) -> {
+                AuditDimension dimension = AuditDimension.fromFieldName(field);
+                if (!table.supports(dimension)) {
+                    throw new IllegalArgumentException(
+                            table.getTableName() + " 테이블에는 " + dimension.getFieldName() + " 컬럼이 없습니다");
+                }
+                filters.put(dimension, dimension.normalize(value));
+            });
+        }
+        return new Resolved(query.getName(), table, times[0], times[1], filters);
+    }
+
+    private record Resolved(
+            String name, AuditTable table, OffsetDateTime start, OffsetDateTime end,
+            Map<AuditDimension, String> filters
+    ) {}
+}
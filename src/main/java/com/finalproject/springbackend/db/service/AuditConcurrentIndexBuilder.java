@@ -0,0 +1,114 @@
+package com.finalproject.springbackend.db.service;
+
+import com.finalproject.springbackend.db.entity.AuditTable;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * 적재를 막지 않는 인덱스 생성 (trigram / inet 인덱스 공통)
+ *
+ * - 일반 테이블: CREATE INDEX CONCURRENTLY
+ * - 파티션 테이블: 부모에는 ON ONLY 로 (메타데이터만) 만들고, 파티션마다 CONCURRENTLY 로 만든 뒤 ATTACH.
+ *   모든 파티션이 붙으면 부모 인덱스가 자동으로 유효해지고, 이후 생성되는 파티션에는 PostgreSQL 이 알아서 만든다.
+ * CONCURRENTLY 생성이 중간에 실패하면 INVALID 인덱스가 남아 IF NOT EXISTS 로는 다시 만들어지지 않으므로
+ * pg_index.indisvalid 를 확인해 지우고 다시 만든다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AuditConcurrentIndexBuilder {
+
+    private static final int MAX_IDENTIFIER_LENGTH = 63;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 인덱스 보장
+     * @param suffix 인덱스 이름 접미사 (테이블/파티션 이름 뒤에 붙임)
+     * @param definition "USING gin (...)" 처럼 ON 테이블 뒤에 오는 정의
+     * @return 테이블이 없어 건너뛰면 false
+     */
+    public boolean ensureIndex(AuditTable table, String suffix, String definition) {
+        String relkind = relationKind(table.getTableName());
+        if (relkind == null) {
+            return false;
+        }
+        String index = indexName(table.getTableName(), suffix);
+        if (!"p".equals(relkind)) {
+            createConcurrently(index, table.quotedName(), definition);
+            return true;
+        }
+
+        if (Boolean.TRUE.equals(indexValidity(index))) {
+            return true;
+        }
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS " + AuditTable.quoteIdentifier(index)
+                + " ON ONLY " + table.quotedName() + " " + definition);
+        for (String partition : partitions(table.getTableName())) {
+            String partitionIndex = indexName(partition, suffix);
+            createConcurrently(partitionIndex, AuditTable.quoteIdentifier(partition), definition);
+            // 이미 붙어 있으면 아무 일도 하지 않음
+            jdbcTemplate.execute("ALTER INDEX " + AuditTable.quoteIdentifier(index)
+                    + " ATTACH PARTITION " + AuditTable.quoteIdentifier(partitionIndex));
+        }
+        if (!Boolean.TRUE.equals(indexValidity(index))) {
+            log.warn("⚠️ {} 인덱스가 아직 유효하지 않습니다 (다음 기동 시 다시 시도)", index);
+        }
+        return true;
+    }
+
+    /** CONCURRENTLY 생성 (이전 실패로 남은 INVALID 인덱스는 지우고 다시 생성) */
+    public void createConcurrently(String index, String quotedTable, String definition) {
+        Boolean valid = indexValidity(index);
+        if (Boolean.TRUE.equals(valid)) {
+            return;
+        }
+        if (valid != null) {
+            log.warn("♻️ INVALID 인덱스 {} 를 다시 만듭니다", index);
+            jdbcTemplate.execute("DROP INDEX CONCURRENTLY IF EXISTS " + AuditTable.quoteIdentifier(index));
+        }
+        jdbcTemplate.execute("CREATE INDEX CONCURRENTLY IF NOT EXISTS " + AuditTable.quoteIdentifier(index)
+                + " ON " + quotedTable + " " + definition);
+    }
+
+    /** pg_index.indisvalid (인덱스가 없으면 null) */
+    private Boolean indexValidity(String index) {
+        List<Boolean> valid = jdbcTemplate.queryForList("""
+            SELECT i.indisvalid FROM pg_index i
+            JOIN pg_class c ON c.oid = i.indexrelid
+            JOIN pg_namespace n ON n.oid = c.relnamespace
+            WHERE n.nspname = current_schema() AND c.relname = ?
+        """, Boolean.class, index);
+        return valid.isEmpty() ? null : valid.get(0);
+    }
+
+    private String relationKind(String tableName) {
+        List<String> kinds = jdbcTemplate.queryForList("""
+            SELECT c.relkind::text FROM pg_class c
+            JOIN pg_namespace n ON n.oid = c.relnamespace
+            WHERE n.nspname = current_schema() AND c.relname = ?
+        """, String.class, tableName);
+        return kinds.isEmpty() ? null : kinds.get(0);
+    }
+
+    private List<String> partitions(String tableName) {
+        return jdbcTemplate.queryForList("""
+            SELECT c.relname FROM pg_inherits i
+            JOIN pg_class c ON c.oid = i.inhrelid
+            JOIN pg_class p ON p.oid = i.inhparent
+            JOIN pg_namespace n ON n.oid = p.relnamespace
+            WHERE n.nspname = current_schema() AND p.relname = ?
+            ORDER BY c.relname
+        """, String.class, tableName);
+    }
+
+    /** PostgreSQL 이 63자에서 자르는 이름을 조회에도 같게 쓰도록 미리 자름 */
+    public static String indexName(String tableName, String suffix) {
+        String name = tableName + suffix;
+        return name.length() > MAX_IDENTIFIER_LENGTH ? name.substring(0, MAX_IDENTIFIER_LENGTH) : name;
+    }
+}
@@ -0,0 +1,118 @@
+package com.finalproject.springbackend.db.service;
+
+import com.finalproject.springbackend.db.entity.AuditDimension;
+import com.finalproject.springbackend.db.entity.AuditTable;
+import com.finalproject.springbackend.db.repository.AuditNativeRepository;
+import com.finalproject.springbackend.db.repository.projection.BucketCount;
+import com.finalproject.springbackend.util.TimeZoneUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 감사 로그 테이블 공통 시간 히스토그램 (타임라인 차트용)
+ *
+ * 레코드 전체를 내려보내 프론트에서 버킷팅하는 대신 date_bin GROUP BY 한 번으로 버킷별 갯수만 반환한다.
+ * 버킷 경계는 KST 자정 기준이라 1d 버킷이 한국 날짜와 일치한다.
+ * 시간/필터 값 보정은 각 테이블 서비스에서 끝낸 뒤 호출한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class AuditHistogramService {
+
+    // 버킷 경계 기준 시각 (2000-01-01 00:00 KST)
+    private static final OffsetDateTime ORIGIN =
+            LocalDate.of(2000, 1, 1).atStartOfDay(TimeZoneUtil.KST_ZONE).toOffsetDateTime();
+
+    private final AuditNativeRepository nativeRepo;
+    private final AuditHotTier hotTier;
+
+    @Value("${audit.histogram.max-buckets:5000}")
+    private int maxBuckets;
+
+    /**
+     * start ~ end 구간의 버킷별 갯수 (빈 버킷은 0으로 채움)
+     * @param bucket 버킷 크기 (30s, 5m, 1h, 1d 또는 ISO-8601 PT5M 형식)
+     */
+    public List<BucketCount> histogram(
+            AuditTable table, OffsetDateTime start, OffsetDateTime end, String bucket,
+            Map<AuditDimension, String> filters
+    ) {
+        Duration size = parseBucket(bucket);
+        long buckets = Duration.between(start, end).getSeconds() / size.getSeconds() + 1;
+        if (buckets > maxBuckets) {
+            throw new IllegalArgumentException(
+                    "버킷 수가 너무 많습니다 (" + buckets + "개, 최대 " + maxBuckets + "개). bucket 크기를 늘려주세요");
+        }
+
+        List<BucketCount> rows = hotTier.tryHistogram(table, size, ORIGIN, start, end, filters)
+                .orElseGet(() -> nativeRepo.histogram(table, size, ORIGIN, start, end, true, filters));
+        log.debug("📊 {} 히스토그램 - bucket: {}, 결과 버킷 수: {}", table.getTableName(), size, rows.size());
+        return fillEmptyBuckets(rows, align(start, size), end, size);
+    }
+
+    /** 차트가 바로 그릴 수 있도록 start ~ end 사이 빈 버킷을 0으로 채움 */
+    private List<BucketCount> fillEmptyBuckets(
+            List<BucketCount> rows, OffsetDateTime first, OffsetDateTime end, Duration size
+    ) {
+        Map<Long, Long> counts = new HashMap<>();
+        for (BucketCount row : rows) {
+            counts.put(row.bucketStart().toEpochSecond(), row.count());
+        }
+
+        List<BucketCount> result = new ArrayList<>();
+        for (OffsetDateTime t = first; !t.isAfter(end); t = t.plus(size)) {
+            result.add(new BucketCount(t, counts.getOrDefault(t.toEpochSecond(), 0L)));
+        }
+        return result;
+    }
+
+    /** date_bin 과 같은 규칙으로 버킷 시작 시각 계산 */
+    private OffsetDateTime align(OffsetDateTime time, Duration size) {
+        long offset = Duration.between(ORIGIN, time).getSeconds();
+        long aligned = Math.floorDiv(offset, size.getSeconds()) * size.getSeconds();
+        return ORIGIN.plusSeconds(aligned).atZoneSameInstant(TimeZoneUtil.KST_ZONE).toOffsetDateTime();
+    }
+
+    /** 버킷 크기 파싱 (숫자 + s/m/h/d, 또는 ISO-8601 Duration) */
+    public static Duration parseBucket(String bucket) {
+        if (bucket == null || bucket.isBlank()) {
+            throw new IllegalArgumentException("bucket 크기를 넣어주세요 (예: 5m, 1h, 1d)");
+        }
+        String value = bucket.replaceAll("\\s+", "").toLowerCase();
+        Duration size;
+        try {
+            if (value.startsWith("p")) {
+                size = Duration.parse(value.toUpperCase());
+            } else {
+                long amount = Long.parseLong(value.substring(0, value.length() - 1));
+                size = switch (value.charAt(value.length() - 1)) {
+                    case 's' -> Duration.ofSeconds(amount);
+                    case 'm' -> Duration.ofMinutes(amount);
+                    case 'h' -> Duration.ofHours(amount);
+                    case 'd' -> Duration.ofDays(amount);
+                    default -> throw new IllegalArgumentException("지원하지 않는 bucket 단위입니다: " + bucket);
+                };
+            }
+        } catch (NumberFormatException | DateTimeParseException | StringIndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("bucket 형식이 올바르지 않습니다: " + bucket + " (예: 5m, 1h, 1d)");
+        }
+        if (size.getSeconds() < 1) {
+            throw new IllegalArgumentException("bucket 크기는 1초 이상이어야 합니다");
+        }
+        return size;
+    }
+}
@@ -0,0 +1,641 @@
+package com.finalproject.springbackend.db.service;
+
+import com.finalproject.springbackend.db.entity.AuditDimension;
+import com.finalproject.springbackend.db.entity.AuditTable;
+import com.finalproject.springbackend.db.repository.AuditNativeRepository;
+import com.finalproject.springbackend.db.repository.projection.BucketCount;
+import com.finalproject.springbackend.util.AuditSymbols;
+import com.finalproject.springbackend.util.TimeZoneUtil;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.IntConsumer;
+
+/**
+ * 최근 N시간 감사 로그 인메모리 핫 티어
+ *
+ * 대시보드 질의 대부분은 최근 15~60분이라, 그 구간을 테이블별로 메모리에 컬럼형으로 들고 있다가
+ * 건수/GROUP BY/히스토그램을 PostgreSQL 없이 계산한다.
+ * - 시간: epoch nanos long[], 문자열 컬럼: 사전 id int[] (정렬된 시간 순, 사전 값은 AuditSymbols 정규 인스턴스)
+ * - 사전은 세그먼트마다 따로 두어 세그먼트와 함께 버려진다.
+ * - 세그먼트(segment-minutes 단위)마다 컬럼 값별 정렬된 행 번호 목록(posting list)을 두고 필터끼리 교집합한다.
+ *   값마다 행 수 크기의 BitSet 을 두면 client_ip, resource_name 같은 고카디널리티 컬럼에서 행 수 × 값 수로 커지지만,
+ *   posting list 는 컬럼당 행 수만큼의 int 라 메모리가 값 개수와 무관하게 행 수에 비례한다.
+ * - 세그먼트 메모리(시간, id, posting list, 사전 추정치)는 max-bytes-per-table 로도 제한한다.
+ * - 적재는 Kafka consumer(사용자별 SSE 중계용이라 항상 떠 있지 않음) 대신 sink 가 쓴 테이블을 settle-seconds 만큼
+ *   늦게 따라 읽는다. 그보다 늦게 들어온 과거 시각 행(이벤트 시각 기준)은 따라 읽기로 잡히지 않으므로,
+ *   테이블 변경 카운터(AuditIngestWatermark)가 움직이면 verify-ms 마다 적재 구간의 세그먼트별 행 수를 DB 와 비교해
+ *   다른 세그먼트만 다시 읽는다. 늦은 행/삭제는 최대 verify-ms 안에 반영되고, 행 수가 같은 UPDATE 는 잡지 않는다.
+ * - hours 보다 오래된 세그먼트, max-rows-per-table / max-bytes-per-table 을 넘는 오래된 세그먼트는 버린다.
+ *
+ * 질의 구간 중 적재 구간과 겹치는 부분은 메모리, 적재 시작 이전(오래된 데이터)과 적재 끝 이후 몇 초는 DB 에서 읽어 합친다.
+ * 와일드카드/CIDR 필터나 적재 구간과 겹치지 않는 질의는 Optional.empty() 로 기존 경로에 맡긴다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AuditHotTier {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AuditNativeRepository nativeRepo;
+    private final MeterRegistry meterRegistry;
+    private final AuditIngestWatermark watermark;
+
+    private final Map<AuditTable, Store> stores = new EnumMap<>(AuditTable.class);
+
+    @Value("${audit.hot.enabled:false}")
+    private boolean enabled;
+
+    @Value("${audit.hot.tables:certified-2time,certified-notMove,system-level-false,resource-level-false}")
+    private String[] tableNames;
+
+    @Value("${audit.hot.hours:1}")
+    private long hours;
+
+    @Value("${audit.hot.max-rows-per-table:2000000}")
+    private int maxRowsPerTable;
+
+    @Value("${audit.hot.max-bytes-per-table:67108864}")
+    private long maxBytesPerTable;
+
+    @Value("${audit.hot.settle-seconds:10}")
+    private long settleSeconds;
+
+    @Value("${audit.hot.segment-minutes:5}")
+    private long segmentMinutes;
+
+    @Value("${audit.hot.verify-ms:60000}")
+    private long verifyMs;
+
+    @PostConstruct
+    public void init() {
+        if (!enabled) {
+            return;
+        }
+        for (String name : tableNames) {
+            if (name.isBlank()) {
+                continue;
+            }
+            AuditTable table = AuditTable.fromTableName(name.strip());
+            Store store = new Store(table);
+            stores.put(table, store);
+            Gauge.builder("audit.hot.rows", store, Store::rows)
+                    .tag("table", table.getTableName())
+                    .register(meterRegistry);
+            Gauge.builder("audit.hot.estimated.bytes", store, Store::bytes)
+                    .tag("table", table.getTableName())
+                    .register(meterRegistry);
+        }
+        log.info("🔥 감사 로그 핫 티어 활성화: {} (최근 {}시간)", stores.keySet(), hours);
+    }
+
+    /** 적재 구간을 따라잡고 오래된 세그먼트 정리 */
+    @Scheduled(fixedDelayString = "${audit.hot.refresh-ms:5000}")
+    public void refresh() {
+        for (Store store : stores.values()) {
+            try {
+                store.refresh();
+            } catch (Exception e) {
+                log.error("❌ {} 핫 티어 적재 실패: {}", store.table.getTableName(), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * [start, end] 건수
+     * @return 핫 티어로 답할 수 없으면 Optional.empty()
+     */
+    public Optional<Long> tryCount(
+            AuditTable table, OffsetDateTime start, OffsetDateTime end, Map<AuditDimension, String> filters
+    ) {
+        Query query = query(table, start, end, filters);
+        if (query == null) {
+            return Optional.empty();
+        }
+        long count = 0;
+        for (Slice slice : query.slices()) {
+            count += slice.size();
+        }
+        if (query.dbHead()) {
+            count += nativeRepo.count(table, start, query.coveredFrom(), false, filters);
+        }
+        if (query.dbTail()) {
+            count += nativeRepo.count(table, query.coveredTo(), end, true, filters);
+        }
+        return Optional.of(count);
+    }
+
+    /**
+     * [start, end] groupBy 컬럼별 건수 (갯수 내림차순)
+     * @return 핫 티어로 답할 수 없으면 Optional.empty()
+     */
+    public Optional<Map<String, Long>> tryGroupCount(
+            AuditTable table, AuditDimension groupBy,
+            OffsetDateTime start, OffsetDateTime end, Map<AuditDimension, String> filters
+    ) {
+        Store store = stores.get(table);
+        Query query = store == null ? null : query(table, start, end, filters);
+        int column = store == null ? -1 : store.dimensions.indexOf(groupBy);
+        if (query == null || column < 0) {
+            return Optional.empty();
+        }
+
+        Map<String, Long> counts = new HashMap<>();
+        for (Slice slice : query.slices()) {
+            int[] ids = slice.segment.ids[column];
+            Dictionary dictionary = slice.segment.dictionaries[column];
+            long[] byId = new long[dictionary.size() + 1];   // 마지막 칸은 NULL
+            slice.forEach(row -> {
+                int id = ids[row];
+                byId[id < 0 ? byId.length - 1 : id]++;
+            });
+            for (int id = 0; id < byId.length; id++) {
+                if (byId[id] > 0) {
+                    counts.merge(id == byId.length - 1 ? null : dictionary.value(id), byId[id], Long::sum);
+                }
+            }
+        }
+        if (query.dbHead()) {
+            nativeRepo.groupCount(table, groupBy, start, query.coveredFrom(), false, filters)
+                    .forEach((value, count) -> counts.merge(value, count, Long::sum));
+        }
+        if (query.dbTail()) {
+            nativeRepo.groupCount(table, groupBy, query.coveredTo(), end, true, filters)
+                    .forEach((value, count) -> counts.merge(value, count, Long::sum));
+        }
+        return Optional.of(AuditRollupService.sortByCountDesc(counts));
+    }
+
+    /**
+     * [start, end] 시간 버킷별 건수 (date_bin 과 같은 경계, 빈 버킷 제외)
+     * @return 핫 티어로 답할 수 없으면 Optional.empty()
+     */
+    public Optional<List<BucketCount>> tryHistogram(
+            AuditTable table, Duration size, OffsetDateTime origin,
+            OffsetDateTime start, OffsetDateTime end, Map<AuditDimension, String> filters
+    ) {
+        Query query = query(table, start, end, filters);
+        if (query == null) {
+            return Optional.empty();
+        }
+
+        long originNanos = nanos(origin);
+        long sizeNanos = size.toNanos();
+        Map<Long, Long> counts = new HashMap<>();
+        for (Slice slice : query.slices()) {
+            long[] times = slice.segment.times;
+            slice.forEach(row -> counts.merge(
+                    originNanos + Math.floorDiv(times[row] - originNanos, sizeNanos) * sizeNanos, 1L, Long::sum));
+        }
+        List<BucketCount> rows = new ArrayList<>(counts.size());
+        counts.forEach((bucket, count) -> rows.add(new BucketCount(time(bucket), count)));
+        if (query.dbHead()) {
+            rows.addAll(nativeRepo.histogram(table, size, origin, start, query.coveredFrom(), false, filters));
+        }
+        if (query.dbTail()) {
+            rows.addAll(nativeRepo.histogram(table, size, origin, query.coveredTo(), end, true, filters));
+        }
+        return Optional.of(mergeBuckets(rows));
+    }
+
+    /** 같은 버킷(DB 앞부분 + 메모리 + DB 꼬리)의 건수를 합침 */
+    private List<BucketCount> mergeBuckets(List<BucketCount> rows) {
+        Map<Long, BucketCount> merged = new HashMap<>();
+        for (BucketCount row : rows) {
+            merged.merge(row.bucketStart().toEpochSecond(), row,
+                    (a, b) -> new BucketCount(a.bucketStart(), a.count() + b.count()));
+        }
+        return new ArrayList<>(merged.values());
+    }
+
+    /** 핫 티어로 답할 수 있으면 세그먼트별 행 구간과 필터 결과, 아니면 null */
+    private Query query(AuditTable table, OffsetDateTime start, OffsetDateTime end, Map<AuditDimension, String> filters) {
+        Store store = stores.get(table);
+        if (store == null || start == null || end == null) {
+            return null;
+        }
+        Snapshot snapshot = store.snapshot;
+        long from = nanos(start);
+        long toExclusive = nanos(end) + 1;
+        // 적재 구간과 겹치지 않으면 메모리로 답할 부분이 없음
+        if (snapshot == null || toExclusive <= snapshot.coveredFrom || from >= snapshot.coveredTo) {
+            return null;
+        }
+
+        // 필터 -> (컬럼 위치, 값), 사전 id 는 세그먼트마다 다르므로 세그먼트에서 찾음
+        int[] columns = new int[filters == null ? 0 : filters.size()];
+        String[] values = new String[columns.length];
+        int f = 0;
+        if (filters != null) {
+            for (Map.Entry<AuditDimension, String> filter : filters.entrySet()) {
+                int column = store.dimensions.indexOf(filter.getKey());
+                if (column < 0 || !filter.getKey().isExact(filter.getValue())) {
+                    return null;
+                }
+                columns[f] = column;
+                values[f++] = filter.getValue();
+            }
+        }
+
+        long memoryTo = Math.min(toExclusive, snapshot.coveredTo);
+        List<Slice> slices = new ArrayList<>();
+        for (Segment segment : snapshot.segments) {
+            if (segment.to <= from || segment.from >= memoryTo) {
+                continue;
+            }
+            int lo = lowerBound(segment.times, from);
+            int hi = lowerBound(segment.times, memoryTo);
+            if (lo < hi) {
+                slices.add(new Slice(segment, lo, hi, segment.select(lo, hi, columns, values)));
+            }
+        }
+        return new Query(slices, time(snapshot.coveredFrom), from < snapshot.coveredFrom,
+                time(snapshot.coveredTo), nanos(end) >= snapshot.coveredTo);
+    }
+
+    private static int lowerBound(long[] times, long value) {
+        int index = Arrays.binarySearch(times, value);
+        if (index < 0) {
+            return -index - 1;
+        }
+        while (index > 0 && times[index - 1] == value) {
+            index--;
+        }
+        return index;
+    }
+
+    private static long nanos(OffsetDateTime time) {
+        Instant instant = time.toInstant();
+        return instant.getEpochSecond() * 1_000_000_000L + instant.getNano();
+    }
+
+    private static OffsetDateTime time(long nanos) {
+        return Instant.ofEpochSecond(Math.floorDiv(nanos, 1_000_000_000L), Math.floorMod(nanos, 1_000_000_000L))
+                .atZone(TimeZoneUtil.KST_ZONE).toOffsetDateTime();
+    }
+
+    /** 테이블 하나의 핫 티어 (적재는 스케줄러 스레드 하나, 조회는 불변 스냅샷) */
+    private final class Store {
+
+        private final AuditTable table;
+        private final List<AuditDimension> dimensions;
+        private volatile Snapshot snapshot;
+        private long verifiedVersion = -1;
+        private long verifiedAt;
+
+        Store(AuditTable table) {
+            this.table = table;
+            this.dimensions = table.getDimensions();
+        }
+
+        double rows() {
+            Snapshot current = snapshot;
+            return current == null ? 0 : current.segments.stream().mapToInt(s -> s.times.length).sum();
+        }
+
+        double bytes() {
+            Snapshot current = snapshot;
+            return current == null ? 0 : current.segments.stream().mapToLong(Segment::bytes).sum();
+        }
+
+        synchronized void refresh() {
+            long now = System.currentTimeMillis();
+            long until = (now - settleSeconds * 1000) * 1_000_000L;
+            long oldest = (now - hours * 3_600_000L) * 1_000_000L;
+            long window = segmentMinutes * 60_000_000_000L;
+
+            Snapshot current = snapshot;
+            List<Segment> segments = current == null ? new ArrayList<>() : new ArrayList<>(current.segments);
+            long from = current == null ? oldest : current.coveredTo;
+            long coveredFrom = current == null ? oldest : current.coveredFrom;
+
+            // 세그먼트 경계 단위로 나눠 적재 (첫 적재도 한 번에 너무 큰 배열을 만들지 않도록)
+            while (from < until) {
+                long windowStart = Math.floorDiv(from, window) * window;
+                long to = Math.min(windowStart + window, until);
+                Segment chunk = load(from, to);
+                Segment last = segments.isEmpty() ? null : segments.get(segments.size() - 1);
+                if (last != null && Math.floorDiv(last.from, window) * window == windowStart) {
+                    segments.set(segments.size() - 1, Segment.concat(last, chunk, dimensions.size()));
+                } else {
+                    segments.add(chunk);
+                }
+                from = to;
+                coveredFrom = evict(segments, oldest, coveredFrom);
+            }
+            coveredFrom = evict(segments, oldest, coveredFrom);
+            long coveredTo = Math.max(from, coveredFrom);
+            if (shouldVerify(now)) {
+                reloadChanged(segments, coveredFrom, coveredTo, window);
+                coveredFrom = evict(segments, oldest, coveredFrom);
+            }
+            snapshot = new Snapshot(coveredFrom, coveredTo, List.copyOf(segments));
+        }
+
+        /** 변경 카운터가 움직였고 verify-ms 가 지났으면 true (워터마크를 아직 못 읽었으면 주기만 확인) */
+        private boolean shouldVerify(long now) {
+            long version = watermark.get(table).version();
+            if (now - verifiedAt < verifyMs || (version >= 0 && version == verifiedVersion)) {
+                return false;
+            }
+            verifiedVersion = version;
+            verifiedAt = now;
+            return true;
+        }
+
+        /**
+         * 적재 구간 [coveredFrom, coveredTo) 의 세그먼트 창별 행 수를 DB 와 비교해 다른 세그먼트만 다시 읽음
+         * (settle-seconds 이후에 들어온 과거 시각 행, 보존기간 정리 등)
+         */
+        private void reloadChanged(List<Segment> segments, long coveredFrom, long coveredTo, long window) {
+            if (segments.isEmpty() || coveredFrom >= coveredTo) {
+                return;
+            }
+            String timeColumn = table.getTimeColumn();
+            Map<Long, Long> counts = new HashMap<>();
+            jdbcTemplate.query("SELECT floor(extract(epoch FROM " + timeColumn + ") / ?)::bigint, count(*) FROM "
+                            + table.quotedName() + " WHERE " + timeColumn + " >= ? AND " + timeColumn + " < ? GROUP BY 1",
+                    rs -> {
+                        counts.put(rs.getLong(1), rs.getLong(2));
+                    },
+                    window / 1_000_000_000L, time(coveredFrom), time(coveredTo));
+
+            int reloaded = 0;
+            for (int i = 0; i < segments.size(); i++) {
+                Segment segment = segments.get(i);
+                long expected = counts.getOrDefault(Math.floorDiv(segment.from, window), 0L);
+                if (expected != segment.times.length) {
+                    segments.set(i, load(segment.from, segment.to));
+                    reloaded++;
+                }
+            }
+            if (reloaded > 0) {
+                log.info("♻️ {} 핫 티어 세그먼트 {}개 재적재 (늦게 도착한 행/삭제 반영)", table.getTableName(), reloaded);
+            }
+        }
+
+        /**
+         * 시간/행 수/메모리 기준 오래된 세그먼트 제거 (첫 적재 중에도 창마다 호출해 상한을 넘지 않도록)
+         * @return 제거 후 적재 구간 시작
+         */
+        private long evict(List<Segment> segments, long oldest, long coveredFrom) {
+            int rows = segments.stream().mapToInt(s -> s.times.length).sum();
+            long bytes = segments.stream().mapToLong(Segment::bytes).sum();
+            while (!segments.isEmpty()
+                    && (segments.get(0).to <= oldest || rows > maxRowsPerTable || bytes > maxBytesPerTable)) {
+                Segment evicted = segments.remove(0);
+                rows -= evicted.times.length;
+                bytes -= evicted.bytes();
+                coveredFrom = evicted.to;
+            }
+            return coveredFrom;
+        }
+
+        /** [from, to) 행을 시간 순으로 읽어 세그먼트 생성 */
+        private Segment load(long from, long to) {
+            StringBuilder columns = new StringBuilder(table.getTimeColumn());
+            dimensions.forEach(dimension -> columns.append(", ").append(dimension.getColumn()));
+            String sql = "SELECT " + columns + " FROM " + table.quotedName()
+                    + " WHERE " + table.getTimeColumn() + " >= ? AND " + table.getTimeColumn() + " < ?"
+                    + " ORDER BY " + table.getTimeColumn();
+
+            SegmentBuilder builder = new SegmentBuilder(dimensions.size());
+            jdbcTemplate.query(sql, rs -> {
+                int row = builder.add(nanos(rs.getObject(1, OffsetDateTime.class)));
+                for (int i = 0; i < dimensions.size(); i++) {
+                    String value = rs.getString(i + 2);
+                    builder.ids[i][row] = value == null ? -1
+                            : builder.dictionaries[i].idOf(AuditSymbols.intern(dimensions.get(i), value));
+                }
+            }, time(from), time(to));
+            return builder.build(from, to);
+        }
+    }
+
+    /** 세그먼트별 문자열 <-> id 사전 (적재 스레드가 만든 뒤 세그먼트와 함께 불변으로 공개) */
+    private static final class Dictionary {
+
+        private final Map<String, Integer> ids;
+        private final List<String> values;
+
+        Dictionary() {
+            ids = new HashMap<>();
+            values = new ArrayList<>();
+        }
+
+        /** 이어 붙이기용 사본 (원본은 이전 스냅샷이 계속 읽을 수 있음) */
+        Dictionary(Dictionary other) {
+            ids = new HashMap<>(other.ids);
+            values = new ArrayList<>(other.values);
+        }
+
+        int idOf(String value) {
+            Integer id = ids.get(value);
+            if (id != null) {
+                return id;
+            }
+            ids.put(value, values.size());
+            values.add(value);
+            return values.size() - 1;
+        }
+
+        /** 값의 id (이 세그먼트에 없으면 null) */
+        Integer find(String value) {
+            return ids.get(value);
+        }
+
+        String value(int id) {
+            return values.get(id);
+        }
+
+        int size() {
+            return values.size();
+        }
+    }
+
+    private record Snapshot(long coveredFrom, long coveredTo, List<Segment> segments) {}
+
+    /** 불변 세그먼트: 시간 순 행, 컬럼별 사전 id 와 사전, 컬럼별 id -> 정렬된 행 번호 목록 */
+    private record Segment(long from, long to, long[] times, int[][] ids, Dictionary[] dictionaries,
+                           int[][][] postings) {
+
+        /** 배열 헤더, 사전 항목(HashMap 엔트리 + 목록 칸 + 심볼로 공유되지 않는 문자열) 추정 크기 */
+        private static final long ARRAY_OVERHEAD_BYTES = 16;
+        private static final long DICTIONARY_ENTRY_BYTES = 96;
+
+        static Segment of(long from, long to, long[] times, int[][] ids, Dictionary[] dictionaries) {
+            int[][][] postings = new int[ids.length][][];
+            for (int i = 0; i < ids.length; i++) {
+                int[] column = ids[i];
+                int[] counts = new int[dictionaries[i].size()];
+                for (int id : column) {
+                    if (id >= 0) {
+                        counts[id]++;
+                    }
+                }
+                int[][] byValue = new int[counts.length][];
+                for (int id = 0; id < counts.length; id++) {
+                    byValue[id] = new int[counts[id]];
+                    counts[id] = 0;
+                }
+                // 행 순서대로 채우므로 목록마다 정렬됨
+                for (int row = 0; row < column.length; row++) {
+                    int id = column[row];
+                    if (id >= 0) {
+                        byValue[id][counts[id]++] = row;
+                    }
+                }
+                postings[i] = byValue;
+            }
+            return new Segment(from, to, times, ids, dictionaries, postings);
+        }
+
+        /** 추정 메모리 (시간 + 컬럼별 id + posting list + 사전) */
+        long bytes() {
+            long bytes = ARRAY_OVERHEAD_BYTES + times.length * 8L;
+            for (int i = 0; i < ids.length; i++) {
+                bytes += ARRAY_OVERHEAD_BYTES + ids[i].length * 4L;
+                bytes += ARRAY_OVERHEAD_BYTES + postings[i].length * (ARRAY_OVERHEAD_BYTES + 4L);
+                bytes += ids[i].length * 4L;   // posting list 원소 합 = 값이 있는 행 수 이하
+                bytes += dictionaries[i].size() * DICTIONARY_ENTRY_BYTES;
+            }
+            return bytes;
+        }
+
+        static Segment concat(Segment a, Segment b, int columns) {
+            long[] times = Arrays.copyOf(a.times, a.times.length + b.times.length);
+            System.arraycopy(b.times, 0, times, a.times.length, b.times.length);
+            int[][] ids = new int[columns][];
+            Dictionary[] dictionaries = new Dictionary[columns];
+            for (int i = 0; i < columns; i++) {
+                ids[i] = Arrays.copyOf(a.ids[i], times.length);
+                dictionaries[i] = new Dictionary(a.dictionaries[i]);
+                // b 의 id 를 합친 사전의 id 로 바꿔 붙임
+                for (int row = 0; row < b.times.length; row++) {
+                    int id = b.ids[i][row];
+                    ids[i][a.times.length + row] = id < 0 ? -1 : dictionaries[i].idOf(b.dictionaries[i].value(id));
+                }
+            }
+            return of(a.from, b.to, times, ids, dictionaries);
+        }
+
+        /** [lo, hi) 중 모든 필터를 만족하는 행 번호 (오름차순), 필터가 없으면 null */
+        int[] select(int lo, int hi, int[] columns, String[] values) {
+            int[] selected = null;
+            for (int f = 0; f < columns.length; f++) {
+                Integer id = dictionaries[columns[f]].find(values[f]);
+                if (id == null) {
+                    return new int[0];
+                }
+                int[] posting = postings[columns[f]][id];
+                int[] range = Arrays.copyOfRange(posting, lowerBound(posting, lo), lowerBound(posting, hi));
+                selected = selected == null ? range : intersect(selected, range);
+                if (selected.length == 0) {
+                    return selected;
+                }
+            }
+            return selected;
+        }
+
+        private static int[] intersect(int[] a, int[] b) {
+            int[] result = new int[Math.min(a.length, b.length)];
+            int size = 0;
+            for (int i = 0, j = 0; i < a.length && j < b.length; ) {
+                if (a[i] < b[j]) {
+                    i++;
+                } else if (a[i] > b[j]) {
+                    j++;
+                } else {
+                    result[size++] = a[i];
+                    i++;
+                    j++;
+                }
+            }
+            return Arrays.copyOf(result, size);
+        }
+
+        private static int lowerBound(int[] rows, int value) {
+            int index = Arrays.binarySearch(rows, value);
+            return index < 0 ? -index - 1 : index;
+        }
+    }
+
+    private static final class SegmentBuilder {
+
+        private long[] times = new long[1024];
+        private final int[][] ids;
+        private final Dictionary[] dictionaries;
+        private int size;
+
+        SegmentBuilder(int columns) {
+            ids = new int[columns][times.length];
+            dictionaries = new Dictionary[columns];
+            for (int i = 0; i < columns; i++) {
+                dictionaries[i] = new Dictionary();
+            }
+        }
+
+        int add(long time) {
+            if (size == times.length) {
+                times = Arrays.copyOf(times, size * 2);
+                for (int i = 0; i < ids.length; i++) {
+                    ids[i] = Arrays.copyOf(ids[i], size * 2);
+                }
+            }
+            times[size] = time;
+            return size++;
+        }
+
+        Segment build(long from, long to) {
+            int[][] trimmed = new int[ids.length][];
+            for (int i = 0; i < ids.length; i++) {
+                trimmed[i] = Arrays.copyOf(ids[i], size);
+            }
+            return Segment.of(from, to, Arrays.copyOf(times, size), trimmed, dictionaries);
+        }
+    }
+
+    /** 한 세그먼트에서 질의에 해당하는 행 구간 [lo, hi) 와 필터 결과 (행 번호, 필터가 없으면 null) */
+    private record Slice(Segment segment, int lo, int hi, int[] selected) {
+
+        int size() {
+            return selected == null ? hi - lo : selected.length;
+        }
+
+        void forEach(IntConsumer action) {
+            if (selected == null) {
+                for (int row = lo; row < hi; row++) {
+                    action.accept(row);
+                }
+            } else {
+                for (int row : selected) {
+                    action.accept(row);
+                }
+            }
+        }
+    }
+
+    /**
+     * @param dbHead start 가 적재 시작 이전이라 [start, coveredFrom) 을 DB 에서 더 읽어야 하는지
+     * @param dbTail end 가 적재 끝 이후라 [coveredTo, end] 를 DB 에서 더 읽어야 하는지
+     */
+    private record Query(List<Slice> slices, OffsetDateTime coveredFrom, boolean dbHead,
+                         OffsetDateTime coveredTo, boolean dbTail) {}
+}
@@ -0,0 +1,78 @@
+package com.finalproject.springbackend.db.service;
+
+import com.finalproject.springbackend.db.entity.AuditDimension;
+import com.finalproject.springbackend.db.entity.AuditTable;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+/**
+ * clientIp CIDR 필터용 inet 함수/GiST 인덱스 관리
+ *
+ * client_ip 는 text 컬럼이라 그대로 ::inet 캐스팅하면 잘못된 값 하나로 쿼리 전체가 실패하므로,
+ * 실패 시 NULL 을 돌려주는 IMMUTABLE 함수 audit_try_inet(text) 를 만들고 그 식에 GiST(inet_ops) 인덱스를 건다.
+ * 생성 컬럼 + 인덱스와 같은 효과지만 기존 테이블을 다시 쓰지 않는다.
+ * EXCEPTION 블록은 서브트랜잭션을 열어 병렬 스캔 워커에서 실행할 수 없으므로 함수는 PARALLEL RESTRICTED 로 선언한다.
+ * 인덱스는 AuditConcurrentIndexBuilder 로 만들어 파티션 테이블에서도 적재를 막지 않는다.
+ * 인덱스가 없으면 CIDR 조건마다 행별로 함수(EXCEPTION 블록 = 행마다 서브트랜잭션)를 실행하는 병렬 불가 전체 스캔이 되므로
+ * 인덱스는 기본으로 만든다 (추가 권한 불필요). 함수는 CIDR 조건 자체에 필요하므로 항상 만든다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AuditInetIndexService {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AuditConcurrentIndexBuilder indexBuilder;
+
+    @Value("${audit.inet.index-enabled:true}")
+    private boolean indexEnabled;
+
+    /** 파티션 전환(AuditPartitionService) 이후에 실행 */
+    @Order(100)
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        try {
+            jdbcTemplate.execute("""
+                CREATE OR REPLACE FUNCTION %s(value text) RETURNS inet
+                LANGUAGE plpgsql IMMUTABLE STRICT PARALLEL RESTRICTED AS $$
+                BEGIN
+                    RETURN value::inet;
+                EXCEPTION WHEN others THEN
+                    RETURN NULL;
+                END
+                $$
+            """.formatted(AuditDimension.INET_FUNCTION));
+        } catch (Exception e) {
+            log.error("❌ {} 함수 생성 실패 (clientIp CIDR 필터 사용 불가): {}", AuditDimension.INET_FUNCTION, e.getMessage());
+            return;
+        }
+        if (!indexEnabled) {
+            return;
+        }
+
+        for (AuditTable table : AuditTable.values()) {
+            try {
+                createIndex(table);
+            } catch (Exception e) {
+                log.error("❌ {} inet 인덱스 생성 실패: {}", table.getTableName(), e.getMessage());
+            }
+        }
+    }
+
+    private void createIndex(AuditTable table) {
+        String suffix = "_client_ip_inet_idx";
+        String definition = "USING gist (" + AuditDimension.INET_FUNCTION
+                + "(" + AuditDimension.CLIENT_IP.getColumn() + ") inet_ops)";
+        if (!indexBuilder.ensureIndex(table, suffix, definition)) {
+            log.warn("⚠️ {} 테이블이 존재하지 않아 inet 인덱스를 건너뜁니다", table.getTableName());
+            return;
+        }
+        log.info("🌐 inet 인덱스 확인: {}{}", table.getTableName(), suffix);
+    }
+}
@@ -0,0 +1,256 @@
+package com.finalproject.springbackend.db.service;
+
+import com.finalproject.springbackend.db.entity.AuditTable;
+import com.finalproject.springbackend.util.TimeZoneUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.OffsetDateTime;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 감사 로그 테이블 적재 워터마크
+ *
+ * 컨슈머는 DB 에 쓰지 않고 외부 싱크가 적재하므로, 싱크가 실제로 쓴 결과를 DB 에서 주기적으로 읽는다.
+ * - maxTime: 테이블에 들어온 가장 늦은 이벤트 시각. 시간 컬럼 B-tree 인덱스가 있을 때만 max() 로 읽고
+ *   (인덱스 끝 한 건만 읽음), 없으면 전체 스캔을 피하기 위해 null 로 둔다. 기동 시 time-index-enabled 면
+ *   AuditConcurrentIndexBuilder 로 적재를 막지 않고 인덱스를 만든다.
+ * - version: 테이블별 변경 카운터. 기본은 pg_stat_user_tables 의 INSERT + UPDATE + DELETE 수(파티션 포함)이고,
+ *   테이블에 "audit_change_version" 트리거가 있으면 그 트리거가 올리는 "{테이블}_change_seq" 시퀀스 값을 쓴다
+ *   (pg_stat_reset / 재시작에도 되돌아가지 않음). 테이블은 외부 싱크 소유라 이 서버가 트리거를 만들지 않는 것이 기본이며,
+ *   DBA 가 아래 DDL 을 직접 적용하거나 audit.cache.change-trigger-enabled=true 로 이 서버가 없을 때만 만들게 할 수 있다.
+ *   트리거는 싱크의 문장마다 nextval 한 번을 더한다.
+ *   <pre>
+ *   CREATE SEQUENCE "{테이블}_change_seq";
+ *   CREATE FUNCTION audit_bump_change_version() RETURNS trigger LANGUAGE plpgsql AS
+ *     $$ BEGIN PERFORM nextval(TG_ARGV[0]::regclass); RETURN NULL; END $$;
+ *   CREATE TRIGGER audit_change_version AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON "{테이블}"
+ *     FOR EACH STATEMENT EXECUTE FUNCTION audit_bump_change_version('"{테이블}_change_seq"');
+ *   </pre>
+ *   카운터는 커밋 전에 올라가므로, 바뀐 직후 폴링은 2n, 다음 폴링부터는 2n+1 로 한 번 더 움직여
+ *   커밋 전에 만든 응답의 ETag 가 커밋 후까지 맞지 않게 한다.
+ * - changedAt: 이 서버가 version 변화를 마지막으로 관측한 시각 (Last-Modified 용)
+ * - walLsn: 읽기 복제본을 쓸 때 version 을 읽은 직후의 primary WAL 위치. 복제본이 이 위치까지 재생해야
+ *   그 version 이 가리키는 데이터가 복제본 조회 결과에 들어 있다 (AuditConditionalGetInterceptor 가 확인)
+ * 워터마크를 쓰는 기능(결과 캐시, 조건부 GET, 핫 티어, 롤업)이 모두 꺼져 있으면 폴링하지 않는다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AuditIngestWatermark {
+
+    private static final String BUMP_FUNCTION = "audit_bump_change_version";
+    private static final String TRIGGER = "audit_change_version";
+    private static final String SEQUENCE_SUFFIX = "_change_seq";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AuditConcurrentIndexBuilder indexBuilder;
+
+    private final Map<AuditTable, Mark> marks = new EnumMap<>(AuditTable.class);
+    private final Map<AuditTable, Long> counters = new EnumMap<>(AuditTable.class);
+    private final Set<AuditTable> statsFallback = EnumSet.noneOf(AuditTable.class);
+    private final Set<AuditTable> timeIndexed = EnumSet.noneOf(AuditTable.class);
+    private final Set<AuditTable> warnedNoIndex = EnumSet.noneOf(AuditTable.class);
+
+    @Value("${audit.cache.enabled:true}")
+    private boolean cacheEnabled;
+
+    @Value("${audit.conditional-get.enabled:true}")
+    private boolean conditionalGetEnabled;
+
+    @Value("${audit.hot.enabled:false}")
+    private boolean hotEnabled;
+
+    @Value("${audit.rollup.enabled:false}")
+    private boolean rollupEnabled;
+
+    @Value("${audit.cache.time-index-enabled:true}")
+    private boolean timeIndexEnabled;
+
+    @Value("${datasource.replica.enabled:false}")
+    private boolean replicaEnabled;
+
+    @Value("${audit.cache.change-trigger-enabled:false}")
+    private boolean triggerEnabled;
+
+    /** maxTime 이 null 이면 아직 데이터가 없거나 조회 전, version 이 -1 이면 조회 전, walLsn 이 -1 이면 복제본 미사용 */
+    public record Mark(OffsetDateTime maxTime, long version, OffsetDateTime changedAt, long walLsn) {}
+
+    /** 시간 컬럼 인덱스 생성 (파티션 전환(AuditPartitionService) 이후에 실행) */
+    @Order(100)
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        if (!isActive() || !timeIndexEnabled) {
+            return;
+        }
+        for (AuditTable table : AuditTable.values()) {
+            try {
+                indexBuilder.ensureIndex(table, "_" + table.getTimeColumn() + "_idx", "(" + table.getTimeColumn() + ")");
+            } catch (Exception e) {
+                log.error("❌ {} 시간 컬럼 인덱스 생성 실패: {}", table.getTableName(), e.getMessage());
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${audit.cache.watermark-poll-ms:5000}")
+    public void poll() {
+        if (!isActive()) {
+            return;
+        }
+        for (AuditTable table : AuditTable.values()) {
+            try {
+                OffsetDateTime maxTime = hasTimeIndex(table) ? jdbcTemplate.queryForObject(
+                        "SELECT max(" + table.getTimeColumn() + ") FROM " + table.quotedName(), OffsetDateTime.class) : null;
+                long counter = changeCounter(table);
+                // 트랜잭션 밖이라 primary 에서 실행됨 (카운터에 반영된 변경의 커밋 위치 이후)
+                long walLsn = replicaEnabled ? jdbcTemplate.queryForObject(
+                        "SELECT pg_wal_lsn_diff(pg_current_wal_lsn(), '0/0')::bigint", Long.class) : -1L;
+                update(table, maxTime, counter, walLsn);
+            } catch (Exception e) {
+                log.warn("⚠️ {} 워터마크 조회 실패: {}", table.getTableName(), e.getMessage());
+            }
+        }
+    }
+
+    private boolean isActive() {
+        return cacheEnabled || conditionalGetEnabled || hotEnabled || rollupEnabled;
+    }
+
+    /** 시간 컬럼이 첫 키인 유효한 인덱스가 있는지 (한 번 확인되면 다시 조회하지 않음) */
+    private boolean hasTimeIndex(AuditTable table) {
+        if (timeIndexed.contains(table)) {
+            return true;
+        }
+        Boolean indexed = jdbcTemplate.queryForObject("""
+            SELECT EXISTS (SELECT 1 FROM pg_index i
+                JOIN pg_class c ON c.oid = i.indrelid
+                JOIN pg_namespace n ON n.oid = c.relnamespace
+                JOIN pg_attribute a ON a.attrelid = c.oid AND a.attnum = i.indkey[0]
+                WHERE n.nspname = current_schema() AND c.relname = ? AND a.attname = ? AND i.indisvalid)
+        """, Boolean.class, table.getTableName(), table.getTimeColumn());
+        if (Boolean.TRUE.equals(indexed)) {
+            timeIndexed.add(table);
+            return true;
+        }
+        if (warnedNoIndex.add(table)) {
+            log.warn("⚠️ {}.{} 인덱스가 없어 maxTime 을 조회하지 않습니다 (전체 스캔 방지)",
+                    table.getTableName(), table.getTimeColumn());
+        }
+        return false;
+    }
+
+    public synchronized Mark get(AuditTable table) {
+        return marks.getOrDefault(table, new Mark(null, -1L, null, -1L));
+    }
+
+    /** 트리거가 잡지 못하는 변경(파티션 DETACH/DROP) 후 호출 */
+    public void bump(AuditTable table) {
+        if (!usesTrigger(table)) {
+            return;
+        }
+        try {
+            jdbcTemplate.queryForObject("SELECT nextval(?::regclass)", Long.class, sequenceName(table));
+        } catch (Exception e) {
+            log.warn("⚠️ {} 변경 카운터 증가 실패: {}", table.getTableName(), e.getMessage());
+        }
+    }
+
+    /** 트리거 카운터 값 (트리거가 없으면 통계 기반 변경 수) */
+    private long changeCounter(AuditTable table) {
+        if (usesTrigger(table)) {
+            Long value = jdbcTemplate.queryForObject("SELECT last_value FROM " + sequenceName(table), Long.class);
+            return value == null ? 0L : value;
+        }
+        Long changes = jdbcTemplate.queryForObject("""
+            SELECT coalesce(sum(s.n_tup_ins + s.n_tup_upd + s.n_tup_del), 0) FROM pg_stat_user_tables s
+            WHERE s.schemaname = current_schema()
+              AND (s.relname = ? OR s.relid IN (
+                    SELECT i.inhrelid FROM pg_inherits i
+                    JOIN pg_class p ON p.oid = i.inhparent
+                    JOIN pg_namespace n ON n.oid = p.relnamespace
+                    WHERE n.nspname = current_schema() AND p.relname = ?))
+        """, Long.class, table.getTableName(), table.getTableName());
+        return changes == null ? 0L : changes;
+    }
+
+    /** 카운터 트리거가 있으면 true, 없으면 change-trigger-enabled 일 때만 생성 시도 */
+    private boolean usesTrigger(AuditTable table) {
+        synchronized (this) {
+            if (statsFallback.contains(table)) {
+                return false;
+            }
+        }
+        return triggerInstalled(table) || (triggerEnabled && createTrigger(table));
+    }
+
+    private boolean triggerInstalled(AuditTable table) {
+        Boolean installed = jdbcTemplate.queryForObject("""
+            SELECT EXISTS (SELECT 1 FROM pg_trigger t
+                JOIN pg_class c ON c.oid = t.tgrelid
+                JOIN pg_namespace n ON n.oid = c.relnamespace
+                WHERE n.nspname = current_schema() AND c.relname = ? AND t.tgname = ?)
+        """, Boolean.class, table.getTableName(), TRIGGER);
+        return Boolean.TRUE.equals(installed);
+    }
+
+    /**
+     * 카운터 트리거 생성 (change-trigger-enabled 일 때, 트리거가 없을 때만)
+     * 파티션 전환으로 부모 테이블이 새로 만들어진 경우도 여기서 다시 건다.
+     */
+    private boolean createTrigger(AuditTable table) {
+        try {
+            jdbcTemplate.execute("CREATE SEQUENCE IF NOT EXISTS " + sequenceName(table));
+            jdbcTemplate.execute("""
+                CREATE OR REPLACE FUNCTION %s() RETURNS trigger
+                LANGUAGE plpgsql AS $$
+                BEGIN
+                    PERFORM nextval(TG_ARGV[0]::regclass);
+                    RETURN NULL;
+                END
+                $$
+            """.formatted(BUMP_FUNCTION));
+            jdbcTemplate.execute("CREATE TRIGGER " + TRIGGER
+                    + " AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON " + table.quotedName()
+                    + " FOR EACH STATEMENT EXECUTE FUNCTION " + BUMP_FUNCTION
+                    + "('" + sequenceName(table).replace("'", "''") + "')");
+            // 트리거가 없던 사이의 변경도 반영되도록 한 번 올림
+            jdbcTemplate.queryForObject("SELECT nextval(?::regclass)", Long.class, sequenceName(table));
+            log.info("🔢 {} 변경 카운터 트리거 생성", table.getTableName());
+            return true;
+        } catch (Exception e) {
+            log.warn("⚠️ {} 변경 카운터 트리거 생성 실패 (pg_stat 통계로 대체): {}", table.getTableName(), e.getMessage());
+            synchronized (this) {
+                statsFallback.add(table);
+            }
+            return false;
+        }
+    }
+
+    private static String sequenceName(AuditTable table) {
+        return table.quotedName(SEQUENCE_SUFFIX);
+    }
+
+    private synchronized void update(AuditTable table, OffsetDateTime maxTime, long counter, long walLsn) {
+        Long previousCounter = counters.put(table, counter);
+        long version = previousCounter != null && previousCounter == counter ? counter * 2 + 1 : counter * 2;
+        Mark mark = new Mark(maxTime, version, TimeZoneUtil.nowKST(), walLsn);
+        Mark previous = marks.get(table);
+        if (previous != null && previous.version() == mark.version()) {
+            // 같은 version 이면 처음 관측한 시각과 WAL 위치 유지 (복제본이 따라잡으면 계속 검증 가능)
+            mark = new Mark(mark.maxTime(), mark.version(), previous.changedAt(), previous.walLsn());
+        } else if (previous != null) {
+            log.debug("💧 {} 워터마크 이동: {} -> {}", table.getTableName(), previous.maxTime(), mark.maxTime());
+        }
+        marks.put(table, mark);
+    }
+}
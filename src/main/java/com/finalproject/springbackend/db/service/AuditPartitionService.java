@@ -0,0 +1,339 @@
+package com.finalproject.springbackend.db.service;
+
+import com.finalproject.springbackend.db.entity.AuditTable;
+import com.finalproject.springbackend.util.TimeZoneUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 감사 로그 테이블 일 단위 Range 파티셔닝 관리
+ *
+ * - 기동 시 일반 테이블을 시간 컬럼 기준 PARTITION BY RANGE 테이블로 전환
+ *   (기존 데이터는 "{테이블}_before_yyyyMMdd" 파티션으로 그대로 붙임)
+ *   범위 CHECK 제약 검증과 시간 컬럼 인덱스 생성은 잠금 전에 끝내고, ACCESS EXCLUSIVE 잠금 안에서는 메타데이터 작업만 한다.
+ * - 스케줄러가 오늘 ~ premake-days 이후까지의 일 파티션("{테이블}_pyyyyMMdd")을 미리 생성
+ * - retention-days 가 지난 파티션은 DELETE 대신 DETACH + DROP (메타데이터 작업)
+ *
+ * 시간 범위 조건(start <= time <= end)이 파티션 키에 걸리므로 조회는 해당 일자 파티션만 스캔한다.
+ * 파티션 테이블은 파티션 키가 포함되지 않은 PK를 가질 수 없어 id 유일성은 DB에서 강제하지 않는다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AuditPartitionService {
+
+    private static final DateTimeFormatter DAY_SUFFIX = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final String DAILY_SUFFIX = "_p";
+    private static final String LEGACY_SUFFIX = "_before_";
+    private static final String DEFAULT_SUFFIX = "_default";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final AuditIngestWatermark watermark;
+    private final AuditConcurrentIndexBuilder indexBuilder;
+    private final AuditRollupService rollup;
+
+    @Value("${audit.partition.enabled:false}")
+    private boolean enabled;
+
+    @Value("${audit.partition.tables:system-level-false,resource-level-false}")
+    private String[] tableNames;
+
+    @Value("${audit.partition.premake-days:7}")
+    private int premakeDays;
+
+    @Value("${audit.partition.retention-days:0}")
+    private int retentionDays;
+
+    @Value("${audit.partition.lock-timeout:5s}")
+    private String lockTimeout;
+
+    /** 기동 시 파티션 테이블 전환 및 파티션 정비 */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        if (!enabled) {
+            return;
+        }
+        for (AuditTable table : managedTables()) {
+            try {
+                ensurePartitioned(table);
+                maintain(table);
+            } catch (Exception e) {
+                log.error("❌ {} 파티션 초기화 실패: {}", table.getTableName(), e.getMessage(), e);
+            }
+        }
+    }
+
+    /** 매일 00:10(KST) 미래 파티션 생성 + 보존기간 지난 파티션 제거 */
+    @Scheduled(cron = "${audit.partition.cron:0 10 0 * * *}", zone = "Asia/Seoul")
+    public void scheduledMaintenance() {
+        if (!enabled) {
+            return;
+        }
+        for (AuditTable table : managedTables()) {
+            try {
+                maintain(table);
+            } catch (Exception e) {
+                log.error("❌ {} 파티션 정비 실패: {}", table.getTableName(), e.getMessage(), e);
+            }
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /** 파티셔닝 대상 테이블 목록 */
+    public List<AuditTable> managedTables() {
+        List<AuditTable> tables = new ArrayList<>();
+        for (String name : tableNames) {
+            if (!name.isBlank()) {
+                tables.add(AuditTable.fromTableName(name.strip()));
+            }
+        }
+        return tables;
+    }
+
+    /** 일반 테이블이면 파티션 테이블로 전환 (이미 전환된 경우 아무것도 하지 않음) */
+    public synchronized void ensurePartitioned(AuditTable table) {
+        String relkind = relationKind(table.getTableName());
+        if (relkind == null) {
+            log.warn("⚠️ {} 테이블이 존재하지 않아 파티셔닝을 건너뜁니다", table.getTableName());
+            return;
+        }
+        if ("p".equals(relkind)) {
+            return;
+        }
+
+        String parent = table.quotedName();
+        String column = table.getTimeColumn();
+
+        // 기존 데이터가 모두 들어가도록 (마지막 데이터 일자 + 1일) 또는 모레 중 늦은 날짜를 경계로 사용
+        // (아래 CHECK 제약은 잠금 전까지 들어오는 적재 데이터에도 걸리므로 오늘/내일 데이터가 막히지 않게 여유를 둠)
+        OffsetDateTime maxTime = jdbcTemplate.queryForObject(
+                "SELECT max(" + column + ") FROM " + parent, OffsetDateTime.class);
+        LocalDate minBound = LocalDate.now(TimeZoneUtil.KST_ZONE).plusDays(2);
+        LocalDate maxBound = maxTime == null ? minBound
+                : maxTime.atZoneSameInstant(TimeZoneUtil.KST_ZONE).toLocalDate().plusDays(1);
+        LocalDate bound = maxBound.isAfter(minBound) ? maxBound : minBound;
+
+        String boundCheck = table.quotedName(LEGACY_SUFFIX + "bound");
+        boolean prevalidated = prevalidateBound(parent, column, boundCheck, bound);
+
+        // 기존 데이터 파티션이 될 테이블의 시간 컬럼 인덱스를 잠금 전에 CONCURRENTLY 로 준비 (이미 있으면 재사용)
+        String legacyName = table.getTableName() + LEGACY_SUFFIX + bound.format(DAY_SUFFIX);
+        String parentIndex = AuditConcurrentIndexBuilder.indexName(table.getTableName(), "_" + column + "_idx");
+        String legacyIndex = timeIndexOf(table.getTableName(), column);
+        if (legacyIndex == null) {
+            legacyIndex = AuditConcurrentIndexBuilder.indexName(legacyName, "_" + column + "_idx");
+            indexBuilder.createConcurrently(legacyIndex, parent, "(" + column + ")");
+        }
+        String existingIndex = legacyIndex;
+
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.execute("LOCK TABLE " + parent + " IN ACCESS EXCLUSIVE MODE");
+
+            String legacy = AuditTable.quoteIdentifier(legacyName);
+            jdbcTemplate.execute("ALTER TABLE " + parent + " RENAME TO " + legacy);
+            String attachIndex = existingIndex;
+            if (existingIndex.equals(parentIndex)) {
+                // 부모 인덱스 이름을 비워 줌 (인덱스 이름은 테이블 이름을 따라 바뀌지 않음)
+                attachIndex = AuditConcurrentIndexBuilder.indexName(legacyName, "_" + column + "_idx");
+                jdbcTemplate.execute("ALTER INDEX " + AuditTable.quoteIdentifier(existingIndex)
+                        + " RENAME TO " + AuditTable.quoteIdentifier(attachIndex));
+            }
+            jdbcTemplate.execute("CREATE TABLE " + parent + " (LIKE " + legacy + " INCLUDING DEFAULTS)"
+                    + " PARTITION BY RANGE (" + column + ")");
+            // 검증된 CHECK 제약이 파티션 범위를 보장하면 ATTACH 는 전체 검증 스캔을 건너뜀
+            jdbcTemplate.execute("ALTER TABLE " + parent + " ATTACH PARTITION " + legacy
+                    + " FOR VALUES FROM (MINVALUE) TO ('" + startOfDay(bound) + "')");
+            if (prevalidated) {
+                jdbcTemplate.execute("ALTER TABLE " + legacy + " DROP CONSTRAINT " + boundCheck);
+            }
+            // 부모에는 메타데이터만 만들고 미리 만든 인덱스를 붙임 (기존 데이터를 다시 읽지 않음)
+            jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS " + AuditTable.quoteIdentifier(parentIndex)
+                    + " ON ONLY " + parent + " (" + column + ")");
+            jdbcTemplate.execute("ALTER INDEX " + AuditTable.quoteIdentifier(parentIndex)
+                    + " ATTACH PARTITION " + AuditTable.quoteIdentifier(attachIndex));
+            // 이후 생성되는 파티션(DEFAULT 포함)에는 PostgreSQL 이 인덱스를 만들어 붙임
+            jdbcTemplate.execute("CREATE TABLE " + table.quotedName(DEFAULT_SUFFIX)
+                    + " PARTITION OF " + parent + " DEFAULT");
+        });
+        log.info("✅ {} 테이블을 {} 기준 일 단위 파티션 테이블로 전환했습니다", table.getTableName(), table.getTimeColumn());
+    }
+
+    /**
+     * 기존 테이블에 파티션 범위와 같은 CHECK 제약을 NOT VALID 로 추가한 뒤 잠금 없이 검증
+     * (VALIDATE 는 SHARE UPDATE EXCLUSIVE 라 조회/적재를 막지 않음)
+     * 실패하면 제약을 지우고 false 를 반환하며, 이때 ATTACH 가 잠금을 잡은 채 검증 스캔을 한다.
+     */
+    private boolean prevalidateBound(String parent, String column, String constraint, LocalDate bound) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.execute("SET LOCAL lock_timeout = '" + lockTimeout.replace("'", "") + "'");
+                jdbcTemplate.execute("ALTER TABLE " + parent + " DROP CONSTRAINT IF EXISTS " + constraint);
+                jdbcTemplate.execute("ALTER TABLE " + parent + " ADD CONSTRAINT " + constraint
+                        + " CHECK (" + column + " IS NOT NULL AND " + column + " < '" + startOfDay(bound) + "') NOT VALID");
+            });
+            jdbcTemplate.execute("ALTER TABLE " + parent + " VALIDATE CONSTRAINT " + constraint);
+            return true;
+        } catch (Exception e) {
+            log.warn("⚠️ {} 파티션 범위 사전 검증 실패 (ATTACH 시 검증): {}", parent, e.getMessage());
+            try {
+                jdbcTemplate.execute("ALTER TABLE " + parent + " DROP CONSTRAINT IF EXISTS " + constraint);
+            } catch (Exception dropError) {
+                log.warn("⚠️ {} 제약 {} 제거 실패: {}", parent, constraint, dropError.getMessage());
+            }
+            return false;
+        }
+    }
+
+    /** 시간 컬럼 하나만으로 된 유효한 (UNIQUE 아닌) B-tree 인덱스 이름 (없으면 null) */
+    private String timeIndexOf(String tableName, String column) {
+        List<String> indexes = jdbcTemplate.queryForList("""
+            SELECT ci.relname FROM pg_index i
+            JOIN pg_class c ON c.oid = i.indrelid
+            JOIN pg_namespace n ON n.oid = c.relnamespace
+            JOIN pg_class ci ON ci.oid = i.indexrelid
+            JOIN pg_am am ON am.oid = ci.relam
+            JOIN pg_attribute a ON a.attrelid = c.oid AND a.attnum = i.indkey[0]
+            WHERE n.nspname = current_schema() AND c.relname = ? AND a.attname = ?
+              AND i.indisvalid AND NOT i.indisunique AND i.indnatts = 1 AND i.indexprs IS NULL AND i.indpred IS NULL
+              AND am.amname = 'btree'
+            ORDER BY ci.relname
+        """, String.class, tableName, column);
+        return indexes.isEmpty() ? null : indexes.get(0);
+    }
+
+    /** 미래 파티션 생성 + 보존기간 지난 파티션 DETACH/DROP */
+    public synchronized void maintain(AuditTable table) {
+        if (!"p".equals(relationKind(table.getTableName()))) {
+            return;
+        }
+        List<String> partitions = listPartitions(table);
+        createFuturePartitions(table, partitions);
+        if (retentionDays > 0) {
+            dropExpiredPartitions(table, partitions);
+        }
+    }
+
+    private void createFuturePartitions(AuditTable table, List<String> partitions) {
+        LocalDate today = LocalDate.now(TimeZoneUtil.KST_ZONE);
+        LocalDate firstDay = today;
+        for (String partition : partitions) {
+            LocalDate legacyBound = parseDay(partition, table.getTableName() + LEGACY_SUFFIX);
+            if (legacyBound != null && legacyBound.isAfter(firstDay)) {
+                firstDay = legacyBound;
+            }
+        }
+
+        for (LocalDate day = firstDay; !day.isAfter(today.plusDays(premakeDays)); day = day.plusDays(1)) {
+            String name = table.getTableName() + DAILY_SUFFIX + day.format(DAY_SUFFIX);
+            if (partitions.contains(name)) {
+                continue;
+            }
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + AuditTable.quoteIdentifier(name)
+                    + " PARTITION OF " + table.quotedName()
+                    + " FOR VALUES FROM ('" + startOfDay(day) + "') TO ('" + startOfDay(day.plusDays(1)) + "')");
+            log.info("🗂️ 파티션 생성: {}", name);
+        }
+    }
+
+    private void dropExpiredPartitions(AuditTable table, List<String> partitions) {
+        // 상한 경계가 cutoff 이하인 파티션은 모든 행이 보존기간을 넘긴 것
+        LocalDate cutoff = LocalDate.now(TimeZoneUtil.KST_ZONE).minusDays(retentionDays);
+
+        // 이름순이라 기존 데이터 파티션(_before_) 다음 일 파티션이 날짜순으로 옴.
+        // 앞 파티션이 모두 지워졌을 때만 그 상한 이전 롤업을 지움 (중간에 실패하면 남은 행의 롤업이 사라지지 않도록)
+        boolean contiguous = true;
+        for (String partition : partitions) {
+            LocalDate upperBound;
+            LocalDate daily = parseDay(partition, table.getTableName() + DAILY_SUFFIX);
+            if (daily != null) {
+                upperBound = daily.plusDays(1);
+            } else {
+                upperBound = parseDay(partition, table.getTableName() + LEGACY_SUFFIX);
+            }
+            if (upperBound == null || upperBound.isAfter(cutoff)) {
+                continue;
+            }
+
+            String quoted = AuditTable.quoteIdentifier(partition);
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    // 조회 쿼리가 길게 잡고 있으면 기다리지 않고 다음 주기에 재시도
+                    jdbcTemplate.execute("SET LOCAL lock_timeout = '" + lockTimeout.replace("'", "") + "'");
+                    jdbcTemplate.execute("ALTER TABLE " + table.quotedName() + " DETACH PARTITION " + quoted);
+                    jdbcTemplate.execute("DROP TABLE " + quoted);
+                });
+                watermark.bump(table);
+                log.info("🗑️ 보존기간({}일) 경과 파티션 삭제: {}", retentionDays, partition);
+                if (contiguous) {
+                    deleteRollupsBefore(table, upperBound);
+                }
+            } catch (Exception e) {
+                contiguous = false;
+                log.warn("⚠️ 파티션 {} 삭제 실패 (다음 주기에 재시도): {}", partition, e.getMessage());
+            }
+        }
+    }
+
+    private void deleteRollupsBefore(AuditTable table, LocalDate day) {
+        try {
+            rollup.deleteBefore(table, day.atStartOfDay(TimeZoneUtil.KST_ZONE).toOffsetDateTime());
+        } catch (Exception e) {
+            log.warn("⚠️ {} {} 이전 롤업 정리 실패: {}", table.getTableName(), day, e.getMessage());
+        }
+    }
+
+    /** pg_class.relkind 조회 (r: 일반 테이블, p: 파티션 테이블, null: 없음) */
+    private String relationKind(String tableName) {
+        List<String> kinds = jdbcTemplate.queryForList("""
+            SELECT c.relkind::text FROM pg_class c
+            JOIN pg_namespace n ON n.oid = c.relnamespace
+            WHERE n.nspname = current_schema() AND c.relname = ?
+        """, String.class, tableName);
+        return kinds.isEmpty() ? null : kinds.get(0);
+    }
+
+    /** 부모 테이블에 붙어 있는 파티션 이름 목록 */
+    public List<String> listPartitions(AuditTable table) {
+        return jdbcTemplate.queryForList("""
+            SELECT c.relname FROM pg_inherits i
+            JOIN pg_class c ON c.oid = i.inhrelid
+            JOIN pg_class p ON p.oid = i.inhparent
+            JOIN pg_namespace n ON n.oid = p.relnamespace
+            WHERE n.nspname = current_schema() AND p.relname = ?
+            ORDER BY c.relname
+        """, String.class, table.getTableName());
+    }
+
+    private LocalDate parseDay(String partition, String prefix) {
+        if (!partition.startsWith(prefix)) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(partition.substring(prefix.length()), DAY_SUFFIX);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    private String startOfDay(LocalDate day) {
+        return day.atStartOfDay(TimeZoneUtil.KST_ZONE).toOffsetDateTime().toString();
+    }
+}
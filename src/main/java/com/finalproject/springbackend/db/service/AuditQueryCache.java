@@ -0,0 +1,193 @@
+package com.finalproject.springbackend.db.service;
+
+import com.finalproject.springbackend.db.entity.AuditTable;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * /api/db/* 시간 범위 조회 결과 캐시 (LRU, 행 수 기준 용량 제한)
+ *
+ * - 봉인 구간: end 가 (워터마크 - lateness) 이전이면 결과가 바뀌지 않으므로 sealed-ttl 동안 유지
+ * - 열린 구간: "지금"에 걸친 조회는 적재 워터마크(version)가 바뀌는 순간 무효화, 최대 live-ttl
+ *
+ * 메트릭: audit.query.cache.requests{result=hit|miss}, .evictions, .entries, .rows, .estimated.bytes, .hit.ratio
+ */
+@Slf4j
+@Service
+public class AuditQueryCache {
+
+    private final AuditIngestWatermark watermark;
+
+    // access-order LinkedHashMap 으로 LRU
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private long totalRows = 0;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    @Value("${audit.cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${audit.cache.max-rows:200000}")
+    private long maxRows;
+
+    @Value("${audit.cache.max-entry-rows:50000}")
+    private long maxEntryRows;
+
+    @Value("${audit.cache.bytes-per-row:512}")
+    private long bytesPerRow;
+
+    @Value("${audit.cache.sealed-ttl-seconds:3600}")
+    private long sealedTtlSeconds;
+
+    @Value("${audit.cache.live-ttl-seconds:60}")
+    private long liveTtlSeconds;
+
+    @Value("${audit.cache.lateness-seconds:300}")
+    private long latenessSeconds;
+
+    public AuditQueryCache(AuditIngestWatermark watermark, MeterRegistry registry) {
+        this.watermark = watermark;
+        this.hits = Counter.builder("audit.query.cache.requests").tag("result", "hit").register(registry);
+        this.misses = Counter.builder("audit.query.cache.requests").tag("result", "miss").register(registry);
+        this.evictions = Counter.builder("audit.query.cache.evictions").register(registry);
+        Gauge.builder("audit.query.cache.entries", this, c -> c.size()).register(registry);
+        Gauge.builder("audit.query.cache.rows", this, c -> c.rows()).register(registry);
+        Gauge.builder("audit.query.cache.estimated.bytes", this, c -> c.rows() * c.bytesPerRow)
+                .baseUnit("bytes").register(registry);
+        Gauge.builder("audit.query.cache.hit.ratio", this, AuditQueryCache::hitRatio).register(registry);
+    }
+
+    /**
+     * 캐시 조회 후 없으면 loader 실행 결과를 저장
+     * @param end 보정된 종료 시각 (null 이면 "지금")
+     */
+    public Object get(AuditTable table, String key, OffsetDateTime end, Supplier<Object> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+
+        AuditIngestWatermark.Mark mark = watermark.get(table);
+        long now = System.currentTimeMillis();
+        synchronized (this) {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.isValid(now, mark.version())) {
+                hits.increment();
+                return entry.value();
+            }
+            if (entry != null) {
+                remove(key);
+            }
+        }
+        misses.increment();
+
+        Object value = loader.get();
+        long rows = rowsOf(value);
+        if (rows > maxEntryRows) {
+            return value;
+        }
+
+        boolean sealed = end != null && mark.maxTime() != null
+                && end.isBefore(mark.maxTime().minusSeconds(latenessSeconds));
+        long ttl = (sealed ? sealedTtlSeconds : liveTtlSeconds) * 1000;
+        synchronized (this) {
+            remove(key);
+            entries.put(key, new Entry(value, rows, sealed, mark.version(), now + ttl));
+            totalRows += rows;
+            evictOverCapacity();
+        }
+        return value;
+    }
+
+    /**
+     * 캐시 키에서 사용할 종료 시각
+     * 워터마크 이후 구간에는 데이터가 없으므로 end >= maxTime 인 조회는 모두 "open" 하나로 묶는다.
+     */
+    public String normalizeEnd(AuditTable table, OffsetDateTime end) {
+        OffsetDateTime maxTime = watermark.get(table).maxTime();
+        if (end == null || (maxTime != null && !end.isBefore(maxTime))) {
+            return "open";
+        }
+        return end.toInstant().toString();
+    }
+
+    /** 만료되었거나 워터마크가 지나간 항목 정리 */
+    @Scheduled(fixedDelayString = "${audit.cache.purge-ms:30000}")
+    public void purge() {
+        long now = System.currentTimeMillis();
+        Map<AuditTable, Long> versions = new LinkedHashMap<>();
+        for (AuditTable table : AuditTable.values()) {
+            versions.put(table, watermark.get(table).version());
+        }
+        synchronized (this) {
+            Iterator<Map.Entry<String, Entry>> it = entries.entrySet().iterator();
+            while (it.hasNext()) {
+                Map.Entry<String, Entry> e = it.next();
+                AuditTable table = AuditTable.valueOf(e.getKey().substring(0, e.getKey().indexOf('|')));
+                if (!e.getValue().isValid(now, versions.get(table))) {
+                    totalRows -= e.getValue().rows();
+                    it.remove();
+                }
+            }
+        }
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long rows() {
+        return totalRows;
+    }
+
+    public double hitRatio() {
+        double total = hits.count() + misses.count();
+        return total == 0 ? 0 : hits.count() / total;
+    }
+
+    private void remove(String key) {
+        Entry removed = entries.remove(key);
+        if (removed != null) {
+            totalRows -= removed.rows();
+        }
+    }
+
+    private void evictOverCapacity() {
+        Iterator<Map.Entry<String, Entry>> it = entries.entrySet().iterator();
+        while (totalRows > maxRows && it.hasNext()) {
+            totalRows -= it.next().getValue().rows();
+            it.remove();
+            evictions.increment();
+        }
+    }
+
+    /** 리스트는 행 수, 단건(count 등)은 1 */
+    private static long rowsOf(Object value) {
+        if (value instanceof Collection<?> collection) {
+            return Math.max(1, collection.size());
+        }
+        if (value instanceof Map<?, ?> map) {
+            return Math.max(1, map.size());
+        }
+        return 1;
+    }
+
+    private record Entry(Object value, long rows, boolean sealed, long version, long expiresAt) {
+        boolean isValid(long now, long currentVersion) {
+            return now < expiresAt && (sealed || version == currentVersion);
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package com.finalproject.springbackend.db.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.finalproject.springbackend.db.entity.AuditTable;
+import com.finalproject.springbackend.util.TimeZoneUtil;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.ResultSetMetaData;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 감사 로그 테이블 보존기간 정리 (행 단위 배치 삭제)
+ *
+ * - 정책: audit.retention.policies=테이블:보존일수[:archive] (예: system-level-false:90:archive)
+ * - 한 번에 batch-size 행만 (tableoid, ctid) 로 골라 지우고 배치마다 커밋 + sleep-ms 휴식
+ *   -> 짧은 트랜잭션이라 autovacuum 이 따라오고, DELETE 의 ROW EXCLUSIVE 잠금은 조회(SELECT)를 막지 않는다.
+ * - 배치마다 lock_timeout / statement_timeout 을 걸어 오래 기다리지 않고, max-runtime-minutes 가 지나면 다음 주기로 넘긴다.
+ * - archive 정책이면 DELETE ... RETURNING 결과를 커밋 전에 gzip JSON lines 파일에 먼저 기록한다.
+ * 파티션 테이블의 일 파티션은 AuditPartitionService 가 통째로 DROP 하므로 여기서는 남은 행(legacy 파티션 등)만 지운다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AuditRetentionService {
+
+    private static final DateTimeFormatter FILE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final AuditRollupService rollup;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${audit.retention.enabled:false}")
+    private boolean enabled;
+
+    @Value("${audit.retention.policies:}")
+    private String[] policies;
+
+    @Value("${audit.retention.batch-size:5000}")
+    private int batchSize;
+
+    @Value("${audit.retention.sleep-ms:200}")
+    private long sleepMs;
+
+    @Value("${audit.retention.max-runtime-minutes:30}")
+    private long maxRuntimeMinutes;
+
+    @Value("${audit.retention.lock-timeout:2s}")
+    private String lockTimeout;
+
+    @Value("${audit.retention.statement-timeout:30s}")
+    private String statementTimeout;
+
+    @Value("${audit.retention.archive-dir:./archive}")
+    private String archiveDir;
+
+    @Scheduled(cron = "${audit.retention.cron:0 30 3 * * *}", zone = "Asia/Seoul")
+    public void scheduledRun() {
+        if (!enabled) {
+            return;
+        }
+        long deadline = System.nanoTime() + TimeUnit.MINUTES.toNanos(maxRuntimeMinutes);
+        for (Policy policy : parsePolicies()) {
+            if (System.nanoTime() >= deadline) {
+                log.warn("⏱️ 보존기간 정리 최대 실행시간({}분) 초과, 남은 테이블은 다음 주기에 처리", maxRuntimeMinutes);
+                break;
+            }
+            try {
+                purge(policy, deadline);
+            } catch (Exception e) {
+                log.error("❌ {} 보존기간 정리 실패: {}", policy.table().getTableName(), e.getMessage());
+            }
+        }
+    }
+
+    /** 정책 하나 처리: cutoff 이전 행을 배치로 (보관 후) 삭제 */
+    private void purge(Policy policy, long deadline) throws IOException {
+        AuditTable table = policy.table();
+        OffsetDateTime cutoff = TimeZoneUtil.nowKST().minusDays(policy.days());
+        Counter deletedCounter = meterRegistry.counter("audit.retention.deleted", "table", table.getTableName());
+
+        String sql = "DELETE FROM " + table.quotedName()
+                + " WHERE (tableoid, ctid) IN (SELECT tableoid, ctid FROM " + table.quotedName()
+                + " WHERE " + table.getTimeColumn() + " < ? LIMIT ?)"
+                + (policy.archive() ? " RETURNING *" : "");
+
+        long started = System.nanoTime();
+        long deleted = 0;
+        int batches = 0;
+        boolean complete = false;
+        Path archiveFile = null;
+        Writer archive = null;
+        try {
+            if (policy.archive()) {
+                Files.createDirectories(Paths.get(archiveDir));
+                archiveFile = Paths.get(archiveDir, table.getTableName() + "_" + FILE_TIME.format(TimeZoneUtil.nowKST()) + ".jsonl.gz");
+                archive = new BufferedWriter(new OutputStreamWriter(
+                        new GZIPOutputStream(Files.newOutputStream(archiveFile)), StandardCharsets.UTF_8));
+            }
+            Writer out = archive;
+
+            while (System.nanoTime() < deadline) {
+                Integer count = transactionTemplate.execute(status -> {
+                    jdbcTemplate.execute("SET LOCAL lock_timeout = '" + lockTimeout.replace("'", "") + "'");
+                    jdbcTemplate.execute("SET LOCAL statement_timeout = '" + statementTimeout.replace("'", "") + "'");
+                    if (out == null) {
+                        return jdbcTemplate.update(sql, cutoff, batchSize);
+                    }
+                    // 커밋 전에 파일에 먼저 기록 (쓰기 실패 시 예외로 롤백)
+                    List<Map<String, String>> rows = jdbcTemplate.query(sql, (rs, rowNum) -> {
+                        ResultSetMetaData meta = rs.getMetaData();
+                        Map<String, String> row = new LinkedHashMap<>();
+                        for (int i = 1; i <= meta.getColumnCount(); i++) {
+                            row.put(meta.getColumnLabel(i), rs.getString(i));
+                        }
+                        return row;
+                    }, cutoff, batchSize);
+                    try {
+                        for (Map<String, String> row : rows) {
+                            out.write(objectMapper.writeValueAsString(row));
+                            out.write('\n');
+                        }
+                        out.flush();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    return rows.size();
+                });
+                int n = count == null ? 0 : count;
+                deleted += n;
+                deletedCounter.increment(n);
+                batches++;
+                if (batches % 100 == 0) {
+                    logProgress(table, deleted, started, "진행 중");
+                }
+                if (n < batchSize) {
+                    complete = true;
+                    break;
+                }
+                sleep();
+            }
+        } finally {
+            if (archive != null) {
+                archive.close();
+            }
+        }
+
+        if (archiveFile != null && deleted == 0) {
+            Files.deleteIfExists(archiveFile);
+        }
+        // cutoff 이전 행이 모두 지워졌을 때만 롤업 정리 (시간 제한으로 멈추면 남은 행이 있어 다음 실행에서 정리)
+        if (complete) {
+            rollup.deleteBefore(table, cutoff);
+        }
+        if (deleted > 0) {
+            logProgress(table, deleted, started, archiveFile != null ? "완료, 보관 파일 " + archiveFile : "완료");
+        }
+    }
+
+    private void logProgress(AuditTable table, long deleted, long started, String state) {
+        double seconds = Math.max(1e-3, (System.nanoTime() - started) / 1e9);
+        log.info("🧹 {} 보존기간 정리 {} - 삭제 {}행, {}행/초", table.getTableName(), state, deleted, Math.round(deleted / seconds));
+    }
+
+    private void sleep() {
+        try {
+            Thread.sleep(sleepMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("보존기간 정리 중단", e);
+        }
+    }
+
+    /** "테이블:보존일수[:archive]" 목록 파싱 */
+    private List<Policy> parsePolicies() {
+        List<Policy> result = new ArrayList<>();
+        for (String policy : policies) {
+            if (policy.isBlank()) {
+                continue;
+            }
+            String[] parts = policy.strip().split(":");
+            try {
+                int days = Integer.parseInt(parts[1]);
+                if (days < 1) {
+                    throw new IllegalArgumentException("보존일수는 1 이상이어야 합니다");
+                }
+                boolean archive = parts.length > 2 && parts[2].equalsIgnoreCase("archive");
+                result.add(new Policy(AuditTable.fromTableName(parts[0]), days, archive));
+            } catch (RuntimeException e) {
+                log.error("❌ 잘못된 보존기간 정책 '{}': {}", policy, e.getMessage());
+            }
+        }
+        return result;
+    }
+
+    private record Policy(AuditTable table, int days, boolean archive) {}
+}
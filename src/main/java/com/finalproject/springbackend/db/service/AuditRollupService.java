@@ -0,0 +1,442 @@
+package com.finalproject.springbackend.db.service;
+
+import com.finalproject.springbackend.db.entity.AuditDimension;
+import com.finalproject.springbackend.db.entity.AuditTable;
+import com.finalproject.springbackend.db.repository.AuditNativeRepository;
+import com.finalproject.springbackend.util.TimeZoneUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * 분/시간 단위 롤업 테이블 관리 및 집계 쿼리 플래너
+ *
+ * [롤업 유지]
+ * - audit_rollup_minute / audit_rollup_hour 에 (테이블, 버킷, principal, clientIp, operation, resourceName, alertType)별 건수 저장
+ * - 스케줄러가 테이블별 워터마크 이후에 들어온 분만 집계 (원본 전체 재집계 없음)
+ * - 늦게 들어오는 데이터를 위해 워터마크 이전 lateness 구간은 매번 다시 집계 (DELETE 후 INSERT)
+ * - lateness 보다 늦게 들어온 행은 테이블 변경 카운터(AuditIngestWatermark)가 움직였을 때 verify-ms 마다
+ *   최근 verify-hours 시간의 시간 버킷별 건수를 원본과 비교해, 다른 시간만 다시 집계한다.
+ *   그보다 오래된 구간에 늦게 들어온 행은 롤업에 반영되지 않는다 (롤업 건수가 원본보다 작을 수 있는 유일한 경우).
+ *
+ * [쿼리 플래너]
+ * - 요청 범위 [start, end] 를 (분 경계 이전 조각) + (롤업 구간) + (워터마크 이후 조각)으로 나눔
+ * - 롤업 구간은 가능한 시간 롤업, 나머지는 분 롤업으로 계산하고, 양 끝 조각만 원본 테이블에서 count
+ * - 롤업으로 답할 수 없는 요청(비활성, 롤업 밖 컬럼 필터, 1분 미만 범위)은 Optional.empty() → 기존 쿼리 사용
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AuditRollupService {
+
+    private static final String MINUTE_TABLE = "audit_rollup_minute";
+    private static final String HOUR_TABLE = "audit_rollup_hour";
+    private static final String STATE_TABLE = "audit_rollup_state";
+
+    private static final List<AuditDimension> ROLLUP_DIMENSIONS = Arrays.stream(AuditDimension.values())
+            .filter(AuditDimension::isRolledUp)
+            .toList();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final AuditNativeRepository nativeRepository;
+    private final AuditHotTier hotTier;
+    private final AuditIngestWatermark ingestWatermark;
+
+    // 테이블별 마지막 검증 시점의 변경 version / 시각
+    private final Map<AuditTable, Long> verifiedVersions = new ConcurrentHashMap<>();
+    private final Map<AuditTable, Long> verifiedAt = new ConcurrentHashMap<>();
+
+    // 테이블별 롤업 완료 시각 (이 시각 이전의 분 버킷은 롤업에 반영됨)
+    private final Map<AuditTable, OffsetDateTime> watermarks = new ConcurrentHashMap<>();
+
+    @Value("${audit.rollup.enabled:false}")
+    private boolean enabled;
+
+    @Value("${audit.rollup.lateness-seconds:300}")
+    private long latenessSeconds;
+
+    @Value("${audit.rollup.delay-seconds:10}")
+    private long delaySeconds;
+
+    @Value("${audit.rollup.max-span-hours:6}")
+    private long maxSpanHours;
+
+    @Value("${audit.rollup.verify-hours:24}")
+    private long verifyHours;
+
+    @Value("${audit.rollup.verify-ms:300000}")
+    private long verifyMs;
+
+    /** 롤업 테이블 생성 및 워터마크 로드 */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            String dimensionColumns = ROLLUP_DIMENSIONS.stream()
+                    .map(d -> d.getColumn() + " text")
+                    .collect(Collectors.joining(", "));
+            for (String rollupTable : List.of(MINUTE_TABLE, HOUR_TABLE)) {
+                jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + rollupTable + " ("
+                        + "table_name text NOT NULL, bucket timestamptz NOT NULL, "
+                        + dimensionColumns + ", cnt bigint NOT NULL)");
+                jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS " + rollupTable + "_bucket_idx"
+                        + " ON " + rollupTable + " (table_name, bucket)");
+            }
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + STATE_TABLE
+                    + " (table_name text PRIMARY KEY, watermark timestamptz NOT NULL)");
+
+            jdbcTemplate.query("SELECT table_name, watermark FROM " + STATE_TABLE, rs -> {
+                watermarks.put(AuditTable.fromTableName(rs.getString("table_name")),
+                        rs.getObject("watermark", OffsetDateTime.class));
+            });
+            log.info("✅ 롤업 테이블 준비 완료 - 워터마크: {}", watermarks);
+        } catch (Exception e) {
+            log.error("❌ 롤업 테이블 초기화 실패: {}", e.getMessage(), e);
+        }
+    }
+
+    /** 주기적으로 워터마크 이후 구간을 롤업에 반영 */
+    @Scheduled(fixedDelayString = "${audit.rollup.refresh-ms:10000}", initialDelayString = "${audit.rollup.refresh-ms:10000}")
+    public void scheduledRefresh() {
+        if (!enabled) {
+            return;
+        }
+        for (AuditTable table : AuditTable.values()) {
+            try {
+                refresh(table);
+                if (shouldVerify(table)) {
+                    verify(table);
+                }
+            } catch (Exception e) {
+                log.error("❌ {} 롤업 갱신 실패: {}", table.getTableName(), e.getMessage(), e);
+            }
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /** 테이블의 롤업 워터마크 (없으면 null) */
+    public OffsetDateTime getWatermark(AuditTable table) {
+        return watermarks.get(table);
+    }
+
+    /**
+     * 원본 행이 cutoff 이전까지 모두 지워진 뒤(보존기간 정리, 파티션 DROP) 그 구간의 롤업 행 삭제
+     * cutoff 가 걸친 분/시간 버킷은 지우지 않고 남은 원본 행으로 다시 집계한다.
+     */
+    public synchronized void deleteBefore(AuditTable table, OffsetDateTime cutoff) {
+        if (!enabled) {
+            return;
+        }
+        OffsetDateTime boundary = cutoff.truncatedTo(ChronoUnit.MINUTES);
+        OffsetDateTime watermark = watermarks.get(table);
+        int[] deleted = new int[2];
+        transactionTemplate.executeWithoutResult(status -> {
+            deleted[0] = jdbcTemplate.update("DELETE FROM " + MINUTE_TABLE + " WHERE table_name = ? AND bucket < ?",
+                    table.getTableName(), boundary);
+            deleted[1] = jdbcTemplate.update("DELETE FROM " + HOUR_TABLE + " WHERE table_name = ? AND bucket < ?",
+                    table.getTableName(), cutoff.truncatedTo(ChronoUnit.HOURS));
+            // 워터마크 이후 버킷은 아직 롤업 대상이 아니므로 다음 갱신에 맡김
+            if (watermark != null && boundary.isBefore(watermark)) {
+                aggregate(table, boundary, boundary.plusMinutes(1));
+            }
+        });
+        log.debug("🧹 {} 롤업 정리: 분 {}행, 시간 {}행 (경계 {} 재집계)", table.getTableName(), deleted[0], deleted[1], boundary);
+    }
+
+    /** 워터마크 - lateness 부터 (현재 - delay) 까지의 완료된 분 버킷을 다시 집계 */
+    public synchronized void refresh(AuditTable table) {
+        OffsetDateTime watermark = watermarks.get(table);
+        if (watermark == null) {
+            OffsetDateTime first = jdbcTemplate.queryForObject(
+                    "SELECT min(" + table.getTimeColumn() + ") FROM " + table.quotedName(), OffsetDateTime.class);
+            if (first == null) {
+                return;
+            }
+            watermark = first.truncatedTo(ChronoUnit.MINUTES);
+        }
+
+        OffsetDateTime from = watermark.minusSeconds(latenessSeconds).truncatedTo(ChronoUnit.MINUTES);
+        OffsetDateTime safeEnd = TimeZoneUtil.nowKST().minusSeconds(delaySeconds).truncatedTo(ChronoUnit.MINUTES);
+        OffsetDateTime to = min(safeEnd, watermark.plusHours(maxSpanHours));
+        if (!to.isAfter(from)) {
+            return;
+        }
+
+        OffsetDateTime newWatermark = to.isAfter(watermark) ? to : watermark;
+
+        transactionTemplate.executeWithoutResult(status -> {
+            aggregate(table, from, to);
+            jdbcTemplate.update("INSERT INTO " + STATE_TABLE + " (table_name, watermark) VALUES (?, ?)"
+                    + " ON CONFLICT (table_name) DO UPDATE SET watermark = EXCLUDED.watermark",
+                    table.getTableName(), newWatermark);
+        });
+        watermarks.put(table, newWatermark);
+        log.debug("📈 {} 롤업 갱신: {} ~ {}", table.getTableName(), from, to);
+    }
+
+    /** 변경 카운터가 움직였고 verify-ms 가 지났으면 true (카운터를 아직 못 읽었으면 주기만 확인) */
+    private boolean shouldVerify(AuditTable table) {
+        long now = System.currentTimeMillis();
+        long version = ingestWatermark.get(table).version();
+        if (now - verifiedAt.getOrDefault(table, 0L) < verifyMs
+                || (version >= 0 && verifiedVersions.getOrDefault(table, -1L) == version)) {
+            return false;
+        }
+        verifiedVersions.put(table, version);
+        verifiedAt.put(table, now);
+        return true;
+    }
+
+    /**
+     * 워터마크 이전 verify-hours 시간의 시간 버킷별 건수를 원본과 비교해 다른 시간만 다시 집계
+     * (lateness 이후에 들어온 과거 시각 행, 원본에서 직접 지운 행)
+     */
+    public synchronized void verify(AuditTable table) {
+        OffsetDateTime watermark = watermarks.get(table);
+        if (watermark == null) {
+            return;
+        }
+        // 워터마크가 걸친 시간은 롤업이 일부만 있으므로 완전한 시간만 비교
+        OffsetDateTime to = watermark.truncatedTo(ChronoUnit.HOURS);
+        OffsetDateTime from = to.minusHours(verifyHours);
+
+        // OffsetDateTime 은 오프셋까지 같아야 equals 이므로 epoch 초로 비교
+        Map<Long, Long> raw = new HashMap<>();
+        jdbcTemplate.query("SELECT date_trunc('hour', " + table.getTimeColumn() + ") AS bucket, count(*) AS cnt"
+                        + " FROM " + table.quotedName()
+                        + " WHERE " + table.getTimeColumn() + " >= ? AND " + table.getTimeColumn() + " < ? GROUP BY 1",
+                rs -> {
+                    raw.put(rs.getObject("bucket", OffsetDateTime.class).toEpochSecond(), rs.getLong("cnt"));
+                }, from, to);
+        Map<Long, Long> rolled = new HashMap<>();
+        jdbcTemplate.query("SELECT bucket, sum(cnt) AS cnt FROM " + HOUR_TABLE
+                        + " WHERE table_name = ? AND bucket >= ? AND bucket < ? GROUP BY 1",
+                rs -> {
+                    rolled.put(rs.getObject("bucket", OffsetDateTime.class).toEpochSecond(), rs.getLong("cnt"));
+                }, table.getTableName(), from, to);
+
+        int reaggregated = 0;
+        for (OffsetDateTime hour = from; hour.isBefore(to); hour = hour.plusHours(1)) {
+            long epoch = hour.toEpochSecond();
+            if (!raw.getOrDefault(epoch, 0L).equals(rolled.getOrDefault(epoch, 0L))) {
+                OffsetDateTime hourStart = hour;
+                transactionTemplate.executeWithoutResult(status -> aggregate(table, hourStart, hourStart.plusHours(1)));
+                reaggregated++;
+            }
+        }
+        if (reaggregated > 0) {
+            log.info("♻️ {} 롤업 {}시간 재집계 (늦게 도착한 행/삭제 반영)", table.getTableName(), reaggregated);
+        }
+    }
+
+    /** 분 롤업 [from, to) 를 원본에서, 영향 받은 시간 버킷을 분 롤업에서 다시 집계 (호출부 트랜잭션 안에서) */
+    private void aggregate(AuditTable table, OffsetDateTime from, OffsetDateTime to) {
+        OffsetDateTime hourFrom = from.truncatedTo(ChronoUnit.HOURS);
+        OffsetDateTime hourTo = ceilHour(to);
+        String dims = ROLLUP_DIMENSIONS.stream().map(AuditDimension::getColumn).collect(Collectors.joining(", "));
+        String selectDims = ROLLUP_DIMENSIONS.stream()
+                .map(d -> table.supports(d) ? d.getColumn() : "NULL::text")
+                .collect(Collectors.joining(", "));
+        String groupBy = groupByOrdinals(2, ROLLUP_DIMENSIONS.size() + 2);
+
+        // 분 롤업: 원본에서 [from, to) 재집계
+        jdbcTemplate.update("DELETE FROM " + MINUTE_TABLE + " WHERE table_name = ? AND bucket >= ? AND bucket < ?",
+                table.getTableName(), from, to);
+        jdbcTemplate.update("INSERT INTO " + MINUTE_TABLE + " (table_name, bucket, " + dims + ", cnt)"
+                + " SELECT ?, date_trunc('minute', " + table.getTimeColumn() + "), " + selectDims + ", count(*)"
+                + " FROM " + table.quotedName()
+                + " WHERE " + table.getTimeColumn() + " >= ? AND " + table.getTimeColumn() + " < ?"
+                + " GROUP BY " + groupBy,
+                table.getTableName(), from, to);
+
+        // 시간 롤업: 영향 받은 시간 버킷만 분 롤업에서 재집계
+        jdbcTemplate.update("DELETE FROM " + HOUR_TABLE + " WHERE table_name = ? AND bucket >= ? AND bucket < ?",
+                table.getTableName(), hourFrom, hourTo);
+        jdbcTemplate.update("INSERT INTO " + HOUR_TABLE + " (table_name, bucket, " + dims + ", cnt)"
+                + " SELECT table_name, date_trunc('hour', bucket), " + dims + ", sum(cnt)"
+                + " FROM " + MINUTE_TABLE
+                + " WHERE table_name = ? AND bucket >= ? AND bucket < ?"
+                + " GROUP BY 1, " + groupBy,
+                table.getTableName(), hourFrom, hourTo);
+    }
+
+    /**
+     * 롤업 기반 건수 조회 ([start, end] 양 끝 포함, 최근 구간이면 핫 티어 우선)
+     * 와일드카드/CIDR 같은 비동등 필터는 호출부의 JPA 동등 비교로 대체할 수 없으므로 롤업이 안 되면 원본 테이블에서 센다.
+     * @return 롤업으로 답할 수 없으면 Optional.empty()
+     */
+    public Optional<Long> tryCount(
+            AuditTable table, OffsetDateTime start, OffsetDateTime end, Map<AuditDimension, String> filters
+    ) {
+        Optional<Long> hot = hotTier.tryCount(table, start, end, filters);
+        if (hot.isPresent()) {
+            return hot;
+        }
+        Plan plan = plan(table, start, end, filters, null);
+        if (plan == null) {
+            boolean exact = filters == null
+                    || filters.entrySet().stream().allMatch(filter -> filter.getKey().isExact(filter.getValue()));
+            return exact || start == null || end == null
+                    ? Optional.empty()
+                    : Optional.of(nativeRepository.count(table, start, end, true, filters));
+        }
+
+        List<Object> args = new ArrayList<>();
+        String sql = "SELECT coalesce(sum(cnt), 0) FROM (" + plan.rollupSql("cnt", table, filters, args) + ") r";
+        Long rolled = jdbcTemplate.queryForObject(sql, Long.class, args.toArray());
+
+        long head = nativeRepository.count(table, start, plan.alignedStart, false, filters);
+        long tail = nativeRepository.count(table, plan.alignedEnd, end, true, filters);
+        return Optional.of((rolled == null ? 0L : rolled) + head + tail);
+    }
+
+    /**
+     * 롤업 기반 GROUP BY 건수 조회 ([start, end] 양 끝 포함, 갯수 내림차순, 최근 구간이면 핫 티어 우선)
+     * @return 롤업으로 답할 수 없으면 Optional.empty()
+     */
+    public Optional<Map<String, Long>> tryGroupCount(
+            AuditTable table, AuditDimension groupBy,
+            OffsetDateTime start, OffsetDateTime end, Map<AuditDimension, String> filters
+    ) {
+        Optional<Map<String, Long>> hot = hotTier.tryGroupCount(table, groupBy, start, end, filters);
+        if (hot.isPresent()) {
+            return hot;
+        }
+        Plan plan = plan(table, start, end, filters, groupBy);
+        if (plan == null) {
+            return Optional.empty();
+        }
+
+        Map<String, Long> merged = new HashMap<>();
+        List<Object> args = new ArrayList<>();
+        String sql = "SELECT value, sum(cnt) AS count FROM ("
+                + plan.rollupSql(groupBy.getColumn() + " AS value, cnt", table, filters, args)
+                + ") r GROUP BY value";
+        jdbcTemplate.query(sql, rs -> {
+            merged.merge(rs.getString("value"), rs.getLong("count"), Long::sum);
+        }, args.toArray());
+
+        nativeRepository.groupCount(table, groupBy, start, plan.alignedStart, false, filters)
+                .forEach((value, count) -> merged.merge(value, count, Long::sum));
+        nativeRepository.groupCount(table, groupBy, plan.alignedEnd, end, true, filters)
+                .forEach((value, count) -> merged.merge(value, count, Long::sum));
+
+        return Optional.of(sortByCountDesc(merged));
+    }
+
+    /** 건수 내림차순 정렬된 LinkedHashMap 으로 변환 */
+    public static Map<String, Long> sortByCountDesc(Map<String, Long> counts) {
+        Map<String, Long> sorted = new LinkedHashMap<>();
+        counts.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .forEach(e -> sorted.put(e.getKey(), e.getValue()));
+        return sorted;
+    }
+
+    /** 롤업 사용 가능 여부 판단 및 구간 분할 */
+    private Plan plan(
+            AuditTable table, OffsetDateTime start, OffsetDateTime end,
+            Map<AuditDimension, String> filters, AuditDimension groupBy
+    ) {
+        if (!enabled || start == null || end == null) {
+            return null;
+        }
+        if (groupBy != null && !(groupBy.isRolledUp() && table.supports(groupBy))) {
+            return null;
+        }
+        if (filters != null) {
+            for (AuditDimension dimension : filters.keySet()) {
+                if (!dimension.isRolledUp() || !table.supports(dimension)) {
+                    return null;
+                }
+            }
+        }
+        OffsetDateTime watermark = watermarks.get(table);
+        if (watermark == null) {
+            return null;
+        }
+
+        OffsetDateTime alignedStart = ceilMinute(start);
+        OffsetDateTime alignedEnd = min(end.truncatedTo(ChronoUnit.MINUTES), watermark);
+        if (!alignedEnd.isAfter(alignedStart)) {
+            return null;
+        }
+        return new Plan(alignedStart, alignedEnd);
+    }
+
+    /** [alignedStart, alignedEnd) 롤업 구간: 가운데 완전한 시간은 시간 롤업, 양 끝은 분 롤업 */
+    private record Plan(OffsetDateTime alignedStart, OffsetDateTime alignedEnd) {
+
+        String rollupSql(String select, AuditTable table, Map<AuditDimension, String> filters, List<Object> args) {
+            OffsetDateTime hourStart = ceilHour(alignedStart);
+            OffsetDateTime hourEnd = alignedEnd.truncatedTo(ChronoUnit.HOURS);
+
+            if (!hourEnd.isAfter(hourStart)) {
+                return rollupPart(MINUTE_TABLE, select, table, alignedStart, alignedEnd, filters, args);
+            }
+            return rollupPart(HOUR_TABLE, select, table, hourStart, hourEnd, filters, args)
+                    + " UNION ALL " + rollupPart(MINUTE_TABLE, select, table, alignedStart, hourStart, filters, args)
+                    + " UNION ALL " + rollupPart(MINUTE_TABLE, select, table, hourEnd, alignedEnd, filters, args);
+        }
+
+        private static String rollupPart(
+                String rollupTable, String select, AuditTable table,
+                OffsetDateTime from, OffsetDateTime to,
+                Map<AuditDimension, String> filters, List<Object> args
+        ) {
+            StringBuilder sql = new StringBuilder("SELECT ").append(select).append(" FROM ").append(rollupTable)
+                    .append(" WHERE table_name = ? AND bucket >= ? AND bucket < ?");
+            args.add(table.getTableName());
+            args.add(from);
+            args.add(to);
+            if (filters != null) {
+                filters.forEach((dimension, value) -> {
+                    sql.append(" AND ").append(dimension.condition(value));
+                    args.add(dimension.bindValue(value));
+                });
+            }
+            return sql.toString();
+        }
+    }
+
+    private static String groupByOrdinals(int from, int to) {
+        StringJoiner joiner = new StringJoiner(", ");
+        for (int i = from; i <= to; i++) {
+            joiner.add(String.valueOf(i));
+        }
+        return joiner.toString();
+    }
+
+    private static OffsetDateTime ceilMinute(OffsetDateTime time) {
+        OffsetDateTime floor = time.truncatedTo(ChronoUnit.MINUTES);
+        return floor.isEqual(time) ? floor : floor.plus(Duration.ofMinutes(1));
+    }
+
+    private static OffsetDateTime ceilHour(OffsetDateTime time) {
+        OffsetDateTime floor = time.truncatedTo(ChronoUnit.HOURS);
+        return floor.isEqual(time) ? floor : floor.plus(Duration.ofHours(1));
+    }
+
+    private static OffsetDateTime min(OffsetDateTime a, OffsetDateTime b) {
+        return a.isBefore(b) ? a : b;
+    }
+}
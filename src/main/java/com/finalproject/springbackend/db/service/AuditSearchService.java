@@ -0,0 +1,150 @@
+package com.finalproject.springbackend.db.service;
+
+import com.finalproject.springbackend.db.entity.AuditDimension;
+import com.finalproject.springbackend.db.entity.AuditTable;
+import com.finalproject.springbackend.db.repository.AuditRowRepository;
+import com.finalproject.springbackend.dto.AuditSearchRowDTO;
+import com.finalproject.springbackend.util.TimeZoneUtil;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 4개 감사 로그 테이블 통합 검색 (GET /api/db/search)
+ *
+ * 각 테이블을 동시에 "시간 정렬 + LIMIT limit" 으로 조회한 뒤 시간 기준 k-way 병합한다.
+ * 전체 상위 limit 개는 반드시 각 테이블 상위 limit 개 안에 있으므로 테이블별 LIMIT 만으로 충분하고,
+ * 병합은 limit 개를 채우는 즉시 멈춘다.
+ */
+@Slf4j
+@Service
+public class AuditSearchService {
+
+    private final AuditRowRepository rowRepo;
+    private final ExecutorService executor;
+
+    @Value("${audit.search.default-limit:500}")
+    private int defaultLimit;
+
+    @Value("${audit.search.max-limit:5000}")
+    private int maxLimit;
+
+    @Value("${audit.search.timeout-ms:30000}")
+    private long timeoutMs;
+
+    public AuditSearchService(AuditRowRepository rowRepo) {
+        this.rowRepo = rowRepo;
+        this.executor = Executors.newFixedThreadPool(AuditTable.values().length, runnable -> {
+            Thread thread = new Thread(runnable, "audit-search");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 시간 범위 + 공통 필터(clientIp, principal, resourceName) 통합 검색
+     * principal/resourceName 필터가 있으면 해당 컬럼이 없는 certified 테이블은 제외된다.
+     * principal, resourceName 은 * 와일드카드 부분 일치 가능 (예: resourceName=/admin/*)
+     * @param order desc(기본, 최신순) 또는 asc
+     */
+    public List<AuditSearchRowDTO> search(
+            OffsetDateTime start, OffsetDateTime end, String clientIp, String principal, String resourceName,
+            Integer limit, String order
+    ) {
+        OffsetDateTime[] times = TimeZoneUtil.correctRange(start, end);
+        int n = limit == null ? defaultLimit : limit;
+        if (n < 1 || n > maxLimit) {
+            throw new IllegalArgumentException("limit은 1 ~ " + maxLimit + " 사이로 넣어주세요");
+        }
+        boolean newestFirst = order == null || !order.strip().equalsIgnoreCase("asc");
+
+        Map<AuditDimension, String> filters = new EnumMap<>(AuditDimension.class);
+        if (clientIp != null && !clientIp.isBlank()) {
+            filters.put(AuditDimension.CLIENT_IP, AuditDimension.CLIENT_IP.normalize(clientIp));
+        }
+        if (principal != null && !principal.isBlank()) {
+            filters.put(AuditDimension.PRINCIPAL, AuditDimension.PRINCIPAL.normalize(principal));
+        }
+        if (resourceName != null && !resourceName.isBlank()) {
+            filters.put(AuditDimension.RESOURCE_NAME, AuditDimension.RESOURCE_NAME.normalize(resourceName));
+        }
+
+        // scatter: 필터 컬럼이 모두 있는 테이블만 동시 조회
+        Map<AuditTable, Future<List<AuditSearchRowDTO>>> futures = new EnumMap<>(AuditTable.class);
+        for (AuditTable table : AuditTable.values()) {
+            if (filters.keySet().stream().allMatch(table::supports)) {
+                futures.put(table, executor.submit(
+                        () -> rowRepo.searchRows(table, times[0], times[1], filters, newestFirst, n)));
+            }
+        }
+
+        // gather
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        List<List<AuditSearchRowDTO>> sources = new ArrayList<>();
+        try {
+            for (Map.Entry<AuditTable, Future<List<AuditSearchRowDTO>>> entry : futures.entrySet()) {
+                sources.add(entry.getValue().get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS));
+            }
+        } catch (TimeoutException e) {
+            futures.values().forEach(future -> future.cancel(true));
+            throw new IllegalStateException("통합 검색 시간 초과", e);
+        } catch (ExecutionException e) {
+            futures.values().forEach(future -> future.cancel(true));
+            throw new IllegalStateException("통합 검색 실패: " + e.getCause().getMessage(), e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("통합 검색 중단", e);
+        }
+
+        List<AuditSearchRowDTO> merged = merge(sources, newestFirst, n);
+        log.debug("🔎 통합 검색 - 테이블 {}개, 결과 {}건", futures.size(), merged.size());
+        return merged;
+    }
+
+    /** 테이블별로 이미 정렬된 결과를 힙으로 k-way 병합, limit 개가 차면 종료 */
+    private List<AuditSearchRowDTO> merge(List<List<AuditSearchRowDTO>> sources, boolean newestFirst, int limit) {
+        Comparator<AuditSearchRowDTO> byTime = Comparator.comparing(AuditSearchRowDTO::getEventTime);
+        Comparator<Head> order = Comparator.comparing(Head::row, newestFirst ? byTime.reversed() : byTime);
+
+        PriorityQueue<Head> heap = new PriorityQueue<>(Math.max(1, sources.size()), order);
+        for (List<AuditSearchRowDTO> source : sources) {
+            Iterator<AuditSearchRowDTO> it = source.iterator();
+            if (it.hasNext()) {
+                heap.add(new Head(it.next(), it));
+            }
+        }
+
+        List<AuditSearchRowDTO> merged = new ArrayList<>(limit);
+        while (!heap.isEmpty() && merged.size() < limit) {
+            Head head = heap.poll();
+            merged.add(head.row());
+            if (head.rest().hasNext()) {
+                heap.add(new Head(head.rest().next(), head.rest()));
+            }
+        }
+        return merged;
+    }
+
+    private record Head(AuditSearchRowDTO row, Iterator<AuditSearchRowDTO> rest) {}
+}
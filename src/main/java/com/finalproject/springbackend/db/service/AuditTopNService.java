@@ -0,0 +1,121 @@
+package com.finalproject.springbackend.db.service;
+
+import com.finalproject.springbackend.db.entity.AuditDimension;
+import com.finalproject.springbackend.db.entity.AuditTable;
+import com.finalproject.springbackend.db.repository.AuditNativeRepository;
+import com.finalproject.springbackend.db.repository.projection.GroupCount;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 감사 로그 테이블 공통 Top-N GROUP BY 조회
+ *
+ * "이번 시간 가장 많이 걸린 principal" 같은 질의를 레코드 전체 다운로드 없이 GROUP BY ... LIMIT 한 번으로 처리한다.
+ * 롤업 컬럼이면 롤업 테이블을 우선 사용하고, 결과는 짧은 TTL 동안 메모리에 캐시한다.
+ * 시간/필터 값 보정은 각 테이블 서비스에서 끝낸 뒤 호출한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class AuditTopNService {
+
+    private final AuditNativeRepository nativeRepo;
+    private final AuditRollupService rollup;
+
+    // 캐시 키 -> (만료 시각, 결과)
+    private final Map<String, CachedTop> cache = new ConcurrentHashMap<>();
+
+    @Value("${audit.top.default-limit:10}")
+    private int defaultLimit;
+
+    @Value("${audit.top.max-limit:1000}")
+    private int maxLimit;
+
+    @Value("${audit.top.cache-ttl-seconds:30}")
+    private long cacheTtlSeconds;
+
+    @Value("${audit.top.cache-max-entries:1000}")
+    private int cacheMaxEntries;
+
+    /**
+     * start ~ end 구간에서 groupBy 컬럼 기준 상위 limit 개
+     * @param limit null 이면 기본값, 최대 max-limit
+     */
+    public List<GroupCount> top(
+            AuditTable table, String groupBy, OffsetDateTime start, OffsetDateTime end,
+            Map<AuditDimension, String> filters, Integer limit
+    ) {
+        AuditDimension dimension = AuditDimension.fromFieldName(groupBy.strip());
+        if (!table.supports(dimension)) {
+            throw new IllegalArgumentException(
+                    table.getTableName() + " 테이블에는 " + dimension.getFieldName() + " 컬럼이 없습니다");
+        }
+        int n = limit == null ? defaultLimit : limit;
+        if (n < 1 || n > maxLimit) {
+            throw new IllegalArgumentException("limit은 1 ~ " + maxLimit + " 사이로 넣어주세요");
+        }
+
+        String key = cacheKey(table, dimension, start, end, filters, n);
+        long now = System.currentTimeMillis();
+        CachedTop cached = cache.get(key);
+        if (cached != null && cached.expiresAt() > now) {
+            return cached.rows();
+        }
+
+        List<GroupCount> rows = query(table, dimension, start, end, filters, n);
+        if (cacheTtlSeconds > 0 && cache.size() < cacheMaxEntries) {
+            cache.put(key, new CachedTop(now + cacheTtlSeconds * 1000, rows));
+        }
+        return rows;
+    }
+
+    private List<GroupCount> query(
+            AuditTable table, AuditDimension groupBy, OffsetDateTime start, OffsetDateTime end,
+            Map<AuditDimension, String> filters, int limit
+    ) {
+        Optional<Map<String, Long>> rolled = rollup.tryGroupCount(table, groupBy, start, end, filters);
+        Map<String, Long> counts = rolled.orElseGet(
+                () -> nativeRepo.groupCount(table, groupBy, start, end, true, filters, limit));
+
+        log.debug("🏆 {} Top-{} by {} (롤업 사용: {})", table.getTableName(), limit, groupBy.getFieldName(), rolled.isPresent());
+        return counts.entrySet().stream()
+                .limit(limit)
+                .map(e -> new GroupCount(e.getKey(), e.getValue()))
+                .toList();
+    }
+
+    /**
+     * 캐시 키 (테이블, 컬럼, 필터, limit, 시간 범위)
+     * end 가 TTL 이내의 "지금"이면 매 요청마다 달라지는 밀리초 값 대신 "now" 로 묶어 짧은 TTL 동안 재사용한다.
+     */
+    private String cacheKey(
+            AuditTable table, AuditDimension groupBy, OffsetDateTime start, OffsetDateTime end,
+            Map<AuditDimension, String> filters, int limit
+    ) {
+        boolean live = end.toInstant().toEpochMilli() > System.currentTimeMillis() - cacheTtlSeconds * 1000;
+        return table.name() + "|" + groupBy.name() + "|" + limit
+                + "|" + start.toInstant() + "|" + (live ? "now" : end.toInstant())
+                + "|" + new TreeMap<>(filters);
+    }
+
+    /** 만료된 캐시 항목 정리 */
+    @Scheduled(fixedDelayString = "${audit.top.cache-purge-ms:60000}")
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        cache.values().removeIf(entry -> entry.expiresAt() <= now);
+    }
+
+    private record CachedTop(long expiresAt, List<GroupCount> rows) {}
+}
@@ -0,0 +1,79 @@
+package com.finalproject.springbackend.db.service;
+
+import com.finalproject.springbackend.db.entity.AuditDimension;
+import com.finalproject.springbackend.db.entity.AuditTable;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * 와일드카드(*) 필터용 pg_trgm GIN 인덱스 관리
+ *
+ * LIKE '/admin/%', LIKE '%svc-%' 는 B-tree 로 처리할 수 없어 전체 스캔이 되므로
+ * searchable 컬럼(principal, resource_name, method_name)에 gin_trgm_ops 인덱스를 만든다.
+ * 생성은 AuditConcurrentIndexBuilder 로 하므로 일반/파티션 테이블 모두 적재를 막지 않는다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AuditTrigramIndexService {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AuditConcurrentIndexBuilder indexBuilder;
+
+    @Value("${audit.trgm.enabled:false}")
+    private boolean enabled;
+
+    @Value("${audit.trgm.tables:system-level-false,resource-level-false}")
+    private String[] tableNames;
+
+    /** 파티션 전환(AuditPartitionService) 이후에 실행 */
+    @Order(100)
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            jdbcTemplate.execute("CREATE EXTENSION IF NOT EXISTS pg_trgm");
+        } catch (Exception e) {
+            log.error("❌ pg_trgm 확장 생성 실패 (DB 관리자 권한 필요): {}", e.getMessage());
+            return;
+        }
+
+        for (String name : tableNames) {
+            if (name.isBlank()) {
+                continue;
+            }
+            AuditTable table = AuditTable.fromTableName(name.strip());
+            for (AuditDimension dimension : searchableDimensions(table)) {
+                try {
+                    createIndex(table, dimension);
+                } catch (Exception e) {
+                    log.error("❌ {}.{} trigram 인덱스 생성 실패: {}",
+                            table.getTableName(), dimension.getColumn(), e.getMessage());
+                }
+            }
+        }
+    }
+
+    private List<AuditDimension> searchableDimensions(AuditTable table) {
+        return table.getDimensions().stream().filter(AuditDimension::isSearchable).toList();
+    }
+
+    private void createIndex(AuditTable table, AuditDimension dimension) {
+        String suffix = "_" + dimension.getColumn() + "_trgm_idx";
+        if (!indexBuilder.ensureIndex(table, suffix, "USING gin (" + dimension.getColumn() + " gin_trgm_ops)")) {
+            log.warn("⚠️ {} 테이블이 존재하지 않아 trigram 인덱스를 건너뜁니다", table.getTableName());
+            return;
+        }
+        log.info("🔤 trigram 인덱스 확인: {}{}", table.getTableName(), suffix);
+    }
+}
@@ -1,8 +1,13 @@
 package com.finalproject.springbackend.db.service;
 
+import com.finalproject.springbackend.annotation.CachedAuditQuery;
+import com.finalproject.springbackend.db.entity.AuditDimension;
+import com.finalproject.springbackend.db.entity.AuditTable;
 import com.finalproject.springbackend.db.entity.CertifiedNotMove;
+import com.finalproject.springbackend.db.repository.AuditNativeRepository;
 import com.finalproject.springbackend.db.repository.CertifiedNotMoveRepository;
 import com.finalproject.springbackend.db.repository.projection.AlertTypeCount;
+import com.finalproject.springbackend.db.repository.projection.BucketCount;
 import com.finalproject.springbackend.db.repository.projection.IpCount;
 import com.finalproject.springbackend.util.TimeZoneUtil;
 import lombok.AllArgsConstructor;
@@ -11,15 +16,21 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.OffsetDateTime;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 
 @Slf4j
 @Service
 @Transactional(readOnly = true)
 @AllArgsConstructor
+@CachedAuditQuery(AuditTable.CERTIFIED_NOT_MOVE)
 public class CertifiedNotMoveService {
 
     private final CertifiedNotMoveRepository repo;
+    private final AuditNativeRepository nativeRepo;
+    private final AuditRollupService rollup;
+    private final AuditHistogramService histogram;
 
     /**보정 (한국 시간대 처리)*/
     //시간 보정
@@ -71,6 +82,10 @@ public class CertifiedNotMoveService {
     /**하나의 컬럼으로만 레코드 및 갯수 출력*/
     public List<CertifiedNotMove> getOnlyClientIp(String clientIp){
         clientIp = CorrectionOfClientIp(clientIp);
+        if (!AuditDimension.CLIENT_IP.isExact(clientIp)) {
+            return nativeRepo.findEntities(AuditTable.CERTIFIED_NOT_MOVE, CertifiedNotMove.class, null, null,
+                    Map.of(AuditDimension.CLIENT_IP, clientIp), "alert_type ASC, failure_count DESC, alert_time_kst ASC");
+        }
         List<CertifiedNotMove> cnmList = repo.findByClientIpOrderByAlertTypeAscFailureCountDescAlertTimeKSTAsc(clientIp);
         return cnmList;
     }
@@ -84,6 +99,9 @@ public class CertifiedNotMoveService {
 
     public Long getOnlyClientIpCount(String clientIp) {
         clientIp = CorrectionOfClientIp(clientIp);
+        if (!AuditDimension.CLIENT_IP.isExact(clientIp)) {
+            return nativeRepo.count(AuditTable.CERTIFIED_NOT_MOVE, null, null, true, Map.of(AuditDimension.CLIENT_IP, clientIp));
+        }
 
         Long count = repo.countByClientIp(clientIp);
 
@@ -111,7 +129,8 @@ public class CertifiedNotMoveService {
         OffsetDateTime[] times = CorrectionOfTimes(start, end);
         start = times[0]; end = times[1];
 
-        Long count = repo.countByTimesOnly(start, end);
+        Long count = rollup.tryCount(AuditTable.CERTIFIED_NOT_MOVE, times[0], times[1], Map.of())
+                .orElseGet(() -> repo.countByTimesOnly(times[0], times[1]));
         return count;
     }
 
@@ -121,12 +140,18 @@ public class CertifiedNotMoveService {
         OffsetDateTime[] times = CorrectionOfTimes(start, end); start = times[0]; end = times[1];
 
         clientIp = CorrectionOfClientIp(clientIp);
+        if (!AuditDimension.CLIENT_IP.isExact(clientIp)) {
+            return nativeRepo.findEntities(AuditTable.CERTIFIED_NOT_MOVE, CertifiedNotMove.class, start, end,
+                    Map.of(AuditDimension.CLIENT_IP, clientIp), "failure_count DESC, alert_type ASC, alert_time_kst ASC");
+        }
         return repo.findByC(start, end, clientIp);
     }
 
     public Long getCCount(OffsetDateTime start, OffsetDateTime end, String clientIp) {
         OffsetDateTime[] times = CorrectionOfTimes(start, end);
-        return repo.countByC(times[0], times[1], CorrectionOfClientIp(clientIp));
+        String ip = CorrectionOfClientIp(clientIp);
+        return rollup.tryCount(AuditTable.CERTIFIED_NOT_MOVE, times[0], times[1], Map.of(AuditDimension.CLIENT_IP, ip))
+                .orElseGet(() -> repo.countByC(times[0], times[1], ip));
     }
 
     public List<CertifiedNotMove> getA(OffsetDateTime start, OffsetDateTime end, String alertType) {
@@ -136,14 +161,20 @@ public class CertifiedNotMoveService {
 
     public Long getACount(OffsetDateTime start, OffsetDateTime end, String alertType) {
         OffsetDateTime[] times = CorrectionOfTimes(start, end);
-        return repo.countByA(times[0], times[1], CorrectionOfAlertType(alertType));
+        String type = CorrectionOfAlertType(alertType);
+        return rollup.tryCount(AuditTable.CERTIFIED_NOT_MOVE, times[0], times[1], Map.of(AuditDimension.ALERT_TYPE, type))
+                .orElseGet(() -> repo.countByA(times[0], times[1], type));
     }
 
     public List<IpCount> getIpCount(OffsetDateTime start, OffsetDateTime end) {
         OffsetDateTime[] times = CorrectionOfTimes(start, end);
         start = times[0]; end = times[1];
 
-        return repo.clientIpCount(start, end);
+        return rollup.tryGroupCount(AuditTable.CERTIFIED_NOT_MOVE, AuditDimension.CLIENT_IP, start, end, Map.of())
+                .map(counts -> counts.entrySet().stream()
+                        .map(e -> IpCount.of(e.getKey(), e.getValue()))
+                        .toList())
+                .orElseGet(() -> repo.clientIpCount(times[0], times[1]));
     }
 
     public List<IpCount> getIpCountAll(){
@@ -154,11 +185,26 @@ public class CertifiedNotMoveService {
         OffsetDateTime[] times = CorrectionOfTimes(start, end);
         start = times[0]; end = times[1];
 
-        return repo.alertTypeCount(start, end);
+        return rollup.tryGroupCount(AuditTable.CERTIFIED_NOT_MOVE, AuditDimension.ALERT_TYPE, start, end, Map.of())
+                .map(counts -> counts.entrySet().stream()
+                        .map(e -> AlertTypeCount.of(e.getKey(), e.getValue()))
+                        .toList())
+                .orElseGet(() -> repo.alertTypeCount(times[0], times[1]));
     }
 
     public List<AlertTypeCount> getAlertTypeCountAll(){
         return repo.alertTypeCountAll();
     }
 
+    /**시간 버킷별 레코드 갯수 (타임라인 차트용), 필터는 값이 있는 것만 적용*/
+    public List<BucketCount> getHistogram(
+            OffsetDateTime start, OffsetDateTime end, String bucket, String clientIp, String alertType
+    ) {
+        OffsetDateTime[] times = CorrectionOfTimes(start, end);
+        Map<AuditDimension, String> filters = new EnumMap<>(AuditDimension.class);
+        if(clientIp != null && !clientIp.isBlank()) { filters.put(AuditDimension.CLIENT_IP, CorrectionOfClientIp(clientIp)); }
+        if(alertType != null && !alertType.isBlank()) { filters.put(AuditDimension.ALERT_TYPE, CorrectionOfAlertType(alertType)); }
+
+        return histogram.histogram(AuditTable.CERTIFIED_NOT_MOVE, times[0], times[1], bucket, filters);
+    }
 }
@@ -1,7 +1,13 @@
 package com.finalproject.springbackend.db.service;
 
+import com.finalproject.springbackend.annotation.CachedAuditQuery;
+import com.finalproject.springbackend.db.entity.AuditDimension;
+import com.finalproject.springbackend.db.entity.AuditTable;
 import com.finalproject.springbackend.db.entity.ResourceLevelFalse;
+import com.finalproject.springbackend.db.repository.AuditNativeRepository;
 import com.finalproject.springbackend.db.repository.ResourceLevelFalseRepository;
+import com.finalproject.springbackend.db.repository.projection.BucketCount;
+import com.finalproject.springbackend.db.repository.projection.GroupCount;
 import com.finalproject.springbackend.util.TimeZoneUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -9,20 +15,33 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.OffsetDateTime;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 
 @Slf4j
 @Service
 @Transactional(readOnly = true)
 @RequiredArgsConstructor
+@CachedAuditQuery(AuditTable.RESOURCE_LEVEL_FALSE)
 public class ResourceLevelFalseService {
 
     private final ResourceLevelFalseRepository repo;
+    private final AuditNativeRepository nativeRepo;
+    private final AuditRollupService rollup;
+    private final AuditHistogramService histogram;
+    private final AuditTopNService topN;
     /*
      * boolean str.isBlank() : str.length()==0 || str에 오직 모든 whitespace만 있으면 true
      * String str.strip() : 앞 뒤 whiteSpace 제거
      */
 
+    /** clientIp 가 CIDR/목록 값이면 JPA 동등 비교 대신 count/histogram 과 같은 AuditDimension 조건으로 조회 (start 가 null 이면 시간 조건 없음) */
+    private List<ResourceLevelFalse> findByFilters(OffsetDateTime start, OffsetDateTime end, Map<AuditDimension, String> filters) {
+        return nativeRepo.findEntities(AuditTable.RESOURCE_LEVEL_FALSE, ResourceLevelFalse.class, start, end, filters,
+                AuditTable.RESOURCE_LEVEL_FALSE.getTimeColumn() + " ASC");
+    }
+
     /** 전체 레코드 가져오기 */
     @Transactional(readOnly = true)
     public List<ResourceLevelFalse> getAll(){
@@ -78,7 +97,9 @@ public class ResourceLevelFalseService {
 
     public List<ResourceLevelFalse> getClientIp(String clientIp){
         clientIp = correctionOfClientIp(clientIp);
-        List<ResourceLevelFalse> clientIpList = repo.findByClientIp(clientIp);
+        List<ResourceLevelFalse> clientIpList = AuditDimension.CLIENT_IP.isExact(clientIp)
+                ? repo.findByClientIp(clientIp)
+                : findByFilters(null, null, Map.of(AuditDimension.CLIENT_IP, clientIp));
         if(clientIpList.isEmpty()){
             throw new IllegalArgumentException(clientIp + "에서 비인가 접근 기록이 존재하지 않습니다. ");
         }
@@ -86,6 +107,9 @@ public class ResourceLevelFalseService {
     }
     public long getClientIpCount(String clientIp){
         clientIp = correctionOfClientIp(clientIp);
+        if (!AuditDimension.CLIENT_IP.isExact(clientIp)) {
+            return nativeRepo.count(AuditTable.RESOURCE_LEVEL_FALSE, null, null, true, Map.of(AuditDimension.CLIENT_IP, clientIp));
+        }
         return repo.countByClientIp(clientIp);
     }
 
@@ -218,7 +242,11 @@ public class ResourceLevelFalseService {
             OffsetDateTime start,
             OffsetDateTime end
     ){
-        return getTimesOnly(start, end).size();
+        OffsetDateTime[] times = timesCorrection(start, end);
+        return rollup.tryCount(AuditTable.RESOURCE_LEVEL_FALSE, times[0], times[1],
+                        Map.of())
+                .map(Long::intValue)
+                .orElseGet(() -> getTimesOnly(start, end).size());
     }
     /** 시간 + 1개의 컬럼으로 레코드 조회*/
     //시간 + principal 컬럼으로 레코드 찾기
@@ -239,7 +267,13 @@ public class ResourceLevelFalseService {
             OffsetDateTime end,
             String principal
     ){
-        return getTimeAndPrincipal(start, end, principal).size();
+        OffsetDateTime[] times = timesCorrection(start, end);
+        String p = correctionOfPrincipal(principal);
+
+        return rollup.tryCount(AuditTable.RESOURCE_LEVEL_FALSE, times[0], times[1],
+                        Map.of(AuditDimension.PRINCIPAL, p))
+                .map(Long::intValue)
+                .orElseGet(() -> getTimeAndPrincipal(start, end, principal).size());
     }
 
     //시간 + resourceName 컬럼으로 레코드 찾기
@@ -263,7 +297,13 @@ public class ResourceLevelFalseService {
             OffsetDateTime end,
             String resourceName
     ){
-        return getTimeAndResourceName(start, end, resourceName).size();
+        OffsetDateTime[] times = timesCorrection(start, end);
+        String r = correctionOfResourceName(resourceName);
+
+        return rollup.tryCount(AuditTable.RESOURCE_LEVEL_FALSE, times[0], times[1],
+                        Map.of(AuditDimension.RESOURCE_NAME, r))
+                .map(Long::intValue)
+                .orElseGet(() -> getTimeAndResourceName(start, end, resourceName).size());
     }
 
     //시간 + operation
@@ -281,7 +321,13 @@ public class ResourceLevelFalseService {
     public int getTimeAndOperationCount(
             OffsetDateTime start, OffsetDateTime end, String operation
     ){
-        return getTimeAndOperation(start, end, operation).size();
+        OffsetDateTime[] times = timesCorrection(start, end);
+        String o = correctionOfOperation(operation);
+
+        return rollup.tryCount(AuditTable.RESOURCE_LEVEL_FALSE, times[0], times[1],
+                        Map.of(AuditDimension.OPERATION, o))
+                .map(Long::intValue)
+                .orElseGet(() -> getTimeAndOperation(start, end, operation).size());
     }
 
     //시간 + clientIp
@@ -294,13 +340,22 @@ public class ResourceLevelFalseService {
 
         clientIp = correctionOfClientIp(clientIp);
 
+        if (!AuditDimension.CLIENT_IP.isExact(clientIp)) {
+            return findByFilters(start, end, Map.of(AuditDimension.CLIENT_IP, clientIp));
+        }
         return repo.findByEventTimeKSTBetweenAndClientIpOrderByEventTimeKSTAsc(start, end, clientIp);
 
     }
     public int getTimeAndClientIpCount(
             OffsetDateTime start, OffsetDateTime end, String clientIp
     ){
-        return getTimeAndClientIp(start, end, clientIp).size();
+        OffsetDateTime[] times = timesCorrection(start, end);
+        String c = correctionOfClientIp(clientIp);
+
+        return rollup.tryCount(AuditTable.RESOURCE_LEVEL_FALSE, times[0], times[1],
+                        Map.of(AuditDimension.CLIENT_IP, c))
+                .map(Long::intValue)
+                .orElseGet(() -> getTimeAndClientIp(start, end, clientIp).size());
     }
 
     /**시간 + 2가지 컬럼으로 찾기*/
@@ -322,7 +377,14 @@ public class ResourceLevelFalseService {
             OffsetDateTime start, OffsetDateTime end,
             String principal, String resourceName
     ){
-        return getTimeAndPR(start, end, principal, resourceName).size();
+        OffsetDateTime[] times = timesCorrection(start, end);
+        String p = correctionOfPrincipal(principal);
+        String r = correctionOfResourceName(resourceName);
+
+        return rollup.tryCount(AuditTable.RESOURCE_LEVEL_FALSE, times[0], times[1],
+                        Map.of(AuditDimension.PRINCIPAL, p, AuditDimension.RESOURCE_NAME, r))
+                .map(Long::intValue)
+                .orElseGet(() -> getTimeAndPR(start, end, principal, resourceName).size());
     }
 
     //시간 + principal, operation
@@ -343,7 +405,14 @@ public class ResourceLevelFalseService {
             OffsetDateTime start, OffsetDateTime end,
             String principal, String operation
     ){
-        return getTimeAndPO(start, end, principal, operation).size();
+        OffsetDateTime[] times = timesCorrection(start, end);
+        String p = correctionOfPrincipal(principal);
+        String o = correctionOfOperation(operation);
+
+        return rollup.tryCount(AuditTable.RESOURCE_LEVEL_FALSE, times[0], times[1],
+                        Map.of(AuditDimension.PRINCIPAL, p, AuditDimension.OPERATION, o))
+                .map(Long::intValue)
+                .orElseGet(() -> getTimeAndPO(start, end, principal, operation).size());
     }
 
     //시간 + principal, clientIp
@@ -358,13 +427,23 @@ public class ResourceLevelFalseService {
         principal = correctionOfPrincipal(principal);
         clientIp = correctionOfClientIp(clientIp);
 
+        if (!AuditDimension.CLIENT_IP.isExact(clientIp)) {
+            return findByFilters(start, end, Map.of(AuditDimension.PRINCIPAL, principal, AuditDimension.CLIENT_IP, clientIp));
+        }
         return repo.findByPC(start, end, principal, clientIp);
     }
     public int getTimeAndPCCount(
             OffsetDateTime start, OffsetDateTime end,
             String principal, String clientIp
     ){
-        return getTimeAndPC(start, end, principal, clientIp).size();
+        OffsetDateTime[] times = timesCorrection(start, end);
+        String p = correctionOfPrincipal(principal);
+        String c = correctionOfClientIp(clientIp);
+
+        return rollup.tryCount(AuditTable.RESOURCE_LEVEL_FALSE, times[0], times[1],
+                        Map.of(AuditDimension.PRINCIPAL, p, AuditDimension.CLIENT_IP, c))
+                .map(Long::intValue)
+                .orElseGet(() -> getTimeAndPC(start, end, principal, clientIp).size());
     }
     
     
@@ -386,7 +465,14 @@ public class ResourceLevelFalseService {
             OffsetDateTime start, OffsetDateTime end,
             String resourceName, String operation
     ){
-        return getTimeAndRO(start, end, resourceName, operation).size();
+        OffsetDateTime[] times = timesCorrection(start, end);
+        String r = correctionOfResourceName(resourceName);
+        String o = correctionOfOperation(operation);
+
+        return rollup.tryCount(AuditTable.RESOURCE_LEVEL_FALSE, times[0], times[1],
+                        Map.of(AuditDimension.RESOURCE_NAME, r, AuditDimension.OPERATION, o))
+                .map(Long::intValue)
+                .orElseGet(() -> getTimeAndRO(start, end, resourceName, operation).size());
     }
     
     //시간 + resourceName + clientIp 으로 조회
@@ -401,13 +487,23 @@ public class ResourceLevelFalseService {
         resourceName = correctionOfResourceName(resourceName);
         clientIp = correctionOfClientIp(clientIp);
         
+        if (!AuditDimension.CLIENT_IP.isExact(clientIp)) {
+            return findByFilters(start, end, Map.of(AuditDimension.RESOURCE_NAME, resourceName, AuditDimension.CLIENT_IP, clientIp));
+        }
         return repo.findByRC(start, end, resourceName, clientIp);
     }
     public int getTimeAndRCCount(
             OffsetDateTime start, OffsetDateTime end,
             String resourceName, String clientIp
     ){
-        return getTimeAndRC(start, end, resourceName, clientIp).size();
+        OffsetDateTime[] times = timesCorrection(start, end);
+        String r = correctionOfResourceName(resourceName);
+        String c = correctionOfClientIp(clientIp);
+
+        return rollup.tryCount(AuditTable.RESOURCE_LEVEL_FALSE, times[0], times[1],
+                        Map.of(AuditDimension.RESOURCE_NAME, r, AuditDimension.CLIENT_IP, c))
+                .map(Long::intValue)
+                .orElseGet(() -> getTimeAndRC(start, end, resourceName, clientIp).size());
     }
 
     //시간 + operation, clientIp
@@ -422,13 +518,23 @@ public class ResourceLevelFalseService {
         operation = correctionOfOperation(operation);
         clientIp = correctionOfClientIp(clientIp);
 
+        if (!AuditDimension.CLIENT_IP.isExact(clientIp)) {
+            return findByFilters(start, end, Map.of(AuditDimension.OPERATION, operation, AuditDimension.CLIENT_IP, clientIp));
+        }
         return repo.findByOC(start, end, operation, clientIp);
     }
     public int getTimeAndOCCount(
             OffsetDateTime start, OffsetDateTime end,
             String operation, String clientIp
     ){
-        return getTimeAndOC(start, end, operation, clientIp).size();
+        OffsetDateTime[] times = timesCorrection(start, end);
+        String o = correctionOfOperation(operation);
+        String c = correctionOfClientIp(clientIp);
+
+        return rollup.tryCount(AuditTable.RESOURCE_LEVEL_FALSE, times[0], times[1],
+                        Map.of(AuditDimension.OPERATION, o, AuditDimension.CLIENT_IP, c))
+                .map(Long::intValue)
+                .orElseGet(() -> getTimeAndOC(start, end, operation, clientIp).size());
     }
 
     /**시간 + 3가지 컬럼으로 조회*/
@@ -451,7 +557,15 @@ public class ResourceLevelFalseService {
             OffsetDateTime start, OffsetDateTime end,
             String principal, String resourceName, String operation
     ){
-        return getTimeAndPRO(start, end, principal, resourceName, operation).size();
+        OffsetDateTime[] times = timesCorrection(start, end);
+        String p = correctionOfPrincipal(principal);
+        String r = correctionOfResourceName(resourceName);
+        String o = correctionOfOperation(operation);
+
+        return rollup.tryCount(AuditTable.RESOURCE_LEVEL_FALSE, times[0], times[1],
+                        Map.of(AuditDimension.PRINCIPAL, p, AuditDimension.RESOURCE_NAME, r, AuditDimension.OPERATION, o))
+                .map(Long::intValue)
+                .orElseGet(() -> getTimeAndPRO(start, end, principal, resourceName, operation).size());
     }
 
     //시간 + principal + resourceName + clientIp
@@ -467,13 +581,24 @@ public class ResourceLevelFalseService {
         resourceName = correctionOfResourceName(resourceName);
         clientIp = correctionOfClientIp(clientIp);
 
+        if (!AuditDimension.CLIENT_IP.isExact(clientIp)) {
+            return findByFilters(start, end, Map.of(AuditDimension.PRINCIPAL, principal, AuditDimension.RESOURCE_NAME, resourceName, AuditDimension.CLIENT_IP, clientIp));
+        }
         return repo.findByPRC(start, end, principal, resourceName, clientIp);
     }
     public int getTimeAndPRCCount(
             OffsetDateTime start, OffsetDateTime end,
             String principal, String resourceName, String clientIp
     ){
-        return getTimeAndPRC(start, end, principal, resourceName, clientIp).size();
+        OffsetDateTime[] times = timesCorrection(start, end);
+        String p = correctionOfPrincipal(principal);
+        String r = correctionOfResourceName(resourceName);
+        String c = correctionOfClientIp(clientIp);
+
+        return rollup.tryCount(AuditTable.RESOURCE_LEVEL_FALSE, times[0], times[1],
+                        Map.of(AuditDimension.PRINCIPAL, p, AuditDimension.RESOURCE_NAME, r, AuditDimension.CLIENT_IP, c))
+                .map(Long::intValue)
+                .orElseGet(() -> getTimeAndPRC(start, end, principal, resourceName, clientIp).size());
     }
 
     //시간 + principal + operation + clientIp
@@ -489,13 +614,24 @@ public class ResourceLevelFalseService {
         operation = correctionOfOperation(operation);
         clientIp = correctionOfClientIp(clientIp);
 
+        if (!AuditDimension.CLIENT_IP.isExact(clientIp)) {
+            return findByFilters(start, end, Map.of(AuditDimension.PRINCIPAL, principal, AuditDimension.OPERATION, operation, AuditDimension.CLIENT_IP, clientIp));
+        }
         return repo.findByPOC(start, end, principal, operation, clientIp);
     }
     public int getTimeAndPOCCount(
             OffsetDateTime start, OffsetDateTime end,
             String principal, String operation, String clientIp
     ){
-        return getTimeAndPOC(start, end, principal, operation, clientIp).size();
+        OffsetDateTime[] times = timesCorrection(start, end);
+        String p = correctionOfPrincipal(principal);
+        String o = correctionOfOperation(operation);
+        String c = correctionOfClientIp(clientIp);
+
+        return rollup.tryCount(AuditTable.RESOURCE_LEVEL_FALSE, times[0], times[1],
+                        Map.of(AuditDimension.PRINCIPAL, p, AuditDimension.OPERATION, o, AuditDimension.CLIENT_IP, c))
+                .map(Long::intValue)
+                .orElseGet(() -> getTimeAndPOC(start, end, principal, operation, clientIp).size());
     }
 
     //시간 + resourceName + operation + clientIp
@@ -511,13 +647,24 @@ public class ResourceLevelFalseService {
         operation = correctionOfOperation(operation);
         clientIp = correctionOfClientIp(clientIp);
 
+        if (!AuditDimension.CLIENT_IP.isExact(clientIp)) {
+            return findByFilters(start, end, Map.of(AuditDimension.RESOURCE_NAME, resourceName, AuditDimension.OPERATION, operation, AuditDimension.CLIENT_IP, clientIp));
+        }
         return repo.findByROC(start, end, resourceName, operation, clientIp);
     }
     public int getTimeAndROCCount(
             OffsetDateTime start, OffsetDateTime end,
             String resourceName, String operation, String clientIp
     ){
-        return getTimeAndROC(start, end, resourceName, operation, clientIp).size();
+        OffsetDateTime[] times = timesCorrection(start, end);
+        String r = correctionOfResourceName(resourceName);
+        String o = correctionOfOperation(operation);
+        String c = correctionOfClientIp(clientIp);
+
+        return rollup.tryCount(AuditTable.RESOURCE_LEVEL_FALSE, times[0], times[1],
+                        Map.of(AuditDimension.RESOURCE_NAME, r, AuditDimension.OPERATION, o, AuditDimension.CLIENT_IP, c))
+                .map(Long::intValue)
+                .orElseGet(() -> getTimeAndROC(start, end, resourceName, operation, clientIp).size());
     }
 
     /** 시간 + 4가지 컬럼으로 찾기 */
@@ -535,13 +682,25 @@ public class ResourceLevelFalseService {
         operation = correctionOfOperation(operation);
         clientIp = correctionOfClientIp(clientIp);
 
+        if (!AuditDimension.CLIENT_IP.isExact(clientIp)) {
+            return findByFilters(start, end, Map.of(AuditDimension.PRINCIPAL, principal, AuditDimension.RESOURCE_NAME, resourceName, AuditDimension.OPERATION, operation, AuditDimension.CLIENT_IP, clientIp));
+        }
         return repo.findByPROC(start, end, principal, resourceName, operation, clientIp);
     }
     public int getTimeAndPROCCount(
             OffsetDateTime start, OffsetDateTime end,
             String principal, String resourceName, String operation, String clientIp
     ){
-        return getTimeAndPROC(start, end, principal, resourceName, operation, clientIp).size();
+        OffsetDateTime[] times = timesCorrection(start, end);
+        String p = correctionOfPrincipal(principal);
+        String r = correctionOfResourceName(resourceName);
+        String o = correctionOfOperation(operation);
+        String c = correctionOfClientIp(clientIp);
+
+        return rollup.tryCount(AuditTable.RESOURCE_LEVEL_FALSE, times[0], times[1],
+                        Map.of(AuditDimension.PRINCIPAL, p, AuditDimension.RESOURCE_NAME, r, AuditDimension.OPERATION, o, AuditDimension.CLIENT_IP, c))
+                .map(Long::intValue)
+                .orElseGet(() -> getTimeAndPROC(start, end, principal, resourceName, operation, clientIp).size());
     }
 
 
@@ -549,4 +708,61 @@ public class ResourceLevelFalseService {
     //resourceName
     //operation
     //clientIp
+
+    /** 시간 버킷별 레코드 갯수 (타임라인 차트용), 필터는 값이 있는 것만 적용 */
+    public List<BucketCount> getHistogram(
+            OffsetDateTime start,
+            OffsetDateTime end,
+            String bucket,
+            String principal,
+            String resourceName,
+            String operation,
+            String clientIp
+    ){
+        OffsetDateTime[] times = timesCorrection(start, end);
+        Map<AuditDimension, String> filters = optionalFilters(principal, resourceName, operation, clientIp);
+        return histogram.histogram(AuditTable.RESOURCE_LEVEL_FALSE, times[0], times[1], bucket, filters);
+    }
+
+    /** 시간 범위 내 groupBy 컬럼 기준 상위 limit 개 (principal, clientIp, resourceName, operation, methodName) */
+    public List<GroupCount> getTop(
+            OffsetDateTime start,
+            OffsetDateTime end,
+            String groupBy,
+            Integer limit,
+            String principal,
+            String resourceName,
+            String operation,
+            String clientIp
+    ){
+        if(groupBy == null || groupBy.isBlank()) {
+            throw new IllegalArgumentException("groupBy 컬럼을 넣어주세요");
+        }
+        OffsetDateTime[] times = timesCorrection(start, end);
+        Map<AuditDimension, String> filters = optionalFilters(principal, resourceName, operation, clientIp);
+        return topN.top(AuditTable.RESOURCE_LEVEL_FALSE, groupBy, times[0], times[1], filters, limit);
+    }
+
+    //값이 있는 필터만 보정해서 모으기
+    private Map<AuditDimension, String> optionalFilters(
+            String principal,
+            String resourceName,
+            String operation,
+            String clientIp
+    ){
+        Map<AuditDimension, String> filters = new EnumMap<>(AuditDimension.class);
+        if(principal != null && !principal.isBlank()) {
+            filters.put(AuditDimension.PRINCIPAL, correctionOfPrincipal(principal));
+        }
+        if(resourceName != null && !resourceName.isBlank()) {
+            filters.put(AuditDimension.RESOURCE_NAME, correctionOfResourceName(resourceName));
+        }
+        if(operation != null && !operation.isBlank()) {
+            filters.put(AuditDimension.OPERATION, correctionOfOperation(operation));
+        }
+        if(clientIp != null && !clientIp.isBlank()) {
+            filters.put(AuditDimension.CLIENT_IP, correctionOfClientIp(clientIp));
+        }
+        return filters;
+    }
 }
@@ -1,7 +1,15 @@
 package com.finalproject.springbackend.db.service;
 
+import com.finalproject.springbackend.annotation.CachedAuditQuery;
+import com.finalproject.springbackend.db.entity.AuditDimension;
+import com.finalproject.springbackend.db.entity.AuditTable;
 import com.finalproject.springbackend.db.entity.SystemLevelFalse;
+import com.finalproject.springbackend.db.repository.AuditNativeRepository;
+import com.finalproject.springbackend.db.repository.AuditRowRepository;
 import com.finalproject.springbackend.db.repository.SystemLevelFalseRepository;
+import com.finalproject.springbackend.db.repository.projection.BucketCount;
+import com.finalproject.springbackend.db.repository.projection.GroupCount;
+import com.finalproject.springbackend.dto.SystemLevelFalseResponseDTO;
 import com.finalproject.springbackend.util.TimeZoneUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -9,15 +17,23 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.OffsetDateTime;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 
 @Slf4j
 @Service
 @Transactional(readOnly = true)
 @RequiredArgsConstructor
+@CachedAuditQuery(AuditTable.SYSTEM_LEVEL_FALSE)
 public class SystemLevelFalseService {
 
     private final SystemLevelFalseRepository repo;
+    private final AuditRowRepository rowRepo;
+    private final AuditNativeRepository nativeRepo;
+    private final AuditRollupService rollup;
+    private final AuditHistogramService histogram;
+    private final AuditTopNService topN;
 
     /** start, end 시간 보정 메서드 (한국 시간대 처리) */
     //start, end 시간 전체 보정
@@ -90,6 +106,12 @@ public class SystemLevelFalseService {
         return clientIp.replaceAll("\\s+", "");
     }
     
+    //clientIp 가 CIDR/목록 값이면 JPA 동등 비교 대신 count/histogram 과 같은 AuditDimension 조건으로 조회 (start 가 null 이면 시간 조건 없음)
+    private List<SystemLevelFalse> findByFilters(OffsetDateTime start, OffsetDateTime end, Map<AuditDimension, String> filters) {
+        return nativeRepo.findEntities(AuditTable.SYSTEM_LEVEL_FALSE, SystemLevelFalse.class, start, end, filters,
+                AuditTable.SYSTEM_LEVEL_FALSE.getTimeColumn() + " ASC");
+    }
+
     //모든 레코드 불러오기
     public List<SystemLevelFalse> getAll() { return repo.findAll(); }
     //모든 레코드 갯수
@@ -105,12 +127,17 @@ public class SystemLevelFalseService {
         return repo.findByTimeOnly(start, end);
     }
 
+    //시간 범위 레코드를 응답 DTO 로 바로 조회 (엔티티 생성/변환 생략)
+    public List<SystemLevelFalseResponseDTO> getTimeOnlyRows(OffsetDateTime start, OffsetDateTime end) {
+        OffsetDateTime[] times = timeCorrection(start, end);
+        return rowRepo.findSystemLevelFalseByTimeOnly(times[0], times[1]);
+    }
+
 
     public Long getTimeOnlyCount(OffsetDateTime start, OffsetDateTime end){
         OffsetDateTime[] times = timeCorrection(start, end);
-        start = times[0];
-        end = times[1];
-        return repo.findByTimeOnlyCount(start, end);
+        return rollup.tryCount(AuditTable.SYSTEM_LEVEL_FALSE, times[0], times[1], Map.of())
+                .orElseGet(() -> repo.findByTimeOnlyCount(times[0], times[1]));
     }
 
     //하나의 컬럼으로 레코드 찾기
@@ -128,6 +155,9 @@ public class SystemLevelFalseService {
     }
     public List<SystemLevelFalse> getClientIp(String clientIp) {
         clientIp = correctionOfClientIp(clientIp);
+        if (!AuditDimension.CLIENT_IP.isExact(clientIp)) {
+            return findByFilters(null, null, Map.of(AuditDimension.CLIENT_IP, clientIp));
+        }
         return repo.findByClientIp(clientIp);
     }
 
@@ -146,6 +176,9 @@ public class SystemLevelFalseService {
     }
     public Long getClientIpCount(String clientIp) {
         clientIp = correctionOfClientIp(clientIp);
+        if (!AuditDimension.CLIENT_IP.isExact(clientIp)) {
+            return nativeRepo.count(AuditTable.SYSTEM_LEVEL_FALSE, null, null, true, Map.of(AuditDimension.CLIENT_IP, clientIp));
+        }
         return repo.countByClientIp(clientIp);
     }
 
@@ -167,11 +200,11 @@ public class SystemLevelFalseService {
             String input
     ){
         OffsetDateTime[] times = timeCorrection(start, end);
-        start = times[0];
-        end = times[1];
-        input = correctionOfPrincipal(input);
+        String p = correctionOfPrincipal(input);
 
-        return repo.getPCount(start, end, input);
+        return rollup.tryCount(AuditTable.SYSTEM_LEVEL_FALSE, times[0], times[1],
+                        Map.of(AuditDimension.PRINCIPAL, p))
+                .orElseGet(() -> repo.getPCount(times[0], times[1], p));
     }
 
     public List<SystemLevelFalse> getR(
@@ -191,11 +224,11 @@ public class SystemLevelFalseService {
             String input
     ){
         OffsetDateTime[] times = timeCorrection(start, end);
-        start = times[0];
-        end = times[1];
-        input = correctionOfResourceName(input);
+        String r = correctionOfResourceName(input);
 
-        return repo.getRCount(start, end, input);
+        return rollup.tryCount(AuditTable.SYSTEM_LEVEL_FALSE, times[0], times[1],
+                        Map.of(AuditDimension.RESOURCE_NAME, r))
+                .orElseGet(() -> repo.getRCount(times[0], times[1], r));
     }
 
     public List<SystemLevelFalse> getO(
@@ -215,11 +248,11 @@ public class SystemLevelFalseService {
             String input
     ){
         OffsetDateTime[] times = timeCorrection(start, end);
-        start = times[0];
-        end = times[1];
-        input = correctionOfOperation(input);
+        String o = correctionOfOperation(input);
 
-        return repo.getOCount(start, end, input);
+        return rollup.tryCount(AuditTable.SYSTEM_LEVEL_FALSE, times[0], times[1],
+                        Map.of(AuditDimension.OPERATION, o))
+                .orElseGet(() -> repo.getOCount(times[0], times[1], o));
     }
 
     public List<SystemLevelFalse> getC(
@@ -231,6 +264,9 @@ public class SystemLevelFalseService {
         end = times[1];
         input = correctionOfClientIp(input);
 
+        if (!AuditDimension.CLIENT_IP.isExact(input)) {
+            return findByFilters(start, end, Map.of(AuditDimension.CLIENT_IP, input));
+        }
         return repo.getC(start, end, input);
     }
 
@@ -239,11 +275,11 @@ public class SystemLevelFalseService {
             String input
     ){
         OffsetDateTime[] times = timeCorrection(start, end);
-        start = times[0];
-        end = times[1];
-        input = correctionOfClientIp(input);
+        String c = correctionOfClientIp(input);
 
-        return repo.getCCount(start, end, input);
+        return rollup.tryCount(AuditTable.SYSTEM_LEVEL_FALSE, times[0], times[1],
+                        Map.of(AuditDimension.CLIENT_IP, c))
+                .orElseGet(() -> repo.getCCount(times[0], times[1], c));
     }
 
     public List<SystemLevelFalse> getPR(
@@ -265,12 +301,12 @@ public class SystemLevelFalseService {
             String resourceName
     ){
         OffsetDateTime[] times = timeCorrection(start, end);
-        start = times[0];
-        end = times[1];
-        principal = correctionOfPrincipal(principal);
-        resourceName = correctionOfResourceName(resourceName);
+        String p = correctionOfPrincipal(principal);
+        String r = correctionOfResourceName(resourceName);
 
-        return repo.getPRCount(start, end, principal, resourceName);
+        return rollup.tryCount(AuditTable.SYSTEM_LEVEL_FALSE, times[0], times[1],
+                        Map.of(AuditDimension.PRINCIPAL, p, AuditDimension.RESOURCE_NAME, r))
+                .orElseGet(() -> repo.getPRCount(times[0], times[1], p, r));
     }
 
     public List<SystemLevelFalse> getPO(
@@ -292,12 +328,12 @@ public class SystemLevelFalseService {
             String input2
     ){
         OffsetDateTime[] times = timeCorrection(start, end);
-        start = times[0];
-        end = times[1];
-        input1 = correctionOfPrincipal(input1);
-        input2 = correctionOfOperation(input2);
+        String p = correctionOfPrincipal(input1);
+        String o = correctionOfOperation(input2);
 
-        return repo.getPOCount(start, end, input1, input2);
+        return rollup.tryCount(AuditTable.SYSTEM_LEVEL_FALSE, times[0], times[1],
+                        Map.of(AuditDimension.PRINCIPAL, p, AuditDimension.OPERATION, o))
+                .orElseGet(() -> repo.getPOCount(times[0], times[1], p, o));
     }
 
     public List<SystemLevelFalse> getPC(
@@ -311,6 +347,9 @@ public class SystemLevelFalseService {
         input1 = correctionOfPrincipal(input1);
         input2 = correctionOfClientIp(input2);
 
+        if (!AuditDimension.CLIENT_IP.isExact(input2)) {
+            return findByFilters(start, end, Map.of(AuditDimension.PRINCIPAL, input1, AuditDimension.CLIENT_IP, input2));
+        }
         return repo.getPC(start, end, input1, input2);
     }
     public Long getPCCount(
@@ -319,12 +358,12 @@ public class SystemLevelFalseService {
             String input2
     ){
         OffsetDateTime[] times = timeCorrection(start, end);
-        start = times[0];
-        end = times[1];
-        input1 = correctionOfPrincipal(input1);
-        input2 = correctionOfClientIp(input2);
+        String p = correctionOfPrincipal(input1);
+        String c = correctionOfClientIp(input2);
 
-        return repo.getPCCount(start, end, input1, input2);
+        return rollup.tryCount(AuditTable.SYSTEM_LEVEL_FALSE, times[0], times[1],
+                        Map.of(AuditDimension.PRINCIPAL, p, AuditDimension.CLIENT_IP, c))
+                .orElseGet(() -> repo.getPCCount(times[0], times[1], p, c));
     }
 
     public List<SystemLevelFalse> getRO(
@@ -346,12 +385,12 @@ public class SystemLevelFalseService {
             String input2
     ){
         OffsetDateTime[] times = timeCorrection(start, end);
-        start = times[0];
-        end = times[1];
-        input1 = correctionOfResourceName(input1);
-        input2 = correctionOfOperation(input2);
+        String r = correctionOfResourceName(input1);
+        String o = correctionOfOperation(input2);
 
-        return repo.getROCount(start, end, input1, input2);
+        return rollup.tryCount(AuditTable.SYSTEM_LEVEL_FALSE, times[0], times[1],
+                        Map.of(AuditDimension.RESOURCE_NAME, r, AuditDimension.OPERATION, o))
+                .orElseGet(() -> repo.getROCount(times[0], times[1], r, o));
     }
 
     public List<SystemLevelFalse> getRC(
@@ -365,6 +404,9 @@ public class SystemLevelFalseService {
         input1 = correctionOfResourceName(input1);
         input2 = correctionOfClientIp(input2);
 
+        if (!AuditDimension.CLIENT_IP.isExact(input2)) {
+            return findByFilters(start, end, Map.of(AuditDimension.RESOURCE_NAME, input1, AuditDimension.CLIENT_IP, input2));
+        }
         return repo.getRC(start, end, input1, input2);
     }
     public Long getRCCount(
@@ -373,12 +415,12 @@ public class SystemLevelFalseService {
             String input2
     ){
         OffsetDateTime[] times = timeCorrection(start, end);
-        start = times[0];
-        end = times[1];
-        input1 = correctionOfResourceName(input1);
-        input2 = correctionOfClientIp(input2);
+        String r = correctionOfResourceName(input1);
+        String c = correctionOfClientIp(input2);
 
-        return repo.getRCCount(start, end, input1, input2);
+        return rollup.tryCount(AuditTable.SYSTEM_LEVEL_FALSE, times[0], times[1],
+                        Map.of(AuditDimension.RESOURCE_NAME, r, AuditDimension.CLIENT_IP, c))
+                .orElseGet(() -> repo.getRCCount(times[0], times[1], r, c));
     }
 
     public List<SystemLevelFalse> getOC(
@@ -392,6 +434,9 @@ public class SystemLevelFalseService {
         input1 = correctionOfOperation(input1);
         input2 = correctionOfClientIp(input2);
 
+        if (!AuditDimension.CLIENT_IP.isExact(input2)) {
+            return findByFilters(start, end, Map.of(AuditDimension.OPERATION, input1, AuditDimension.CLIENT_IP, input2));
+        }
         return repo.getOC(start, end, input1, input2);
     }
     public Long getOCCount(
@@ -400,12 +445,12 @@ public class SystemLevelFalseService {
             String input2
     ){
         OffsetDateTime[] times = timeCorrection(start, end);
-        start = times[0];
-        end = times[1];
-        input1 = correctionOfOperation(input1);
-        input2 = correctionOfClientIp(input2);
+        String o = correctionOfOperation(input1);
+        String c = correctionOfClientIp(input2);
 
-        return repo.getOCCount(start, end, input1, input2);
+        return rollup.tryCount(AuditTable.SYSTEM_LEVEL_FALSE, times[0], times[1],
+                        Map.of(AuditDimension.OPERATION, o, AuditDimension.CLIENT_IP, c))
+                .orElseGet(() -> repo.getOCCount(times[0], times[1], o, c));
     }
 
     /**시간 + 3개 컬럼으로 조회*/
@@ -431,13 +476,13 @@ public class SystemLevelFalseService {
             String input3
     ){
         OffsetDateTime[] times = timeCorrection(start, end);
-        start = times[0];
-        end = times[1];
-        input1 = correctionOfPrincipal(input1);
-        input2 = correctionOfResourceName(input2);
-        input3 = correctionOfOperation(input3);
+        String p = correctionOfPrincipal(input1);
+        String r = correctionOfResourceName(input2);
+        String o = correctionOfOperation(input3);
 
-        return repo.getPROCount(start, end, input1, input2, input3);
+        return rollup.tryCount(AuditTable.SYSTEM_LEVEL_FALSE, times[0], times[1],
+                        Map.of(AuditDimension.PRINCIPAL, p, AuditDimension.RESOURCE_NAME, r, AuditDimension.OPERATION, o))
+                .orElseGet(() -> repo.getPROCount(times[0], times[1], p, r, o));
     }
 
     public List<SystemLevelFalse> getPRC(
@@ -453,6 +498,9 @@ public class SystemLevelFalseService {
         input2 = correctionOfResourceName(input2);
         input3 = correctionOfClientIp(input3);
 
+        if (!AuditDimension.CLIENT_IP.isExact(input3)) {
+            return findByFilters(start, end, Map.of(AuditDimension.PRINCIPAL, input1, AuditDimension.RESOURCE_NAME, input2, AuditDimension.CLIENT_IP, input3));
+        }
         return repo.getPRC(start, end, input1, input2, input3);
     }
     public Long getPRCCount(
@@ -462,13 +510,13 @@ public class SystemLevelFalseService {
             String input3
     ){
         OffsetDateTime[] times = timeCorrection(start, end);
-        start = times[0];
-        end = times[1];
-        input1 = correctionOfPrincipal(input1);
-        input2 = correctionOfResourceName(input2);
-        input3 = correctionOfClientIp(input3);
+        String p = correctionOfPrincipal(input1);
+        String r = correctionOfResourceName(input2);
+        String c = correctionOfClientIp(input3);
 
-        return repo.getPRCCount(start, end, input1, input2, input3);
+        return rollup.tryCount(AuditTable.SYSTEM_LEVEL_FALSE, times[0], times[1],
+                        Map.of(AuditDimension.PRINCIPAL, p, AuditDimension.RESOURCE_NAME, r, AuditDimension.CLIENT_IP, c))
+                .orElseGet(() -> repo.getPRCCount(times[0], times[1], p, r, c));
     }
 
     public List<SystemLevelFalse> getPOC(
@@ -484,6 +532,9 @@ public class SystemLevelFalseService {
         input2 = correctionOfOperation(input2);
         input3 = correctionOfClientIp(input3);
 
+        if (!AuditDimension.CLIENT_IP.isExact(input3)) {
+            return findByFilters(start, end, Map.of(AuditDimension.PRINCIPAL, input1, AuditDimension.OPERATION, input2, AuditDimension.CLIENT_IP, input3));
+        }
         return repo.getPOC(start, end, input1, input2, input3);
     }
     public Long getPOCCount(
@@ -493,13 +544,13 @@ public class SystemLevelFalseService {
             String input3
     ){
         OffsetDateTime[] times = timeCorrection(start, end);
-        start = times[0];
-        end = times[1];
-        input1 = correctionOfPrincipal(input1);
-        input2 = correctionOfOperation(input2);
-        input3 = correctionOfClientIp(input3);
+        String p = correctionOfPrincipal(input1);
+        String o = correctionOfOperation(input2);
+        String c = correctionOfClientIp(input3);
 
-        return repo.getPOCCount(start, end, input1, input2, input3);
+        return rollup.tryCount(AuditTable.SYSTEM_LEVEL_FALSE, times[0], times[1],
+                        Map.of(AuditDimension.PRINCIPAL, p, AuditDimension.OPERATION, o, AuditDimension.CLIENT_IP, c))
+                .orElseGet(() -> repo.getPOCCount(times[0], times[1], p, o, c));
     }
 
     public List<SystemLevelFalse> getROC(
@@ -515,6 +566,9 @@ public class SystemLevelFalseService {
         input2 = correctionOfOperation(input2);
         input3 = correctionOfClientIp(input3);
 
+        if (!AuditDimension.CLIENT_IP.isExact(input3)) {
+            return findByFilters(start, end, Map.of(AuditDimension.RESOURCE_NAME, input1, AuditDimension.OPERATION, input2, AuditDimension.CLIENT_IP, input3));
+        }
         return repo.getROC(start, end, input1, input2, input3);
     }
     public Long getROCCount(
@@ -524,13 +578,13 @@ public class SystemLevelFalseService {
             String input3
     ){
         OffsetDateTime[] times = timeCorrection(start, end);
-        start = times[0];
-        end = times[1];
-        input1 = correctionOfResourceName(input1);
-        input2 = correctionOfOperation(input2);
-        input3 = correctionOfClientIp(input3);
+        String r = correctionOfResourceName(input1);
+        String o = correctionOfOperation(input2);
+        String c = correctionOfClientIp(input3);
 
-        return repo.getROCCount(start, end, input1, input2, input3);
+        return rollup.tryCount(AuditTable.SYSTEM_LEVEL_FALSE, times[0], times[1],
+                        Map.of(AuditDimension.RESOURCE_NAME, r, AuditDimension.OPERATION, o, AuditDimension.CLIENT_IP, c))
+                .orElseGet(() -> repo.getROCCount(times[0], times[1], r, o, c));
     }
 
     public List<SystemLevelFalse> getPROC(
@@ -548,6 +602,9 @@ public class SystemLevelFalseService {
         input3 = correctionOfOperation(input3);
         input4 = correctionOfClientIp(input4);
 
+        if (!AuditDimension.CLIENT_IP.isExact(input4)) {
+            return findByFilters(start, end, Map.of(AuditDimension.PRINCIPAL, input1, AuditDimension.RESOURCE_NAME, input2, AuditDimension.OPERATION, input3, AuditDimension.CLIENT_IP, input4));
+        }
         return repo.getPROC(start, end, input1, input2, input3, input4);
     }
     public Long getPROCCount(
@@ -558,14 +615,46 @@ public class SystemLevelFalseService {
             String input4
     ){
         OffsetDateTime[] times = timeCorrection(start, end);
-        start = times[0];
-        end = times[1];
-        input1 = correctionOfPrincipal(input1);
-        input2 = correctionOfResourceName(input2);
-        input3 = correctionOfOperation(input3);
-        input4 = correctionOfClientIp(input4);
+        String p = correctionOfPrincipal(input1);
+        String r = correctionOfResourceName(input2);
+        String o = correctionOfOperation(input3);
+        String c = correctionOfClientIp(input4);
+
+        return rollup.tryCount(AuditTable.SYSTEM_LEVEL_FALSE, times[0], times[1],
+                        Map.of(AuditDimension.PRINCIPAL, p, AuditDimension.RESOURCE_NAME, r, AuditDimension.OPERATION, o, AuditDimension.CLIENT_IP, c))
+                .orElseGet(() -> repo.getPROCCount(times[0], times[1], p, r, o, c));
+    }
 
-        return repo.getPROCCount(start, end, input1, input2, input3, input4);
+    /** 시간 버킷별 레코드 갯수 (타임라인 차트용), 필터는 값이 있는 것만 적용 */
+    public List<BucketCount> getHistogram(
+            OffsetDateTime start, OffsetDateTime end, String bucket,
+            String principal, String resourceName, String operation, String clientIp
+    ){
+        OffsetDateTime[] times = timeCorrection(start, end);
+        Map<AuditDimension, String> filters = optionalFilters(principal, resourceName, operation, clientIp);
+        return histogram.histogram(AuditTable.SYSTEM_LEVEL_FALSE, times[0], times[1], bucket, filters);
     }
 
+    /** 시간 범위 내 groupBy 컬럼 기준 상위 limit 개 (principal, clientIp, resourceName, operation, methodName) */
+    public List<GroupCount> getTop(
+            OffsetDateTime start, OffsetDateTime end, String groupBy, Integer limit,
+            String principal, String resourceName, String operation, String clientIp
+    ){
+        if(groupBy == null || groupBy.isBlank()) { throw new IllegalArgumentException("groupBy 컬럼을 넣어주세요"); }
+        OffsetDateTime[] times = timeCorrection(start, end);
+        Map<AuditDimension, String> filters = optionalFilters(principal, resourceName, operation, clientIp);
+        return topN.top(AuditTable.SYSTEM_LEVEL_FALSE, groupBy, times[0], times[1], filters, limit);
+    }
+
+    //값이 있는 필터만 보정해서 모으기
+    private Map<AuditDimension, String> optionalFilters(
+            String principal, String resourceName, String operation, String clientIp
+    ){
+        Map<AuditDimension, String> filters = new EnumMap<>(AuditDimension.class);
+        if(principal != null && !principal.isBlank()) { filters.put(AuditDimension.PRINCIPAL, correctionOfPrincipal(principal)); }
+        if(resourceName != null && !resourceName.isBlank()) { filters.put(AuditDimension.RESOURCE_NAME, correctionOfResourceName(resourceName)); }
+        if(operation != null && !operation.isBlank()) { filters.put(AuditDimension.OPERATION, correctionOfOperation(operation)); }
+        if(clientIp != null && !clientIp.isBlank()) { filters.put(AuditDimension.CLIENT_IP, correctionOfClientIp(clientIp)); }
+        return filters;
+    }
 }
@@ -0,0 +1,20 @@
+package com.finalproject.springbackend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AclDTO {
+    private String principal;       // 예: User:alice
+    private String resourceType;    // TOPIC, GROUP, CLUSTER, TRANSACTIONAL_ID, DELEGATION_TOKEN
+    private String resourceName;
+    private String operation;       // READ, WRITE, ... ALL
+    private String permissionType;  // ALLOW, DENY
+    private String host;            // 기본 *
+    private String patternType;     // LITERAL, PREFIXED
+}
@@ -0,0 +1,35 @@
+package com.finalproject.springbackend.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.OffsetDateTime;
+
+/**
+ * /api/db/search 통합 검색 결과 한 행
+ * source 로 어느 테이블에서 왔는지 구분하고, 테이블에 없는 컬럼은 응답에서 생략
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class AuditSearchRowDTO {
+
+    private String source;          // certified-2time, certified-notMove, system-level-false, resource-level-false
+    private String id;
+    private String eventTimeKST;    // "2025-02-03 오전 04:09:02" 형태
+    private String clientIp;
+    private String principal;
+    private String operation;
+    private String resourceName;
+    private String alertType;
+    private String description;
+
+    @JsonIgnore
+    private OffsetDateTime eventTime;   // 병합 정렬 기준
+}
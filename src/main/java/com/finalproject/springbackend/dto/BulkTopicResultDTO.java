@@ -0,0 +1,19 @@
+package com.finalproject.springbackend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 토픽 일괄 작업(생성/삭제/설정 변경)의 토픽별 결과
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkTopicResultDTO {
+    private String topicName;
+    private boolean success;
+    private String message;
+}
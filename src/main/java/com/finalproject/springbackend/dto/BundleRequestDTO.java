@@ -0,0 +1,34 @@
+package com.finalproject.springbackend.dto;
+
+import lombok.*;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * POST /api/db/bundle 요청
+ * 대시보드에서 여러 번 보내던 count/집계 요청을 이름 붙인 하위 쿼리 목록으로 한 번에 보낸다.
+ */
+@Getter @Setter
+@NoArgsConstructor
+@ToString
+public class BundleRequestDTO {
+    private List<SubQuery> queries = new ArrayList<>();
+
+    @Getter @Setter
+    @NoArgsConstructor
+    @ToString
+    public static class SubQuery {
+        private String name;            //응답 JSON 의 키 (요청 내 중복 불가)
+        private String table;           //system-level-false, resource-level-false, certified-2time, certified-notMove
+        private String type = "count";  //count, histogram, top
+        private String start;           //시작 시간 (ISO 8601 형식)
+        private String end;             //종료 시간 (없으면 현재 시간)
+        private Map<String, String> filters = new LinkedHashMap<>();   //principal, clientIp, resourceName, operation, alertType ...
+        private String groupBy;         //type=top 일 때 그룹 컬럼
+        private Integer limit;          //type=top 일 때 상위 갯수
+        private String bucket;          //type=histogram 일 때 버킷 크기 (5m, 1h ...)
+    }
+}
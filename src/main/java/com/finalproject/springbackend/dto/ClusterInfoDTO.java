@@ -14,9 +14,12 @@ import java.util.Map;
 @AllArgsConstructor
 public class ClusterInfoDTO {
     private String clusterId;
+    private int controllerId;               // 컨트롤러 브로커 ID (알 수 없으면 -1)
     private List<BrokerInfo> brokers;
     private Map<String, String> clusterConfigs;
     private int totalPartitions;
+    private int underReplicatedPartitions;  // ISR < 레플리카 수
+    private int offlinePartitions;          // 리더 없음
     private int totalTopics;
 
     @Data
@@ -29,5 +32,7 @@ public class ClusterInfoDTO {
         private int port;
         private String rack;
         private boolean isController;
+        private int leaderCount;    // 이 브로커가 리더인 파티션 수
+        private int replicaCount;   // 이 브로커에 있는 레플리카 수
     }
 }
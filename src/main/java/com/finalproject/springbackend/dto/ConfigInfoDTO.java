@@ -1,10 +1,12 @@
 package com.finalproject.springbackend.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.List;
 import java.util.Map;
 
 @Data
@@ -23,6 +25,36 @@ public class ConfigInfoDTO {
     public static class ConfigUpdateRequest {
         private String resourceType;
         private String resourceName;
-        private Map<String, String> configs;
+        private Map<String, String> configs;          // 값이 null 이면 기본값으로 되돌림 (DELETE)
+        private Map<String, List<String>> append;     // 목록형 설정에 항목 추가 (APPEND)
+        private Map<String, List<String>> subtract;   // 목록형 설정에서 항목 제거 (SUBTRACT)
+    }
+
+    /**
+     * 리소스별 설정 변경 결과 (dryRun 이면 적용 예정 내역)
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ConfigDiff {
+        private String resourceType;
+        private String resourceName;
+        private List<ConfigChange> changes;
+        private boolean applied;
+        private String error;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ConfigChange {
+        private String op;         // SET, DELETE, APPEND, SUBTRACT
+        private String name;
+        private String oldValue;
+        private String newValue;   // 적용 후 값 (DELETE 면 null, 기본값으로 돌아감)
+        @JsonIgnore
+        private String opValue;    // 브로커에 보내는 값 (APPEND/SUBTRACT 는 추가/제거 항목만)
     }
 }
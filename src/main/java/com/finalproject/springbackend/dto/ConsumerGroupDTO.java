@@ -0,0 +1,46 @@
+package com.finalproject.springbackend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ConsumerGroupDTO {
+    private String groupId;
+    private String state;
+    private String coordinator;
+    private List<MemberInfo> members;
+    private Map<String, String> assignments;   // "topic-partition" -> memberId
+    private long lag;                          // 파티션 lag 합계
+    private List<PartitionLag> partitions;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class MemberInfo {
+        private String memberId;
+        private String clientId;
+        private String host;
+        private List<String> assignedPartitions;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class PartitionLag {
+        private String topicName;
+        private int partition;
+        private long committedOffset;
+        private long logEndOffset;
+        private long lag;
+    }
+}
@@ -18,8 +18,9 @@ public class PartitionInfoDTO {
     private List<Integer> replicas;
     private List<Integer> isr;
     private boolean offline;
-    private long size;
-    private long offset;
+    private long size;            // 리더 레플리카 로그 크기 (bytes)
+    private long earliestOffset;  // 가장 오래 남아 있는 오프셋
+    private long offset;          // 로그 끝 오프셋 (latest)
 
     @Data
     @Builder
@@ -0,0 +1,102 @@
+package com.finalproject.springbackend.filter;
+
+import com.finalproject.springbackend.config.ReplicaRoutingDataSource;
+import com.finalproject.springbackend.db.entity.AuditTable;
+import com.finalproject.springbackend.db.service.AuditIngestWatermark;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * /api/db/* GET 조건부 응답 (ETag / Last-Modified)
+ *
+ * 대시보드가 같은 /count, 집계 API 를 몇 초마다 폴링하므로, 요청 경로의 테이블 워터마크(AuditIngestWatermark)로
+ * 검증자를 만들고 If-None-Match / If-Modified-Since 가 맞으면 컨트롤러(DB) 를 타지 않고 304 로 끝낸다.
+ * - ETag: 테이블별 누적 변경 수(version) + 최대 이벤트 시각. 늦게 도착한 과거 데이터, 보존기간 삭제도 version 을 움직인다.
+ * - Last-Modified: version 변화를 마지막으로 관측한 시각
+ * 워터마크가 아직 없는(첫 폴링 전) 테이블이 섞이면 검증하지 않고 그대로 통과시킨다.
+ * 읽기 복제본을 쓰면 응답은 복제본에서 만들어지므로, 복제본이 워터마크의 primary WAL 위치(walLsn)까지 재생하기 전에는
+ * 검증자를 붙이지 않는다. (지연된 복제본 결과에 새 version 이 찍혀 이후 폴링이 계속 304 로 고정되는 것 방지)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AuditConditionalGetInterceptor implements HandlerInterceptor {
+
+    private static final Map<String, List<AuditTable>> PATH_TABLES = Map.of(
+            "/api/db/certified_2_time", List.of(AuditTable.CERTIFIED_2TIME),
+            "/api/db/certified_not_move", List.of(AuditTable.CERTIFIED_NOT_MOVE),
+            "/api/db/system_level_false", List.of(AuditTable.SYSTEM_LEVEL_FALSE),
+            "/api/db/resource_level_false", List.of(AuditTable.RESOURCE_LEVEL_FALSE),
+            "/api/db/search", List.of(AuditTable.values())
+    );
+
+    private final AuditIngestWatermark watermark;
+    private final ObjectProvider<ReplicaRoutingDataSource> replicaRouting;
+
+    @Value("${audit.conditional-get.enabled:true}")
+    private boolean enabled;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // 비동기 조회(AsyncQueryExecutor) 완료 후 재디스패치에서는 다시 검사하지 않음
+        if (!enabled || !"GET".equals(request.getMethod()) || request.getDispatcherType() == DispatcherType.ASYNC) {
+            return true;
+        }
+        List<AuditTable> tables = tablesOf(request.getRequestURI().substring(request.getContextPath().length()));
+        if (tables == null) {
+            return true;
+        }
+
+        ReplicaRoutingDataSource replicas = replicaRouting.getIfAvailable();
+        StringBuilder etag = new StringBuilder("\"");
+        OffsetDateTime lastModified = null;
+        for (AuditTable table : tables) {
+            AuditIngestWatermark.Mark mark = watermark.get(table);
+            if (mark.version() < 0) {
+                return true;
+            }
+            if (replicas != null && mark.walLsn() >= 0 && !replicas.replayedTo(mark.walLsn())) {
+                log.debug("⏳ 복제본이 워터마크 위치까지 재생하지 않아 조건부 GET 생략: {}", table.getTableName());
+                return true;
+            }
+            etag.append(Long.toHexString(mark.version())).append('-')
+                    .append(mark.maxTime() == null ? 0 : mark.maxTime().toInstant().toEpochMilli()).append('.');
+            if (lastModified == null || mark.changedAt().isAfter(lastModified)) {
+                lastModified = mark.changedAt();
+            }
+        }
+        etag.setLength(etag.length() - 1);
+        etag.append('"');
+
+        // 브라우저가 매번 재검증하도록 (공유 캐시는 사용자별 응답을 저장하지 않음)
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "private, no-cache");
+        if (new ServletWebRequest(request, response).checkNotModified(etag.toString(), lastModified.toInstant().toEpochMilli())) {
+            log.debug("♻️ 304 Not Modified: {}?{}", request.getRequestURI(), request.getQueryString());
+            return false;
+        }
+        return true;
+    }
+
+    /** 요청 경로의 조회 대상 테이블 (대상이 아니면 null) */
+    private static List<AuditTable> tablesOf(String path) {
+        for (Map.Entry<String, List<AuditTable>> entry : PATH_TABLES.entrySet()) {
+            if (path.equals(entry.getKey()) || path.startsWith(entry.getKey() + "/")) {
+                return entry.getValue();
+            }
+        }
+        return null;
+    }
+}
@@ -26,6 +26,9 @@ public class AuthService {
 
     private final TopicService topicService;
     private final PermissionService permissionService;
+    private final KafkaAdminFactory kafkaAdminFactory;
+    private final KafkaMetadataCache kafkaMetadataCache;
+    private final KafkaManagementService kafkaManagementService;
 
     private final Set<String> blacklistedTokens = ConcurrentHashMap.newKeySet();
     private final Map<String, String> userPasswords = new ConcurrentHashMap<>();
@@ -132,7 +135,10 @@ public class AuthService {
                 // 로그아웃 시 사용자 비밀번호 제거 (SSE Consumer 중지 후)
                 if (username != null) {
                     // SseService에서 Consumer 중지 후 비밀번호 제거하도록 수정
-                    // 사용자 토큰 무효화 완료
+                    // 풀에 보관 중인 AdminClient 연결 해제
+                    kafkaAdminFactory.invalidate(username);
+                    kafkaMetadataCache.invalidate(username);
+                    kafkaManagementService.invalidate(username);
                 }
                 
                 cleanupExpiredTokens();
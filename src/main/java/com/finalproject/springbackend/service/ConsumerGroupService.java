@@ -0,0 +1,263 @@
+package com.finalproject.springbackend.service;
+
+import com.finalproject.springbackend.dto.ConsumerGroupDTO;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.admin.ConsumerGroupDescription;
+import org.apache.kafka.clients.admin.ConsumerGroupListing;
+import org.apache.kafka.clients.admin.ListOffsetsResult;
+import org.apache.kafka.clients.admin.MemberDescription;
+import org.apache.kafka.clients.admin.OffsetSpec;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.KafkaFuture;
+import org.apache.kafka.common.Node;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Consumer Group 관리 (목록, 상세, 삭제, 오프셋 리셋) 와 lag 계산
+ *
+ * lag 은 그룹마다 listConsumerGroupOffsets 를 한 번씩 모두 보낸 뒤(동시 진행) 결과를 모으고,
+ * 관련 파티션 전체의 로그 끝 오프셋은 listOffsets(latest) 한 번으로 구한다.
+ * 계산한 그룹별 lag 은 lag-ttl-ms 동안 (사용자, 그룹) 단위로 캐시해 폴링이 몰려도 브로커 요청이 늘지 않는다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ConsumerGroupService {
+
+    private static final long TIMEOUT_SECONDS = 10;
+
+    private final KafkaAdminFactory factory;
+
+    private final Map<String, CachedLag> lagCache = new ConcurrentHashMap<>();
+
+    @Value("${kafka.consumer-groups.lag-ttl-ms:5000}")
+    private long lagTtlMs;
+
+    private record CachedLag(List<ConsumerGroupDTO.PartitionLag> partitions, long expiresAt) {}
+
+    /**
+     * Consumer Group 목록 조회
+     */
+    public List<String> listGroups(String username, String password) throws Exception {
+        return factory.withAdminClient(username, password, admin -> admin.listConsumerGroups()
+                .all()
+                .get(TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                .stream()
+                .map(ConsumerGroupListing::groupId)
+                .sorted()
+                .toList());
+    }
+
+    /**
+     * 전체 Consumer Group 요약 (상태 + lag, 멤버 정보 제외)
+     */
+    public List<ConsumerGroupDTO> listGroupsWithLag(String username, String password) throws Exception {
+        return factory.withAdminClient(username, password, admin -> {
+            List<String> groupIds = admin.listConsumerGroups()
+                    .all()
+                    .get(TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                    .stream()
+                    .map(ConsumerGroupListing::groupId)
+                    .sorted()
+                    .toList();
+            if (groupIds.isEmpty()) {
+                return List.of();
+            }
+
+            // 상태 조회와 lag 계산을 동시에 진행
+            Map<String, KafkaFuture<ConsumerGroupDescription>> descriptions =
+                    admin.describeConsumerGroups(groupIds).describedGroups();
+            Map<String, List<ConsumerGroupDTO.PartitionLag>> lags = computeLags(admin, username, groupIds);
+
+            List<ConsumerGroupDTO> result = new ArrayList<>();
+            for (String groupId : groupIds) {
+                String state = null;
+                try {
+                    state = descriptions.get(groupId).get(TIMEOUT_SECONDS, TimeUnit.SECONDS).state().toString();
+                } catch (ExecutionException e) {
+                    log.debug("Consumer group '{}' describe 실패: {}", groupId, e.getMessage());
+                }
+                List<ConsumerGroupDTO.PartitionLag> partitions = lags.getOrDefault(groupId, List.of());
+                result.add(ConsumerGroupDTO.builder()
+                        .groupId(groupId)
+                        .state(state)
+                        .lag(totalLag(partitions))
+                        .build());
+            }
+            log.debug("👥 User {} listed {} consumer groups with lag", username, result.size());
+            return result;
+        });
+    }
+
+    /**
+     * Consumer Group 상세 정보 조회 (멤버, 할당, 파티션별 lag)
+     */
+    public ConsumerGroupDTO getGroup(String groupId, String username, String password) throws Exception {
+        try {
+            return factory.withAdminClient(username, password, admin -> {
+                KafkaFuture<ConsumerGroupDescription> pending =
+                        admin.describeConsumerGroups(List.of(groupId)).describedGroups().get(groupId);
+                List<ConsumerGroupDTO.PartitionLag> partitions = computeLags(admin, username, List.of(groupId))
+                        .getOrDefault(groupId, List.of());
+                ConsumerGroupDescription description = pending.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+                List<ConsumerGroupDTO.MemberInfo> members = new ArrayList<>();
+                Map<String, String> assignments = new LinkedHashMap<>();
+                for (MemberDescription member : description.members()) {
+                    List<String> assigned = member.assignment().topicPartitions().stream()
+                            .map(TopicPartition::toString)
+                            .sorted()
+                            .toList();
+                    assigned.forEach(tp -> assignments.put(tp, member.consumerId()));
+                    members.add(ConsumerGroupDTO.MemberInfo.builder()
+                            .memberId(member.consumerId())
+                            .clientId(member.clientId())
+                            .host(member.host())
+                            .assignedPartitions(assigned)
+                            .build());
+                }
+
+                Node coordinator = description.coordinator();
+                return ConsumerGroupDTO.builder()
+                        .groupId(groupId)
+                        .state(description.state().toString())
+                        .coordinator(coordinator != null ? coordinator.host() + ":" + coordinator.port() : null)
+                        .members(members)
+                        .assignments(assignments)
+                        .lag(totalLag(partitions))
+                        .partitions(partitions)
+                        .build();
+            });
+        } catch (Exception e) {
+            log.error("❌ Failed to describe consumer group '{}' for user {}: {}", groupId, username, e.getMessage());
+            throw e;
+        }
+    }
+
+    /**
+     * Consumer Group 삭제 (활성 멤버가 없는 그룹만 가능)
+     */
+    public void deleteGroup(String groupId, String username, String password) throws Exception {
+        factory.runWithAdminClient(username, password, admin -> {
+            admin.deleteConsumerGroups(List.of(groupId)).all().get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            evictLag(groupId);
+            log.info("🗑️ Deleted consumer group: {} by user: {}", groupId, username);
+        });
+    }
+
+    /**
+     * Consumer Group 오프셋 리셋 (활성 멤버가 없는 그룹만 가능)
+     */
+    public void resetOffset(String groupId, String topicName, int partition, long offset, String username, String password) throws Exception {
+        if (offset < 0) {
+            throw new IllegalArgumentException("offset 은 0 이상이어야 합니다");
+        }
+        factory.runWithAdminClient(username, password, admin -> {
+            TopicPartition tp = new TopicPartition(topicName, partition);
+            admin.alterConsumerGroupOffsets(groupId, Map.of(tp, new OffsetAndMetadata(offset)))
+                    .all()
+                    .get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            evictLag(groupId);
+            log.info("⏪ Reset offset of group {} for {} to {} by user: {}", groupId, tp, offset, username);
+        });
+    }
+
+    /**
+     * 그룹별 파티션 lag 계산 (캐시에 없거나 만료된 그룹만 브로커에 요청)
+     */
+    private Map<String, List<ConsumerGroupDTO.PartitionLag>> computeLags(AdminClient admin, String username, Collection<String> groupIds) throws Exception {
+        long now = System.currentTimeMillis();
+        lagCache.values().removeIf(cached -> cached.expiresAt() < now);
+
+        Map<String, List<ConsumerGroupDTO.PartitionLag>> result = new HashMap<>();
+        Map<String, KafkaFuture<Map<TopicPartition, OffsetAndMetadata>>> pending = new LinkedHashMap<>();
+        for (String groupId : groupIds) {
+            CachedLag cached = lagCache.get(cacheKey(username, groupId));
+            if (cached != null) {
+                result.put(groupId, cached.partitions());
+            } else {
+                // 그룹마다 한 번씩, 기다리지 않고 모두 전송
+                pending.put(groupId, admin.listConsumerGroupOffsets(groupId).partitionsToOffsetAndMetadata());
+            }
+        }
+        if (pending.isEmpty()) {
+            return result;
+        }
+
+        Map<String, Map<TopicPartition, OffsetAndMetadata>> committed = new HashMap<>();
+        Map<TopicPartition, OffsetSpec> latestSpecs = new HashMap<>();
+        for (Map.Entry<String, KafkaFuture<Map<TopicPartition, OffsetAndMetadata>>> entry : pending.entrySet()) {
+            try {
+                Map<TopicPartition, OffsetAndMetadata> offsets = entry.getValue().get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+                committed.put(entry.getKey(), offsets);
+                offsets.keySet().forEach(tp -> latestSpecs.put(tp, OffsetSpec.latest()));
+            } catch (ExecutionException e) {
+                log.debug("Consumer group '{}' 오프셋 조회 실패: {}", entry.getKey(), e.getMessage());
+            }
+        }
+
+        // 관련 파티션 전체의 로그 끝 오프셋을 한 번에
+        Map<TopicPartition, Long> logEnd = new HashMap<>();
+        if (!latestSpecs.isEmpty()) {
+            ListOffsetsResult latest = admin.listOffsets(latestSpecs);
+            for (TopicPartition tp : latestSpecs.keySet()) {
+                try {
+                    logEnd.put(tp, latest.partitionResult(tp).get(TIMEOUT_SECONDS, TimeUnit.SECONDS).offset());
+                } catch (ExecutionException e) {
+                    log.debug("listOffsets 실패 for {}: {}", tp, e.getMessage());
+                }
+            }
+        }
+
+        long expiresAt = System.currentTimeMillis() + lagTtlMs;
+        committed.forEach((groupId, offsets) -> {
+            List<ConsumerGroupDTO.PartitionLag> partitions = new ArrayList<>();
+            offsets.forEach((tp, metadata) -> {
+                if (metadata == null) {
+                    return;
+                }
+                long end = logEnd.getOrDefault(tp, metadata.offset());
+                partitions.add(ConsumerGroupDTO.PartitionLag.builder()
+                        .topicName(tp.topic())
+                        .partition(tp.partition())
+                        .committedOffset(metadata.offset())
+                        .logEndOffset(end)
+                        .lag(Math.max(0, end - metadata.offset()))
+                        .build());
+            });
+            partitions.sort(Comparator.comparing(ConsumerGroupDTO.PartitionLag::getTopicName)
+                    .thenComparingInt(ConsumerGroupDTO.PartitionLag::getPartition));
+            List<ConsumerGroupDTO.PartitionLag> snapshot = List.copyOf(partitions);
+            lagCache.put(cacheKey(username, groupId), new CachedLag(snapshot, expiresAt));
+            result.put(groupId, snapshot);
+        });
+        return result;
+    }
+
+    private void evictLag(String groupId) {
+        lagCache.keySet().removeIf(key -> key.endsWith("\u0000" + groupId));
+    }
+
+    private static String cacheKey(String username, String groupId) {
+        return username + "\u0000" + groupId;
+    }
+
+    private static long totalLag(List<ConsumerGroupDTO.PartitionLag> partitions) {
+        return partitions.stream().mapToLong(ConsumerGroupDTO.PartitionLag::getLag).sum();
+    }
+}
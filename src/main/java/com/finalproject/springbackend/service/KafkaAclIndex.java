@@ -0,0 +1,77 @@
+package com.finalproject.springbackend.service;
+
+import org.apache.kafka.common.acl.AclBinding;
+import org.apache.kafka.common.resource.ResourceType;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * describeAcls 결과 스냅샷과 조회용 인덱스 (불변)
+ *
+ * principal 별, (리소스 타입, 리소스 이름) 별로 미리 묶어 두어 목록/필터 조회를 로컬 조회로 처리한다.
+ * ACL 생성/삭제 후에는 브로커에서 전체를 다시 읽지 않고 with/without 으로 바뀐 바인딩만 반영한 새 인덱스를 만든다.
+ */
+final class KafkaAclIndex {
+
+    private final Set<AclBinding> bindings;
+    private final Map<String, List<AclBinding>> byPrincipal = new HashMap<>();
+    private final Map<ResourceKey, List<AclBinding>> byResource = new HashMap<>();
+    private final long loadedAt;
+
+    private record ResourceKey(ResourceType type, String name) {}
+
+    KafkaAclIndex(Collection<AclBinding> bindings, long loadedAt) {
+        this.bindings = new LinkedHashSet<>(bindings);
+        this.loadedAt = loadedAt;
+        for (AclBinding binding : this.bindings) {
+            byPrincipal.computeIfAbsent(binding.entry().principal(), k -> new ArrayList<>()).add(binding);
+            byResource.computeIfAbsent(resourceKey(binding), k -> new ArrayList<>()).add(binding);
+        }
+    }
+
+    long loadedAt() {
+        return loadedAt;
+    }
+
+    /**
+     * 조건에 맞는 ACL (null 조건은 무시)
+     * principal 또는 리소스(타입 + 이름)가 주어지면 인덱스에서 후보를 꺼낸 뒤 나머지 조건만 확인한다.
+     */
+    List<AclBinding> find(String principal, ResourceType resourceType, String resourceName) {
+        Collection<AclBinding> candidates;
+        if (principal != null) {
+            candidates = byPrincipal.getOrDefault(principal, List.of());
+        } else if (resourceType != null && resourceName != null) {
+            candidates = byResource.getOrDefault(new ResourceKey(resourceType, resourceName), List.of());
+        } else {
+            candidates = bindings;
+        }
+        return candidates.stream()
+                .filter(binding -> principal == null || binding.entry().principal().equals(principal))
+                .filter(binding -> resourceType == null || binding.pattern().resourceType() == resourceType)
+                .filter(binding -> resourceName == null || binding.pattern().name().equals(resourceName))
+                .toList();
+    }
+
+    KafkaAclIndex with(Collection<AclBinding> added) {
+        List<AclBinding> next = new ArrayList<>(bindings);
+        next.addAll(added);
+        return new KafkaAclIndex(next, loadedAt);
+    }
+
+    KafkaAclIndex without(Collection<AclBinding> removed) {
+        List<AclBinding> next = new ArrayList<>(bindings);
+        next.removeAll(removed);
+        return new KafkaAclIndex(next, loadedAt);
+    }
+
+    private static ResourceKey resourceKey(AclBinding binding) {
+        return new ResourceKey(binding.pattern().resourceType(), binding.pattern().name());
+    }
+}
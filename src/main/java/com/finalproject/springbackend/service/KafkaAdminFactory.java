@@ -1,17 +1,31 @@
 package com.finalproject.springbackend.service;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.clients.admin.AdminClient;
 import org.apache.kafka.clients.admin.AdminClientConfig;
 import org.apache.kafka.clients.consumer.Consumer;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.common.errors.AuthenticationException;
 import org.apache.kafka.common.serialization.ByteArrayDeserializer;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Slf4j
 @Component
@@ -19,10 +33,181 @@ public class KafkaAdminFactory {
 
     @Value("${OHIO_KAFKA_BOOTSTRAP_SERVERS}")
     private String bootstrap;
+
+    @Value("${kafka.admin.pool.enabled:true}")
+    private boolean poolEnabled;
+
+    @Value("${kafka.admin.pool.max-size:50}")
+    private int poolMaxSize;
+
+    @Value("${kafka.admin.pool.idle-ms:300000}")
+    private long poolIdleMs;
+
+    /**
+     * (사용자명, 비밀번호 해시) 별로 재사용하는 AdminClient 풀
+     * 매 호출마다 브로커 연결 + SCRAM 핸드셰이크 + 메타데이터 조회를 반복하지 않도록 연결을 유지한 채 보관하고,
+     * idle-ms 동안 쓰이지 않거나 로그아웃/인증 실패 시 닫는다. 사용 중인 클라이언트는 반납될 때 닫는다.
+     */
+    private final Map<PoolKey, PooledAdmin> pool = new ConcurrentHashMap<>();
+
+    private final Counter poolHits;
+    private final Counter poolMisses;
+    private final Counter poolEvictions;
+
+    public KafkaAdminFactory(MeterRegistry meterRegistry) {
+        this.poolHits = meterRegistry.counter("kafka.admin.pool.hits");
+        this.poolMisses = meterRegistry.counter("kafka.admin.pool.misses");
+        this.poolEvictions = meterRegistry.counter("kafka.admin.pool.evictions");
+        Gauge.builder("kafka.admin.pool.size", pool, Map::size).register(meterRegistry);
+        Gauge.builder("kafka.admin.pool.in-use", pool,
+                p -> p.values().stream().mapToInt(admin -> admin.inUse.get()).sum()).register(meterRegistry);
+    }
     
     @jakarta.annotation.PostConstruct
     public void init() {
-        log.info("KafkaAdminFactory 초기화 완료 - Bootstrap: {}", bootstrap);
+        log.info("KafkaAdminFactory 초기화 완료 - Bootstrap: {}, AdminClient 풀: {} (최대 {}개)",
+                bootstrap, poolEnabled ? "사용" : "미사용", poolMaxSize);
+    }
+
+    @jakarta.annotation.PreDestroy
+    public void shutdown() {
+        pool.keySet().forEach(key -> evict(key, "종료"));
+    }
+
+    @FunctionalInterface
+    public interface AdminCall<T> {
+        T apply(AdminClient admin) throws Exception;
+    }
+
+    @FunctionalInterface
+    public interface AdminTask {
+        void run(AdminClient admin) throws Exception;
+    }
+
+    /**
+     * 풀의 AdminClient 로 작업 실행 (없으면 생성 후 등록)
+     * 인증 실패면 해당 클라이언트를 풀에서 제거한다. 풀이 가득 차 있으면 이번 호출만 쓰고 닫는 클라이언트를 사용한다.
+     */
+    public <T> T withAdminClient(String username, String password, AdminCall<T> call) throws Exception {
+        if (!poolEnabled) {
+            try (AdminClient admin = createAdminClient(username, password)) {
+                return call.apply(admin);
+            }
+        }
+
+        PoolKey key = PoolKey.of(username, password);
+        PooledAdmin pooled = borrow(key, username, password);
+        if (pooled == null) {
+            try (AdminClient admin = createAdminClient(username, password)) {
+                return call.apply(admin);
+            }
+        }
+        try {
+            return call.apply(pooled.client);
+        } catch (Exception e) {
+            if (isAuthenticationFailure(e)) {
+                log.warn("🔐 AdminClient 인증 실패로 풀에서 제거 - user: {}", username);
+                evict(key, "인증 실패");
+            }
+            throw e;
+        } finally {
+            release(pooled);
+        }
+    }
+
+    public void runWithAdminClient(String username, String password, AdminTask task) throws Exception {
+        withAdminClient(username, password, admin -> {
+            task.run(admin);
+            return null;
+        });
+    }
+
+    /** 사용자의 풀 클라이언트를 모두 닫음 (로그아웃 시) */
+    public void invalidate(String username) {
+        pool.keySet().stream()
+                .filter(key -> key.username().equals(username))
+                .forEach(key -> evict(key, "로그아웃"));
+    }
+
+    /** 특정 자격 증명의 풀 클라이언트를 닫음 (로그인 검증 실패 시, 폐기된 비밀번호로 열린 연결 정리) */
+    public void invalidate(String username, String password) {
+        evict(PoolKey.of(username, password), "로그인 검증 실패");
+    }
+
+    /** idle-ms 이상 쓰이지 않은 클라이언트 정리 */
+    @Scheduled(fixedDelayString = "${kafka.admin.pool.evict-interval-ms:60000}")
+    public void evictIdle() {
+        long now = System.nanoTime();
+        pool.forEach((key, pooled) -> {
+            if (pooled.inUse.get() == 0 && now - pooled.lastUsed > TimeUnit.MILLISECONDS.toNanos(poolIdleMs)) {
+                evict(key, "유휴");
+            }
+        });
+    }
+
+    private PooledAdmin borrow(PoolKey key, String username, String password) {
+        PooledAdmin pooled = pool.get(key);
+        if (pooled != null && pooled.tryAcquire()) {
+            poolHits.increment();
+            return pooled;
+        }
+        poolMisses.increment();
+        if (pool.size() >= poolMaxSize && !evictLeastRecentlyUsed()) {
+            log.debug("AdminClient 풀이 가득 참 ({}개), 일회용 클라이언트 사용 - user: {}", poolMaxSize, username);
+            return null;
+        }
+        PooledAdmin created = pool.compute(key, (k, existing) ->
+                existing != null && !existing.retired ? existing : new PooledAdmin(createPooledClient(username, password)));
+        return created.tryAcquire() ? created : null;
+    }
+
+    private void release(PooledAdmin pooled) {
+        pooled.lastUsed = System.nanoTime();
+        if (pooled.inUse.decrementAndGet() == 0 && pooled.retired) {
+            pooled.closeQuietly();
+        }
+    }
+
+    private void evict(PoolKey key, String reason) {
+        PooledAdmin pooled = pool.remove(key);
+        if (pooled == null) {
+            return;
+        }
+        poolEvictions.increment();
+        pooled.retired = true;
+        if (pooled.inUse.get() == 0) {
+            pooled.closeQuietly();
+        }
+        log.debug("♻️ AdminClient 풀 제거 ({}) - user: {}", reason, key.username());
+    }
+
+    /** 사용 중이 아닌 가장 오래된 클라이언트 하나 제거 */
+    private boolean evictLeastRecentlyUsed() {
+        return pool.entrySet().stream()
+                .filter(entry -> entry.getValue().inUse.get() == 0)
+                .min((a, b) -> Long.compare(a.getValue().lastUsed, b.getValue().lastUsed))
+                .map(entry -> {
+                    evict(entry.getKey(), "최대 개수 초과");
+                    return true;
+                })
+                .orElse(false);
+    }
+
+    private static boolean isAuthenticationFailure(Throwable e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof AuthenticationException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** 풀 보관용 AdminClient: 유휴 연결을 풀 유휴 시간만큼 유지해 재핸드셰이크를 줄임 */
+    private AdminClient createPooledClient(String username, String password) {
+        Properties props = adminProperties(username, password);
+        props.put(AdminClientConfig.CONNECTIONS_MAX_IDLE_MS_CONFIG, poolIdleMs);
+        log.debug("Creating pooled Kafka AdminClient for user: {}", username);
+        return AdminClient.create(props);
     }
     
     /**
@@ -32,13 +217,7 @@ public class KafkaAdminFactory {
      * @return AdminClient 인스턴스
      */
     public AdminClient createAdminClient(String username, String password) {
-        Properties props = createBaseProperties(username, password);
-        
-        // AdminClient 전용 설정
-        props.put(AdminClientConfig.REQUEST_TIMEOUT_MS_CONFIG, 10000);
-        props.put(AdminClientConfig.CONNECTIONS_MAX_IDLE_MS_CONFIG, 30000);
-        props.put(AdminClientConfig.RETRIES_CONFIG, 3);
-        props.put(AdminClientConfig.RETRY_BACKOFF_MS_CONFIG, 1000);
+        Properties props = adminProperties(username, password);
         
         log.debug("Creating Kafka AdminClient for user: {}", username);
         
@@ -105,6 +284,16 @@ public class KafkaAdminFactory {
     }
 
     
+    /** AdminClient 전용 설정 */
+    private Properties adminProperties(String username, String password) {
+        Properties props = createBaseProperties(username, password);
+        props.put(AdminClientConfig.REQUEST_TIMEOUT_MS_CONFIG, 10000);
+        props.put(AdminClientConfig.CONNECTIONS_MAX_IDLE_MS_CONFIG, 30000);
+        props.put(AdminClientConfig.RETRIES_CONFIG, 3);
+        props.put(AdminClientConfig.RETRY_BACKOFF_MS_CONFIG, 1000);
+        return props;
+    }
+
     /**
      * Kafka 연결을 위한 기본 Properties 생성
      * @param username Kafka SCRAM 사용자명
@@ -121,4 +310,50 @@ public class KafkaAdminFactory {
                         "username=\"" + username + "\" password=\"" + password + "\";");
         return props;
     }
+
+    /** 풀 키: 비밀번호 원문 대신 SHA-256 해시 (비밀번호가 바뀌면 다른 키) */
+    private record PoolKey(String username, String credentialHash) {
+
+        static PoolKey of(String username, String password) {
+            try {
+                MessageDigest digest = MessageDigest.getInstance("SHA-256");
+                byte[] hash = digest.digest((username + ":" + password).getBytes(StandardCharsets.UTF_8));
+                return new PoolKey(username, HexFormat.of().formatHex(hash));
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    private static final class PooledAdmin {
+
+        private final AdminClient client;
+        private final AtomicInteger inUse = new AtomicInteger();
+        private volatile long lastUsed = System.nanoTime();
+        private volatile boolean retired;
+
+        PooledAdmin(AdminClient client) {
+            this.client = client;
+        }
+
+        /** 제거된 클라이언트면 빌리지 않음 */
+        boolean tryAcquire() {
+            inUse.incrementAndGet();
+            if (retired) {
+                if (inUse.decrementAndGet() == 0) {
+                    closeQuietly();
+                }
+                return false;
+            }
+            return true;
+        }
+
+        void closeQuietly() {
+            try {
+                client.close(Duration.ofSeconds(5));
+            } catch (Exception e) {
+                log.debug("AdminClient 종료 중 오류: {}", e.getMessage());
+            }
+        }
+    }
 }
@@ -0,0 +1,86 @@
+package com.finalproject.springbackend.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.admin.Admin;
+import org.apache.kafka.clients.admin.Config;
+import org.apache.kafka.common.config.ConfigResource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * describeConfigs 결과 캐시 ((사용자, 리소스) 단위)
+ *
+ * DescribeConfigs 권한과 민감 설정 노출이 사용자마다 다르므로 다른 사용자의 결과를 공유하지 않는다.
+ * 설정 변경, 토픽 생성/삭제 경로는 evict 로 해당 리소스를 모든 사용자 캐시에서 지우고, 로그아웃 시 사용자 항목을 지운다.
+ * 설정 변경 전 비교처럼 정확한 현재 값이 필요한 곳은 fresh 로 항상 브로커에서 다시 읽는다.
+ */
+@Slf4j
+@Service
+public class KafkaConfigCache {
+
+    private static final long TIMEOUT_SECONDS = 10;
+
+    private final Map<Key, Cached> entries = new ConcurrentHashMap<>();
+
+    @Value("${kafka.configs.cache-ttl-ms:30000}")
+    private long ttlMs;
+
+    private record Key(String username, ConfigResource resource) {}
+
+    private record Cached(String password, Config config, long expiresAt) {}
+
+    /**
+     * 리소스별 현재 설정 (캐시에 없거나 만료된 리소스만 describeConfigs 한 번으로 조회)
+     * @param fresh true 면 캐시를 건너뛰고 모두 브로커에서 다시 읽음
+     */
+    public Map<ConfigResource, Config> get(Admin admin, String username, String password,
+                                           Collection<ConfigResource> resources, boolean fresh) throws Exception {
+        long now = System.currentTimeMillis();
+        Map<ConfigResource, Config> result = new HashMap<>();
+        List<ConfigResource> missing = new ArrayList<>();
+        for (ConfigResource resource : resources) {
+            Cached cached = fresh ? null : entries.get(new Key(username, resource));
+            if (cached != null && cached.expiresAt() > now && cached.password().equals(password)) {
+                result.put(resource, cached.config());
+            } else {
+                missing.add(resource);
+            }
+        }
+        if (!missing.isEmpty()) {
+            Map<ConfigResource, Config> loaded = admin.describeConfigs(missing).all().get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            entries.values().removeIf(cached -> cached.expiresAt() <= now);
+            long expiresAt = System.currentTimeMillis() + ttlMs;
+            loaded.forEach((resource, config) -> entries.put(new Key(username, resource), new Cached(password, config, expiresAt)));
+            result.putAll(loaded);
+        }
+        return result;
+    }
+
+    /** 설정이 바뀐 리소스를 모든 사용자 캐시에서 제거 */
+    public void evict(Collection<ConfigResource> resources) {
+        Set<ConfigResource> changed = Set.copyOf(resources);
+        entries.keySet().removeIf(key -> changed.contains(key.resource()));
+    }
+
+    /** 생성/삭제/설정 변경된 토픽을 모든 사용자 캐시에서 제거 */
+    public void evictTopics(Collection<String> topicNames) {
+        evict(topicNames.stream()
+                .map(name -> new ConfigResource(ConfigResource.Type.TOPIC, name))
+                .collect(Collectors.toSet()));
+    }
+
+    /** 사용자 캐시 제거 (로그아웃 시) */
+    public void invalidate(String username) {
+        entries.keySet().removeIf(key -> key.username().equals(username));
+    }
+}
@@ -4,14 +4,28 @@ import com.finalproject.springbackend.dto.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.clients.admin.*;
+import org.apache.kafka.common.KafkaFuture;
 import org.apache.kafka.common.Node;
 import org.apache.kafka.common.TopicPartition;
 import org.apache.kafka.common.TopicPartitionInfo;
+import org.apache.kafka.common.acl.AccessControlEntry;
+import org.apache.kafka.common.acl.AclBinding;
+import org.apache.kafka.common.acl.AclBindingFilter;
+import org.apache.kafka.common.acl.AclOperation;
+import org.apache.kafka.common.acl.AclPermissionType;
 import org.apache.kafka.common.config.ConfigResource;
+import org.apache.kafka.common.resource.PatternType;
+import org.apache.kafka.common.resource.ResourcePattern;
+import org.apache.kafka.common.resource.ResourceType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -20,6 +34,22 @@ import java.util.stream.Collectors;
 public class KafkaManagementService {
 
     private final KafkaAdminFactory factory;
+    private final KafkaMetadataCache metadataCache;
+    private final KafkaConfigCache configCache;
+
+    @Value("${kafka.acls.refresh-ms:60000}")
+    private long aclRefreshMs;
+
+    @Value("${kafka.acls.idle-ms:600000}")
+    private long aclIdleMs;
+
+    /**
+     * 사용자별 describeAcls 스냅샷 인덱스
+     * 브로커가 Describe 권한에 따라 보이는 ACL 을 걸러 주므로 다른 사용자의 스냅샷을 공유하지 않는다 (KafkaMetadataCache 와 같은 이유).
+     */
+    private final Map<String, AclEntry> aclIndexes = new ConcurrentHashMap<>();
+
+    private record AclEntry(String password, KafkaAclIndex index, long lastAccess) {}
 
 
     // === Config 관리 ===
@@ -28,13 +58,10 @@ public class KafkaManagementService {
      * 클러스터 설정 조회
      */
     public ConfigInfoDTO getClusterConfigs(String username, String password) throws Exception {
-        try (AdminClient admin = factory.createAdminClient(username, password)) {
+        try {
             ConfigResource clusterResource = new ConfigResource(ConfigResource.Type.BROKER, "");
-            Map<ConfigResource, Config> configs = admin.describeConfigs(Collections.singleton(clusterResource))
-                    .all()
-                    .get(10, TimeUnit.SECONDS);
-
-            Config clusterConfig = configs.get(clusterResource);
+            Config clusterConfig = factory.withAdminClient(username, password, admin ->
+                    configCache.get(admin, username, password, List.of(clusterResource), false).get(clusterResource));
             Map<String, String> configMap = new HashMap<>();
             for (ConfigEntry entry : clusterConfig.entries()) {
                 configMap.put(entry.name(), entry.value());
@@ -55,13 +82,10 @@ public class KafkaManagementService {
      * 토픽 설정 조회
      */
     public ConfigInfoDTO getTopicConfigs(String topicName, String username, String password) throws Exception {
-        try (AdminClient admin = factory.createAdminClient(username, password)) {
+        try {
             ConfigResource topicResource = new ConfigResource(ConfigResource.Type.TOPIC, topicName);
-            Map<ConfigResource, Config> configs = admin.describeConfigs(Collections.singleton(topicResource))
-                    .all()
-                    .get(10, TimeUnit.SECONDS);
-
-            Config topicConfig = configs.get(topicResource);
+            Config topicConfig = factory.withAdminClient(username, password, admin ->
+                    configCache.get(admin, username, password, List.of(topicResource), false).get(topicResource));
             Map<String, String> configMap = new HashMap<>();
             for (ConfigEntry entry : topicConfig.entries()) {
                 configMap.put(entry.name(), entry.value());
@@ -79,71 +103,333 @@ public class KafkaManagementService {
     }
 
     /**
-     * 설정 업데이트
+     * 설정 업데이트 (단일 리소스)
+     * @return 실제로 바뀐 설정 목록
      */
-    public void updateConfigs(ConfigInfoDTO.ConfigUpdateRequest request, String username, String password) throws Exception {
-        try (AdminClient admin = factory.createAdminClient(username, password)) {
-            ConfigResource.Type resourceType;
-            if ("CLUSTER".equals(request.getResourceType()) || "BROKER".equals(request.getResourceType())) {
-                resourceType = ConfigResource.Type.BROKER;
-            } else if ("TOPIC".equals(request.getResourceType())) {
-                resourceType = ConfigResource.Type.TOPIC;
-            } else {
-                throw new IllegalArgumentException("Unsupported resource type: " + request.getResourceType());
-            }
-            ConfigResource resource = new ConfigResource(resourceType, request.getResourceName());
+    public ConfigInfoDTO.ConfigDiff updateConfigs(ConfigInfoDTO.ConfigUpdateRequest request, String username, String password,
+                                                  boolean dryRun) throws Exception {
+        ConfigInfoDTO.ConfigDiff diff = updateConfigs(List.of(request), username, password, dryRun).get(0);
+        if (diff.getError() != null) {
+            throw new Exception(diff.getError());
+        }
+        return diff;
+    }
 
-            Map<String, String> configMap = request.getConfigs();
-            List<ConfigEntry> configEntries = new ArrayList<>();
-            for (Map.Entry<String, String> entry : configMap.entrySet()) {
-                configEntries.add(new ConfigEntry(entry.getKey(), entry.getValue()));
+    /**
+     * 설정 일괄 업데이트 (incrementalAlterConfigs)
+     *
+     * 브로커에서 다시 읽은 현재 설정과 비교해 실제로 바뀌는 키만 SET / DELETE / APPEND / SUBTRACT 로 보낸다.
+     * (캐시된 값과 비교하면 다른 경로의 변경을 놓쳐 필요한 SET 을 "변경 없음"으로 건너뛸 수 있음)
+     * - configs: 값이 있으면 SET (현재 값과 같으면 생략), null 이면 DELETE (동적으로 지정된 값일 때만)
+     * - append / subtract: 목록형 설정에 항목 추가/제거 (이미 있거나 없는 항목은 생략)
+     * 모든 리소스를 요청 한 번으로 보내며, dryRun 이면 validateOnly 로 브로커 검증만 하고 적용하지 않는다.
+     */
+    public List<ConfigInfoDTO.ConfigDiff> updateConfigs(List<ConfigInfoDTO.ConfigUpdateRequest> requests, String username,
+                                                        String password, boolean dryRun) throws Exception {
+        Map<ConfigResource, ConfigInfoDTO.ConfigUpdateRequest> byResource = new LinkedHashMap<>();
+        for (ConfigInfoDTO.ConfigUpdateRequest request : requests) {
+            if (byResource.put(toConfigResource(request), request) != null) {
+                throw new IllegalArgumentException("같은 리소스가 중복되었습니다: " + request.getResourceType() + ":" + request.getResourceName());
             }
+        }
+
+        try {
+            return factory.withAdminClient(username, password, admin -> {
+                Map<ConfigResource, Config> current = configCache.get(admin, username, password, byResource.keySet(), true);
 
-            Config config = new Config(configEntries);
-            Map<ConfigResource, Config> configs = new HashMap<>();
-            configs.put(resource, config);
+                Map<ConfigResource, List<ConfigInfoDTO.ConfigChange>> changes = new LinkedHashMap<>();
+                Map<ConfigResource, Collection<AlterConfigOp>> ops = new LinkedHashMap<>();
+                for (Map.Entry<ConfigResource, ConfigInfoDTO.ConfigUpdateRequest> entry : byResource.entrySet()) {
+                    List<ConfigInfoDTO.ConfigChange> resourceChanges = diffConfigs(current.get(entry.getKey()), entry.getValue());
+                    changes.put(entry.getKey(), resourceChanges);
+                    if (!resourceChanges.isEmpty()) {
+                        ops.put(entry.getKey(), resourceChanges.stream().map(KafkaManagementService::toAlterConfigOp).toList());
+                    }
+                }
 
-            admin.alterConfigs(configs).all().get();
-            log.info("✅ Updated configs for {}: {}", request.getResourceType(), request.getResourceName());
+                Map<ConfigResource, String> errors = new HashMap<>();
+                if (!ops.isEmpty()) {
+                    AlterConfigsResult result = admin.incrementalAlterConfigs(ops, new AlterConfigsOptions().validateOnly(dryRun));
+                    try {
+                        for (Map.Entry<ConfigResource, KafkaFuture<Void>> entry : result.values().entrySet()) {
+                            try {
+                                entry.getValue().get(10, TimeUnit.SECONDS);
+                            } catch (ExecutionException e) {
+                                errors.put(entry.getKey(), e.getCause().getMessage());
+                            }
+                        }
+                    } finally {
+                        // 시간 초과로 결과를 모르는 경우에도 적용됐을 수 있으므로 제거
+                        if (!dryRun) {
+                            configCache.evict(ops.keySet());
+                        }
+                    }
+                }
+
+                List<ConfigInfoDTO.ConfigDiff> diffs = new ArrayList<>();
+                changes.forEach((resource, resourceChanges) -> diffs.add(ConfigInfoDTO.ConfigDiff.builder()
+                        .resourceType(byResource.get(resource).getResourceType())
+                        .resourceName(resource.name())
+                        .changes(resourceChanges)
+                        .applied(!dryRun && !resourceChanges.isEmpty() && !errors.containsKey(resource))
+                        .error(errors.get(resource))
+                        .build()));
+                log.info("{} configs of {} resource(s), {} changed key(s) by user: {}", dryRun ? "🔍 Validated" : "✅ Updated",
+                        ops.size(), ops.values().stream().mapToInt(Collection::size).sum(), username);
+                return diffs;
+            });
         } catch (Exception e) {
             log.error("❌ Failed to update configs: {}", e.getMessage());
             throw e;
         }
     }
 
+    /** 요청과 현재 설정의 차이 (바뀌지 않는 키는 제외) */
+    private static List<ConfigInfoDTO.ConfigChange> diffConfigs(Config current, ConfigInfoDTO.ConfigUpdateRequest request) {
+        List<ConfigInfoDTO.ConfigChange> changes = new ArrayList<>();
+        if (request.getConfigs() != null) {
+            request.getConfigs().forEach((name, value) -> {
+                ConfigEntry entry = current.get(name);
+                String oldValue = entry != null ? entry.value() : null;
+                if (value == null) {
+                    if (entry != null && isDynamic(entry)) {
+                        changes.add(change("DELETE", name, oldValue, null, null));
+                    }
+                } else if (entry == null || entry.isSensitive() || !value.equals(oldValue)) {
+                    changes.add(change("SET", name, oldValue, value, value));
+                }
+            });
+        }
+        listChanges(current, request.getAppend(), true, changes);
+        listChanges(current, request.getSubtract(), false, changes);
+        return changes;
+    }
+
+    /** APPEND / SUBTRACT: 실제로 추가/제거되는 항목만 */
+    private static void listChanges(Config current, Map<String, List<String>> items, boolean append,
+                                    List<ConfigInfoDTO.ConfigChange> changes) {
+        if (items == null) {
+            return;
+        }
+        items.forEach((name, values) -> {
+            ConfigEntry entry = current.get(name);
+            String oldValue = entry != null ? entry.value() : null;
+            List<String> existing = oldValue == null || oldValue.isBlank() ? List.of() : Arrays.stream(oldValue.split(","))
+                    .map(String::trim)
+                    .toList();
+            List<String> effective = values.stream()
+                    .filter(value -> append != existing.contains(value))
+                    .distinct()
+                    .toList();
+            if (effective.isEmpty()) {
+                return;
+            }
+            List<String> next = new ArrayList<>(existing);
+            if (append) {
+                next.addAll(effective);
+            } else {
+                next.removeAll(effective);
+            }
+            changes.add(change(append ? "APPEND" : "SUBTRACT", name, oldValue, String.join(",", next), String.join(",", effective)));
+        });
+    }
+
+    private static ConfigInfoDTO.ConfigChange change(String op, String name, String oldValue, String newValue, String opValue) {
+        return ConfigInfoDTO.ConfigChange.builder()
+                .op(op)
+                .name(name)
+                .oldValue(oldValue)
+                .newValue(newValue)
+                .opValue(opValue)
+                .build();
+    }
+
+    private static AlterConfigOp toAlterConfigOp(ConfigInfoDTO.ConfigChange change) {
+        return new AlterConfigOp(new ConfigEntry(change.getName(), change.getOpValue()), AlterConfigOp.OpType.valueOf(change.getOp()));
+    }
+
+    /** 리소스에 직접(동적으로) 지정된 값인지 (기본값/정적 설정은 DELETE 할 것이 없음) */
+    private static boolean isDynamic(ConfigEntry entry) {
+        return entry.source() != null && entry.source().name().startsWith("DYNAMIC_");
+    }
+
+    private static ConfigResource toConfigResource(ConfigInfoDTO.ConfigUpdateRequest request) {
+        ConfigResource.Type resourceType;
+        if ("CLUSTER".equals(request.getResourceType()) || "BROKER".equals(request.getResourceType())) {
+            resourceType = ConfigResource.Type.BROKER;
+        } else if ("TOPIC".equals(request.getResourceType())) {
+            resourceType = ConfigResource.Type.TOPIC;
+        } else {
+            throw new IllegalArgumentException("Unsupported resource type: " + request.getResourceType());
+        }
+        return new ConfigResource(resourceType, request.getResourceName() == null ? "" : request.getResourceName());
+    }
+
+    // === ACL 관리 ===
+
+    /**
+     * ACL 목록 조회 (스냅샷 인덱스에서 로컬 조회, 조건은 모두 선택)
+     * 스냅샷은 acl-refresh-ms 가 지났거나 fresh 면 describeAcls 로 다시 읽는다.
+     */
+    public List<AclDTO> listAcls(String principal, String resourceType, String resourceName,
+                                 String username, String password, boolean fresh) throws Exception {
+        try {
+            ResourceType type = resourceType != null ? parseEnum(ResourceType.fromString(resourceType), ResourceType.UNKNOWN, "resourceType", resourceType) : null;
+            return aclIndex(username, password, fresh).find(principal, type, resourceName).stream()
+                    .map(KafkaManagementService::toAclDTO)
+                    .collect(Collectors.toList());
+        } catch (Exception e) {
+            log.error("❌ Failed to list ACLs for user {}: {}", username, e.getMessage());
+            throw e;
+        }
+    }
+
+    /**
+     * ACL 생성 (성공하면 요청한 사용자의 스냅샷에 바로 반영)
+     */
+    public void createAcl(AclDTO request, String username, String password) throws Exception {
+        AclBinding binding = toAclBinding(request);
+        try {
+            factory.runWithAdminClient(username, password, admin ->
+                    admin.createAcls(List.of(binding)).all().get(10, TimeUnit.SECONDS));
+            applyAclChange(username, index -> index.with(List.of(binding)));
+            log.info("🔐 Created ACL {} by user: {}", binding, username);
+        } catch (Exception e) {
+            log.error("❌ Failed to create ACL: {}", e.getMessage());
+            throw e;
+        }
+    }
+
+    /**
+     * ACL 삭제 (브로커가 실제로 지운 바인딩만 요청한 사용자의 스냅샷에서 제거)
+     * @return 삭제된 ACL 수
+     */
+    public int deleteAcl(AclDTO request, String username, String password) throws Exception {
+        AclBinding binding = toAclBinding(request);
+        try {
+            Collection<AclBinding> deleted = factory.withAdminClient(username, password, admin ->
+                    admin.deleteAcls(List.of(binding.toFilter())).all().get(10, TimeUnit.SECONDS));
+            applyAclChange(username, index -> index.without(deleted));
+            log.info("🔓 Deleted {} ACL(s) matching {} by user: {}", deleted.size(), binding, username);
+            return deleted.size();
+        } catch (Exception e) {
+            log.error("❌ Failed to delete ACL: {}", e.getMessage());
+            throw e;
+        }
+    }
+
+    private KafkaAclIndex aclIndex(String username, String password, boolean fresh) throws Exception {
+        long now = System.currentTimeMillis();
+        AclEntry entry = aclIndexes.get(username);
+        if (!fresh && entry != null && entry.password().equals(password) && now - entry.index().loadedAt() < aclRefreshMs) {
+            aclIndexes.replace(username, entry, new AclEntry(password, entry.index(), now));
+            return entry.index();
+        }
+        Collection<AclBinding> bindings = factory.withAdminClient(username, password, admin ->
+                admin.describeAcls(AclBindingFilter.ANY).values().get(10, TimeUnit.SECONDS));
+        KafkaAclIndex loaded = new KafkaAclIndex(bindings, System.currentTimeMillis());
+        aclIndexes.put(username, new AclEntry(password, loaded, now));
+        log.debug("🔐 Loaded {} ACLs for index of user {}", bindings.size(), username);
+        return loaded;
+    }
+
+    /**
+     * ACL 변경을 요청한 사용자의 스냅샷에만 반영
+     * 다른 사용자 스냅샷은 다음 조회 때 각자의 권한으로 다시 읽도록 제거한다.
+     */
+    private void applyAclChange(String username, UnaryOperator<KafkaAclIndex> change) {
+        aclIndexes.keySet().removeIf(user -> !user.equals(username));
+        aclIndexes.computeIfPresent(username, (user, entry) ->
+                new AclEntry(entry.password(), change.apply(entry.index()), entry.lastAccess()));
+    }
+
+    /** idle-ms 동안 조회가 없던 사용자의 ACL 스냅샷 제거 */
+    @Scheduled(fixedDelayString = "${kafka.acls.refresh-ms:60000}")
+    public void evictIdleAclIndexes() {
+        long now = System.currentTimeMillis();
+        aclIndexes.values().removeIf(entry -> now - entry.lastAccess() > aclIdleMs);
+    }
+
+    /** 사용자 캐시 제거 (로그아웃 시) */
+    public void invalidate(String username) {
+        aclIndexes.remove(username);
+        configCache.invalidate(username);
+    }
+
+    private static AclBinding toAclBinding(AclDTO request) {
+        if (request.getPrincipal() == null || request.getPrincipal().isBlank()) {
+            throw new IllegalArgumentException("principal 은 필수입니다 (예: User:alice)");
+        }
+        if (request.getResourceName() == null || request.getResourceName().isBlank()) {
+            throw new IllegalArgumentException("resourceName 은 필수입니다");
+        }
+        ResourceType resourceType = parseEnum(ResourceType.fromString(String.valueOf(request.getResourceType())),
+                ResourceType.UNKNOWN, "resourceType", request.getResourceType());
+        PatternType patternType = request.getPatternType() == null ? PatternType.LITERAL
+                : parseEnum(PatternType.fromString(request.getPatternType()), PatternType.UNKNOWN, "patternType", request.getPatternType());
+        AclOperation operation = parseEnum(AclOperation.fromString(String.valueOf(request.getOperation())),
+                AclOperation.UNKNOWN, "operation", request.getOperation());
+        AclPermissionType permissionType = parseEnum(AclPermissionType.fromString(String.valueOf(request.getPermissionType())),
+                AclPermissionType.UNKNOWN, "permissionType", request.getPermissionType());
+        String host = request.getHost() == null || request.getHost().isBlank() ? "*" : request.getHost();
+
+        return new AclBinding(
+                new ResourcePattern(resourceType, request.getResourceName(), patternType),
+                new AccessControlEntry(request.getPrincipal(), host, operation, permissionType));
+    }
+
+    private static <E extends Enum<E>> E parseEnum(E parsed, E unknown, String field, String value) {
+        if (parsed == unknown || parsed.name().equals("ANY")) {
+            throw new IllegalArgumentException("지원하지 않는 " + field + " 입니다: " + value);
+        }
+        return parsed;
+    }
+
+    private static AclDTO toAclDTO(AclBinding binding) {
+        return AclDTO.builder()
+                .principal(binding.entry().principal())
+                .resourceType(binding.pattern().resourceType().name())
+                .resourceName(binding.pattern().name())
+                .operation(binding.entry().operation().name())
+                .permissionType(binding.entry().permissionType().name())
+                .host(binding.entry().host())
+                .patternType(binding.pattern().patternType().name())
+                .build();
+    }
+
     // === 클러스터 정보 ===
 
     /**
-     * 클러스터 정보 조회
+     * 클러스터 정보 조회 (메타데이터 캐시 스냅샷, fresh 면 브로커에서 다시 읽음)
      */
-    public ClusterInfoDTO getClusterInfo(String username, String password) throws Exception {
-        try (AdminClient admin = factory.createAdminClient(username, password)) {
-            // 클러스터 ID 조회
-            String clusterId = admin.describeCluster().clusterId().get(10, TimeUnit.SECONDS);
-
-            // 브로커 정보 조회
-            Collection<Node> nodes = admin.describeCluster().nodes().get(10, TimeUnit.SECONDS);
-            List<ClusterInfoDTO.BrokerInfo> brokers = nodes.stream()
+    public ClusterInfoDTO getClusterInfo(String username, String password, boolean fresh) throws Exception {
+        try {
+            KafkaMetadataCache.Snapshot snapshot = metadataCache.get(username, password, fresh);
+
+            // 브로커 정보 (리더/레플리카 수는 스냅샷 로드 시 계산해 둔 Overview 에서)
+            Node controller = snapshot.controller();
+            KafkaMetadataCache.Overview overview = snapshot.overview();
+            List<ClusterInfoDTO.BrokerInfo> brokers = snapshot.brokers().stream()
                     .map(node -> ClusterInfoDTO.BrokerInfo.builder()
                             .id(node.id())
                             .host(node.host())
                             .port(node.port())
                             .rack(node.rack())
-                            .isController(false) // TODO: Determine controller
+                            .isController(controller != null && controller.id() == node.id())
+                            .leaderCount(overview.leaderCounts().getOrDefault(node.id(), 0))
+                            .replicaCount(overview.replicaCounts().getOrDefault(node.id(), 0))
                             .build())
                     .collect(Collectors.toList());
 
-            // 토픽 정보 조회
-            Set<String> topicNames = admin.listTopics().names().get(10, TimeUnit.SECONDS);
-            int totalTopics = topicNames.size();
-            int totalPartitions = 0; // TODO: Calculate total partitions
-
             return ClusterInfoDTO.builder()
-                    .clusterId(clusterId)
+                    .clusterId(snapshot.clusterId())
+                    .controllerId(controller != null ? controller.id() : -1)
                     .brokers(brokers)
                     .clusterConfigs(new HashMap<>())
-                    .totalPartitions(totalPartitions)
-                    .totalTopics(totalTopics)
+                    .totalPartitions(overview.totalPartitions())
+                    .underReplicatedPartitions(overview.underReplicatedPartitions())
+                    .offlinePartitions(overview.offlinePartitions())
+                    .totalTopics(snapshot.topics().size())
                     .build();
         } catch (Exception e) {
             log.error("❌ Failed to get cluster info for user {}: {}", username, e.getMessage());
@@ -154,64 +440,152 @@ public class KafkaManagementService {
     // === 파티션 관리 ===
 
     /**
-     * 파티션 정보 조회
+     * 파티션 정보 조회 (메타데이터 캐시 스냅샷, 스냅샷에 없는 토픽은 한 번 다시 읽어 확인)
      */
-    public List<PartitionInfoDTO> getPartitionInfo(String topicName, String username, String password) throws Exception {
-        try (AdminClient admin = factory.createAdminClient(username, password)) {
-            Map<String, TopicDescription> descriptions = admin.describeTopics(Collections.singleton(topicName))
-                    .allTopicNames()
-                    .get(10, TimeUnit.SECONDS);
-
-            TopicDescription description = descriptions.get(topicName);
-            if (description == null) {
-                throw new Exception("Topic not found: " + topicName);
+    public List<PartitionInfoDTO> getPartitionInfo(String topicName, String username, String password, boolean fresh) throws Exception {
+        return getPartitionInfos(List.of(topicName), username, password, fresh).get(topicName);
+    }
+
+    /**
+     * 여러 토픽의 파티션 정보 조회
+     * 크기(size)와 오프셋(earliestOffset, offset)은 토픽/파티션 수와 관계없이
+     * describeLogDirs 1회 + listOffsets(earliest, latest) 각 1회를 동시에 보내 채운다.
+     */
+    public Map<String, List<PartitionInfoDTO>> getPartitionInfos(List<String> topicNames, String username, String password, boolean fresh) throws Exception {
+        try {
+            KafkaMetadataCache.Snapshot snapshot = metadataCache.get(username, password, fresh);
+            if (!fresh && !snapshot.descriptions().keySet().containsAll(topicNames)) {
+                snapshot = metadataCache.get(username, password, true);
             }
 
-            List<PartitionInfoDTO> partitionInfos = new ArrayList<>();
-            for (TopicPartitionInfo partition : description.partitions()) {
-                List<Integer> replicas = new ArrayList<>();
-                for (Node replica : partition.replicas()) {
-                    replicas.add(replica.id());
+            Map<String, TopicDescription> descriptions = new LinkedHashMap<>();
+            for (String topicName : topicNames) {
+                TopicDescription description = snapshot.descriptions().get(topicName);
+                if (description == null) {
+                    throw new Exception("Topic not found: " + topicName);
                 }
-                
-                List<Integer> isr = new ArrayList<>();
-                for (Node node : partition.isr()) {
-                    isr.add(node.id());
+                descriptions.put(topicName, description);
+            }
+            PartitionStats stats = loadPartitionStats(descriptions.values(), username, password);
+
+            Map<String, List<PartitionInfoDTO>> result = new LinkedHashMap<>();
+            for (TopicDescription description : descriptions.values()) {
+                List<PartitionInfoDTO> partitionInfos = new ArrayList<>();
+                for (TopicPartitionInfo partition : description.partitions()) {
+                    List<Integer> replicas = new ArrayList<>();
+                    for (Node replica : partition.replicas()) {
+                        replicas.add(replica.id());
+                    }
+
+                    List<Integer> isr = new ArrayList<>();
+                    for (Node node : partition.isr()) {
+                        isr.add(node.id());
+                    }
+
+                    TopicPartition tp = new TopicPartition(description.name(), partition.partition());
+                    int leader = partition.leader() != null ? partition.leader().id() : -1;
+                    partitionInfos.add(PartitionInfoDTO.builder()
+                            .topicName(description.name())
+                            .partition(partition.partition())
+                            .leader(leader)
+                            .replicas(replicas)
+                            .isr(isr)
+                            .offline(partition.leader() == null)
+                            .size(stats.size(tp, leader))
+                            .earliestOffset(stats.earliest().getOrDefault(tp, 0L))
+                            .offset(stats.latest().getOrDefault(tp, 0L))
+                            .build());
                 }
-                
-                partitionInfos.add(PartitionInfoDTO.builder()
-                        .topicName(topicName)
-                        .partition(partition.partition())
-                        .leader(partition.leader() != null ? partition.leader().id() : -1)
-                        .replicas(replicas)
-                        .isr(isr)
-                        .offline(partition.leader() == null)
-                        .size(0) // TODO: Calculate partition size
-                        .offset(0) // TODO: Calculate partition offset
-                        .build());
+                result.put(description.name(), partitionInfos);
             }
-            return partitionInfos;
+            return result;
         } catch (Exception e) {
-            log.error("❌ Failed to get partition info for topic '{}' and user {}: {}", topicName, username, e.getMessage());
+            log.error("❌ Failed to get partition info for topics {} and user {}: {}", topicNames, username, e.getMessage());
             throw e;
         }
     }
 
+    /** 파티션 크기/오프셋 일괄 조회 (세 요청을 먼저 모두 보내고 결과를 기다림) */
+    private PartitionStats loadPartitionStats(Collection<TopicDescription> descriptions, String username, String password) throws Exception {
+        Set<Integer> brokerIds = new HashSet<>();
+        Map<TopicPartition, OffsetSpec> earliestSpecs = new HashMap<>();
+        Map<TopicPartition, OffsetSpec> latestSpecs = new HashMap<>();
+        for (TopicDescription description : descriptions) {
+            for (TopicPartitionInfo partition : description.partitions()) {
+                TopicPartition tp = new TopicPartition(description.name(), partition.partition());
+                earliestSpecs.put(tp, OffsetSpec.earliest());
+                latestSpecs.put(tp, OffsetSpec.latest());
+                partition.replicas().forEach(replica -> brokerIds.add(replica.id()));
+            }
+        }
+        if (earliestSpecs.isEmpty()) {
+            return new PartitionStats(Map.of(), Map.of(), Map.of());
+        }
+
+        return factory.withAdminClient(username, password, admin -> {
+            DescribeLogDirsResult logDirs = admin.describeLogDirs(brokerIds);
+            ListOffsetsResult earliest = admin.listOffsets(earliestSpecs);
+            ListOffsetsResult latest = admin.listOffsets(latestSpecs);
+
+            // 파티션 -> (브로커 -> 바이트)
+            Map<TopicPartition, Map<Integer, Long>> sizes = new HashMap<>();
+            try {
+                logDirs.allDescriptions().get(10, TimeUnit.SECONDS).forEach((brokerId, dirs) ->
+                        dirs.values().forEach(dir -> dir.replicaInfos().forEach((tp, replica) -> {
+                            if (earliestSpecs.containsKey(tp)) {
+                                sizes.computeIfAbsent(tp, k -> new HashMap<>()).merge(brokerId, replica.size(), Long::sum);
+                            }
+                        })));
+            } catch (ExecutionException e) {
+                log.warn("⚠️ describeLogDirs 실패, 파티션 크기는 0 으로 표시: {}", e.getMessage());
+            }
+            return new PartitionStats(sizes, offsets(earliest, earliestSpecs.keySet()), offsets(latest, latestSpecs.keySet()));
+        });
+    }
+
+    /** 파티션별 오프셋 (실패한 파티션은 제외) */
+    private static Map<TopicPartition, Long> offsets(ListOffsetsResult result, Set<TopicPartition> partitions) throws Exception {
+        Map<TopicPartition, Long> offsets = new HashMap<>();
+        for (TopicPartition tp : partitions) {
+            try {
+                offsets.put(tp, result.partitionResult(tp).get(10, TimeUnit.SECONDS).offset());
+            } catch (ExecutionException e) {
+                log.debug("listOffsets 실패 for {}: {}", tp, e.getMessage());
+            }
+        }
+        return offsets;
+    }
+
+    /** size 는 리더 레플리카 기준 (리더가 없으면 가장 큰 레플리카) */
+    private record PartitionStats(Map<TopicPartition, Map<Integer, Long>> sizes,
+                                  Map<TopicPartition, Long> earliest,
+                                  Map<TopicPartition, Long> latest) {
+
+        long size(TopicPartition tp, int leader) {
+            Map<Integer, Long> replicas = sizes.getOrDefault(tp, Map.of());
+            Long leaderSize = replicas.get(leader);
+            return leaderSize != null ? leaderSize : replicas.values().stream().mapToLong(Long::longValue).max().orElse(0L);
+        }
+    }
+
     /**
      * 파티션 재할당
      */
     public void reassignPartitions(List<PartitionInfoDTO.PartitionReassignmentRequest> requests, String username, String password) throws Exception {
-        try (AdminClient admin = factory.createAdminClient(username, password)) {
-            Map<TopicPartition, Optional<NewPartitionReassignment>> reassignments = new HashMap<>();
+        try {
+            factory.runWithAdminClient(username, password, admin -> {
+                Map<TopicPartition, Optional<NewPartitionReassignment>> reassignments = new HashMap<>();
             
-            for (PartitionInfoDTO.PartitionReassignmentRequest request : requests) {
-                TopicPartition tp = new TopicPartition(request.getTopicName(), request.getPartition());
-                NewPartitionReassignment reassignment = new NewPartitionReassignment(request.getReplicas());
-                reassignments.put(tp, Optional.of(reassignment));
-            }
+                for (PartitionInfoDTO.PartitionReassignmentRequest request : requests) {
+                    TopicPartition tp = new TopicPartition(request.getTopicName(), request.getPartition());
+                    NewPartitionReassignment reassignment = new NewPartitionReassignment(request.getReplicas());
+                    reassignments.put(tp, Optional.of(reassignment));
+                }
 
-            admin.alterPartitionReassignments(reassignments).all().get();
-            log.info("🔄 Reassigned {} partitions", requests.size());
+                admin.alterPartitionReassignments(reassignments).all().get();
+                metadataCache.markStale();
+                log.info("🔄 Reassigned {} partitions", requests.size());
+            });
         } catch (Exception e) {
             log.error("❌ Failed to reassign partitions: {}", e.getMessage());
             throw e;
@@ -0,0 +1,186 @@
+package com.finalproject.springbackend.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.admin.DescribeClusterResult;
+import org.apache.kafka.clients.admin.TopicDescription;
+import org.apache.kafka.common.KafkaFuture;
+import org.apache.kafka.common.Node;
+import org.apache.kafka.common.TopicPartitionInfo;
+import org.apache.kafka.common.errors.AuthenticationException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Kafka 클러스터 메타데이터 캐시 (사용자별 스냅샷)
+ *
+ * 클러스터 ID, 브로커, 컨트롤러, 토픽 목록, 파티션 배치(+ 요약 Overview)를 refresh-ms 주기로 백그라운드에서 다시 읽어 두고
+ * 조회 API 는 스냅샷을 그대로 돌려준다. ACL 에 따라 보이는 토픽이 다르므로 사용자별로 보관하며,
+ * idle-ms 동안 조회가 없던 사용자는 갱신을 멈추고 제거한다.
+ * 토픽 생성/삭제, 파티션 재할당 뒤에는 markStale() 로 모든 스냅샷을 낡음 처리해 다음 조회가 브로커에서 다시 읽는다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class KafkaMetadataCache {
+
+    private static final long TIMEOUT_SECONDS = 10;
+
+    private final KafkaAdminFactory factory;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    @Value("${kafka.metadata.idle-ms:600000}")
+    private long idleMs;
+
+    @Value("${kafka.metadata.describe-chunk-size:500}")
+    private int describeChunkSize;
+
+    /**
+     * 메타데이터 스냅샷 (불변)
+     * @param controller 컨트롤러 노드 (KRaft 등으로 알 수 없으면 null)
+     * @param topics 내부 토픽(__)을 제외한 정렬된 토픽 목록
+     * @param descriptions 토픽별 파티션 배치 (Describe 권한이 없는 토픽은 빠짐)
+     */
+    public record Snapshot(String clusterId, List<Node> brokers, Node controller, List<String> topics,
+                           Map<String, TopicDescription> descriptions, Overview overview, long loadedAt) {}
+
+    /**
+     * 로드 시점에 미리 계산한 클러스터 요약 (조회 시 파티션을 다시 훑지 않음)
+     * @param underReplicatedPartitions ISR 이 레플리카 수보다 적은 파티션 수
+     * @param offlinePartitions 리더가 없는 파티션 수
+     * @param leaderCounts 브로커 ID -> 리더 파티션 수
+     * @param replicaCounts 브로커 ID -> 레플리카 수
+     */
+    public record Overview(int totalPartitions, int underReplicatedPartitions, int offlinePartitions,
+                           Map<Integer, Integer> leaderCounts, Map<Integer, Integer> replicaCounts) {
+
+        static Overview of(Collection<TopicDescription> descriptions) {
+            int total = 0;
+            int underReplicated = 0;
+            int offline = 0;
+            Map<Integer, Integer> leaders = new HashMap<>();
+            Map<Integer, Integer> replicas = new HashMap<>();
+            for (TopicDescription description : descriptions) {
+                for (TopicPartitionInfo partition : description.partitions()) {
+                    total++;
+                    if (partition.isr().size() < partition.replicas().size()) {
+                        underReplicated++;
+                    }
+                    if (partition.leader() == null) {
+                        offline++;
+                    } else {
+                        leaders.merge(partition.leader().id(), 1, Integer::sum);
+                    }
+                    partition.replicas().forEach(replica -> replicas.merge(replica.id(), 1, Integer::sum));
+                }
+            }
+            return new Overview(total, underReplicated, offline, Map.copyOf(leaders), Map.copyOf(replicas));
+        }
+    }
+
+    private static final class Entry {
+        private final String password;
+        private volatile Snapshot snapshot;
+        private volatile boolean stale;
+        private volatile long lastAccess = System.currentTimeMillis();
+
+        Entry(String password, Snapshot snapshot) {
+            this.password = password;
+            this.snapshot = snapshot;
+        }
+    }
+
+    /**
+     * 스냅샷 조회
+     * @param fresh true 면 캐시를 건너뛰고 브로커에서 다시 읽음
+     */
+    public Snapshot get(String username, String password, boolean fresh) throws Exception {
+        Entry entry = entries.get(username);
+        if (!fresh && entry != null && !entry.stale && entry.password.equals(password)) {
+            entry.lastAccess = System.currentTimeMillis();
+            return entry.snapshot;
+        }
+        Snapshot snapshot = load(username, password);
+        entries.put(username, new Entry(password, snapshot));
+        return snapshot;
+    }
+
+    /** 토픽/파티션 변경 후 호출: 모든 사용자 스냅샷을 다음 조회 때 다시 읽도록 표시 */
+    public void markStale() {
+        entries.values().forEach(entry -> entry.stale = true);
+    }
+
+    /** 사용자 스냅샷 제거 (로그아웃 시) */
+    public void invalidate(String username) {
+        entries.remove(username);
+    }
+
+    @Scheduled(fixedDelayString = "${kafka.metadata.refresh-ms:30000}")
+    public void refresh() {
+        long now = System.currentTimeMillis();
+        entries.forEach((username, entry) -> {
+            if (now - entry.lastAccess > idleMs) {
+                entries.remove(username, entry);
+                return;
+            }
+            try {
+                entry.snapshot = load(username, entry.password);
+                entry.stale = false;
+            } catch (Exception e) {
+                if (e instanceof AuthenticationException || e.getCause() instanceof AuthenticationException) {
+                    entries.remove(username, entry);
+                }
+                log.warn("⚠️ Kafka 메타데이터 갱신 실패 for user {}: {}", username, e.getMessage());
+            }
+        });
+    }
+
+    private Snapshot load(String username, String password) throws Exception {
+        return factory.withAdminClient(username, password, admin -> {
+            DescribeClusterResult cluster = admin.describeCluster();
+            Set<String> names = admin.listTopics().names().get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+            // 토픽이 많으면 describe-chunk-size 개씩 나눠 모두 보낸 뒤 결과를 기다림 (청크끼리 동시에 진행)
+            List<String> sortedNames = names.stream().sorted().toList();
+            Map<String, KafkaFuture<TopicDescription>> pending = new HashMap<>();
+            for (int from = 0; from < sortedNames.size(); from += describeChunkSize) {
+                List<String> chunk = sortedNames.subList(from, Math.min(from + describeChunkSize, sortedNames.size()));
+                pending.putAll(admin.describeTopics(chunk).topicNameValues());
+            }
+            Map<String, TopicDescription> descriptions = new HashMap<>();
+            for (Map.Entry<String, KafkaFuture<TopicDescription>> topic : pending.entrySet()) {
+                try {
+                    descriptions.put(topic.getKey(), topic.getValue().get(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+                } catch (ExecutionException e) {
+                    log.debug("토픽 '{}' describe 실패 for user {}: {}", topic.getKey(), username, e.getMessage());
+                }
+            }
+
+            List<String> topics = sortedNames.stream()
+                    .filter(topic -> !topic.startsWith("__"))
+                    .toList();
+            Snapshot snapshot = new Snapshot(
+                    cluster.clusterId().get(TIMEOUT_SECONDS, TimeUnit.SECONDS),
+                    List.copyOf(cluster.nodes().get(TIMEOUT_SECONDS, TimeUnit.SECONDS)),
+                    cluster.controller().get(TIMEOUT_SECONDS, TimeUnit.SECONDS),
+                    topics,
+                    Map.copyOf(descriptions),
+                    Overview.of(descriptions.values()),
+                    System.currentTimeMillis());
+            log.debug("🗂️ Kafka 메타데이터 로드 for user {}: 브로커 {}개, 토픽 {}개",
+                    username, snapshot.brokers().size(), topics.size());
+            return snapshot;
+        });
+    }
+}
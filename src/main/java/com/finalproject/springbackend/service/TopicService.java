@@ -1,14 +1,25 @@
 package com.finalproject.springbackend.service;
 
+import com.finalproject.springbackend.dto.BulkTopicResultDTO;
+import com.finalproject.springbackend.dto.CreateTopicRequestDTO;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.clients.admin.*;
+import org.apache.kafka.common.KafkaFuture;
+import org.apache.kafka.common.config.ConfigResource;
 import org.apache.kafka.common.errors.TopicExistsException;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
@@ -18,17 +29,28 @@ import java.util.stream.Collectors;
 public class TopicService {
 
     private final KafkaAdminFactory factory;
+    private final KafkaMetadataCache metadataCache;
+    private final KafkaConfigCache configCache;
     private static final int MAX_RETRIES = 3;
     private static final long RETRY_DELAY_MS = 1000;
+    private static final long BULK_TIMEOUT_SECONDS = 30;
+
+    @Value("${kafka.topics.bulk-chunk-size:100}")
+    private int bulkChunkSize;
+
+    @Value("${kafka.topics.bulk-max-topics:1000}")
+    private int bulkMaxTopics;
 
     /**
      * 토픽 생성 (사용자 계정 사용)
      */
     public void createTopic(String name, int partitions, short replicationFactor, String username, String password) throws Exception {
-        try (AdminClient admin = factory.createAdminClient(username, password)) {
+        factory.runWithAdminClient(username, password, admin -> {
             NewTopic topic = new NewTopic(name, partitions, replicationFactor);
             try {
                 admin.createTopics(Collections.singleton(topic)).all().get();
+                metadataCache.markStale();
+                configCache.evictTopics(List.of(name));
                 log.info("✅ Created topic: {} by user: {}", name, username);
             } catch (Exception e) {
                 if (e.getCause() instanceof TopicExistsException) {
@@ -38,24 +60,30 @@ public class TopicService {
                     throw e;
                 }
             }
-        }
+        });
     }
 
     /**
      * 토픽 목록 조회 (사용자 계정 사용) - 로그인 인증용
+     * 풀의 AdminClient 는 연결을 열 때 한 번만 인증하므로, 비밀번호가 바뀌거나 폐기돼도 연결이 살아 있는 동안 통과한다.
+     * 그래서 로그인 검증은 매번 새로 만든 일회용 클라이언트로 하고, 실패하면 같은 자격 증명의 풀 클라이언트도 제거한다.
+     * (풀에는 검증을 통과한 뒤의 일반 호출에서만 등록됨)
      */
     public List<String> listTopicsForUser(String username, String password) throws Exception {
         Exception lastException = null;
         
         for (int attempt = 1; attempt <= MAX_RETRIES; attempt++) {
-            try (AdminClient admin = factory.createAdminClient(username, password)) {
-                List<String> topics = admin.listTopics()
-                        .names()
-                        .get(10, TimeUnit.SECONDS)  // 10초 타임아웃
-                        .stream()
-                        .filter(topic -> !topic.startsWith("__"))  // 내부 토픽 제외
-                        .sorted()
-                        .collect(Collectors.toList());
+            try {
+                List<String> topics;
+                try (AdminClient admin = factory.createAdminClient(username, password)) {
+                    topics = admin.listTopics()
+                            .names()
+                            .get(10, TimeUnit.SECONDS)  // 10초 타임아웃
+                            .stream()
+                            .filter(topic -> !topic.startsWith("__"))  // 내부 토픽 제외
+                            .sorted()
+                            .collect(Collectors.toList());
+                }
                 
                 log.debug("📋 User {} can access {} topics", username, topics.size());
                 return topics;
@@ -76,36 +104,175 @@ public class TopicService {
         }
         
         log.error("Kafka 토픽 조회 최종 실패 for user {}: {}", username, lastException.getMessage());
+        factory.invalidate(username, password);
         throw new Exception("Kafka 연결 실패 (사용자: " + username + "): " + lastException.getMessage(), lastException);
     }
 
 
+    /**
+     * 토픽 목록 조회 (메타데이터 캐시 스냅샷, fresh 면 브로커에서 다시 읽음)
+     * 로그인 인증은 캐시를 거치지 않는 listTopicsForUser 를 사용한다.
+     */
+    public List<String> listTopics(String username, String password, boolean fresh) throws Exception {
+        return metadataCache.get(username, password, fresh).topics();
+    }
+
     /**
      * 토픽 삭제 (사용자 계정 사용)
      */
     public void deleteTopic(String topicName, String username, String password) throws Exception {
-        try (AdminClient admin = factory.createAdminClient(username, password)) {
+        factory.runWithAdminClient(username, password, admin -> {
             try {
                 admin.deleteTopics(Collections.singleton(topicName)).all().get();
+                metadataCache.markStale();
+                configCache.evictTopics(List.of(topicName));
                 log.info("🗑️ Deleted topic: {} by user: {}", topicName, username);
             } catch (Exception e) {
                 log.error("❌ Failed to delete topic '{}' by user {}: {}", topicName, username, e.getMessage());
                 throw e;
             }
-        }
+        });
     }
 
     /**
-     * 토픽 상세 정보 조회 (사용자 계정 사용)
+     * 토픽 상세 정보 조회 (사용자 계정 사용, 최대 bulk-max-topics 개)
      */
     public Map<String, TopicDescription> describeTopics(List<String> topicNames, String username, String password) throws Exception {
-        try (AdminClient admin = factory.createAdminClient(username, password)) {
-            Map<String, TopicDescription> descriptions = admin.describeTopics(topicNames).allTopicNames().get();
-            log.debug("📄 User {} described {} topics", username, descriptions.size());
-            return descriptions;
+        checkBulkSize(topicNames.size());
+        try {
+            return factory.withAdminClient(username, password, admin -> {
+                Map<String, TopicDescription> descriptions = admin.describeTopics(topicNames).allTopicNames()
+                        .get(BULK_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+                log.debug("📄 User {} described {} topics", username, descriptions.size());
+                return descriptions;
+            });
         } catch (Exception e) {
             log.error("❌ Failed to describe topics for user {}: {}", username, e.getMessage());
             throw e;
         }
     }
+
+    // === 일괄 작업 ===
+
+    /**
+     * 토픽 일괄 생성
+     * bulk-chunk-size 개씩 나눈 createTopics 요청을 모두 보낸 뒤 토픽별 결과를 모은다 (한 토픽 실패가 나머지에 영향 없음).
+     */
+    public List<BulkTopicResultDTO> createTopics(List<CreateTopicRequestDTO> requests, String username, String password) throws Exception {
+        checkBulkSize(requests.size());
+        List<BulkTopicResultDTO> results = factory.withAdminClient(username, password, admin -> {
+            Map<String, KafkaFuture<Void>> futures = new LinkedHashMap<>();
+            for (List<CreateTopicRequestDTO> chunk : chunks(requests)) {
+                List<NewTopic> topics = chunk.stream()
+                        .map(request -> new NewTopic(request.name, request.partitions, request.replicationFactor))
+                        .toList();
+                futures.putAll(admin.createTopics(topics).values());
+            }
+            return collect(futures, "✅ Created");
+        });
+        metadataCache.markStale();
+        configCache.evictTopics(requests.stream().map(request -> request.name).toList());
+        log.info("✅ Bulk created {}/{} topics by user: {}", succeeded(results), requests.size(), username);
+        return results;
+    }
+
+    /**
+     * 토픽 일괄 삭제
+     */
+    public List<BulkTopicResultDTO> deleteTopics(List<String> topicNames, String username, String password) throws Exception {
+        checkBulkSize(topicNames.size());
+        List<BulkTopicResultDTO> results = factory.withAdminClient(username, password, admin -> {
+            Map<String, KafkaFuture<Void>> futures = new LinkedHashMap<>();
+            for (List<String> chunk : chunks(topicNames)) {
+                futures.putAll(admin.deleteTopics(chunk).topicNameValues());
+            }
+            return collect(futures, "🗑️ Deleted");
+        });
+        metadataCache.markStale();
+        configCache.evictTopics(topicNames);
+        log.info("🗑️ Bulk deleted {}/{} topics by user: {}", succeeded(results), topicNames.size(), username);
+        return results;
+    }
+
+    /**
+     * 토픽 설정 일괄 변경 (토픽 -> {설정명: 값}, 값이 null 이면 기본값으로 되돌림)
+     */
+    public List<BulkTopicResultDTO> alterTopicConfigs(Map<String, Map<String, String>> configs, String username, String password) throws Exception {
+        checkBulkSize(configs.size());
+        List<Map.Entry<String, Map<String, String>>> entries = new ArrayList<>(configs.entrySet());
+        return factory.withAdminClient(username, password, admin -> {
+            Map<String, KafkaFuture<Void>> futures = new LinkedHashMap<>();
+            for (List<Map.Entry<String, Map<String, String>>> chunk : chunks(entries)) {
+                Map<ConfigResource, Collection<AlterConfigOp>> ops = new LinkedHashMap<>();
+                for (Map.Entry<String, Map<String, String>> entry : chunk) {
+                    List<AlterConfigOp> topicOps = new ArrayList<>();
+                    entry.getValue().forEach((name, value) -> topicOps.add(value == null
+                            ? new AlterConfigOp(new ConfigEntry(name, null), AlterConfigOp.OpType.DELETE)
+                            : new AlterConfigOp(new ConfigEntry(name, value), AlterConfigOp.OpType.SET)));
+                    ops.put(new ConfigResource(ConfigResource.Type.TOPIC, entry.getKey()), topicOps);
+                }
+                admin.incrementalAlterConfigs(ops).values()
+                        .forEach((resource, future) -> futures.put(resource.name(), future));
+            }
+            List<BulkTopicResultDTO> results = collect(futures, "✅ Updated configs");
+            // 일부 토픽만 실패해도 모두 제거 (실패한 토픽은 다음 조회에서 다시 읽을 뿐)
+            configCache.evictTopics(configs.keySet());
+            log.info("⚙️ Bulk updated configs of {}/{} topics by user: {}", succeeded(results), configs.size(), username);
+            return results;
+        });
+    }
+
+    /**
+     * 토픽별 future 결과 수집 (전체 대기 시간 bulk-timeout)
+     * 요청 순서가 아니라 완료되는 순서대로 처리해 느린 청크가 이미 끝난 청크의 결과를 붙잡지 않게 하고,
+     * 시간 안에 끝나지 않은 토픽만 시간 초과로 남긴다. 반환 순서는 요청 순서.
+     */
+    private static List<BulkTopicResultDTO> collect(Map<String, KafkaFuture<Void>> futures, String successMessage) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(BULK_TIMEOUT_SECONDS);
+        BlockingQueue<String> completed = new LinkedBlockingQueue<>();
+        futures.forEach((topicName, future) -> future.whenComplete((ignored, error) -> completed.add(topicName)));
+
+        Map<String, BulkTopicResultDTO> results = new LinkedHashMap<>();
+        futures.keySet().forEach(topicName -> results.put(topicName, result(topicName, false, "❌ Timed out")));
+        for (int remaining = futures.size(); remaining > 0; remaining--) {
+            String topicName = completed.poll(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            if (topicName == null) {
+                break;
+            }
+            try {
+                futures.get(topicName).get();
+                results.put(topicName, result(topicName, true, successMessage));
+            } catch (ExecutionException e) {
+                results.put(topicName, result(topicName, false, e.getCause() instanceof TopicExistsException
+                        ? "⚠️ Topic already exists" : "❌ " + e.getCause().getMessage()));
+            }
+        }
+        return new ArrayList<>(results.values());
+    }
+
+    private static BulkTopicResultDTO result(String topicName, boolean success, String message) {
+        return BulkTopicResultDTO.builder()
+                .topicName(topicName)
+                .success(success)
+                .message(message)
+                .build();
+    }
+
+    private <T> List<List<T>> chunks(List<T> items) {
+        List<List<T>> chunks = new ArrayList<>();
+        for (int from = 0; from < items.size(); from += bulkChunkSize) {
+            chunks.add(items.subList(from, Math.min(from + bulkChunkSize, items.size())));
+        }
+        return chunks;
+    }
+
+    private void checkBulkSize(int size) {
+        if (size > bulkMaxTopics) {
+            throw new IllegalArgumentException("한 번에 최대 " + bulkMaxTopics + "개 토픽까지 요청할 수 있습니다");
+        }
+    }
+
+    private static long succeeded(List<BulkTopicResultDTO> results) {
+        return results.stream().filter(BulkTopicResultDTO::isSuccess).count();
+    }
 }
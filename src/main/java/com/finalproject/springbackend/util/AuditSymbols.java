@@ -0,0 +1,135 @@
+package com.finalproject.springbackend.util;
+
+import com.finalproject.springbackend.db.entity.AuditDimension;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 저카디널리티 감사 로그 컬럼 심볼 테이블 (principal, operation, resourceType, methodName, alertType)
+ *
+ * 같은 몇 개의 값이 수백만 번 반복되므로, 행 매퍼/엔티티 로딩/인메모리 집계가 읽은 문자열을
+ * 컬럼별 정규 인스턴스(및 int id)로 바꿔 힙에 같은 문자열 사본이 쌓이지 않게 한다.
+ * 컬럼별 최대 개수와 값 길이 상한을 넘는 값은 등록하지 않고 그대로 돌려줘 악의적인 입력으로 무한히 커지지 않는다.
+ * 상한은 AuditSymbolMetrics 가 audit.symbols.* 설정으로 지정한다.
+ */
+public final class AuditSymbols {
+
+    private static final Map<AuditDimension, Table> TABLES = new EnumMap<>(AuditDimension.class);
+
+    static {
+        for (AuditDimension field : new AuditDimension[] {
+                AuditDimension.PRINCIPAL, AuditDimension.OPERATION, AuditDimension.RESOURCE_TYPE,
+                AuditDimension.METHOD_NAME, AuditDimension.ALERT_TYPE}) {
+            TABLES.put(field, new Table());
+        }
+    }
+
+    private static volatile int maxPerField = 10_000;
+    private static volatile int maxLength = 256;
+
+    private AuditSymbols() {}
+
+    public static void configure(int maxPerField, int maxLength) {
+        AuditSymbols.maxPerField = maxPerField;
+        AuditSymbols.maxLength = maxLength;
+    }
+
+    /** 심볼 테이블 대상 컬럼인지 */
+    public static boolean supports(AuditDimension field) {
+        return TABLES.containsKey(field);
+    }
+
+    /** 정규 인스턴스 (대상 컬럼이 아니거나 상한을 넘으면 입력 그대로) */
+    public static String intern(AuditDimension field, String value) {
+        Table table = TABLES.get(field);
+        if (table == null || value == null) {
+            return value;
+        }
+        int id = table.idOf(value);
+        return id < 0 ? value : table.values[id];
+    }
+
+    /** 값의 int id (등록할 수 없으면 -1) */
+    public static int id(AuditDimension field, String value) {
+        Table table = TABLES.get(field);
+        return table == null || value == null ? -1 : table.idOf(value);
+    }
+
+    /** id 에 해당하는 값 */
+    public static String value(AuditDimension field, int id) {
+        Table table = TABLES.get(field);
+        if (table == null || id < 0 || id >= table.size) {
+            throw new IllegalArgumentException(field + " 심볼 id 가 올바르지 않습니다: " + id);
+        }
+        return table.values[id];
+    }
+
+    // --- 메트릭용 ---
+
+    public static Iterable<AuditDimension> fields() {
+        return TABLES.keySet();
+    }
+
+    public static int size(AuditDimension field) {
+        return TABLES.get(field).size;
+    }
+
+    public static long hits(AuditDimension field) {
+        return TABLES.get(field).hits.sum();
+    }
+
+    public static long rejected(AuditDimension field) {
+        return TABLES.get(field).rejected.sum();
+    }
+
+    /** 정규 인스턴스를 재사용해 할당하지 않아도 된 String 바이트 추정치 (헤더 + byte[] 기준) */
+    public static long savedBytes(AuditDimension field) {
+        return TABLES.get(field).savedBytes.sum();
+    }
+
+    private static final class Table {
+
+        private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+        private volatile String[] values = new String[64];
+        private volatile int size;
+
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder rejected = new LongAdder();
+        private final LongAdder savedBytes = new LongAdder();
+
+        int idOf(String value) {
+            Integer id = ids.get(value);
+            if (id != null) {
+                hits.increment();
+                savedBytes.add(24 + ((16 + value.length() + 7) & ~7));
+                return id;
+            }
+            if (value.length() > maxLength || size >= maxPerField) {
+                rejected.increment();
+                return -1;
+            }
+            synchronized (this) {
+                id = ids.get(value);
+                if (id != null) {
+                    return id;
+                }
+                if (size >= maxPerField) {
+                    rejected.increment();
+                    return -1;
+                }
+                String[] current = values;
+                if (size == current.length) {
+                    current = Arrays.copyOf(current, current.length * 2);
+                }
+                current[size] = value;
+                values = current;
+                ids.put(value, size);
+                return size++;
+            }
+        }
+    }
+}
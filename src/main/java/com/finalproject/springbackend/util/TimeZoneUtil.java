@@ -4,6 +4,8 @@ import java.time.OffsetDateTime;
 import java.time.ZoneId;
 import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 /**
  * 시간대 처리 유틸리티 클래스
@@ -14,6 +16,16 @@ public class TimeZoneUtil {
     // 한국 시간대 (UTC+9)
     public static final ZoneId KST_ZONE = ZoneId.of("Asia/Seoul");
     public static final ZoneOffset KST_OFFSET = ZoneOffset.of("+09:00");
+
+    // "2025-02-03 오전 04:09:02" 포맷터 (불변/스레드 안전이라 한 번만 생성)
+    private static final DateTimeFormatter KOREAN_FORMATTER =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd a hh:mm:ss", Locale.KOREAN).withZone(KST_ZONE);
+
+    // 초 단위 포맷 결과 캐시 (같은 초의 행이 많은 대량 조회용, epochSecond % 크기 슬롯에 최근 값만 보관)
+    private static final int KOREAN_CACHE_SIZE = 4096;
+    private static final AtomicReferenceArray<FormattedSecond> KOREAN_CACHE = new AtomicReferenceArray<>(KOREAN_CACHE_SIZE);
+
+    private record FormattedSecond(long epochSecond, String text) {}
     
     /**
      * 사용자 입력 시간을 한국 시간대로 해석하여 OffsetDateTime으로 변환
@@ -32,6 +44,24 @@ public class TimeZoneUtil {
         return inputDateTime.toLocalDateTime().atOffset(KST_OFFSET);
     }
     
+    /**
+     * 조회용 시간 범위 보정 (DB 서비스들과 같은 규칙)
+     * start 필수, end 가 없으면 현재 한국 시간, 둘 다 한국 시간으로 해석하고 start > end 면 교환
+     *
+     * @return {start, end}
+     */
+    public static OffsetDateTime[] correctRange(OffsetDateTime start, OffsetDateTime end) {
+        if (start == null) {
+            throw new IllegalArgumentException("시작 시간을 넣어주세요");
+        }
+        start = interpretAsKST(start);
+        end = end == null ? nowKST() : interpretAsKST(end);
+        if (start.isAfter(end)) {
+            return new OffsetDateTime[] { end, start };
+        }
+        return new OffsetDateTime[] { start, end };
+    }
+    
     /**
      * 현재 한국 시간을 반환
      * 
@@ -95,12 +125,18 @@ public class TimeZoneUtil {
             return null;
         }
         
-        // 한국 시간대로 변환
-        OffsetDateTime kstDateTime = dateTime.atZoneSameInstant(KST_ZONE).toOffsetDateTime();
-        
-        // 한국어 오전/오후 포맷터
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd a hh:mm:ss", java.util.Locale.KOREAN);
-        return kstDateTime.format(formatter);
+        // 포맷이 초 단위까지라 같은 초는 항상 같은 문자열
+        long epochSecond = dateTime.toEpochSecond();
+        int slot = (int) Math.floorMod(epochSecond, (long) KOREAN_CACHE_SIZE);
+        FormattedSecond cached = KOREAN_CACHE.get(slot);
+        if (cached != null && cached.epochSecond() == epochSecond) {
+            return cached.text();
+        }
+
+        // 한국 시간대 기준 오전/오후 포맷
+        String text = KOREAN_FORMATTER.format(dateTime.toInstant());
+        KOREAN_CACHE.set(slot, new FormattedSecond(epochSecond, text));
+        return text;
     }
     
     /**